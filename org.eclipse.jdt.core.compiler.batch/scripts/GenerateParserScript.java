@@ -46,16 +46,11 @@ public class GenerateParserScript {
 				System.exit(1);
 		}
 
-		// Update parserNN.rsc and readableNames.props
+		// Update parser.rsc and readableNames.props
 		File javadclFile = new File(grammarDir, "javadcl.java");
 		File javahdrFile = new File(grammarDir, "javahdr.java");
 		Parser.buildFilesFromLPG(javadclFile.toString(), javahdrFile.toString());
-		for (int i = 1; i <= 24; i++) {
-			String filename = "parser"+i+".rsc";
-			Files.move(new File(filename).toPath(), new File(parserDir, filename).toPath(), StandardCopyOption.REPLACE_EXISTING);
-		}
-		{
-			String filename = "readableNames.props";
+		for (String filename : new String[] {"parser.rsc", "readableNames.props"}) {
 			Files.move(new File(filename).toPath(), new File(parserDir, filename).toPath(), StandardCopyOption.REPLACE_EXISTING);
 		}
 
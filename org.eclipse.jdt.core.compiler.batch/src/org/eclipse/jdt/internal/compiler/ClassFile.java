@@ -110,6 +110,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 	public int methodCountOffset;
 	// pool managment
 	boolean isShared = false;
+	ClassFilePool pool; // recycles the buffers of this class file, if any
 	// used to generate private access methods
 	// debug and stack map attributes
 	public int produceAttributes;
@@ -252,7 +253,11 @@ public class ClassFile implements TypeConstants, TypeIds {
 	}
 
 	public ClassFile(SourceTypeBinding typeBinding) {
-		// default constructor for subclasses
+		this(typeBinding, null);
+	}
+
+	ClassFile(SourceTypeBinding typeBinding, ClassFilePool pool) {
+		this.pool = pool;
 		this.constantPool = new ConstantPool(this);
 		final CompilerOptions options = typeBinding.scope.compilerOptions();
 		this.targetJDK = options.targetJDK;
@@ -281,6 +286,11 @@ public class ClassFile implements TypeConstants, TypeIds {
 	}
 
 	public ClassFile(ModuleBinding moduleBinding, CompilerOptions options) {
+		this(moduleBinding, options, null);
+	}
+
+	ClassFile(ModuleBinding moduleBinding, CompilerOptions options, ClassFilePool pool) {
+		this.pool = pool;
 		this.constantPool = new ConstantPool(this);
 		this.targetJDK = options.targetJDK;
 		this.produceAttributes = ClassFileConstants.ATTR_SOURCE;
@@ -6000,8 +6010,16 @@ public class ClassFile implements TypeConstants, TypeIds {
 	}
 
 	protected void initByteArrays(int members) {
-		this.header = new byte[INITIAL_HEADER_SIZE];
-		this.contents = new byte[members < 15 ? INITIAL_CONTENTS_SIZE : INITIAL_HEADER_SIZE];
+		this.header = newBuffer(INITIAL_HEADER_SIZE);
+		this.contents = newBuffer(members < 15 ? INITIAL_CONTENTS_SIZE : INITIAL_HEADER_SIZE);
+	}
+
+	/**
+	 * INTERNAL USE-ONLY
+	 * Answer a byte array of at least the given size, recycled by the pool of the receiver if any.
+	 */
+	public byte[] newBuffer(int minimalSize) {
+		return this.pool == null ? new byte[minimalSize] : this.pool.allocate(minimalSize);
 	}
 
 	private void initializeHeader(ClassFile parentClassFile, int accessFlags) {
@@ -6480,7 +6498,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 		int toAdd = length;
 		if (toAdd < minimalSize)
 			toAdd = minimalSize;
-		System.arraycopy(this.contents, 0, this.contents = new byte[length + toAdd], 0, length);
+		System.arraycopy(this.contents, 0, this.contents = newBuffer(length + toAdd), 0, length);
 	}
 
 	private VerificationTypeInfo retrieveLocal(int currentPC, int resolvedPosition) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,10 +18,30 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 
+/**
+ * Recycles the class files of a compilation, together with their byte buffers.
+ * <p>
+ * The pool starts with room for {@link #POOL_SIZE} class files and grows up to {@link #MAX_POOL_SIZE} when units
+ * declare many types (as generated code does), so that their class files do not fall back to fresh instances with
+ * fresh constant pools and code streams. The header and contents buffers of a released class file go back to free
+ * lists organized by power of two size classes, from which new and growing class files take their buffers.
+ * Class files are released by the thread accepting the compilation results, not the one generating them, hence the
+ * pool is shared and synchronized. A class file always goes back to the pool it was taken from, even when released
+ * through the pool of another compiler.
+ * </p>
+ */
 public class ClassFilePool {
 	public static final int POOL_SIZE = 25; // need to have enough for 2 units
+	public static final int MAX_POOL_SIZE = 256;
 	ClassFile[] classFiles;
 
+	// recycled buffers, buffers[i] holds buffers of 1 << (MIN_BUFFER_SHIFT + i) bytes
+	static final int MIN_BUFFER_SHIFT = 9; // 512 bytes
+	static final int MAX_BUFFER_SHIFT = 20; // 1 MB, larger buffers are left to the garbage collector
+	static final int BUFFERS_PER_SIZE = 32;
+	final byte[][][] buffers = new byte[MAX_BUFFER_SHIFT - MIN_BUFFER_SHIFT + 1][BUFFERS_PER_SIZE][];
+	final int[] bufferCounts = new int[MAX_BUFFER_SHIFT - MIN_BUFFER_SHIFT + 1];
+
 private ClassFilePool() {
 	// prevent instantiation
 	this.classFiles = new ClassFile[POOL_SIZE];
@@ -32,43 +52,106 @@ public static ClassFilePool newInstance() {
 }
 
 public synchronized ClassFile acquire(SourceTypeBinding typeBinding) {
-	for (int i = 0; i < POOL_SIZE; i++) {
-		ClassFile classFile = this.classFiles[i];
-		if (classFile == null) {
-			ClassFile newClassFile = new ClassFile(typeBinding);
-			this.classFiles[i] = newClassFile;
-			newClassFile.isShared = true;
-			return newClassFile;
-		}
-		if (!classFile.isShared) {
-			classFile.reset(typeBinding, typeBinding.scope.compilerOptions());
-			classFile.isShared = true;
-			return classFile;
-		}
+	int index = freeSlot();
+	if (index < 0)
+		return new ClassFile(typeBinding);
+	ClassFile classFile = this.classFiles[index];
+	if (classFile == null) {
+		classFile = new ClassFile(typeBinding, this);
+		this.classFiles[index] = classFile;
+	} else {
+		classFile.reset(typeBinding, typeBinding.scope.compilerOptions());
+		classFile.initByteArrays(typeBinding.methods().length + typeBinding.fields().length);
 	}
-	return new ClassFile(typeBinding);
+	classFile.isShared = true;
+	return classFile;
 }
 public synchronized ClassFile acquireForModule(ModuleBinding moduleBinding, CompilerOptions options) {
-	for (int i = 0; i < POOL_SIZE; i++) {
+	int index = freeSlot();
+	if (index < 0)
+		return new ClassFile(moduleBinding, options);
+	ClassFile classFile = this.classFiles[index];
+	if (classFile == null) {
+		classFile = new ClassFile(moduleBinding, options, this);
+		this.classFiles[index] = classFile;
+	} else {
+		classFile.reset(null, options);
+		classFile.initByteArrays(0);
+	}
+	classFile.isShared = true;
+	return classFile;
+}
+/*
+ * Answer the index of an empty or released slot, growing the pool if needed, or -1 if it cannot grow anymore.
+ */
+private int freeSlot() {
+	int length = this.classFiles.length;
+	for (int i = 0; i < length; i++) {
 		ClassFile classFile = this.classFiles[i];
-		if (classFile == null) {
-			ClassFile newClassFile = new ClassFile(moduleBinding, options);
-			this.classFiles[i] = newClassFile;
-			newClassFile.isShared = true;
-			return newClassFile;
-		}
-		if (!classFile.isShared) {
-			classFile.reset(null, options);
-			classFile.isShared = true;
-			return classFile;
+		if (classFile == null || !classFile.isShared)
+			return i;
+	}
+	if (length == MAX_POOL_SIZE)
+		return -1;
+	this.classFiles = Arrays.copyOf(this.classFiles, Math.min(length * 2, MAX_POOL_SIZE));
+	return length;
+}
+public void release(ClassFile classFile) {
+	ClassFilePool owner = classFile.pool;
+	if (owner != null && owner != this) {
+		owner.release(classFile); // generated by another compiler of the compilation, see ProcessGroupManager
+		return;
+	}
+	synchronized (this) {
+		if (!classFile.isShared)
+			return;
+		classFile.isShared = false;
+		if (owner == this) {
+			// its buffers are taken again when the class file is reused
+			recycle(classFile.header);
+			recycle(classFile.contents);
+			classFile.header = null;
+			classFile.contents = null;
 		}
 	}
-	return new ClassFile(moduleBinding, options);
 }
-public synchronized void release(ClassFile classFile) {
-	classFile.isShared = false;
+/**
+ * Answer a buffer of at least the given size, recycled if possible.
+ */
+public synchronized byte[] allocate(int minimalSize) {
+	int shift = MIN_BUFFER_SHIFT;
+	while ((1 << shift) < minimalSize && shift <= MAX_BUFFER_SHIFT)
+		shift++;
+	if (shift > MAX_BUFFER_SHIFT)
+		return new byte[minimalSize];
+	int sizeClass = shift - MIN_BUFFER_SHIFT;
+	int count = this.bufferCounts[sizeClass];
+	if (count == 0)
+		return new byte[1 << shift];
+	byte[] buffer = this.buffers[sizeClass][--count];
+	this.buffers[sizeClass][count] = null;
+	this.bufferCounts[sizeClass] = count;
+	return buffer;
+}
+private void recycle(byte[] buffer) {
+	if (buffer == null)
+		return;
+	int length = buffer.length;
+	if (Integer.bitCount(length) != 1)
+		return; // not allocated by this pool
+	int sizeClass = Integer.numberOfTrailingZeros(length) - MIN_BUFFER_SHIFT;
+	if (sizeClass < 0 || sizeClass >= this.bufferCounts.length)
+		return;
+	int count = this.bufferCounts[sizeClass];
+	if (count == BUFFERS_PER_SIZE)
+		return;
+	this.buffers[sizeClass][count] = buffer;
+	this.bufferCounts[sizeClass] = count + 1;
 }
-public void reset() {
-	Arrays.fill(this.classFiles, null);
+public synchronized void reset() {
+	this.classFiles = new ClassFile[POOL_SIZE];
+	for (byte[][] sizeClass : this.buffers)
+		Arrays.fill(sizeClass, null);
+	Arrays.fill(this.bufferCounts, 0);
 }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,6 +62,7 @@ public class CompilationResult {
 	public char[][][] qualifiedReferences;
 	public char[][] simpleNameReferences;
 	public char[][] rootReferences;
+	public char[][] memberReferences;
 	public boolean hasAnnotations = false;
 	public boolean hasFunctionalTypes = false;
 	public int lineSeparatorPositions[];
@@ -388,8 +389,9 @@ public void record(CategorizedProblem newProblem, ReferenceContext referenceCont
 	}
 	this.problems[this.problemCount++] = newProblem;
 	if (referenceContext != null){
-		if (this.problemsMap == null) this.problemsMap = new HashMap(5);
-		if (this.firstErrors == null) this.firstErrors = new HashSet(5);
+		// problems use identity, so a flat identity map saves an entry object per problem
+		if (this.problemsMap == null) this.problemsMap = new IdentityHashMap<>(5);
+		if (this.firstErrors == null) this.firstErrors = Collections.newSetFromMap(new IdentityHashMap<>(5));
 		if (newProblem.isError() && !referenceContext.hasErrors()) this.firstErrors.add(newProblem);
 		this.problemsMap.put(newProblem, referenceContext);
 	}
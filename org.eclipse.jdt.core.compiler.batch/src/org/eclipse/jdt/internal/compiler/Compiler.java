@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,9 +17,11 @@
 package org.eclipse.jdt.internal.compiler;
 
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -79,6 +81,13 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public int annotationProcessorStartIndex = 0;
 	public ReferenceBinding[] referenceBindings;
 	public boolean useSingleThread = true; // by default the compiler will not use worker threads to read/process/write
+	public int parseThreadCount = 1; // number of worker threads used to parse the initial units (1: parse on the compiler thread)
+	// number of compilers processing groups of the initial units at the same time, each with a lookup environment of its
+	// own since a lookup environment is not safe for concurrent completion (1: process on the compiler thread), see
+	// ProcessGroupManager
+	public int processThreadCount = 1;
+	CompilationUnitDeclaration[] parsedInitialUnits; // initial units already parsed for this compiler, if any
+	public ParsedUnitCache parsedUnitCache; // diet parsed units kept across compilations (null: parse every unit)
 
 	// number of initial units parsed at once (-1: none)
 
@@ -444,14 +453,19 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	}
 
 	public void compile(ICompilationUnit[] sourceUnits) {
-		compile(sourceUnits, false);
+		try {
+			compile(sourceUnits, false);
+		} finally {
+			// also when aborted, the times recorded so far are reported
+			this.stats.compilationFinished();
+		}
 	}
 	/**
 	 * General API
 	 * -> compile each of supplied files
 	 * -> recompile any required types for which we have an incomplete principle structure
 	 */
-	private void compile(ICompilationUnit[] sourceUnits, boolean lastRound) {
+	void compile(ICompilationUnit[] sourceUnits, boolean lastRound) {
 		this.stats.startTime = System.currentTimeMillis();
 		try {
 			// build and record parsed units
@@ -462,6 +476,11 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				sortModuleDeclarationsFirst(sourceUnits);
 			}
 			if (this.annotationProcessorManager == null) {
+				ProcessGroupManager groupManager = ProcessGroupManager.forUnits(this, sourceUnits);
+				if (groupManager != null) {
+					groupManager.processUnits();
+					return;
+				}
 				beginToCompile(sourceUnits);
 			} else {
 				ICompilationUnit[] originalUnits = sourceUnits.clone(); // remember source units in case a source type collision occurs
@@ -827,7 +846,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		this.parser = new Parser(this.problemReporter, this.options.parseLiteralExpressionsAsConstants);
 	}
 
-	private  void abortIfPreviewNotAllowed(ICompilationUnit[] sourceUnits, int maxUnits) {
+	void abortIfPreviewNotAllowed(ICompilationUnit[] sourceUnits, int maxUnits) {
 		if (!this.options.enablePreviewFeatures)
 			return;
 		try {
@@ -843,7 +862,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		}
 	}
 
-	private  void abortIfVersionNotAllowed(ICompilationUnit[] sourceUnits, int maxUnits) {
+	void abortIfVersionNotAllowed(ICompilationUnit[] sourceUnits, int maxUnits) {
 		try {
 			long firstSupportedJdkLevel = CompilerOptions.getFirstSupportedJdkLevel();
 			if (this.options.sourceLevel < firstSupportedJdkLevel
@@ -868,8 +887,18 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	protected void internalBeginToCompile(ICompilationUnit[] sourceUnits, int maxUnits) {
 		abortIfVersionNotAllowed(sourceUnits,maxUnits);
 		abortIfPreviewNotAllowed(sourceUnits,maxUnits);
-		if (!this.useSingleThread)
-			this.parser.readManager = new ReadManager(sourceUnits, maxUnits);
+		CompilationUnitDeclaration[] parsedInitialUnits = this.parsedInitialUnits;
+		this.parsedInitialUnits = null; // units added by annotation processors are not parsed yet
+		ParseTaskManager parseTaskManager = null;
+		if (parsedInitialUnits == null) {
+			if (this.parseThreadCount > 1 && maxUnits > 1 && canParseConcurrently())
+				parseTaskManager = new ParseTaskManager(this, sourceUnits, maxUnits, Math.min(this.parseThreadCount, maxUnits));
+			else if (!this.useSingleThread)
+				this.parser.readManager = new ReadManager(sourceUnits, maxUnits, this.stats);
+		}
+		ParsedUnitCache cache = parsedInitialUnits == null && parseTaskManager == null && canParseConcurrently() ? this.parsedUnitCache : null;
+		Object cacheOptions = cache != null ? ParsedUnitCache.optionsKey(this.options) : null;
+		List<ParsedUnitCache.UnitContents> parsedUnits = cache != null ? new ArrayList<>(maxUnits) : null;
 		try {
 			// Switch the current policy and compilation result for this unit to the requested one.
 			for (int i = 0; i < maxUnits; i++) {
@@ -886,13 +915,27 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 					}
 					// diet parsing for large collection of units
 					CompilationUnitDeclaration parsedUnit;
-					unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
 					long parseStart = System.currentTimeMillis();
-					if (this.totalUnits < this.parseThreshold) {
-						parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
+					if (parsedInitialUnits != null) {
+						parsedUnit = parsedInitialUnits[i];
+						parsedInitialUnits[i] = null;
+						parsedUnit.problemReporter = this.problemReporter;
+						unitResult = parsedUnit.compilationResult;
+					} else if (parseTaskManager != null) {
+						parsedUnit = parseTaskManager.getParsedUnit(i);
+						unitResult = parsedUnit.compilationResult;
 					} else {
-						unitResult.cacheSource();
-						parsedUnit = this.parser.dietParse(sourceUnits[i], unitResult);
+						unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
+						if (this.totalUnits < this.parseThreshold) {
+							parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
+						} else {
+							unitResult.cacheSource();
+							parsedUnit = cache != null ? dietParse(cache, cacheOptions, parsedUnits, sourceUnits[i], unitResult) : null;
+							if (parsedUnit == null)
+								parsedUnit = this.parser.dietParse(sourceUnits[i], unitResult);
+							else
+								unitResult = parsedUnit.compilationResult;
+						}
 					}
 					long resolveStart = System.currentTimeMillis();
 					this.stats.parseTime += resolveStart - parseStart;
@@ -916,25 +959,74 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				}
 			}
 		} finally { // especially on AbortCompilation
+			if (parseTaskManager != null) {
+				parseTaskManager.close();
+			}
 			if (this.parser.readManager != null) {
 				this.parser.readManager.shutdown();
 				this.parser.readManager = null;
 			}
 		}
+		if (cache != null)
+			cache.refill(parsedUnits, cacheOptions, newWorkerParser(), this.options.maxProblemsPerUnit);
 		// binding resolution
 		this.lookupEnvironment.completeTypeBindings();
 	}
 
+	/**
+	 * Answer the unit diet parsed by a previous compilation from the same contents, or parse it with the contents read
+	 * to look it up. Answer <code>null</code> if the unit cannot be read, so that the parser reports it.
+	 * The unit is recorded to be parsed again for the next compilation.
+	 */
+	private CompilationUnitDeclaration dietParse(ParsedUnitCache cache, Object cacheOptions,
+			List<ParsedUnitCache.UnitContents> parsedUnits, ICompilationUnit sourceUnit, CompilationResult unitResult) {
+		char[] contents;
+		try {
+			contents = this.parser.readManager != null ? this.parser.readManager.getContents(sourceUnit) : sourceUnit.getContents();
+		} catch (AbortCompilationUnit e) {
+			return null;
+		}
+		ParsedUnitCache.UnitContents unitContents = new ParsedUnitCache.UnitContents(sourceUnit, contents);
+		parsedUnits.add(unitContents);
+		CompilationUnitDeclaration parsedUnit = cache.take(sourceUnit, contents, cacheOptions, unitResult.unitIndex, unitResult.totalUnitsKnown);
+		if (parsedUnit != null) {
+			this.stats.parsedUnitCacheHits++;
+			parsedUnit.problemReporter = this.problemReporter;
+			return parsedUnit;
+		}
+		this.stats.parsedUnitCacheMisses++;
+		return this.parser.dietParse(unitContents, unitResult);
+	}
+
+	/**
+	 * Answer whether the initial units may be parsed by worker parsers, see {@link #newWorkerParser()}.
+	 * Specialized parsers keep their own state, so by default they parse on the compiler thread.
+	 */
+	protected boolean canParseConcurrently() {
+		return this.parser.getClass() == Parser.class;
+	}
+
+	/**
+	 * Answer a new parser used by a worker thread of the {@link ParseTaskManager}.
+	 * Each worker parser reports through its own {@link ProblemReporter}.
+	 */
+	protected Parser newWorkerParser() {
+		ProblemReporter reporter = new ProblemReporter(this.problemReporter.policy, this.options, this.problemReporter.problemFactory);
+		return new Parser(reporter, this.options.parseLiteralExpressionsAsConstants);
+	}
+
 	/**
 	 * Process a compilation unit already parsed and build.
 	 */
 	public void process(CompilationUnitDeclaration unit, int i) {
 		this.lookupEnvironment.unitBeingCompleted = unit;
 		long parseStart = System.currentTimeMillis();
+		long parseStartNanos = System.nanoTime();
 
 		this.parser.getMethodBodies(unit);
 
 		long resolveStart = System.currentTimeMillis();
+		long resolveStartNanos = System.nanoTime();
 		this.stats.parseTime += resolveStart - parseStart;
 
 		// fault in fields & methods
@@ -949,12 +1041,14 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		unit.resolve();
 
 		long analyzeStart = System.currentTimeMillis();
+		long analyzeStartNanos = System.nanoTime();
 		this.stats.resolveTime += analyzeStart - resolveStart;
 
 		//No need of analysis or generation of code if statements are not required
 		if (!this.options.ignoreMethodBodies) unit.analyseCode(); // flow analysis
 
 		long generateStart = System.currentTimeMillis();
+		long generateStartNanos = System.nanoTime();
 		this.stats.analyzeTime += generateStart - analyzeStart;
 
 		if (!this.options.ignoreMethodBodies) unit.generateCode(); // code generation
@@ -967,6 +1061,15 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		unit.finalizeProblems();
 
 		this.stats.generateTime += System.currentTimeMillis() - generateStart;
+		this.stats.unitProcessed(unit.getFileName(),
+				resolveStartNanos - parseStartNanos,
+				analyzeStartNanos - resolveStartNanos,
+				generateStartNanos - analyzeStartNanos,
+				System.nanoTime() - generateStartNanos);
+		if (unit.scope != null) {
+			this.stats.methodLookupHits += unit.scope.methodLookupHits;
+			this.stats.methodLookupMisses += unit.scope.methodLookupMisses;
+		}
 
 		// refresh the total number of units known at this stage
 		unit.compilationResult.totalUnitsKnown = this.totalUnits;
@@ -994,6 +1097,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 			if (index != length) {
 				System.arraycopy(currentUnits, 0, (currentUnits = new CompilationUnitDeclaration[index]), 0, index);
 			}
+			long roundStart = System.currentTimeMillis();
 			this.annotationProcessorManager.processAnnotations(currentUnits, binaryTypeBindingsTemp, false);
 			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=407841
 			// It is possible that during the #processAnnotations() call, some units in the next batch would have been
@@ -1005,6 +1109,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				System.arraycopy(this.unitsToProcess, top, addedUnits, 0, length);
 				this.annotationProcessorManager.processAnnotations(addedUnits, binaryTypeBindingsTemp, false);
 			}
+			this.stats.annotationProcessingRound(System.currentTimeMillis() - roundStart);
 			this.annotationProcessorStartIndex = top;
 			ICompilationUnit[] newUnits = this.annotationProcessorManager.getNewUnits();
 			newUnitSize = newUnits.length;
@@ -1032,7 +1137,9 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 			}
 		} while (newUnitSize != 0 || newClassFilesSize != 0);
 
+		long lastRoundStart = System.currentTimeMillis();
 		this.annotationProcessorManager.processAnnotations(null, null, true);
+		this.stats.annotationProcessingRound(System.currentTimeMillis() - lastRoundStart);
 		// process potential units added in the final round see 329156
 		ICompilationUnit[] newUnits = this.annotationProcessorManager.getNewUnits();
 		newUnitSize = newUnits.length;
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+
+/**
+ * Parses a list of ICompilationUnit on several worker threads.
+ * <p>
+ * Parsing only touches the unit being parsed, so it can safely run concurrently as long as every thread uses its own
+ * {@link Parser} (and with it its own scanner and problem reporter). Type binding creation and everything that
+ * follows still happens on the calling thread: units are handed out by {@link #getParsedUnit(int)} strictly in the
+ * order they were supplied, so problems and class files are produced in the same order as in a sequential build.
+ * </p>
+ */
+public class ParseTaskManager implements AutoCloseable {
+
+	private final Compiler compiler;
+	private final ExecutorService executor;
+	private final Future<CompilationUnitDeclaration>[] parsedUnits;
+	/** idle worker parsers, at most one per thread **/
+	private final Queue<Parser> parsers = new ConcurrentLinkedQueue<>();
+
+	@SuppressWarnings("unchecked")
+	public ParseTaskManager(Compiler compiler, ICompilationUnit[] sourceUnits, int maxUnits, int threadCount) {
+		this.compiler = compiler;
+		this.executor = Executors.newFixedThreadPool(threadCount, r -> {
+			Thread t = new Thread(r, "Compiler Parsing Task"); //$NON-NLS-1$
+			t.setDaemon(true);
+			return t;
+		});
+		this.parsedUnits = new Future[maxUnits];
+		int initialUnits = compiler.totalUnits;
+		for (int i = 0; i < maxUnits; i++) {
+			ICompilationUnit sourceUnit = sourceUnits[i];
+			int unitIndex = i;
+			// same decision as the sequential loop, taken at submission time
+			boolean fullParse = initialUnits + i < compiler.parseThreshold;
+			this.parsedUnits[i] = this.executor.submit(() -> parse(sourceUnit, unitIndex, maxUnits, fullParse));
+		}
+	}
+
+	private CompilationUnitDeclaration parse(ICompilationUnit sourceUnit, int unitIndex, int maxUnits, boolean fullParse) {
+		Parser parser = this.parsers.poll();
+		if (parser == null) {
+			parser = this.compiler.newWorkerParser();
+		}
+		CompilationResult unitResult = new CompilationResult(sourceUnit, unitIndex, maxUnits, this.compiler.options.maxProblemsPerUnit);
+		try {
+			if (fullParse) {
+				return parser.parse(sourceUnit, unitResult);
+			}
+			unitResult.cacheSource();
+			return parser.dietParse(sourceUnit, unitResult);
+		} catch (AbortCompilation a) {
+			// best effort to find a way for reporting this problem:
+			if (a.compilationResult == null)
+				a.compilationResult = unitResult;
+			throw a;
+		} finally {
+			parser.scanner.source = null; // do not hold onto the contents of the parsed unit
+			this.parsers.offer(parser);
+		}
+	}
+
+	/** blocks until the unit at the given index is parsed, rethrowing any failure on the calling thread **/
+	public CompilationUnitDeclaration getParsedUnit(int index) throws Error, AbortCompilation {
+		Future<CompilationUnitDeclaration> future = this.parsedUnits[index];
+		this.parsedUnits[index] = null; // release reference to the parsed unit
+		CompilationUnitDeclaration parsedUnit;
+		try {
+			parsedUnit = future.get();
+		} catch (InterruptedException interrupt) {
+			throw new AbortCompilation(true/* silent */, new RuntimeException(interrupt));
+		} catch (ExecutionException e) {
+			// rethrow the caught exception from the parsing threads in the main compiler thread
+			if (e.getCause() instanceof Error) {
+				Error err = (Error) e.getCause();
+				throw err;
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				RuntimeException ex = (RuntimeException) e.getCause();
+				throw ex;
+			}
+			throw new RuntimeException(e);
+		}
+		// all further problems of this unit are reported through the compiler's reporter
+		parsedUnit.problemReporter = this.compiler.problemReporter;
+		return parsedUnit;
+	}
+
+	@Override
+	public void close() {
+		// On exceptional handling (error/cancel) some units may still be waiting to be parsed.
+		// stop them:
+		for (Future<CompilationUnitDeclaration> future : this.parsedUnits) {
+			if (future != null)
+				future.cancel(true);
+		}
+		this.executor.shutdownNow();
+		this.parsers.clear();
+	}
+}
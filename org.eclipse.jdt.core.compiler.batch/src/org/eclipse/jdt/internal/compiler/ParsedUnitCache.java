@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+
+/**
+ * Keeps the diet parsed units of the previous compilations run in the same VM (see
+ * {@link org.eclipse.jdt.internal.compiler.batch.CompileServer}), so that a unit whose contents did not change is
+ * not parsed again before its type bindings are built.
+ * <p>
+ * Units are looked up by file name and only answered when both their contents and the options they were parsed
+ * with are the same. A parsed unit is modified by the rest of the compilation (bindings, method bodies, code
+ * generation), so every unit is handed out at most once: the units of a compilation are parsed again on a
+ * background thread once they were all handed out, ready for the next compilation.
+ * </p>
+ */
+public class ParsedUnitCache {
+
+	public static final int DEFAULT_CAPACITY = 10000;
+
+	private static volatile ParsedUnitCache shared;
+
+	private static class CachedUnit {
+		final Object options;
+		final int hash;
+		final char[] contents;
+		final CompilationUnitDeclaration unit;
+
+		CachedUnit(Object options, char[] contents, CompilationUnitDeclaration unit) {
+			this.options = options;
+			this.hash = Arrays.hashCode(contents);
+			this.contents = contents;
+			this.unit = unit;
+		}
+
+		boolean matches(Object currentOptions, char[] currentContents) {
+			return this.hash == Arrays.hashCode(currentContents)
+					&& Arrays.equals(this.contents, currentContents)
+					&& this.options.equals(currentOptions);
+		}
+	}
+
+	/**
+	 * A compilation unit answering the contents it was read with, used to parse the unit again without reading it
+	 * a second time.
+	 */
+	static class UnitContents implements ICompilationUnit {
+		final ICompilationUnit unit;
+		final char[] contents;
+
+		UnitContents(ICompilationUnit unit, char[] contents) {
+			this.unit = unit;
+			this.contents = contents;
+		}
+		@Override
+		public char[] getFileName() {
+			return this.unit.getFileName();
+		}
+		@Override
+		public char[] getContents() {
+			return this.contents;
+		}
+		@Override
+		public char[] getMainTypeName() {
+			return this.unit.getMainTypeName();
+		}
+		@Override
+		public char[][] getPackageName() {
+			return this.unit.getPackageName();
+		}
+		@Override
+		public boolean ignoreOptionalProblems() {
+			return this.unit.ignoreOptionalProblems();
+		}
+		@Override
+		public ModuleBinding module(LookupEnvironment environment) {
+			return this.unit.module(environment);
+		}
+		@Override
+		public char[] getModuleName() {
+			return this.unit.getModuleName();
+		}
+		@Override
+		public String getDestinationPath() {
+			return this.unit.getDestinationPath();
+		}
+		@Override
+		public String getExternalAnnotationPath(String qualifiedTypeName) {
+			return this.unit.getExternalAnnotationPath(qualifiedTypeName);
+		}
+		@Override
+		public String toString() {
+			return this.unit.toString();
+		}
+	}
+
+	private final Map<String, CachedUnit> entries;
+	private final ExecutorService refiller;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public ParsedUnitCache(int capacity) {
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedUnit> eldest) {
+				return size() > capacity;
+			}
+		};
+		this.refiller = Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "Compiler Parsed Unit Cache"); //$NON-NLS-1$
+			t.setDaemon(true);
+			t.setPriority(Thread.MIN_PRIORITY);
+			return t;
+		});
+	}
+
+	/**
+	 * Answer the cache shared by all compilations of this VM, or <code>null</code> if parsed units are not to be
+	 * kept (the default).
+	 */
+	public static ParsedUnitCache getShared() {
+		return shared;
+	}
+
+	/**
+	 * Keep the parsed units across compilations from now on.
+	 */
+	public static synchronized ParsedUnitCache enableShared() {
+		if (shared == null)
+			shared = new ParsedUnitCache(DEFAULT_CAPACITY);
+		return shared;
+	}
+
+	/**
+	 * Forget all parsed units and stop keeping them.
+	 */
+	public static synchronized void disableShared() {
+		if (shared != null) {
+			shared.shutdown();
+			shared = null;
+		}
+	}
+
+	/**
+	 * Answer the key of the options that change the outcome of a diet parse.
+	 */
+	public static Object optionsKey(CompilerOptions options) {
+		return List.of(options.getMap(),
+				Boolean.valueOf(options.parseLiteralExpressionsAsConstants),
+				Boolean.valueOf(options.performMethodsFullRecovery),
+				Boolean.valueOf(options.performStatementsRecovery));
+	}
+
+	/**
+	 * Answer the unit parsed from the same contents with the same options, ready to be used as unit
+	 * <code>unitIndex</code> of the current compilation, or <code>null</code> if there is none.
+	 * The unit is removed from the cache.
+	 */
+	public CompilationUnitDeclaration take(ICompilationUnit sourceUnit, char[] contents, Object options, int unitIndex, int totalUnitsKnown) {
+		CachedUnit cachedUnit;
+		synchronized (this.entries) {
+			cachedUnit = this.entries.remove(new String(sourceUnit.getFileName()));
+		}
+		if (cachedUnit == null || !cachedUnit.matches(options, contents)) {
+			this.misses.incrementAndGet();
+			return null;
+		}
+		this.hits.incrementAndGet();
+		CompilationResult unitResult = cachedUnit.unit.compilationResult;
+		unitResult.compilationUnit = sourceUnit;
+		unitResult.unitIndex = unitIndex;
+		unitResult.totalUnitsKnown = totalUnitsKnown;
+		return cachedUnit.unit;
+	}
+
+	/**
+	 * Parse the given units again on the background thread with the given parser, which is used by no one else,
+	 * so that the next compilation finds them.
+	 */
+	public void refill(List<UnitContents> units, Object options, Parser parser, int maxProblemsPerUnit) {
+		if (units.isEmpty())
+			return;
+		try {
+			this.refiller.execute(() -> parseAll(units, options, parser, maxProblemsPerUnit));
+		} catch (RejectedExecutionException e) {
+			// the cache was disabled meanwhile
+		}
+	}
+
+	private void parseAll(List<UnitContents> units, Object options, Parser parser, int maxProblemsPerUnit) {
+		for (UnitContents unit : units) {
+			CompilationResult unitResult = new CompilationResult(unit, 0, 1, maxProblemsPerUnit);
+			unitResult.cacheSource();
+			CompilationUnitDeclaration parsedUnit;
+			try {
+				parsedUnit = parser.dietParse(unit, unitResult);
+			} catch (AbortCompilation e) {
+				continue;
+			}
+			// how errors are handled depends on the policy of the compilation, let it report them itself
+			if (parsedUnit == null || unitResult.hasErrors())
+				continue;
+			synchronized (this.entries) {
+				this.entries.put(new String(unit.getFileName()), new CachedUnit(options, unit.contents, parsedUnit));
+			}
+		}
+	}
+
+	/**
+	 * Wait until the units of the previous compilations were parsed again.
+	 */
+	public void waitForRefill() throws InterruptedException {
+		try {
+			this.refiller.submit(() -> { /* runs after all pending refills */ }).get();
+		} catch (ExecutionException | RejectedExecutionException e) {
+			// nothing left to wait for
+		}
+	}
+
+	/** Answer how many units were answered from the cache. **/
+	public long getHits() {
+		return this.hits.get();
+	}
+
+	/** Answer how many units had to be parsed. **/
+	public long getMisses() {
+		return this.misses.get();
+	}
+
+	/** Answer the percentage of the units answered from the cache. **/
+	public int getHitRate() {
+		long lookups = this.hits.get() + this.misses.get();
+		return lookups == 0 ? 0 : (int) (this.hits.get() * 100 / lookups);
+	}
+
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+		}
+	}
+
+	void shutdown() {
+		this.refiller.shutdownNow();
+		clear();
+	}
+
+	@Override
+	public String toString() {
+		int size;
+		synchronized (this.entries) {
+			size = this.entries.size();
+		}
+		return "ParsedUnitCache: " + size + " units, " + getHits() + " hits, " + getMisses() + " misses (" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ getHitRate() + "%)"; //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,617 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.compiler.CompilationProgress;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.IModule;
+import org.eclipse.jdt.internal.compiler.env.IModuleAwareNameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.IUpdatableModule;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+import org.eclipse.jdt.internal.compiler.util.Messages;
+
+/**
+ * Processes the initial units of a compilation on several compilers at the same time.
+ * <p>
+ * A lookup environment is not safe for concurrent completion, so instead of sharing one, each compiler resolves,
+ * analyzes and generates a group of the initial units with a lookup environment of its own. The units of a package
+ * go to the same group, unless the package is too large for a single group. A compiler binds the initial units of
+ * the other groups from source when it needs them, but only their own compiler processes them. The units found on
+ * the source path are bound by the groups needing them, and processed by a last compiler once all groups are done.
+ * All compilers share the name environment of the compiler, whose answers are serialized.
+ * </p>
+ * <p>
+ * Each group processes its units in the order of the initial units, independently of the other groups. The results
+ * are handed to the requestor of the compiler on its own thread, in the order of the initial units followed by the
+ * units of the source path sorted by file name, so problems and class files come in the same order whatever the
+ * timing of the groups.
+ * </p>
+ */
+public class ProcessGroupManager {
+
+	/** minimum number of initial units per group, smaller compilations are processed by the compiler itself **/
+	public static int MIN_UNITS_PER_GROUP = 50;
+
+	private final Compiler compiler;
+	private final ICompilationUnit[] units;
+	private final CompilationUnitDeclaration[] parsedUnits;
+	private final Map<ICompilationUnit, Integer> unitIndexes = new IdentityHashMap<>();
+	/** index of the unit declaring a top level type, by '/' separated qualified type name **/
+	private final Map<String, Integer> typeUnits = new HashMap<>();
+	/** '/' separated names of the packages of the initial units, and of their enclosing packages **/
+	private final Set<String> declaredPackages = new HashSet<>();
+	private final Set<String> knownPackages = new HashSet<>();
+	private int[] groupOf;
+	private int groupCount;
+
+	/** synchronized access **/
+	private final CompilationResult[] results;
+	private final boolean[] groupDone;
+	private final Throwable[] groupFailures;
+	/** units of the source path bound by the groups, by file name, synchronized access **/
+	private final Map<String, ICompilationUnit> sourcePathUnits = new TreeMap<>();
+	private volatile boolean stopped;
+
+	private ProcessGroupManager(Compiler compiler, ICompilationUnit[] units, CompilationUnitDeclaration[] parsedUnits) {
+		this.compiler = compiler;
+		this.units = units;
+		this.parsedUnits = parsedUnits;
+		this.results = new CompilationResult[units.length];
+		assignGroups();
+		this.groupDone = new boolean[this.groupCount];
+		this.groupFailures = new Throwable[this.groupCount];
+	}
+
+	/**
+	 * Answer a manager processing the given initial units of the compiler in groups, or <code>null</code> if the
+	 * compiler processes them itself. The units are parsed in both cases.
+	 */
+	static ProcessGroupManager forUnits(Compiler compiler, ICompilationUnit[] sourceUnits) {
+		int unitCount = sourceUnits.length;
+		if (compiler.processThreadCount < 2
+				|| unitCount < 2 * MIN_UNITS_PER_GROUP
+				|| compiler.getClass() != Compiler.class // a custom compiler may not support it
+				|| !compiler.canParseConcurrently()
+				|| compiler.options.verbose // messages are printed in processing order
+				|| compiler.referenceBindings != null
+				|| Compiler.DebugRequestor != null)
+			return null;
+		for (ICompilationUnit unit : sourceUnits) {
+			char[] fileName = unit.getFileName();
+			if (unit.getModuleName() != null
+					|| CharOperation.endsWith(fileName, TypeConstants.MODULE_INFO_FILE_NAME)
+					|| CharOperation.endsWith(fileName, TypeConstants.MODULE_INFO_CLASS_NAME))
+				return null; // the modules are completed by the lookup environment of the compiler
+		}
+		compiler.abortIfVersionNotAllowed(sourceUnits, unitCount);
+		compiler.abortIfPreviewNotAllowed(sourceUnits, unitCount);
+
+		// the declared types are needed to bind the units of other groups
+		CompilationUnitDeclaration[] parsedUnits = new CompilationUnitDeclaration[unitCount];
+		long parseStart = System.currentTimeMillis();
+		int threadCount = Math.max(compiler.parseThreadCount, compiler.processThreadCount);
+		try (ParseTaskManager parseTaskManager = new ParseTaskManager(compiler, sourceUnits, unitCount, threadCount)) {
+			for (int i = 0; i < unitCount; i++)
+				parsedUnits[i] = parseTaskManager.getParsedUnit(i);
+		}
+		compiler.stats.parseTime += System.currentTimeMillis() - parseStart;
+
+		ProcessGroupManager manager = new ProcessGroupManager(compiler, sourceUnits.clone(), parsedUnits);
+		if (manager.groupCount < 2) {
+			compiler.parsedInitialUnits = parsedUnits;
+			return null;
+		}
+		return manager;
+	}
+
+	/*
+	 * Spread the units over the groups, in chunks of the units of a package, each chunk to the smallest group so far.
+	 * Leave the group count at 0 when a type is declared by several units, the compiler reports it.
+	 */
+	private void assignGroups() {
+		int unitCount = this.units.length;
+		Map<String, List<Integer>> packageUnits = new LinkedHashMap<>();
+		for (int i = 0; i < unitCount; i++) {
+			this.unitIndexes.put(this.units[i], Integer.valueOf(i));
+			CompilationUnitDeclaration parsedUnit = this.parsedUnits[i];
+			char[][] packageName = parsedUnit.currentPackage == null ? CharOperation.NO_CHAR_CHAR : parsedUnit.currentPackage.tokens;
+			String qualifiedPackageName = new String(CharOperation.concatWith(packageName, '/'));
+			packageUnits.computeIfAbsent(qualifiedPackageName, p -> new ArrayList<>()).add(Integer.valueOf(i));
+			if (this.declaredPackages.add(qualifiedPackageName)) {
+				for (int length = 1; length <= packageName.length; length++)
+					this.knownPackages.add(new String(CharOperation.concatWith(CharOperation.subarray(packageName, 0, length), '/')));
+			}
+			if (CharOperation.equals(this.units[i].getMainTypeName(), TypeConstants.PACKAGE_INFO_NAME)) {
+				if (!addType(packageName, TypeConstants.PACKAGE_INFO_NAME, i))
+					return;
+			}
+			if (parsedUnit.types != null) {
+				for (TypeDeclaration type : parsedUnit.types) {
+					if (!addType(packageName, type.name, i))
+						return;
+				}
+			}
+		}
+
+		int maxGroupCount = Math.min(this.compiler.processThreadCount, unitCount / Math.max(MIN_UNITS_PER_GROUP, 1));
+		int maxChunkSize = (unitCount + maxGroupCount - 1) / maxGroupCount;
+		int[] groupSizes = new int[maxGroupCount];
+		this.groupOf = new int[unitCount];
+		for (List<Integer> unitsOfPackage : packageUnits.values()) {
+			for (int start = 0, size = unitsOfPackage.size(); start < size; start += maxChunkSize) {
+				int group = 0;
+				for (int g = 1; g < maxGroupCount; g++) {
+					if (groupSizes[g] < groupSizes[group])
+						group = g;
+				}
+				int end = Math.min(start + maxChunkSize, size);
+				for (int i = start; i < end; i++)
+					this.groupOf[unitsOfPackage.get(i).intValue()] = group;
+				groupSizes[group] += end - start;
+			}
+		}
+		// groups are filled in order, so the empty ones come last
+		int count = 0;
+		while (count < maxGroupCount && groupSizes[count] > 0)
+			count++;
+		this.groupCount = count;
+	}
+
+	private boolean addType(char[][] packageName, char[] typeName, int unitIndex) {
+		String qualifiedTypeName = new String(CharOperation.concatWith(packageName, typeName, '/'));
+		Integer previous = this.typeUnits.putIfAbsent(qualifiedTypeName, Integer.valueOf(unitIndex));
+		return previous == null || previous.intValue() == unitIndex;
+	}
+
+	/**
+	 * Process the initial units in groups, then the units of the source path which they need, handing all results to
+	 * the requestor of the compiler.
+	 */
+	void processUnits() {
+		Compiler main = this.compiler;
+		main.totalUnits = this.units.length;
+		ExecutorService executor = Executors.newFixedThreadPool(this.groupCount, r -> {
+			Thread t = new Thread(r, "Compiler Group Task"); //$NON-NLS-1$
+			t.setDaemon(true);
+			return t;
+		});
+		List<Compiler> groupCompilers = new ArrayList<>(this.groupCount);
+		try {
+			CompilationProgress groupProgress = new CompilationProgress() {
+				@Override
+				public void begin(int remainingWork) {
+					// reported by the compiler
+				}
+				@Override
+				public void done() {
+					// reported by the compiler
+				}
+				@Override
+				public boolean isCanceled() {
+					return ProcessGroupManager.this.stopped;
+				}
+				@Override
+				public void setTaskName(String name) {
+					// reported by the compiler
+				}
+				@Override
+				public void worked(int workIncrement, int remainingWork) {
+					// reported by the compiler
+				}
+			};
+			for (int group = 0; group < this.groupCount; group++) {
+				List<ICompilationUnit> groupUnits = new ArrayList<>();
+				List<CompilationUnitDeclaration> groupParsedUnits = new ArrayList<>();
+				for (int i = 0, length = this.units.length; i < length; i++) {
+					if (this.groupOf[i] == group) {
+						groupUnits.add(this.units[i]);
+						groupParsedUnits.add(this.parsedUnits[i]);
+						this.parsedUnits[i] = null;
+					}
+				}
+				Compiler groupCompiler = new GroupCompiler(group, this::groupResult, groupProgress);
+				groupCompiler.parsedInitialUnits = groupParsedUnits.toArray(new CompilationUnitDeclaration[groupParsedUnits.size()]);
+				groupCompilers.add(groupCompiler);
+				int groupIndex = group;
+				ICompilationUnit[] sourceUnits = groupUnits.toArray(new ICompilationUnit[groupUnits.size()]);
+				executor.execute(() -> processGroup(groupIndex, groupCompiler, sourceUnits));
+			}
+
+			boolean allAccepted = acceptResults();
+			if (!allAccepted)
+				this.stopped = true; // as the compiler stops at the first aborted unit
+			awaitGroups();
+			for (Compiler groupCompiler : groupCompilers)
+				main.stats.add(groupCompiler.stats);
+			if (allAccepted && !this.sourcePathUnits.isEmpty())
+				processSourcePathUnits();
+		} finally {
+			this.stopped = true;
+			executor.shutdownNow();
+			main.reset();
+			main.stats.endTime = System.currentTimeMillis();
+			main.stats.overallTime += main.stats.endTime - main.stats.startTime;
+		}
+	}
+
+	private void processGroup(int group, Compiler groupCompiler, ICompilationUnit[] sourceUnits) {
+		try {
+			groupCompiler.compile(sourceUnits, false);
+		} catch (Error | RuntimeException e) {
+			synchronized (this.results) {
+				this.groupFailures[group] = e;
+			}
+		} finally {
+			synchronized (this.results) {
+				this.groupDone[group] = true;
+				this.results.notifyAll();
+			}
+		}
+	}
+
+	private void groupResult(CompilationResult result) {
+		Integer index = this.unitIndexes.get(result.getCompilationUnit());
+		if (index == null)
+			return; // a unit of another group or of the source path
+		synchronized (this.results) {
+			this.results[index.intValue()] = result;
+			this.results.notifyAll();
+		}
+	}
+
+	/*
+	 * Hand the results of the initial units to the requestor in the order of the units, as the groups produce them.
+	 * Answer whether all results were handed, the compilation of a group may be aborted before its last unit.
+	 */
+	private boolean acceptResults() {
+		Compiler main = this.compiler;
+		main.requestor.startBatch();
+		try {
+			for (int i = 0, length = this.units.length; i < length; i++) {
+				CompilationResult result = takeResult(i, false);
+				if (result == null) {
+					// the groups have no result at hand => use the time to flush
+					main.requestor.flushBatch();
+					result = takeResult(i, true);
+					if (result == null)
+						return false;
+				}
+				main.reportProgress(Messages.bind(Messages.compilation_processing, new String(result.getFileName())));
+				main.reportWorked(1, i);
+				main.requestor.acceptResult(result);
+			}
+		} finally {
+			main.requestor.endBatch();
+		}
+		return true;
+	}
+
+	private CompilationResult takeResult(int index, boolean wait) {
+		int group = this.groupOf[index];
+		synchronized (this.results) {
+			while (wait && this.results[index] == null && !this.groupDone[group]) {
+				CompilationProgress progress = this.compiler.progress;
+				if (progress != null && progress.isCanceled())
+					throw new AbortCompilation(true, null); // the groups stop once this.stopped is set
+				try {
+					this.results.wait(100);
+				} catch (InterruptedException e) {
+					throw new AbortCompilation(true/* silent */, new RuntimeException(e));
+				}
+			}
+			CompilationResult result = this.results[index];
+			this.results[index] = null; // release reference to the result
+			if (result == null && wait) {
+				// rethrow the failure of the group on the compiler thread
+				Throwable failure = this.groupFailures[group];
+				if (failure instanceof Error)
+					throw (Error) failure;
+				if (failure != null)
+					throw (RuntimeException) failure;
+			}
+			return result;
+		}
+	}
+
+	private void awaitGroups() {
+		synchronized (this.results) {
+			for (int group = 0; group < this.groupCount; group++) {
+				while (!this.groupDone[group]) {
+					try {
+						this.results.wait();
+					} catch (InterruptedException e) {
+						throw new AbortCompilation(true/* silent */, new RuntimeException(e));
+					}
+				}
+			}
+		}
+	}
+
+	/*
+	 * Process the units of the source path bound by the groups, and the ones they need in turn, on the compiler
+	 * thread. The initial units are only bound.
+	 */
+	private void processSourcePathUnits() {
+		Compiler main = this.compiler;
+		ICompilationUnit[] sourceUnits = this.sourcePathUnits.values().toArray(new ICompilationUnit[this.sourcePathUnits.size()]);
+		Compiler sourcePathCompiler = new GroupCompiler(-1, result -> {
+			if (!(result.getCompilationUnit() instanceof ForeignUnit))
+				main.requestor.acceptResult(result);
+		}, main.progress);
+		try {
+			sourcePathCompiler.compile(sourceUnits, false);
+		} finally {
+			main.stats.add(sourcePathCompiler.stats);
+		}
+	}
+
+	/*
+	 * Answer a name environment answering the initial units of the other groups, all of them for the source path
+	 * compiler (group -1).
+	 */
+	INameEnvironment newEnvironment(int group) {
+		INameEnvironment environment = this.compiler.lookupEnvironment.nameEnvironment;
+		return environment instanceof IModuleAwareNameEnvironment
+				? new ModuleAwareGroupEnvironment((IModuleAwareNameEnvironment) environment, group)
+				: new GroupEnvironment(environment, group);
+	}
+
+	/**
+	 * Compiler of a group of initial units, binding the other units it needs without processing them.
+	 */
+	private final class GroupCompiler extends Compiler {
+		private final int group;
+
+		GroupCompiler(int group, ICompilerRequestor requestor, CompilationProgress progress) {
+			super(ProcessGroupManager.this.newEnvironment(group),
+					ProcessGroupManager.this.compiler.problemReporter.policy,
+					ProcessGroupManager.this.compiler.options.copy(),
+					requestor,
+					ProcessGroupManager.this.compiler.problemReporter.problemFactory,
+					ProcessGroupManager.this.compiler.out,
+					progress);
+			this.group = group;
+			this.parseThreshold = ProcessGroupManager.this.compiler.parseThreshold;
+			this.stats.recordDetails = ProcessGroupManager.this.compiler.stats.recordDetails;
+		}
+
+		@Override
+		protected synchronized void addCompilationUnit(ICompilationUnit sourceUnit, CompilationUnitDeclaration parsedUnit) {
+			super.addCompilationUnit(sourceUnit, parsedUnit);
+			if (sourceUnit instanceof ForeignUnit) {
+				parsedUnit.compilationResult.tagAsAccepted(); // processed by the compiler of its group
+			} else if (this.group >= 0 && !ProcessGroupManager.this.unitIndexes.containsKey(sourceUnit)) {
+				parsedUnit.compilationResult.tagAsAccepted(); // processed with the other units of the source path
+				synchronized (ProcessGroupManager.this.sourcePathUnits) {
+					ProcessGroupManager.this.sourcePathUnits.putIfAbsent(new String(sourceUnit.getFileName()), sourceUnit);
+				}
+			}
+		}
+	}
+
+	/**
+	 * An initial unit bound by the compiler of another group. Its module binding is the one of that compiler, so the
+	 * unit itself is not shared.
+	 */
+	private static final class ForeignUnit implements ICompilationUnit {
+		private final ICompilationUnit unit;
+
+		ForeignUnit(ICompilationUnit unit) {
+			this.unit = unit;
+		}
+		@Override
+		public char[] getContents() {
+			return this.unit.getContents();
+		}
+		@Override
+		public char[] getFileName() {
+			return this.unit.getFileName();
+		}
+		@Override
+		public char[] getMainTypeName() {
+			return this.unit.getMainTypeName();
+		}
+		@Override
+		public char[][] getPackageName() {
+			return this.unit.getPackageName();
+		}
+		@Override
+		public boolean ignoreOptionalProblems() {
+			return this.unit.ignoreOptionalProblems();
+		}
+		@Override
+		public String getExternalAnnotationPath(String qualifiedTypeName) {
+			return this.unit.getExternalAnnotationPath(qualifiedTypeName);
+		}
+		@Override
+		public String toString() {
+			return this.unit.toString();
+		}
+	}
+
+	/**
+	 * Answers the initial units of the other groups from source, delegates everything else to the shared name
+	 * environment.
+	 */
+	private class GroupEnvironment implements INameEnvironment {
+		final INameEnvironment delegate;
+		final int group;
+
+		GroupEnvironment(INameEnvironment delegate, int group) {
+			this.delegate = delegate;
+			this.group = group;
+		}
+
+		NameEnvironmentAnswer findForeignType(String qualifiedTypeName) {
+			Integer index = ProcessGroupManager.this.typeUnits.get(qualifiedTypeName);
+			if (index == null) {
+				// a member type by its binary name
+				int dollar = qualifiedTypeName.indexOf('$', qualifiedTypeName.lastIndexOf('/') + 1);
+				if (dollar > 0)
+					index = ProcessGroupManager.this.typeUnits.get(qualifiedTypeName.substring(0, dollar));
+			}
+			if (index == null || ProcessGroupManager.this.groupOf[index.intValue()] == this.group)
+				return null; // the units of the group are bound from the start
+			return new NameEnvironmentAnswer(new ForeignUnit(ProcessGroupManager.this.units[index.intValue()]), null);
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[][] compoundTypeName) {
+			NameEnvironmentAnswer answer = findForeignType(new String(CharOperation.concatWith(compoundTypeName, '/')));
+			if (answer != null)
+				return answer;
+			synchronized (this.delegate) {
+				return this.delegate.findType(compoundTypeName);
+			}
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName) {
+			NameEnvironmentAnswer answer = findForeignType(new String(CharOperation.concatWith(packageName, typeName, '/')));
+			if (answer != null)
+				return answer;
+			synchronized (this.delegate) {
+				return this.delegate.findType(typeName, packageName);
+			}
+		}
+
+		@Override
+		public boolean isPackage(char[][] parentPackageName, char[] packageName) {
+			if (ProcessGroupManager.this.knownPackages.contains(new String(CharOperation.concatWith(parentPackageName, packageName, '/'))))
+				return true;
+			synchronized (this.delegate) {
+				return this.delegate.isPackage(parentPackageName, packageName);
+			}
+		}
+
+		@Override
+		public void cleanup() {
+			// the shared name environment is cleaned up by its owner
+		}
+	}
+
+	private final class ModuleAwareGroupEnvironment extends GroupEnvironment implements IModuleAwareNameEnvironment {
+
+		ModuleAwareGroupEnvironment(IModuleAwareNameEnvironment delegate, int group) {
+			super(delegate, group);
+		}
+
+		private IModuleAwareNameEnvironment moduleDelegate() {
+			return (IModuleAwareNameEnvironment) this.delegate;
+		}
+
+		/* the initial units are in the unnamed module */
+		private boolean includesInitialUnits(char[] moduleName) {
+			LookupStrategy strategy = LookupStrategy.get(moduleName);
+			return strategy == LookupStrategy.Any || strategy == LookupStrategy.Unnamed;
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[][] compoundName, char[] moduleName) {
+			if (includesInitialUnits(moduleName)) {
+				NameEnvironmentAnswer answer = findForeignType(new String(CharOperation.concatWith(compoundName, '/')));
+				if (answer != null)
+					return answer;
+			}
+			synchronized (this.delegate) {
+				return moduleDelegate().findType(compoundName, moduleName);
+			}
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName, char[] moduleName) {
+			if (includesInitialUnits(moduleName)) {
+				NameEnvironmentAnswer answer = findForeignType(new String(CharOperation.concatWith(packageName, typeName, '/')));
+				if (answer != null)
+					return answer;
+			}
+			synchronized (this.delegate) {
+				return moduleDelegate().findType(typeName, packageName, moduleName);
+			}
+		}
+
+		@Override
+		public char[][] getModulesDeclaringPackage(char[][] packageName, char[] moduleName) {
+			char[][] declaringModules;
+			synchronized (this.delegate) {
+				declaringModules = moduleDelegate().getModulesDeclaringPackage(packageName, moduleName);
+			}
+			if (includesInitialUnits(moduleName)
+					&& ProcessGroupManager.this.knownPackages.contains(new String(CharOperation.concatWith(packageName, '/')))) {
+				if (declaringModules == null)
+					return new char[][] { ModuleBinding.UNNAMED };
+				if (!CharOperation.containsEqual(declaringModules, ModuleBinding.UNNAMED))
+					return CharOperation.arrayConcat(declaringModules, ModuleBinding.UNNAMED);
+			}
+			return declaringModules;
+		}
+
+		@Override
+		public boolean hasCompilationUnit(char[][] qualifiedPackageName, char[] moduleName, boolean checkCUs) {
+			if (includesInitialUnits(moduleName)
+					&& ProcessGroupManager.this.declaredPackages.contains(new String(CharOperation.concatWith(qualifiedPackageName, '/'))))
+				return true;
+			synchronized (this.delegate) {
+				return moduleDelegate().hasCompilationUnit(qualifiedPackageName, moduleName, checkCUs);
+			}
+		}
+
+		@Override
+		public IModule getModule(char[] moduleName) {
+			synchronized (this.delegate) {
+				return moduleDelegate().getModule(moduleName);
+			}
+		}
+
+		@Override
+		public char[][] getAllAutomaticModules() {
+			synchronized (this.delegate) {
+				return moduleDelegate().getAllAutomaticModules();
+			}
+		}
+
+		@Override
+		public void applyModuleUpdates(IUpdatableModule module, IUpdatableModule.UpdateKind kind) {
+			synchronized (this.delegate) {
+				moduleDelegate().applyModuleUpdates(module, kind);
+			}
+		}
+
+		@Override
+		public char[][] listPackages(char[] moduleName) {
+			synchronized (this.delegate) {
+				return moduleDelegate().listPackages(moduleName);
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2024 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,22 +24,34 @@ import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 
 /** Reads a list of ICompilationUnit before actually needed (ahead) **/
 public class ReadManager {
-	private static final int CACHE_SIZE = 15; // do not waste memory by keeping too many files in memory
 	/**
-	 * Not more threads then cache size and leave 2 threads for compiler + writer. Executor should process in fifo order
-	 * (first in first out).
+	 * Do not waste memory by keeping too many contents in memory: read ahead while the contents read but not yet
+	 * consumed take less than this many bytes, which can be changed with <code>-Djdt.compiler.readAheadBytes=&lt;bytes&gt;</code>.
 	 */
-	private static final ExecutorService READER_SERVICE = createExecutor(Math.max(0, Math.min(CACHE_SIZE, Runtime.getRuntime().availableProcessors() - 2)));
+	private static final long READ_AHEAD_BYTES = Long.getLong("jdt.compiler.readAheadBytes", 8 << 20); //$NON-NLS-1$
+	private static final int MAX_UNITS_AHEAD = 1000; // even if tiny
+	private static final int MAX_READERS = 15;
+	/**
+	 * Leave 2 threads for compiler + writer. Executor should process in fifo order (first in first out).
+	 * It starts with half of these threads and adds one each time the compiler has to wait for a unit being read,
+	 * the threads added for a compilation are given back once it is done.
+	 */
+	private static final int READER_COUNT = Math.max(0, Math.min(MAX_READERS, Runtime.getRuntime().availableProcessors() - 2));
+	private static final int INITIAL_READERS = (READER_COUNT + 1) / 2;
+	private static final ThreadPoolExecutor READER_SERVICE = createExecutor(INITIAL_READERS);
 
-	private static ExecutorService createExecutor(int threadCount) {
+	private static ThreadPoolExecutor createExecutor(int threadCount) {
 		if (threadCount <= 0)
 			return null;
 		else {
-			ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, /* keepAliveTime */ 5, TimeUnit.MINUTES,
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, READER_COUNT, /* keepAliveTime */ 5, TimeUnit.MINUTES,
 					new LinkedBlockingQueue<>(), r -> {
 						Thread t = new Thread(r, "Compiler Source File Reader"); //$NON-NLS-1$
 						t.setDaemon(true);
@@ -52,8 +64,32 @@ public class ReadManager {
 
 	private final Queue<ICompilationUnit> unitsToRead;
 	private final Map<ICompilationUnit, Future<char[]>> cache = new ConcurrentHashMap<>();
+	private final AtomicInteger unitsBeingRead = new AtomicInteger();
+	private final AtomicLong bytesAhead = new AtomicLong(); // contents read but not yet consumed
+	private final AtomicLong largestContents = new AtomicLong(-1); // in bytes, -1 until a unit was read
+	private final AtomicLong stallTime = new AtomicLong(); // in ns, waiting for contents being read
+	private final long readAheadBytes;
+	private final CompilerStats stats;
+	private int addedReaders; // reader threads added while this manager was stalled
 
 	public ReadManager(ICompilationUnit[] files, int length) {
+		this(files, length, null);
+	}
+
+	/**
+	 * @param stats where to record the time the compiler waited for contents being read, may be null
+	 */
+	public ReadManager(ICompilationUnit[] files, int length, CompilerStats stats) {
+		this(files, length, stats, READ_AHEAD_BYTES);
+	}
+
+	/**
+	 * @param stats where to record the time the compiler waited for contents being read, may be null
+	 * @param readAheadBytes the contents read but not yet consumed only exceed this budget by the largest contents
+	 */
+	public ReadManager(ICompilationUnit[] files, int length, CompilerStats stats, long readAheadBytes) {
+		this.stats = stats;
+		this.readAheadBytes = readAheadBytes;
 		this.unitsToRead = new ArrayDeque<>(length);
 		if (READER_SERVICE == null) {
 			return;
@@ -86,13 +122,19 @@ public class ReadManager {
 			return getWithoutFuture(unit);
 		}
 		// now: future != null
-		queueNextReadAhead();
 		try {
 			// unit was already scheduled
 			// in most cases future is already completed
 			// Otherwise, when read ahead is slower then compiler,
 			// wait for completion to avoid extra work of reading files multiple times:
-			return getWithFuture(future);
+			char[] contents;
+			if (future.isDone()) {
+				contents = getWithFuture(future);
+			} else {
+				contents = getWhileStalled(future);
+			}
+			this.bytesAhead.addAndGet(-2L * contents.length);
+			return contents;
 		} catch (InterruptedException ignored) {
 			return getWhileInterrupted(unit);
 		} catch (ExecutionException e) {
@@ -106,6 +148,8 @@ public class ReadManager {
                 throw ex;
 			}
 			throw new RuntimeException(e);
+		} finally {
+			queueNextReadAhead();
 		}
 	}
 
@@ -115,6 +159,23 @@ public class ReadManager {
 		return future.get();
 	}
 
+	private char[] getWhileStalled(Future<char[]> future) throws InterruptedException, ExecutionException {
+		// read ahead is slower than the compiler, let one more thread read
+		long start = System.nanoTime();
+		synchronized (READER_SERVICE) {
+			int readers = READER_SERVICE.getCorePoolSize();
+			if (readers < READER_COUNT) {
+				READER_SERVICE.setCorePoolSize(readers + 1);
+				this.addedReaders++;
+			}
+		}
+		try {
+			return future.get();
+		} finally {
+			this.stallTime.addAndGet(System.nanoTime() - start);
+		}
+	}
+
 	private char[] getWithoutExecutor(ICompilationUnit unit) {
 		// THREAD_COUNT==0 => no read ahead
 		return unit.getContents();
@@ -131,14 +192,22 @@ public class ReadManager {
 	}
 
 	private boolean queueNextReadAhead() {
-		if (this.cache.size() >= CACHE_SIZE) {
-			return false;
-		}
 		synchronized (this) { // atomic move from unitsToRead to cache
+			// the budget is only charged once read, so reserve the largest contents read so far for each unit being
+			// read, and read a single unit until one was read
+			int beingRead = this.unitsBeingRead.get();
+			long largest = this.largestContents.get();
+			if (largest < 0 ? beingRead > 0 : this.bytesAhead.get() + beingRead * largest >= this.readAheadBytes) {
+				return false;
+			}
+			if (this.cache.size() >= MAX_UNITS_AHEAD || beingRead >= 2 * READER_SERVICE.getCorePoolSize()) {
+				return false;
+			}
 			ICompilationUnit nextUnit = this.unitsToRead.poll();
 			if (nextUnit == null) {
 				return false;
 			}
+			this.unitsBeingRead.incrementAndGet();
 			Future<char[]> future = READER_SERVICE.submit(() -> readAhead(nextUnit));
 			this.cache.put(nextUnit, future);
 			return true;
@@ -146,12 +215,44 @@ public class ReadManager {
 	}
 
 	private char[] readAhead(ICompilationUnit unit) {
-		queueNextReadAhead();
-		return unit.getContents();
+		try {
+			char[] contents = unit.getContents();
+			// charged before the unit stops being read, so that its reservation is never missing
+			this.bytesAhead.addAndGet(2L * contents.length);
+			this.largestContents.accumulateAndGet(2L * contents.length, Math::max);
+			return contents;
+		} finally {
+			this.unitsBeingRead.decrementAndGet();
+			queueNextReadAhead();
+		}
 	}
 
 	public void shutdown() {
 		this.unitsToRead.clear();
 		this.cache.clear();
+		if (this.stats != null) {
+			this.stats.readStallTime += this.stallTime.getAndSet(0) / 1000000;
+		}
+		if (this.addedReaders > 0) {
+			synchronized (READER_SERVICE) {
+				// other compilations may have added readers meanwhile, only give back the ones added here
+				READER_SERVICE.setCorePoolSize(Math.max(INITIAL_READERS, READER_SERVICE.getCorePoolSize() - this.addedReaders));
+			}
+			this.addedReaders = 0;
+		}
+	}
+
+	/**
+	 * Answer the number of reader threads currently kept, 0 if sources are not read ahead.
+	 */
+	public static int getReaderCount() {
+		return READER_SERVICE == null ? 0 : READER_SERVICE.getCorePoolSize();
+	}
+
+	/**
+	 * Answer the number of reader threads kept when no compilation needed more.
+	 */
+	public static int getInitialReaderCount() {
+		return READER_SERVICE == null ? 0 : INITIAL_READERS;
 	}
 }
\ No newline at end of file
@@ -1350,6 +1350,7 @@ public abstract class Annotation extends Expression {
 	 */
 	public static void checkForInstancesOfRepeatableWithRepeatingContainerAnnotation(BlockScope scope, ReferenceBinding repeatedAnnotationType, Annotation[] sourceAnnotations) {
 		// Fail fast if the repeating annotation type can't be a container, anyway
+		scope.compilationUnitScope().recordMethodReference(TypeConstants.VALUE, CompilationUnitScope.ANY_ARITY);
 		MethodBinding[] valueMethods = repeatedAnnotationType.getMethods(TypeConstants.VALUE);
 		if (valueMethods.length != 1) return; // No violations possible
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -174,8 +174,10 @@ public void cleanUp() {
 
 	this.suppressWarningAnnotations = null;
 
-	if (this.scope != null)
+	if (this.scope != null) {
 		this.scope.cleanUpInferenceContexts();
+		this.scope.cleanUpMethodLookups();
+	}
 	this.compilationResult.releaseContent();
 }
 
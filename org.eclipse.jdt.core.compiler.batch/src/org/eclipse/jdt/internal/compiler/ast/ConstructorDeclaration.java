@@ -102,6 +102,7 @@ public void analyseCode(ClassScope classScope, InitializationFlowContext initial
 			if (superClass == null)
 				break checkUnused;
 			// see if there is a no-arg super constructor
+			this.scope.compilationUnitScope().recordMethodReference(TypeConstants.INIT, 0);
 			MethodBinding methodBinding = superClass.getExactConstructor(Binding.NO_PARAMETERS);
 			if (methodBinding == null)
 				break checkUnused;
@@ -117,6 +117,7 @@ public class ForeachStatement extends Statement {
 				// respect declaration annotation on Iterator.next():
 				ReferenceBinding iterator = currentScope.getJavaUtilIterator();
 				if (iterator != null) {
+					currentScope.compilationUnitScope.recordMethodReference(TypeConstants.NEXT, 0);
 					MethodBinding next = iterator.getExactMethod(TypeConstants.NEXT, Binding.NO_TYPES, currentScope.compilationUnitScope);
 					ImplicitNullAnnotationVerifier.ensureNullnessIsKnown(next, currentScope);
 					if (next != null && ((next.tagBits & TagBits.AnnotationNullMASK) != 0)) {
@@ -326,6 +326,7 @@ public abstract class FunctionalExpression extends Expression {
 					ReferenceBinding superInterface = interfaces[i];
 					if (superInterface == null)
 						continue;
+					this.scope.compilationUnitScope().recordMethodReference(this.selector, CompilationUnitScope.ANY_ARITY);
 					MethodBinding [] methods = superInterface.getMethods(this.selector);
 					for (int j = 0, count = methods == null ? 0 : methods.length; j < count; j++) {
 						MethodBinding inheritedMethod = methods[j];
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1136,7 +1136,9 @@ protected TypeBinding findMethodBinding(BlockScope scope) {
 	if (this.binding == null) { // first look up or a "cache miss" somehow.
 		this.binding = this.receiver.isImplicitThis() ?
 				scope.getImplicitMethod(this.selector, this.argumentTypes, this)
-				: scope.getMethod(this.actualReceiverType, this.selector, this.argumentTypes, this);
+				: canShareMethodLookup(scope)
+					? scope.compilationUnitScope().getMethod(scope, this.actualReceiverType, this.selector, this.argumentTypes, this)
+					: scope.getMethod(this.actualReceiverType, this.selector, this.argumentTypes, this);
 
 	    if (this.binding instanceof PolyParameterizedGenericMethodBinding) {
 		    this.solutionsPerTargetType = new HashMap<>();
@@ -1147,6 +1149,23 @@ protected TypeBinding findMethodBinding(BlockScope scope) {
 	return this.binding.returnType;
 }
 
+/**
+ * Answer whether the method found for this invocation only depends on the receiver type, the argument types, the
+ * expected type and the type the invocation is in, so that it can be shared with the invocations of the same shape,
+ * see {@link CompilationUnitScope#getMethod(Scope, TypeBinding, char[], TypeBinding[], InvocationSite)}.
+ */
+private boolean canShareMethodLookup(BlockScope scope) {
+	if (this.genericTypeArguments != null || isSuperAccess())
+		return false;
+	if (scope.methodScope().referenceContext instanceof LambdaExpression || scope.enclosingLambdaScope() != null)
+		return false;
+	for (TypeBinding argumentType : this.argumentTypes) {
+		if (argumentType.kind() == Binding.POLY_TYPE)
+			return false;
+	}
+	return true;
+}
+
 @Override
 public void setActualReceiverType(ReferenceBinding receiverType) {
 	if (receiverType == null) return; // error scenario only
@@ -66,6 +66,7 @@ public class ProvidesStatement extends ModuleStatement {
 			} else if (impl.isNestedType() && !impl.isStatic()) {
 				problemId = IProblem.NestedServiceImpl;
 			} else {
+				scope.compilationUnitScope().recordMethodReference(TypeConstants.PROVIDER, 0);
 				MethodBinding provider = impl.getExactMethod(TypeConstants.PROVIDER, Binding.NO_PARAMETERS, scope.compilationUnitScope());
 				if (provider != null && (!provider.isValidBinding() || !(provider.isPublic() && provider.isStatic()))) {
 					provider = null;
@@ -83,6 +84,7 @@ public class ProvidesStatement extends ModuleStatement {
 					if (impl.isAbstract()) {
 						problemId = IProblem.AbstractServiceImplementation;
 					} else {
+						scope.compilationUnitScope().recordMethodReference(TypeConstants.INIT, 0);
 						MethodBinding defaultConstructor = impl.getExactConstructor(Binding.NO_PARAMETERS);
 						if (defaultConstructor == null || !defaultConstructor.isValidBinding()) {
 							problemId = IProblem.ProviderMethodOrConstructorRequiredForServiceImpl;
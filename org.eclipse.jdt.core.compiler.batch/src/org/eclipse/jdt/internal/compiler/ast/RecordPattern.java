@@ -24,6 +24,7 @@ import org.eclipse.jdt.internal.compiler.flow.FlowContext;
 import org.eclipse.jdt.internal.compiler.flow.FlowInfo;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
+import org.eclipse.jdt.internal.compiler.lookup.CompilationUnitScope;
 import org.eclipse.jdt.internal.compiler.lookup.InferenceContext18;
 import org.eclipse.jdt.internal.compiler.lookup.LocalVariableBinding;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
@@ -155,6 +156,7 @@ public class RecordPattern extends Pattern {
 			TypeBinding componentType = componentBinding.type;
 			if (p1.isApplicable(componentType, scope, p1)) {
 				p1.isTotalTypeNode = p1.coversType(componentType, scope);
+				scope.compilationUnitScope().recordMethodReference(componentBinding.name, CompilationUnitScope.ANY_ARITY);
 				MethodBinding[] methods = this.resolvedType.getMethods(componentBinding.name);
 				if (methods != null && methods.length > 0) {
 					p1.accessorMethod = methods[0];
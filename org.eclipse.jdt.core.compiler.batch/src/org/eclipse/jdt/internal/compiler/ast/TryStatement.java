@@ -401,6 +401,7 @@ private MethodBinding findCloseMethod(final ASTNode resource, TypeBinding type)
 	MethodBinding closeMethod = null;
 	if (type != null && type.isValidBinding() && type instanceof ReferenceBinding) {
 		ReferenceBinding binding = (ReferenceBinding) type;
+		this.scope.compilationUnitScope().recordMethodReference(ConstantPool.Close, 0);
 		closeMethod = binding.getExactMethod(ConstantPool.Close, new TypeBinding [0], this.scope.compilationUnitScope()); // scope needs to be tighter
 		if(closeMethod == null) {
 			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=380112
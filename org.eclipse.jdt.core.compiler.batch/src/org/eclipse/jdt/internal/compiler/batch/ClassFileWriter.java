@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Writes class files on background threads, so that the compiler does not wait for the file system.
+ * <p>
+ * Class file bytes are handed over through a bounded queue (the compiler blocks when the writers fall behind) and
+ * written through a {@link FileChannel}. Output directories are created once per package. When an archive is
+ * given, class files destined to it are stored as entries of that archive instead. These entries are kept until
+ * {@link #finish()}, then written sorted by name and with a constant time, so that the same sources always give the
+ * same archive.
+ * Write failures are collected and handed back by {@link #finish()}, on the compiler thread. The writers keep
+ * draining the queue after a failure, so that the compiler never waits for a writer which is gone.
+ * </p>
+ */
+public class ClassFileWriter {
+
+	private static final int QUEUE_SIZE = 256; // class files waiting to be written
+	private static final int WRITING_SIZE = 8192;
+	private static final Object STOP_SIGNAL = new Object();
+	/** time of all archive entries, the earliest time of the zip format **/
+	private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 1, 1, 0, 0);
+
+	static class Failure {
+		final String outputPath;
+		final String relativeFileName;
+		final IOException exception;
+		Failure(String outputPath, String relativeFileName, IOException exception) {
+			this.outputPath = outputPath;
+			this.relativeFileName = relativeFileName;
+			this.exception = exception;
+		}
+	}
+
+	private static class Entry {
+		final boolean generatePackagesStructure;
+		final String outputPath;
+		final String relativeFileName;
+		final byte[] bytes;
+		Entry(boolean generatePackagesStructure, String outputPath, String relativeFileName, byte[] bytes) {
+			this.generatePackagesStructure = generatePackagesStructure;
+			this.outputPath = outputPath;
+			this.relativeFileName = relativeFileName;
+			this.bytes = bytes;
+		}
+	}
+
+	/** contains Entry or STOP_SIGNAL **/
+	private final BlockingQueue<Object> entries = new ArrayBlockingQueue<>(QUEUE_SIZE);
+	private final Thread[] writers;
+	/** output directories already created, mapped to themselves **/
+	private final Map<String, String> directories = new ConcurrentHashMap<>();
+	private final String archivePath;
+	private final ZipOutputStream archive;
+	/** contents of the archive entries by name, synchronized access **/
+	private final Map<String, byte[]> archiveEntries = new TreeMap<>();
+	private final AtomicLong writeTime = new AtomicLong();
+	/** synchronized access **/
+	private final List<Failure> failures = new ArrayList<>();
+	/** first error thrown by a writer, synchronized on failures **/
+	private Error error;
+
+	/**
+	 * @param threadCount number of writer threads
+	 * @param archivePath destination archive (jar or zip) or <code>null</code> to only write into directories
+	 */
+	public ClassFileWriter(int threadCount, String archivePath) throws IOException {
+		this.archivePath = archivePath;
+		if (archivePath != null) {
+			Path parent = Paths.get(archivePath).toAbsolutePath().getParent();
+			if (parent != null)
+				Files.createDirectories(parent);
+			this.archive = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(Paths.get(archivePath)), WRITING_SIZE));
+		} else {
+			this.archive = null;
+		}
+		this.writers = new Thread[Math.max(1, threadCount)];
+		for (int i = 0; i < this.writers.length; i++) {
+			Thread t = new Thread(this::writing, "Compiler Class File Writer"); //$NON-NLS-1$
+			t.setDaemon(true);
+			t.start();
+			this.writers[i] = t;
+		}
+	}
+
+	/**
+	 * Queue the given class file contents for writing - wait if no space is available.
+	 * The contents must not be modified afterwards.
+	 */
+	public void write(boolean generatePackagesStructure, String outputPath, String relativeFileName, byte[] bytes) {
+		try {
+			this.entries.put(new Entry(generatePackagesStructure, outputPath, relativeFileName, bytes));
+		} catch (InterruptedException interrupt) {
+			throw new RuntimeException(interrupt);
+		}
+	}
+
+	private void writing() {
+		while (true) {
+			Object next;
+			try {
+				next = this.entries.take();
+			} catch (InterruptedException interrupt) {
+				return;
+			}
+			if (next == STOP_SIGNAL) {
+				return;
+			}
+			Entry entry = (Entry) next;
+			long start = System.currentTimeMillis();
+			try {
+				if (this.archive != null && entry.outputPath.equals(this.archivePath)) {
+					writeToArchive(entry);
+				} else {
+					writeToDirectory(entry);
+				}
+			} catch (IOException e) {
+				synchronized (this.failures) {
+					this.failures.add(new Failure(entry.outputPath, entry.relativeFileName, e));
+				}
+			} catch (UncheckedIOException e) {
+				synchronized (this.failures) {
+					this.failures.add(new Failure(entry.outputPath, entry.relativeFileName, e.getCause()));
+				}
+			} catch (RuntimeException e) {
+				// e.g. an invalid path, the writer must keep draining the queue or the compiler blocks
+				synchronized (this.failures) {
+					this.failures.add(new Failure(entry.outputPath, entry.relativeFileName, new IOException(e)));
+				}
+			} catch (Error e) {
+				// rethrown by finish() on the compiler thread, the writer keeps draining the queue
+				synchronized (this.failures) {
+					if (this.error == null)
+						this.error = e;
+				}
+			} finally {
+				this.writeTime.addAndGet(System.currentTimeMillis() - start);
+			}
+		}
+	}
+
+	private void writeToArchive(Entry entry) {
+		String entryName = entry.generatePackagesStructure
+				? entry.relativeFileName.replace(File.separatorChar, '/')
+				: entry.relativeFileName.substring(entry.relativeFileName.lastIndexOf(File.separatorChar) + 1);
+		synchronized (this.archiveEntries) {
+			this.archiveEntries.put(entryName, entry.bytes);
+		}
+	}
+
+	private void writeArchive() throws IOException {
+		long start = System.currentTimeMillis();
+		try {
+			for (Map.Entry<String, byte[]> archiveEntry : this.archiveEntries.entrySet()) {
+				ZipEntry zipEntry = new ZipEntry(archiveEntry.getKey());
+				zipEntry.setTimeLocal(ENTRY_TIME);
+				this.archive.putNextEntry(zipEntry);
+				this.archive.write(archiveEntry.getValue());
+				this.archive.closeEntry();
+			}
+		} finally {
+			this.archiveEntries.clear();
+			this.writeTime.addAndGet(System.currentTimeMillis() - start);
+		}
+	}
+
+	private void writeToDirectory(Entry entry) throws IOException {
+		char fileSeparatorChar = File.separatorChar;
+		String outputPath = entry.outputPath.replace('/', fileSeparatorChar);
+		if (outputPath.endsWith(File.separator)) {
+			outputPath = outputPath.substring(0, outputPath.length() - 1);
+		}
+		String relativeFileName = entry.relativeFileName.replace('/', fileSeparatorChar);
+		int separatorIndex = relativeFileName.lastIndexOf(fileSeparatorChar);
+		if (!entry.generatePackagesStructure) {
+			relativeFileName = relativeFileName.substring(separatorIndex + 1);
+		} else {
+			String relativeName = relativeFileName;
+			String directory = separatorIndex == -1 ? outputPath : outputPath + fileSeparatorChar + relativeFileName.substring(0, separatorIndex);
+			// other writers of the same package wait until the directory exists
+			this.directories.computeIfAbsent(directory, d -> {
+				try {
+					Util.buildAllDirectoriesInto(entry.outputPath, relativeName);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return d;
+			});
+		}
+		Path file = Paths.get(outputPath, relativeFileName);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.wrap(entry.bytes);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Answer the accumulated time (in ms) spent by all writer threads, which overlaps the compilation.
+	 */
+	public long getWriteTime() {
+		return this.writeTime.get();
+	}
+
+	/**
+	 * Waits until all queued class files are written, then stops the writer threads.
+	 * @return the class files that could not be written
+	 * @throws Error the first error thrown while writing
+	 */
+	public List<Failure> finish() throws IOException {
+		try {
+			for (int i = 0; i < this.writers.length; i++) {
+				this.entries.put(STOP_SIGNAL);
+			}
+			for (Thread writer : this.writers) {
+				writer.join();
+			}
+		} catch (InterruptedException interrupt) {
+			for (Thread writer : this.writers) {
+				writer.interrupt();
+			}
+			Thread.currentThread().interrupt();
+		} finally {
+			if (this.archive != null) {
+				try {
+					synchronized (this.archiveEntries) {
+						writeArchive();
+					}
+				} finally {
+					this.archive.close();
+				}
+			}
+		}
+		synchronized (this.failures) {
+			if (this.error != null)
+				throw this.error;
+			return new ArrayList<>(this.failures);
+		}
+	}
+}
@@ -16,11 +16,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.batch;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -40,6 +40,7 @@ import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding.ExternalAnnotationStatus;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
+import org.eclipse.jdt.internal.compiler.util.MappedZipFile;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
@@ -52,6 +53,10 @@ protected ZipFile annotationZipFile;
 protected boolean closeZipFileAtEnd;
 protected Set<String> packageCache;
 protected List<String> annotationPaths;
+/** set when the zip file is kept open across compilations **/
+protected ClasspathJarCache.Archive sharedArchive;
+/** set instead of zipFile when the jar file is memory mapped **/
+protected MappedZipFile mappedZipFile;
 
 public ClasspathJar(File file, boolean closeZipFileAtEnd,
 		AccessRuleSet accessRuleSet, String destinationPath) {
@@ -67,11 +72,18 @@ public List<Classpath> fetchLinkedJars(FileSystem.ClasspathSectionProblemReporte
 	try {
 		initialize();
 		ArrayList<Classpath> result = new ArrayList<>();
-		ZipEntry manifest = this.zipFile.getEntry(TypeConstants.META_INF_MANIFEST_MF);
+		InputStream manifest;
+		if (this.mappedZipFile != null) {
+			byte[] contents = this.mappedZipFile.getEntryBytes(TypeConstants.META_INF_MANIFEST_MF);
+			manifest = contents == null ? null : new ByteArrayInputStream(contents);
+		} else {
+			ZipEntry entry = this.zipFile.getEntry(TypeConstants.META_INF_MANIFEST_MF);
+			manifest = entry == null ? null : this.zipFile.getInputStream(entry);
+		}
 		if (manifest != null) { // non-null implies regular file
 			ManifestAnalyzer analyzer = new ManifestAnalyzer();
 			boolean success;
-			try (InputStream inputStream = this.zipFile.getInputStream(manifest)) {
+			try (InputStream inputStream = manifest) {
 				success = analyzer.analyzeManifestContents(inputStream);
 			}
 			List calledFileNames = analyzer.getCalledFileNames();
@@ -112,7 +124,13 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 		return null; // most common case
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		IBinaryType reader;
+		if (this.sharedArchive != null && this.module == null)
+			reader = this.sharedArchive.read(qualifiedBinaryFileName);
+		else if (this.mappedZipFile != null)
+			reader = ClassFileReader.read(this.mappedZipFile, qualifiedBinaryFileName);
+		else
+			reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
 		if (reader != null) {
 			char[] modName = this.module == null ? null : this.module.name();
 			if (reader instanceof ClassFileReader) {
@@ -151,6 +169,8 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 }
 @Override
 public boolean hasAnnotationFileFor(String qualifiedTypeName) {
+	if (this.mappedZipFile != null)
+		return this.mappedZipFile.hasEntry(qualifiedTypeName+ExternalAnnotationProvider.ANNOTATION_FILE_SUFFIX);
 	if (this.zipFile == null)
 		return false;
 	return this.zipFile.getEntry(qualifiedTypeName+ExternalAnnotationProvider.ANNOTATION_FILE_SUFFIX) != null;
@@ -161,8 +181,7 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 		return null; // most common case
 	final char[] packageArray = qualifiedPackageName.toCharArray();
 	final ArrayList answers = new ArrayList();
-	nextEntry : for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
+	nextEntry : for (String fileName : entryNames()) {
 
 		// add the package name & all of its parent packages
 		int last = fileName.lastIndexOf('/');
@@ -192,10 +211,42 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 
 @Override
 public void initialize() throws IOException {
-	if (this.zipFile == null) {
-		this.zipFile = new ZipFile(this.file);
+	if (this.zipFile == null && this.mappedZipFile == null) {
+		ClasspathJarCache cache = ClasspathJarCache.getShared();
+		if (cache != null) {
+			this.sharedArchive = cache.open(this.file);
+			if (this.sharedArchive.mappedZipFile != null && canMapZipFile())
+				this.mappedZipFile = this.sharedArchive.mappedZipFile;
+			else
+				this.zipFile = this.sharedArchive.getZipFile();
+		} else {
+			if (MappedZipFile.ENABLED && canMapZipFile()) {
+				try {
+					this.mappedZipFile = MappedZipFile.open(this.file);
+					return;
+				} catch (IOException e) {
+					// not a plain zip file or not mappable, let ZipFile deal with it
+				}
+			}
+			this.zipFile = new ZipFile(this.file);
+		}
 	}
 }
+/**
+ * Answer whether the jar file may be memory mapped instead of opened as a {@link ZipFile}, which
+ * requires that all accesses go through {@link #mappedZipFile} when it is set.
+ */
+protected boolean canMapZipFile() {
+	return true;
+}
+/**
+ * Answer the names of all entries of the jar file.
+ */
+protected Iterable<String> entryNames() {
+	if (this.mappedZipFile != null)
+		return this.mappedZipFile.names();
+	return () -> this.zipFile.stream().map(ZipEntry::getName).iterator();
+}
 void acceptModule(ClassFileReader reader) {
 	if (reader != null) {
 		acceptModule(reader.getModuleDeclaration());
@@ -230,20 +281,30 @@ public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageN
 	if (this.packageCache != null)
 		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
 
+	if (this.sharedArchive != null) {
+		this.packageCache = this.sharedArchive.getPackages();
+		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
+	}
 	this.packageCache = new HashSet<>(41);
 	this.packageCache.add(Util.EMPTY_STRING);
 
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
+	for (String fileName : entryNames()) {
 		addToPackageCache(fileName, false);
 	}
 	return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
 }
 @Override
+public Set<String> getPackageNames() {
+	if (this.zipFile == null && this.mappedZipFile == null)
+		return null; // not initialized
+	if (this.packageCache == null)
+		getModulesDeclaringPackage(Util.EMPTY_STRING, null);
+	return this.packageCache;
+}
+@Override
 public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName) {
 	qualifiedPackageName += '/';
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
+	for (String fileName : entryNames()) {
 		if (fileName.startsWith(qualifiedPackageName) && fileName.length() > qualifiedPackageName.length()) {
 			String tail = fileName.substring(qualifiedPackageName.length());
 			if (tail.indexOf('/') != -1)
@@ -258,8 +319,7 @@ public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName
 @Override
 public char[][] listPackages() {
 	Set<String> packageNames = new HashSet<>();
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
+	for (String fileName : entryNames()) {
 		int lastSlash = fileName.lastIndexOf('/');
 		if (lastSlash != -1 && fileName.toLowerCase().endsWith(SUFFIX_STRING_class))
 			packageNames.add(fileName.substring(0, lastSlash).replace('/', '.'));
@@ -270,6 +330,16 @@ public char[][] listPackages() {
 @Override
 public void reset() {
 	super.reset();
+	if (this.sharedArchive != null) {
+		// stays open for the next compilation
+		this.sharedArchive = null;
+		this.zipFile = null;
+		this.mappedZipFile = null;
+	}
+	if (this.mappedZipFile != null) {
+		this.mappedZipFile.close();
+		this.mappedZipFile = null;
+	}
 	if (this.closeZipFileAtEnd) {
 		if (this.zipFile != null) {
 			try {
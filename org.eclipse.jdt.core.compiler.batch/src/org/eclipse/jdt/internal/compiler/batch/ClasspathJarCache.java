@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.util.MappedZipFile;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Keeps jar files open across compilations run in the same VM (see {@link CompileServer}), together with the
+ * class file readers and the package names already read from them.
+ * <p>
+ * An archive is reopened, and everything read from it forgotten, as soon as its time stamp or its size changed.
+ * Archives are memory mapped like those of a single compilation (see {@link MappedZipFile}) and the class file
+ * readers are only softly reachable, so that they are dropped before the VM runs out of memory.
+ * Only the contents of the archive are shared: every compilation still creates its own {@link ClasspathJar}
+ * (with its own access rules and destination path), so that its outcome is the same as with a cold compiler.
+ * </p>
+ */
+public class ClasspathJarCache {
+
+	private static volatile ClasspathJarCache shared;
+
+	/**
+	 * A reader kept as long as memory allows, which knows its entry so that it can be removed once collected.
+	 */
+	private static class SoftReader extends SoftReference<ClassFileReader> {
+		final String qualifiedBinaryFileName;
+
+		SoftReader(String qualifiedBinaryFileName, ClassFileReader reader, ReferenceQueue<ClassFileReader> queue) {
+			super(reader, queue);
+			this.qualifiedBinaryFileName = qualifiedBinaryFileName;
+		}
+	}
+
+	static class Archive {
+		final File file;
+		/** null if the archive cannot be mapped, see {@link #getZipFile()} **/
+		final MappedZipFile mappedZipFile;
+		private ZipFile zipFile;
+		final long lastModified;
+		final long length;
+		private final Map<String, SoftReader> readers = new ConcurrentHashMap<>();
+		private final ReferenceQueue<ClassFileReader> collectedReaders = new ReferenceQueue<>();
+		private Set<String> packages;
+
+		Archive(File file, long lastModified, long length) throws IOException {
+			this.file = file;
+			MappedZipFile mapped = null;
+			if (MappedZipFile.ENABLED) {
+				try {
+					mapped = MappedZipFile.open(file);
+				} catch (IOException e) {
+					// not a plain zip file or not mappable, let ZipFile deal with it
+				}
+			}
+			this.mappedZipFile = mapped;
+			if (mapped == null)
+				this.zipFile = new ZipFile(file);
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+
+		/**
+		 * Answer the archive opened as a {@link ZipFile}, for the jars which cannot read through the mapping.
+		 */
+		synchronized ZipFile getZipFile() throws IOException {
+			if (this.zipFile == null)
+				this.zipFile = new ZipFile(this.file);
+			return this.zipFile;
+		}
+
+		/**
+		 * Answer the reader of the given entry, reading it on first request. Readers are only handed out to jars
+		 * that are not part of a module, since those would record their module name in the reader.
+		 */
+		ClassFileReader read(String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+			SoftReader reference = this.readers.get(qualifiedBinaryFileName);
+			ClassFileReader reader = reference == null ? null : reference.get();
+			if (reader == null) {
+				removeCollectedReaders();
+				reader = this.mappedZipFile != null
+						? ClassFileReader.read(this.mappedZipFile, qualifiedBinaryFileName)
+						: ClassFileReader.read(getZipFile(), qualifiedBinaryFileName);
+				if (reader != null)
+					this.readers.put(qualifiedBinaryFileName, new SoftReader(qualifiedBinaryFileName, reader, this.collectedReaders));
+			}
+			return reader;
+		}
+
+		private void removeCollectedReaders() {
+			SoftReader collected;
+			while ((collected = (SoftReader) this.collectedReaders.poll()) != null)
+				this.readers.remove(collected.qualifiedBinaryFileName, collected);
+		}
+
+		/** the names of all packages of the archive (including the default package), must not be modified **/
+		synchronized Set<String> getPackages() {
+			if (this.packages == null) {
+				Set<String> result = new HashSet<>(41);
+				result.add(Util.EMPTY_STRING);
+				if (this.mappedZipFile != null) {
+					for (String fileName : this.mappedZipFile.names())
+						addPackages(result, fileName);
+				} else {
+					for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); )
+						addPackages(result, e.nextElement().getName());
+				}
+				this.packages = result;
+			}
+			return this.packages;
+		}
+
+		private static void addPackages(Set<String> packageNames, String fileName) {
+			int last = fileName.lastIndexOf('/');
+			while (last > 0) {
+				String packageName = fileName.substring(0, last);
+				if (!packageNames.add(packageName))
+					break;
+				last = packageName.lastIndexOf('/');
+			}
+		}
+
+		/**
+		 * Close the archive and forget the readers read from it.
+		 */
+		synchronized void close() {
+			this.readers.clear();
+			if (this.mappedZipFile != null)
+				this.mappedZipFile.close();
+			if (this.zipFile != null) {
+				try {
+					this.zipFile.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+	}
+
+	private final Map<File, Archive> archives = new HashMap<>();
+
+	/**
+	 * Answer the cache shared by all compilations of this VM, or <code>null</code> if jar files are not
+	 * to be kept open (the default).
+	 */
+	public static ClasspathJarCache getShared() {
+		return shared;
+	}
+
+	/**
+	 * Keep jar files open across compilations from now on.
+	 */
+	public static synchronized ClasspathJarCache enableShared() {
+		if (shared == null)
+			shared = new ClasspathJarCache();
+		return shared;
+	}
+
+	/**
+	 * Close all shared archives and stop keeping jar files open.
+	 */
+	public static synchronized void disableShared() {
+		if (shared != null) {
+			shared.clear();
+			shared = null;
+		}
+	}
+
+	/**
+	 * Answer the open archive for the given jar file, reopening it when it changed on disk since it was last opened.
+	 */
+	synchronized Archive open(File file) throws IOException {
+		File key = file.getAbsoluteFile();
+		long lastModified = key.lastModified();
+		long length = key.length();
+		Archive archive = this.archives.get(key);
+		if (archive != null) {
+			if (archive.lastModified == lastModified && archive.length == length)
+				return archive;
+			this.archives.remove(key);
+			archive.close();
+		}
+		archive = new Archive(key, lastModified, length);
+		this.archives.put(key, archive);
+		return archive;
+	}
+
+	/**
+	 * Close all archives and forget everything read from them.
+	 */
+	public synchronized void clear() {
+		for (Archive archive : this.archives.values())
+			archive.close();
+		this.archives.clear();
+	}
+
+	/** number of archives currently kept open **/
+	public synchronized int size() {
+		return this.archives.size();
+	}
+}
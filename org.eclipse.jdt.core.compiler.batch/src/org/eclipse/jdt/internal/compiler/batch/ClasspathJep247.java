@@ -265,6 +265,10 @@ public class ClasspathJep247 extends ClasspathJrt {
 		}
 		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
 	}
+	@Override
+	public Set<String> getPackageNames() {
+		return null; // packages depend on the release
+	}
 
 	@Override
 	public String toString() {
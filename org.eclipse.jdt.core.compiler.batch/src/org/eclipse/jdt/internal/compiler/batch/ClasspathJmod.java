@@ -44,6 +44,11 @@ public ClasspathJmod(File file, boolean closeZipFileAtEnd,
 	super(file, closeZipFileAtEnd, accessRuleSet, destinationPath);
 }
 
+@Override
+protected boolean canMapZipFile() {
+	return false; // reads through zipFile
+}
+
 @Override
 public List<Classpath> fetchLinkedJars(FileSystem.ClasspathSectionProblemReporter problemReporter) {
 	// don't do anything
@@ -77,6 +77,10 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 		return CharOperation.toCharArrays(modules);
 	}
 	@Override
+	public Set<String> getPackageNames() {
+		return this.jrtFileSystem.getPackages();
+	}
+	@Override
 	public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName) {
 		return JRTUtil.hasCompilationUnit(this.jrtFileSystem, qualifiedPackageName, moduleName);
 	}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.jdt.internal.compiler.ParsedUnitCache;
+import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+
+/**
+ * Long-lived batch compiler, which saves the start up cost of the VM, keeps the JIT warm and keeps jar files open
+ * (see {@link ClasspathJarCache}), the class files of the JDK (see {@link JRTUtil#setShareClassfiles(boolean)}) and
+ * the diet parsed source files (see {@link ParsedUnitCache}) across compilations.
+ * <p>
+ * Requests are read line by line, either from the standard input or, with <code>-port &lt;n&gt;</code>, from
+ * connections to that port on the loopback interface (<code>-port 0</code> picks a free port, which is printed as
+ * <code>#port &lt;n&gt;</code>). Each line holds the arguments of one compilation, as they would be given to
+ * {@link Main} (relative paths are resolved against the working directory of the server). The answer consists of
+ * the standard output of the compilation, then its error output, then a line <code>#exit &lt;status&gt;</code>
+ * holding the status the command line compiler would have exited with. Compilations run one at a time, each on a
+ * new {@link Main}, so that they produce the same output as a cold compiler.
+ * </p>
+ */
+public class CompileServer implements AutoCloseable {
+
+	public static final String EXIT = "#exit "; //$NON-NLS-1$
+	public static final String PORT = "#port "; //$NON-NLS-1$
+
+	/** whether the class files of the JDK were shared before this server started, restored by {@link #close()} **/
+	private final boolean sharedClassfiles;
+
+	public CompileServer() {
+		ClasspathJarCache.enableShared();
+		ParsedUnitCache.enableShared();
+		this.sharedClassfiles = JRTUtil.isSharingClassfiles();
+		JRTUtil.setShareClassfiles(true);
+	}
+
+	public static void main(String[] argv) throws IOException {
+		@SuppressWarnings("resource") // lives as long as the VM
+		CompileServer server = new CompileServer();
+		if (argv.length == 2 && "-port".equals(argv[0])) { //$NON-NLS-1$
+			int port;
+			try {
+				port = Integer.parseInt(argv[1]);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(argv[1]);
+			}
+			server.listen(port);
+		} else if (argv.length == 0) {
+			server.serve(
+					new BufferedReader(new InputStreamReader(System.in)),
+					new PrintWriter(new OutputStreamWriter(System.out), true));
+		} else {
+			System.err.println("Usage: CompileServer [-port <n>]"); //$NON-NLS-1$
+			System.exit(-1);
+		}
+	}
+
+	/**
+	 * Accept connections on the given local port until the VM is stopped, serving them one after the other.
+	 */
+	public void listen(int port) throws IOException {
+		try (ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+			System.out.println(PORT + serverSocket.getLocalPort());
+			System.out.flush();
+			while (true) {
+				try (Socket socket = serverSocket.accept()) {
+					serve(
+						new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)),
+						new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true));
+				} catch (IOException e) {
+					// the client went away, wait for the next one
+				}
+			}
+		}
+	}
+
+	/**
+	 * Run the compilations read from the given reader until its end, writing their output to the given writer.
+	 */
+	public void serve(BufferedReader in, PrintWriter out) throws IOException {
+		String line;
+		while ((line = in.readLine()) != null) {
+			if (line.trim().isEmpty())
+				continue;
+			out.print(compile(Main.tokenize(line)));
+			out.flush();
+		}
+	}
+
+	/**
+	 * Run one compilation and answer its standard output, then its error output, then the exit status line.
+	 */
+	public synchronized String compile(String[] arguments) {
+		StringWriter outWriter = new StringWriter();
+		StringWriter errWriter = new StringWriter();
+		boolean succeeded;
+		try (PrintWriter out = new PrintWriter(outWriter); PrintWriter err = new PrintWriter(errWriter)) {
+			succeeded = new Main(out, err, false/*systemExit*/, null/*options*/, null/*progress*/).compile(arguments);
+		}
+		StringBuilder answer = new StringBuilder(outWriter.getBuffer());
+		answer.append(errWriter.getBuffer());
+		if (answer.length() > 0 && answer.charAt(answer.length() - 1) != '\n')
+			answer.append(System.lineSeparator());
+		answer.append(EXIT).append(succeeded ? 0 : -1).append(System.lineSeparator());
+		return answer.toString();
+	}
+
+	/**
+	 * Close the jar files kept open and forget the parsed units. The class files of the JDK are forgotten unless they
+	 * were already shared before this server started.
+	 */
+	@Override
+	public void close() {
+		ClasspathJarCache.disableShared();
+		ParsedUnitCache.disableShared();
+		JRTUtil.setShareClassfiles(this.sharedClassfiles);
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats.UnitStats;
+
+/**
+ * Writes the {@link CompilerStats} of a batch compilation as a JSON document (<code>-stats:json &lt;file&gt;</code>),
+ * meant to be compared across builds. Phase times are in ms, unit times in ns.
+ */
+class CompilerStatsReport {
+
+	static final int SLOWEST_UNITS = 20;
+
+	private final Writer out;
+
+	CompilerStatsReport(Writer out) {
+		this.out = out;
+	}
+
+	void write(CompilerStats stats) throws IOException {
+		this.out.write("{\n"); //$NON-NLS-1$
+		property("lineCount", stats.lineCount); //$NON-NLS-1$
+		property("overallTime", stats.overallTime); //$NON-NLS-1$
+		property("parseTime", stats.parseTime); //$NON-NLS-1$
+		property("resolveTime", stats.resolveTime); //$NON-NLS-1$
+		property("analyzeTime", stats.analyzeTime); //$NON-NLS-1$
+		property("generateTime", stats.generateTime); //$NON-NLS-1$
+		property("writeTime", stats.writeTime); //$NON-NLS-1$
+		property("readStallTime", stats.readStallTime); //$NON-NLS-1$
+		property("methodLookupHits", stats.methodLookupHits); //$NON-NLS-1$
+		property("methodLookupMisses", stats.methodLookupMisses); //$NON-NLS-1$
+		property("parsedUnitCacheHits", stats.parsedUnitCacheHits); //$NON-NLS-1$
+		property("parsedUnitCacheMisses", stats.parsedUnitCacheMisses); //$NON-NLS-1$
+		property("savedClasspathProbes", stats.savedClasspathProbes); //$NON-NLS-1$
+
+		List<Long> rounds = stats.annotationProcessingRoundTimes == null ? Collections.emptyList() : stats.annotationProcessingRoundTimes;
+		name("annotationProcessingRounds"); //$NON-NLS-1$
+		this.out.write('[');
+		for (Iterator<Long> iterator = rounds.iterator(); iterator.hasNext();) {
+			this.out.write(String.valueOf(iterator.next()));
+			if (iterator.hasNext())
+				this.out.write(", "); //$NON-NLS-1$
+		}
+		this.out.write("],\n"); //$NON-NLS-1$
+
+		Map<String, Integer> binaryTypeCounts = stats.binaryTypeCounts == null ? Collections.emptyMap() : stats.binaryTypeCounts;
+		name("binaryTypesPerClasspathEntry"); //$NON-NLS-1$
+		this.out.write("{\n"); //$NON-NLS-1$
+		for (Iterator<Map.Entry<String, Integer>> iterator = binaryTypeCounts.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<String, Integer> entry = iterator.next();
+			this.out.write("    "); //$NON-NLS-1$
+			string(entry.getKey());
+			this.out.write(": "); //$NON-NLS-1$
+			this.out.write(String.valueOf(entry.getValue()));
+			this.out.write(iterator.hasNext() ? ",\n" : "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		this.out.write("  },\n"); //$NON-NLS-1$
+
+		name("slowestUnits"); //$NON-NLS-1$
+		units(stats.slowestUnits(SLOWEST_UNITS));
+		this.out.write(",\n"); //$NON-NLS-1$
+		name("units"); //$NON-NLS-1$
+		units(stats.units == null ? Collections.emptyList() : stats.units);
+		this.out.write("\n}\n"); //$NON-NLS-1$
+		this.out.flush();
+	}
+
+	private void units(List<UnitStats> units) throws IOException {
+		this.out.write("[\n"); //$NON-NLS-1$
+		for (Iterator<UnitStats> iterator = units.iterator(); iterator.hasNext();) {
+			UnitStats unit = iterator.next();
+			this.out.write("    {\"file\": "); //$NON-NLS-1$
+			string(unit.fileName);
+			this.out.write(", \"parseTime\": " + unit.parseTime); //$NON-NLS-1$
+			this.out.write(", \"resolveTime\": " + unit.resolveTime); //$NON-NLS-1$
+			this.out.write(", \"analyzeTime\": " + unit.analyzeTime); //$NON-NLS-1$
+			this.out.write(", \"generateTime\": " + unit.generateTime); //$NON-NLS-1$
+			this.out.write(", \"totalTime\": " + unit.totalTime()); //$NON-NLS-1$
+			this.out.write(iterator.hasNext() ? "},\n" : "}\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		this.out.write("  ]"); //$NON-NLS-1$
+	}
+
+	private void property(String name, long value) throws IOException {
+		name(name);
+		this.out.write(String.valueOf(value));
+		this.out.write(",\n"); //$NON-NLS-1$
+	}
+
+	private void name(String name) throws IOException {
+		this.out.write("  "); //$NON-NLS-1$
+		string(name);
+		this.out.write(": "); //$NON-NLS-1$
+	}
+
+	private void string(String value) throws IOException {
+		this.out.write('"');
+		for (int i = 0, length = value.length(); i < length; i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' :
+				case '\\' :
+					this.out.write('\\');
+					this.out.write(c);
+					break;
+				case '\n' :
+					this.out.write("\\n"); //$NON-NLS-1$
+					break;
+				case '\r' :
+					this.out.write("\\r"); //$NON-NLS-1$
+					break;
+				case '\t' :
+					this.out.write("\\t"); //$NON-NLS-1$
+					break;
+				default :
+					if (c < 0x20) {
+						this.out.write(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+					} else {
+						this.out.write(c);
+					}
+			}
+		}
+		this.out.write('"');
+	}
+}
@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -126,6 +127,12 @@ public class FileSystem implements IModuleAwareNameEnvironment, SuffixConstants
 		Collection<String> getModuleNames(Collection<String> limitModules);
 		Collection<String> getModuleNames(Collection<String> limitModules, Function<String,IModule> getModule);
 		default boolean forbidsExportFrom(String modName) { return false; }
+		/**
+		 * Answer the names ('/' separated) of all packages this entry may contain, regardless of modules,
+		 * or <code>null</code> if they are not known up front, in which case the entry is searched for every package.
+		 * The answer must not be modified.
+		 */
+		default Set<String> getPackageNames() { return null; }
 	}
 	public interface ClasspathSectionProblemReporter {
 		void invalidClasspathSection(String jarFilePath);
@@ -167,6 +174,11 @@ public class FileSystem implements IModuleAwareNameEnvironment, SuffixConstants
 	private static HashMap<File, Classpath> JRT_CLASSPATH_CACHE = null;
 	protected Map<String,Classpath> moduleLocations = new HashMap<>();
 	private Consumer<NameEnvironmentAnswer> nameEnvironmentAnswerListener; // a listener for findType* answers
+	private Map<String, Integer> binaryTypeCounts; // number of binary types answered per classpath entry, null if not recorded
+	private Classpath[] indexedClasspaths; // this.classpaths when packageLocations was computed
+	private Map<String, Classpath[]> packageLocations; // the classpath entries which may contain a package, in classpath order
+	private Classpath[] unindexedClasspaths; // the classpath entries which do not know their packages up front
+	private long savedProbes; // number of classpath entries not searched thanks to packageLocations
 
 	/** Tasks resulting from --add-reads or --add-exports command line options. */
 	Map<String,UpdatesByKind> moduleUpdates = new HashMap<>();
@@ -430,6 +442,9 @@ public void scanForModules(Parser parser) {
 }
 @Override
 public void cleanup() {
+	this.indexedClasspaths = null;
+	this.packageLocations = null;
+	this.unindexedClasspaths = null;
 	for (Classpath classpath : this.classpaths)
 		classpath.reset();
 }
@@ -498,15 +513,17 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 			String moduleNameString = String.valueOf(moduleName);
 			Classpath classpath = this.moduleLocations.get(moduleNameString);
 			if (classpath != null) {
-				return classpath.findClass(typeName, qualifiedPackageName, moduleNameString, qualifiedBinaryFileName);
+				return recordAnswer(classpath, classpath.findClass(typeName, qualifiedPackageName, moduleNameString, qualifiedBinaryFileName));
 			}
 		}
 		return null;
 	}
 	String qp2 = File.separatorChar == '/' ? qualifiedPackageName : qualifiedPackageName.replace('/', File.separatorChar);
 	NameEnvironmentAnswer suggestedAnswer = null;
+	Classpath suggestedClasspath = null;
+	Classpath[] locations = locationsOf(qualifiedPackageName);
 	if (qualifiedPackageName == qp2) {
-		for (Classpath classpath : this.classpaths) {
+		for (Classpath classpath : locations) {
 			if (!strategy.matches(classpath, Classpath::hasModule))
 				continue;
 			NameEnvironmentAnswer answer = classpath.findClass(typeName, qualifiedPackageName, null, qualifiedBinaryFileName, asBinaryOnly);
@@ -515,15 +532,17 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 					continue; // type belongs to an unobservable module
 				if (!answer.ignoreIfBetter()) {
 					if (answer.isBetter(suggestedAnswer))
-						return answer;
-				} else if (answer.isBetter(suggestedAnswer))
+						return recordAnswer(classpath, answer);
+				} else if (answer.isBetter(suggestedAnswer)) {
 					// remember suggestion and keep looking
 					suggestedAnswer = answer;
+					suggestedClasspath = classpath;
+				}
 			}
 		}
 	} else {
 		String qb2 = qualifiedBinaryFileName.replace('/', File.separatorChar);
-		for (Classpath p : this.classpaths) {
+		for (Classpath p : locations) {
 			if (!strategy.matches(p, Classpath::hasModule))
 				continue;
 			NameEnvironmentAnswer answer = !(p instanceof ClasspathDirectory)
@@ -534,14 +553,76 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 					continue; // type belongs to an unobservable module
 				if (!answer.ignoreIfBetter()) {
 					if (answer.isBetter(suggestedAnswer))
-						return answer;
-				} else if (answer.isBetter(suggestedAnswer))
+						return recordAnswer(p, answer);
+				} else if (answer.isBetter(suggestedAnswer)) {
 					// remember suggestion and keep looking
 					suggestedAnswer = answer;
+					suggestedClasspath = p;
+				}
 			}
 		}
 	}
-	return suggestedAnswer;
+	return recordAnswer(suggestedClasspath, suggestedAnswer);
+}
+/**
+ * Answer the classpath entries which may contain the given package ('/' separated), in classpath order.
+ */
+private Classpath[] locationsOf(String qualifiedPackageName) {
+	if (this.indexedClasspaths != this.classpaths)
+		indexPackages();
+	Classpath[] locations = this.packageLocations.get(qualifiedPackageName);
+	if (locations == null)
+		locations = this.unindexedClasspaths;
+	this.savedProbes += this.classpaths.length - locations.length;
+	return locations;
+}
+private void indexPackages() {
+	Classpath[] paths = this.classpaths;
+	Map<String, List<Classpath>> locations = new HashMap<>();
+	List<Classpath> unindexed = new ArrayList<>();
+	for (Classpath classpath : paths) {
+		Set<String> packageNames = classpath.getPackageNames();
+		if (packageNames == null) {
+			unindexed.add(classpath);
+			for (List<Classpath> packageLocation : locations.values())
+				packageLocation.add(classpath);
+		} else {
+			for (String packageName : packageNames)
+				locations.computeIfAbsent(packageName, p -> new ArrayList<>(unindexed)).add(classpath);
+		}
+	}
+	Map<String, Classpath[]> result = new HashMap<>(locations.size() * 4 / 3 + 1);
+	for (Map.Entry<String, List<Classpath>> entry : locations.entrySet())
+		result.put(entry.getKey(), entry.getValue().toArray(new Classpath[entry.getValue().size()]));
+	this.packageLocations = result;
+	this.unindexedClasspaths = unindexed.toArray(new Classpath[unindexed.size()]);
+	this.indexedClasspaths = paths;
+}
+/**
+ * Answer how many times a classpath entry was not searched for a type or package because it cannot contain the package.
+ */
+public long getSavedProbeCount() {
+	return this.savedProbes;
+}
+private NameEnvironmentAnswer recordAnswer(Classpath classpath, NameEnvironmentAnswer answer) {
+	if (this.binaryTypeCounts != null && answer != null && answer.isBinaryType()) {
+		this.binaryTypeCounts.merge(classpath.getPath(), 1, Integer::sum);
+	}
+	return answer;
+}
+/**
+ * Start counting the binary types answered by each classpath entry, see {@link #getBinaryTypeCounts()}.
+ */
+public void recordBinaryTypeCounts() {
+	if (this.binaryTypeCounts == null)
+		this.binaryTypeCounts = new LinkedHashMap<>();
+}
+/**
+ * Answer the number of binary types answered so far, per classpath entry path,
+ * or <code>null</code> if {@link #recordBinaryTypeCounts()} was not called.
+ */
+public Map<String, Integer> getBinaryTypeCounts() {
+	return this.binaryTypeCounts;
 }
 
 @Override
@@ -627,7 +708,7 @@ public char[][] getModulesDeclaringPackage(char[][] packageName, char[] moduleNa
 	// search the entire environment and answer which modules declare that package:
 	char[][] allNames = null;
 	boolean hasUnobserable = false;
-	for (Classpath cp : this.classpaths) {
+	for (Classpath cp : locationsOf(qualifiedPackageName)) {
 		if (strategy.matches(cp, Classpath::hasModule)) {
 			if (strategy == LookupStrategy.Unnamed) {
 				// short-cut
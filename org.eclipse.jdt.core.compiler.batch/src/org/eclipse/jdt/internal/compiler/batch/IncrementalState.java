@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Build state of <code>-incremental &lt;file&gt;</code>, remembering for every compiled source file its time stamp,
+ * the class files it produced and the simple names it references.
+ * <p>
+ * A source file is recompiled when it is new, when it changed on disk, when it had errors or when one of its class
+ * files is missing. Its dependents are recompiled in further rounds when one of the types it produced changed
+ * structurally (see {@link ClassFileReader#hasStructuralChanges(byte[])}), was added or was removed. Like the
+ * reference collection of the incremental builder, dependents are found by simple names, which answers a superset of
+ * the actual dependents.
+ * The whole state is dropped when the compiler options or the class path changed.
+ * </p>
+ */
+public class IncrementalState {
+
+	static final int VERSION = 1;
+
+	static class Unit {
+		final long lastModified;
+		final long length;
+		final boolean hasErrors;
+		final String[] classFiles; // absolute paths of the class files written for the unit
+		final String[] typeNames; // e.g. p/X$Y
+		final String[] references; // simple names of the types and packages referenced by the unit
+
+		Unit(long lastModified, long length, boolean hasErrors, String[] classFiles, String[] typeNames, String[] references) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.hasErrors = hasErrors;
+			this.classFiles = classFiles;
+			this.typeNames = typeNames;
+			this.references = references;
+		}
+
+		boolean isStale(File sourceFile) {
+			if (this.hasErrors || sourceFile.lastModified() != this.lastModified || sourceFile.length() != this.length)
+				return true;
+			// e.g. the output folder was cleaned
+			for (String classFile : this.classFiles) {
+				if (!new File(classFile).isFile())
+					return true;
+			}
+			return false;
+		}
+
+		boolean references(Set<String> simpleNames) {
+			for (String reference : this.references) {
+				if (simpleNames.contains(reference))
+					return true;
+			}
+			return false;
+		}
+	}
+
+	final String fingerprint;
+	final Map<String, Unit> units = new HashMap<>();
+
+	/** simple names of the types which changed structurally during the current round **/
+	Set<String> changedTypeNames = new HashSet<>();
+
+	// class files produced by the unit being accepted, see classFileProduced(...)
+	private final List<String> pendingClassFiles = new ArrayList<>();
+	private final List<String> pendingTypeNames = new ArrayList<>();
+
+	IncrementalState(String fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
+	/**
+	 * Answer a digest of everything besides the sources which influences the generated class files.
+	 */
+	static String fingerprint(Map<String, String> options, FileSystem.Classpath[] classpaths) {
+		StringBuilder buffer = new StringBuilder();
+		for (Map.Entry<String, String> entry : new TreeMap<>(options).entrySet())
+			buffer.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+		for (FileSystem.Classpath classpath : classpaths) {
+			String path = classpath.getPath();
+			File file = new File(path);
+			buffer.append(path);
+			if (file.isFile())
+				buffer.append('@').append(file.lastModified()).append(':').append(file.length());
+			buffer.append('\n');
+		}
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(buffer.toString().getBytes(Util.UTF_8)); //$NON-NLS-1$
+			StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (byte b : digest)
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			return hex.toString();
+		} catch (NoSuchAlgorithmException | IOException e) {
+			return buffer.toString();
+		}
+	}
+
+	/**
+	 * Answer the state saved in the given file, or <code>null</code> if there is none, if it cannot be read or if it
+	 * was saved with a different fingerprint.
+	 */
+	static IncrementalState read(File file, String fingerprint) {
+		if (!file.isFile())
+			return null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION || !fingerprint.equals(in.readUTF()))
+				return null;
+			IncrementalState state = new IncrementalState(fingerprint);
+			for (int i = 0, length = in.readInt(); i < length; i++) {
+				String fileName = in.readUTF();
+				long lastModified = in.readLong();
+				long fileLength = in.readLong();
+				boolean hasErrors = in.readBoolean();
+				state.units.put(fileName, new Unit(lastModified, fileLength, hasErrors, readNames(in), readNames(in), readNames(in)));
+			}
+			return state;
+		} catch (IOException e) {
+			return null; // start over with a full compilation
+		}
+	}
+
+	private static String[] readNames(DataInputStream in) throws IOException {
+		String[] names = new String[in.readInt()];
+		for (int i = 0; i < names.length; i++)
+			names[i] = in.readUTF();
+		return names;
+	}
+
+	void write(File file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(VERSION);
+			out.writeUTF(this.fingerprint);
+			out.writeInt(this.units.size());
+			for (Map.Entry<String, Unit> entry : this.units.entrySet()) {
+				Unit unit = entry.getValue();
+				out.writeUTF(entry.getKey());
+				out.writeLong(unit.lastModified);
+				out.writeLong(unit.length);
+				out.writeBoolean(unit.hasErrors);
+				writeNames(out, unit.classFiles);
+				writeNames(out, unit.typeNames);
+				writeNames(out, unit.references);
+			}
+		}
+	}
+
+	private static void writeNames(DataOutputStream out, String[] names) throws IOException {
+		out.writeInt(names.length);
+		for (String name : names)
+			out.writeUTF(name);
+	}
+
+	/**
+	 * Forget a source file which is no longer part of the compilation, deleting its class files.
+	 */
+	void removed(String fileName) {
+		Unit unit = this.units.remove(fileName);
+		if (unit == null)
+			return;
+		for (String classFile : unit.classFiles)
+			new File(classFile).delete();
+		for (String typeName : unit.typeNames)
+			typeChanged(typeName);
+	}
+
+	/**
+	 * Record a class file about to be written, comparing it with the one it replaces on disk.
+	 */
+	void classFileProduced(File classFile, char[] typeName, byte[] contents) {
+		String name = new String(typeName);
+		this.pendingClassFiles.add(classFile.getAbsolutePath());
+		this.pendingTypeNames.add(name);
+		try {
+			byte[] previous = classFile.isFile() ? Files.readAllBytes(classFile.toPath()) : null;
+			if (previous == null || new ClassFileReader(previous, classFile.getPath().toCharArray()).hasStructuralChanges(contents))
+				typeChanged(name);
+		} catch (IOException | ClassFormatException e) {
+			typeChanged(name);
+		}
+	}
+
+	/**
+	 * Record the outcome of a compiled source file, once its class files were recorded with
+	 * {@link #classFileProduced(File, char[], byte[])}.
+	 */
+	void unitCompiled(CompilationResult result, boolean classFilesWritten) {
+		String fileName = new String(result.getFileName());
+		File sourceFile = new File(fileName);
+		Unit previous = this.units.get(fileName);
+		String[] classFiles = this.pendingClassFiles.toArray(new String[this.pendingClassFiles.size()]);
+		String[] typeNames = this.pendingTypeNames.toArray(new String[this.pendingTypeNames.size()]);
+		this.pendingClassFiles.clear();
+		this.pendingTypeNames.clear();
+		if (!classFilesWritten && previous != null) {
+			// keep the class files of the last successful compilation
+			classFiles = previous.classFiles;
+			typeNames = previous.typeNames;
+		} else if (previous != null) {
+			Set<String> current = new HashSet<>();
+			for (String classFile : classFiles)
+				current.add(classFile);
+			for (int i = 0; i < previous.classFiles.length; i++) {
+				if (!current.contains(previous.classFiles[i])) {
+					new File(previous.classFiles[i]).delete();
+					typeChanged(previous.typeNames[i]);
+				}
+			}
+		}
+		Set<String> references = new HashSet<>();
+		if (result.simpleNameReferences != null) {
+			for (char[] reference : result.simpleNameReferences)
+				references.add(new String(reference));
+		}
+		if (result.rootReferences != null) {
+			for (char[] reference : result.rootReferences)
+				references.add(new String(reference));
+		}
+		if (result.qualifiedReferences != null) {
+			for (char[][] reference : result.qualifiedReferences) {
+				if (reference.length > 0)
+					references.add(new String(reference[reference.length - 1]));
+			}
+		}
+		this.units.put(fileName, new Unit(sourceFile.lastModified(), sourceFile.length(), result.hasErrors(),
+				classFiles, typeNames, references.toArray(new String[references.size()])));
+	}
+
+	private void typeChanged(String typeName) {
+		// p/X$Y is referenced as X or as Y
+		String simpleName = typeName.substring(typeName.lastIndexOf('/') + 1);
+		int start = 0;
+		for (int end; (end = simpleName.indexOf('$', start)) != -1; start = end + 1)
+			this.changedTypeNames.add(simpleName.substring(start, end));
+		this.changedTypeNames.add(simpleName.substring(start));
+	}
+}
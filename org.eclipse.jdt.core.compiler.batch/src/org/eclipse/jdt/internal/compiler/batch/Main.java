@@ -58,6 +58,7 @@ import org.eclipse.jdt.internal.compiler.Compiler;
 import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
 import org.eclipse.jdt.internal.compiler.IErrorHandlingPolicy;
 import org.eclipse.jdt.internal.compiler.IProblemFactory;
+import org.eclipse.jdt.internal.compiler.ParsedUnitCache;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
 import org.eclipse.jdt.internal.compiler.batch.ModuleFinder.AddExport;
@@ -698,6 +699,40 @@ public class Main implements ProblemSeverities, SuffixConstants {
 				}));
 		}
 
+		public void logNoStatsReportCreated(String fileName, IOException e) {
+			if ((this.tagBits & Logger.XML) != 0) {
+				HashMap<String, Object> parameters = new HashMap<>();
+				parameters.put(Logger.MESSAGE, this.main.bind("output.noStatsReportCreated", //$NON-NLS-1$
+					new String[] {
+						fileName,
+						e.getMessage()
+					}));
+				printTag(Logger.ERROR_TAG, parameters, true, true);
+			}
+			this.printlnErr(this.main.bind("output.noStatsReportCreated", //$NON-NLS-1$
+				new String[] {
+					fileName,
+					e.getMessage()
+				}));
+		}
+
+		public void logNoIncrementalStateCreated(String fileName, IOException e) {
+			if ((this.tagBits & Logger.XML) != 0) {
+				HashMap<String, Object> parameters = new HashMap<>();
+				parameters.put(Logger.MESSAGE, this.main.bind("output.noIncrementalStateCreated", //$NON-NLS-1$
+					new String[] {
+						fileName,
+						e.getMessage()
+					}));
+				printTag(Logger.ERROR_TAG, parameters, true, true);
+			}
+			this.printlnErr(this.main.bind("output.noIncrementalStateCreated", //$NON-NLS-1$
+				new String[] {
+					fileName,
+					e.getMessage()
+				}));
+		}
+
 		public void logNumberOfClassFilesGenerated(int exportedClassFilesCounter) {
 			if ((this.tagBits & Logger.XML) != 0) {
 				HashMap<String, Object> parameters = new HashMap<>();
@@ -989,6 +1024,16 @@ public class Main implements ProblemSeverities, SuffixConstants {
 							String.valueOf(time),
 						}));
 			}
+			if (compilerStats.parsedUnitCacheHits + compilerStats.parsedUnitCacheMisses > 0) {
+				long parsedUnits = compilerStats.parsedUnitCacheHits + compilerStats.parsedUnitCacheMisses;
+				printlnOut(
+					this.main.bind("compile.parsedUnitCache", //$NON-NLS-1$
+						new String[] {
+							String.valueOf(compilerStats.parsedUnitCacheHits),
+							String.valueOf(parsedUnits),
+							String.valueOf(compilerStats.parsedUnitCacheHits * 100 / parsedUnits),
+						}));
+			}
 			if ((this.main.timing & Main.TIMING_DETAILED) != 0) {
 				printlnOut(
 						this.main.bind("compile.detailedTime", //$NON-NLS-1$
@@ -1002,6 +1047,26 @@ public class Main implements ProblemSeverities, SuffixConstants {
 								String.valueOf(compilerStats.generateTime),
 								String.valueOf(((int) (compilerStats.generateTime * 1000.0 / time)) / 10.0),
 							}));
+				if (compilerStats.writeTime > 0) {
+					printlnOut(
+							this.main.bind("compile.writeTime", //$NON-NLS-1$
+								String.valueOf(compilerStats.writeTime)));
+				}
+				if (compilerStats.methodLookupHits > 0) {
+					long lookups = compilerStats.methodLookupHits + compilerStats.methodLookupMisses;
+					printlnOut(
+							this.main.bind("compile.methodLookups", //$NON-NLS-1$
+								new String[] {
+									String.valueOf(compilerStats.methodLookupHits),
+									String.valueOf(lookups),
+									String.valueOf(compilerStats.methodLookupHits * 100 / lookups),
+								}));
+				}
+				if (compilerStats.savedClasspathProbes > 0) {
+					printlnOut(
+							this.main.bind("compile.savedClasspathProbes", //$NON-NLS-1$
+								String.valueOf(compilerStats.savedClasspathProbes)));
+				}
 			}
 		}
 
@@ -1379,6 +1444,13 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	public boolean failOnWarning = false;
 	public boolean produceRefInfo = false;
 	public int currentRepetition, maxRepetition;
+	public int parallelThreads; // -parallel, parse and process the initial units on worker threads
+	public int writerThreads;
+	public boolean archiveDestination; // -archive <file>, the destination path is a jar or zip archive
+	public String statsReportFile; // -stats:json <file>
+	public String incrementalStateFile; // -incremental <file>
+	private IncrementalState incrementalState;
+	private ClassFileWriter classFileWriter;
 	public boolean showProgress = false;
 	public long startTime;
 	public ArrayList<String> pendingErrors;
@@ -1679,7 +1751,11 @@ public boolean compile(String[] argv) {
 					this.logger.logRepetition(this.currentRepetition, this.maxRepetition);
 				}
 				// request compilation
-				performCompilation();
+				if (this.incrementalStateFile != null) {
+					performIncrementalCompilation();
+				} else {
+					performCompilation();
+				}
 			}
 			if (this.compilerStats != null) {
 				this.logger.logAverage();
@@ -1758,6 +1834,11 @@ public void configure(String[] argv) {
 	final int INSIDE_LIMIT_MODULES = 31;
 	final int INSIDE_MODULE_VERSION = 32;
 	final int INSIDE_PATCH_MODULE = 33;
+	final int INSIDE_PARALLEL = 34;
+	final int INSIDE_WRITERS = 35;
+	final int INSIDE_STATS_JSON = 36;
+	final int INSIDE_INCREMENTAL = 37;
+	final int INSIDE_ARCHIVE = 38;
 
 	final int DEFAULT = 0;
 	ArrayList<String> bootclasspaths = new ArrayList<>(DEFAULT_SIZE_CLASSPATH);
@@ -1973,6 +2054,20 @@ public void configure(String[] argv) {
 					mode = INSIDE_MAX_PROBLEMS;
 					continue;
 				}
+				if (currentArg.equals("-parallel")) { //$NON-NLS-1$
+					if (this.parallelThreads > 0)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateParallel", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_PARALLEL;
+					continue;
+				}
+				if (currentArg.equals("-writers")) { //$NON-NLS-1$
+					if (this.writerThreads > 0)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateWriters", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_WRITERS;
+					continue;
+				}
 				if (currentArg.equals("--release")) { //$NON-NLS-1$
 					mode = INSIDE_RELEASE;
 					continue;
@@ -1998,7 +2093,7 @@ public void configure(String[] argv) {
 						continue;
 					}
 				}
-				if (currentArg.equals("-d")) { //$NON-NLS-1$
+				if (currentArg.equals("-d") || currentArg.equals("-archive")) { //$NON-NLS-1$ //$NON-NLS-2$
 					if (this.destinationPath != null) {
 						StringBuilder errorMessage = new StringBuilder();
 						errorMessage.append(currentArg);
@@ -2009,7 +2104,7 @@ public void configure(String[] argv) {
 						throw new IllegalArgumentException(
 							this.bind("configure.duplicateOutputPath", errorMessage.toString())); //$NON-NLS-1$
 					}
-					mode = INSIDE_DESTINATION_PATH;
+					mode = currentArg.equals("-d") ? INSIDE_DESTINATION_PATH : INSIDE_ARCHIVE; //$NON-NLS-1$
 					continue;
 				}
 				if (currentArg.equals("-classpath") //$NON-NLS-1$
@@ -2156,6 +2251,20 @@ public void configure(String[] argv) {
 					this.timing = TIMING_ENABLED|TIMING_DETAILED;
 					continue;
 				}
+				if (currentArg.equals("-stats:json")) { //$NON-NLS-1$
+					if (this.statsReportFile != null)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateStatsReport", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_STATS_JSON;
+					continue;
+				}
+				if (currentArg.equals("-incremental")) { //$NON-NLS-1$
+					if (this.incrementalStateFile != null)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateIncremental", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_INCREMENTAL;
+					continue;
+				}
 				if (currentArg.equals("-version") //$NON-NLS-1$
 						|| currentArg.equals("-v")) { //$NON-NLS-1$
 					this.logger.logVersion(true);
@@ -2569,6 +2678,36 @@ public void configure(String[] argv) {
 				}
 				mode = DEFAULT;
 				continue;
+			case INSIDE_PARALLEL :
+				try {
+					this.parallelThreads = Integer.parseInt(currentArg);
+					if (this.parallelThreads <= 0) {
+						throw new IllegalArgumentException(this.bind("configure.parallel", currentArg)); //$NON-NLS-1$
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(this.bind("configure.parallel", currentArg), e); //$NON-NLS-1$
+				}
+				mode = DEFAULT;
+				continue;
+			case INSIDE_STATS_JSON :
+				this.statsReportFile = currentArg;
+				mode = DEFAULT;
+				continue;
+			case INSIDE_INCREMENTAL :
+				this.incrementalStateFile = currentArg;
+				mode = DEFAULT;
+				continue;
+			case INSIDE_WRITERS :
+				try {
+					this.writerThreads = Integer.parseInt(currentArg);
+					if (this.writerThreads <= 0) {
+						throw new IllegalArgumentException(this.bind("configure.writers", currentArg)); //$NON-NLS-1$
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(this.bind("configure.writers", currentArg), e); //$NON-NLS-1$
+				}
+				mode = DEFAULT;
+				continue;
 			case INSIDE_RELEASE:
 				// If release is < 9, the following are disallowed:
 				// bootclasspath, -Xbootclasspath, -Xbootclasspath/a:, -Xbootclasspath/p:,
@@ -2643,6 +2782,11 @@ public void configure(String[] argv) {
 				setDestinationPath(currentArg.equals(NONE) ? NONE : currentArg);
 				mode = DEFAULT;
 				continue;
+			case INSIDE_ARCHIVE :
+				setDestinationPath(currentArg);
+				this.archiveDestination = true;
+				mode = DEFAULT;
+				continue;
 			case INSIDE_SYSTEM:
 				mode = DEFAULT;
 				setJavaHome(currentArg);
@@ -2956,6 +3100,11 @@ public void configure(String[] argv) {
 	if (this.maxRepetition >= 3 && (this.timing & TIMING_ENABLED) != 0) {
 		this.compilerStats = new CompilerStats[this.maxRepetition];
 	}
+	if (this.incrementalStateFile != null) {
+		if (this.destinationPath == null || this.destinationPath == NONE || this.archiveDestination)
+			throw new IllegalArgumentException(this.bind("configure.incremental")); //$NON-NLS-1$
+		this.produceRefInfo = true; // dependents are found through the references of each unit
+	}
 
 	if (filesCount != 0) {
 		System.arraycopy(
@@ -4579,6 +4728,7 @@ private static boolean isParentOf(char[] folderName, char[] fileName) {
 // Dump classfiles onto disk for all compilation units that where successful
 // and do not carry a -d none spec, either directly or inherited from Main.
 public void outputClassFiles(CompilationResult unitResult) {
+	boolean written = false;
 	if (!((unitResult == null) || (unitResult.hasErrors() && !this.proceedOnError))) {
 		ClassFile[] classFiles = unitResult.getClassFiles();
 		String currentDestinationPath = null;
@@ -4616,6 +4766,12 @@ public void outputClassFiles(CompilationResult unitResult) {
 				System.arraycopy(SuffixConstants.SUFFIX_class, 0, relativeName, length, 6);
 				CharOperation.replace(relativeName, '/', File.separatorChar);
 				String relativeStringName = new String(relativeName);
+				if (this.incrementalState != null) {
+					File outputFile = generateClasspathStructure
+							? new File(currentDestinationPath, relativeStringName)
+							: new File(currentDestinationPath, relativeStringName.substring(relativeStringName.lastIndexOf(File.separatorChar) + 1));
+					this.incrementalState.classFileProduced(outputFile, filename, classFile.getBytes());
+				}
 				try {
 					if (this.compilerOptions.verbose)
 						this.out.println(
@@ -4625,11 +4781,19 @@ public void outputClassFiles(CompilationResult unitResult) {
 									String.valueOf(this.exportedClassFilesCounter+1),
 									relativeStringName
 								}));
-					Util.writeToDisk(
-						generateClasspathStructure,
-						currentDestinationPath,
-						relativeStringName,
-						classFile);
+					if (this.classFileWriter != null) {
+						this.classFileWriter.write(
+							generateClasspathStructure,
+							currentDestinationPath,
+							relativeStringName,
+							classFile.getBytes());
+					} else {
+						Util.writeToDisk(
+							generateClasspathStructure,
+							currentDestinationPath,
+							relativeStringName,
+							classFile);
+					}
 					this.logger.logClassFile(
 						generateClasspathStructure,
 						currentDestinationPath,
@@ -4639,8 +4803,46 @@ public void outputClassFiles(CompilationResult unitResult) {
 					this.logger.logNoClassFileCreated(currentDestinationPath, relativeStringName, e);
 				}
 			}
-			this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
+			written = true;
+		}
+		this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
+	}
+	if (this.incrementalState != null && unitResult != null)
+		this.incrementalState.unitCompiled(unitResult, written);
+}
+/*
+ * Class files are written on background threads if requested, or if the destination is an archive (-archive).
+ */
+private void startClassFileWriter() {
+	String archivePath = this.archiveDestination ? this.destinationPath : null;
+	if (this.writerThreads == 0 && archivePath == null)
+		return;
+	try {
+		this.classFileWriter = new ClassFileWriter(this.writerThreads, archivePath);
+	} catch (IOException e) {
+		this.logger.logNoClassFileCreated(archivePath, "", e); //$NON-NLS-1$
+	}
+}
+private void finishClassFileWriter() {
+	if (this.classFileWriter == null)
+		return;
+	ClassFileWriter writer = this.classFileWriter;
+	this.classFileWriter = null;
+	try {
+		for (ClassFileWriter.Failure failure : writer.finish()) {
+			this.logger.logNoClassFileCreated(failure.outputPath, failure.relativeFileName, failure.exception);
+			this.exportedClassFilesCounter--;
 		}
+	} catch (IOException e) {
+		this.logger.logNoClassFileCreated(this.destinationPath, "", e); //$NON-NLS-1$
+	}
+	this.batchCompiler.stats.writeTime = writer.getWriteTime();
+}
+private void writeStatsReport() {
+	try (Writer writer = new OutputStreamWriter(new FileOutputStream(this.statsReportFile), Util.UTF_8)) {
+		new CompilerStatsReport(writer).write(this.batchCompiler.stats);
+	} catch (IOException e) {
+		this.logger.logNoStatsReportCreated(this.statsReportFile, e);
 	}
 }
 /*
@@ -4667,6 +4869,11 @@ public void performCompilation() {
 		// temporary code to allow the compiler to revert to a single thread
 		String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
 		this.batchCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+		if (this.parallelThreads > 1) {
+			this.batchCompiler.parseThreadCount = this.parallelThreads;
+			this.batchCompiler.processThreadCount = this.parallelThreads;
+		}
+		this.batchCompiler.parsedUnitCache = ParsedUnitCache.getShared();
 
 		if (this.compilerOptions.processAnnotations) {
 			initializeAnnotationProcessorManager();
@@ -4679,9 +4886,18 @@ public void performCompilation() {
 		// set the non-externally configurable options.
 		this.compilerOptions.verbose = this.verbose;
 		this.compilerOptions.produceReferenceInfo = this.produceRefInfo;
+		if (this.statsReportFile != null) {
+			this.batchCompiler.stats.recordDetails = true;
+			environment.recordBinaryTypeCounts();
+		}
 		try {
 			this.logger.startLoggingSources();
-			this.batchCompiler.compile(getCompilationUnits());
+			startClassFileWriter();
+			try {
+				this.batchCompiler.compile(getCompilationUnits());
+			} finally {
+				finishClassFileWriter();
+			}
 		} finally {
 			this.logger.endLoggingSources();
 		}
@@ -4690,16 +4906,120 @@ public void performCompilation() {
 			loggingExtraProblems();
 			this.extraProblems = null;
 		}
+		this.batchCompiler.stats.savedClasspathProbes = environment.getSavedProbeCount();
 		if (this.compilerStats != null) {
 			this.compilerStats[this.currentRepetition] = this.batchCompiler.stats;
 		}
-		this.logger.printStats();
+		if (this.statsReportFile != null) {
+			this.batchCompiler.stats.binaryTypeCounts = environment.getBinaryTypeCounts();
+			writeStatsReport();
+		}
+		if (this.incrementalState == null) {
+			this.logger.printStats();
+		} // else printed once all rounds are done
 	}
 	finally {
 	// cleanup
 		environment.cleanup();
 	}
 }
+/*
+ * Compile only the source files which changed since the last compilation with the same state file, then, round
+ * after round, the source files referencing a type which changed structurally, see IncrementalState.
+ */
+private void performIncrementalCompilation() {
+	File stateFile = new File(this.incrementalStateFile);
+	String fingerprint = IncrementalState.fingerprint(this.options, this.checkedClasspaths);
+	IncrementalState state = IncrementalState.read(stateFile, fingerprint);
+	if (state == null)
+		state = new IncrementalState(fingerprint);
+	String[] allFilenames = this.filenames;
+	String[] allEncodings = this.encodings;
+	String[] allDestinationPaths = this.destinationPaths;
+	String[] allModNames = this.modNames;
+	Classpath[] allClasspaths = this.checkedClasspaths;
+	int fileCount = allFilenames.length;
+	String[] canonicalNames = new String[fileCount];
+	boolean[] compiled = new boolean[fileCount];
+	boolean[] selected = new boolean[fileCount];
+	for (int i = 0; i < fileCount; i++) {
+		File file = new File(allFilenames[i]);
+		try {
+			canonicalNames[i] = file.getCanonicalPath();
+		} catch (IOException e) {
+			canonicalNames[i] = allFilenames[i];
+		}
+		IncrementalState.Unit unit = state.units.get(canonicalNames[i]);
+		selected[i] = unit == null || unit.isStale(file);
+	}
+	Set<String> currentNames = new HashSet<>(Arrays.asList(canonicalNames));
+	for (String fileName : new ArrayList<>(state.units.keySet())) {
+		if (!currentNames.contains(fileName))
+			state.removed(fileName);
+	}
+	// the class files of the unchanged units are read from the output directories
+	List<Classpath> classpaths = new ArrayList<>(Arrays.asList(allClasspaths));
+	Set<String> outputDirectories = new LinkedHashSet<>();
+	outputDirectories.add(this.destinationPath);
+	for (String path : allDestinationPaths) {
+		if (path != null && path != NONE)
+			outputDirectories.add(path);
+	}
+	for (String outputDirectory : outputDirectories) {
+		new File(outputDirectory).mkdirs();
+		Classpath classpath = FileSystem.getClasspath(outputDirectory, null, null, this.options, this.releaseVersion);
+		if (classpath != null)
+			classpaths.add(classpath);
+	}
+	this.checkedClasspaths = classpaths.toArray(new Classpath[classpaths.size()]);
+	this.incrementalState = state;
+	try {
+		while (true) {
+			int count = 0;
+			for (int i = 0; i < fileCount; i++) {
+				if (!compiled[i] && !selected[i]) {
+					IncrementalState.Unit unit = state.units.get(canonicalNames[i]);
+					selected[i] = unit != null && unit.references(state.changedTypeNames);
+				}
+				if (selected[i])
+					count++;
+			}
+			if (count == 0)
+				break;
+			this.filenames = new String[count];
+			this.encodings = new String[count];
+			this.destinationPaths = new String[count];
+			this.modNames = new String[count];
+			for (int i = 0, index = 0; i < fileCount; i++) {
+				if (selected[i]) {
+					this.filenames[index] = allFilenames[i];
+					this.encodings[index] = allEncodings[i];
+					this.destinationPaths[index] = allDestinationPaths[i];
+					this.modNames[index] = allModNames[i];
+					index++;
+					selected[i] = false;
+					compiled[i] = true;
+				}
+			}
+			state.changedTypeNames = new HashSet<>();
+			performCompilation();
+		}
+	} finally {
+		this.incrementalState = null;
+		this.filenames = allFilenames;
+		this.encodings = allEncodings;
+		this.destinationPaths = allDestinationPaths;
+		this.modNames = allModNames;
+		this.checkedClasspaths = allClasspaths;
+	}
+	if (this.batchCompiler != null)
+		this.logger.printStats();
+	try {
+		state.write(stateFile);
+	} catch (IOException e) {
+		this.logger.logNoIncrementalStateCreated(this.incrementalStateFile, e);
+	}
+}
 protected void loggingExtraProblems() {
 	this.logger.loggingExtraProblems(this);
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,7 +24,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.Predicate;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.codegen.AnnotationTargetTypeConstants;
@@ -32,6 +34,7 @@ import org.eclipse.jdt.internal.compiler.codegen.AttributeNamesConstants;
 import org.eclipse.jdt.internal.compiler.env.*;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding.ExternalAnnotationStatus;
+import org.eclipse.jdt.internal.compiler.lookup.CompilationUnitScope;
 import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
 import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
 import org.eclipse.jdt.internal.compiler.lookup.TagBits;
@@ -39,6 +42,7 @@ import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
 import org.eclipse.jdt.internal.compiler.util.CharDeduplication;
 import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+import org.eclipse.jdt.internal.compiler.util.MappedZipFile;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
 public class ClassFileReader extends ClassFileStruct implements IBinaryType {
@@ -172,6 +176,15 @@ public static ClassFileReader read(java.util.zip.ZipFile zip, String filename, b
 	}
 }
 
+public static ClassFileReader read(MappedZipFile zip, String filename) throws ClassFormatException, java.io.IOException {
+	byte[] classFileBytes = zip.getEntryBytes(filename);
+	if (classFileBytes == null) {
+		return null;
+	}
+	URI uri =  URI.create("jar:file://" + toUri(zip.getName()).getRawPath() + "!/" + filename); //$NON-NLS-1$ //$NON-NLS-2$
+	return new ClassFileReader(uri, classFileBytes, filename.toCharArray());
+}
+
 /**
  * same as <code>new java.io.File(absoluteNormalFilePath).toURI()</code> if absoluteNormalFilePath is not a directory
  * but faster because it avoid IO for the isDirectory check.
@@ -215,7 +228,19 @@ public ClassFileReader(byte classFileBytes[], char[] fileName) throws ClassForma
  * @exception ClassFormatException
  */
 public ClassFileReader(URI path, byte classFileBytes[], char[] fileName) throws ClassFormatException {
-	this(classFileBytes, fileName, false);
+	this(path, classFileBytes, fileName, false);
+}
+
+/**
+ * @param path URI pointing to the resource of the .class file
+ * @param classFileBytes Actual bytes of a .class file
+ * @param fileName	Actual name of the file that contains the bytes, can be null
+ * @param fullyInitialize Flag to fully initialize the new object
+ *
+ * @exception ClassFormatException
+ */
+public ClassFileReader(URI path, byte classFileBytes[], char[] fileName, boolean fullyInitialize) throws ClassFormatException {
+	this(classFileBytes, fileName, fullyInitialize);
 	this.path = path;
 	if (this.moduleDeclaration != null)
 		this.moduleDeclaration.path = this.path;
@@ -1072,70 +1097,9 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 	try {
 		ClassFileReader newClassFile =
 			new ClassFileReader(newBytes, this.classFileName);
-		// type level comparison
-		// modifiers
-		if (getModifiers() != newClassFile.getModifiers())
+		if (hasStructuralTypeChanges(newClassFile))
 			return true;
 
-		// only consider a portion of the tagbits which indicate a structural change for dependents
-		// e.g. @Override change has no influence outside
-		long OnlyStructuralTagBits = TagBits.AnnotationTargetMASK // different @Target status ?
-			| TagBits.AnnotationDeprecated // different @Deprecated status ?
-			| TagBits.AnnotationRetentionMASK // different @Retention status ?
-			| TagBits.HierarchyHasProblems; // different hierarchy status ?
-
-		// meta-annotations
-		if ((getTagBits() & OnlyStructuralTagBits) != (newClassFile.getTagBits() & OnlyStructuralTagBits))
-			return true;
-		// annotations
-		if (hasStructuralAnnotationChanges(getAnnotations(), newClassFile.getAnnotations()))
-			return true;
-		if (this.version >= ClassFileConstants.JDK1_8
-				&& hasStructuralTypeAnnotationChanges(getTypeAnnotations(), newClassFile.getTypeAnnotations()))
-			return true;
-
-		// generic signature
-		if (!CharOperation.equals(getGenericSignature(), newClassFile.getGenericSignature()))
-			return true;
-		// superclass
-		if (!CharOperation.equals(getSuperclassName(), newClassFile.getSuperclassName()))
-			return true;
-		// interfaces
-		char[][] newInterfacesNames = newClassFile.getInterfaceNames();
-		if (this.interfaceNames != newInterfacesNames) { // TypeConstants.NoSuperInterfaces
-			int newInterfacesLength = newInterfacesNames == null ? 0 : newInterfacesNames.length;
-			if (newInterfacesLength != this.interfacesCount)
-				return true;
-			for (int i = 0, max = this.interfacesCount; i < max; i++)
-				if (!CharOperation.equals(this.interfaceNames[i], newInterfacesNames[i]))
-					return true;
-		}
-
-		// permitted subtypes
-		char[][] newPermittedSubtypesNames = newClassFile.getPermittedSubtypesNames();
-		if (this.permittedSubtypesNames != newPermittedSubtypesNames) {
-			int newPermittedSubtypesLength = newPermittedSubtypesNames == null ? 0 : newPermittedSubtypesNames.length;
-			if (newPermittedSubtypesLength != this.permittedSubtypesCount)
-				return true;
-			for (int i = 0, max = this.permittedSubtypesCount; i < max; i++)
-				if (!CharOperation.equals(this.permittedSubtypesNames[i], newPermittedSubtypesNames[i]))
-					return true;
-		}
-
-		// member types
-		IBinaryNestedType[] currentMemberTypes = getMemberTypes();
-		IBinaryNestedType[] otherMemberTypes = newClassFile.getMemberTypes();
-		if (currentMemberTypes != otherMemberTypes) { // TypeConstants.NoMemberTypes
-			int currentMemberTypeLength = currentMemberTypes == null ? 0 : currentMemberTypes.length;
-			int otherMemberTypeLength = otherMemberTypes == null ? 0 : otherMemberTypes.length;
-			if (currentMemberTypeLength != otherMemberTypeLength)
-				return true;
-			for (int i = 0; i < currentMemberTypeLength; i++)
-				if (!CharOperation.equals(currentMemberTypes[i].getName(), otherMemberTypes[i].getName())
-					|| currentMemberTypes[i].getModifiers() != otherMemberTypes[i].getModifiers())
-						return true;
-		}
-
 		// fields
 		FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
 		int otherFieldInfosLength = otherFieldInfos == null ? 0 : otherFieldInfos.length;
@@ -1196,29 +1160,209 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 			}
 		}
 
-		// missing types
-		char[][][] missingTypes = getMissingTypeNames();
-		char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
-		if (missingTypes != null) {
-			if (newMissingTypes == null) {
-				return true;
+		return false;
+	} catch (ClassFormatException e) {
+		return true;
+	}
+}
+
+/**
+ * Answer the members of the receiver which have structural changes compared to the byte array in argument, as the
+ * keys under which the compiler records the references to them: the name of a field and the
+ * {@link CompilationUnitScope#methodKey(char[], int) keys} of a method.
+ * The synthetic members are excluded and the members are not required to be sorted.
+ * @param newBytes the bytes of the .class file we want to compare the receiver to
+ * @return an empty array if there is no structural change between the two .class files, <code>null</code> if the
+ *  changes affect more than the references to the changed members: a structural change of the type itself or a
+ *  change of an enum, a record, an annotation type or of an abstract method of an interface, which are also used
+ *  without a reference to the member (switches, record patterns, lambdas...)
+ */
+public char[][] getStructurallyChangedMembers(byte[] newBytes) {
+	try {
+		ClassFileReader newClassFile =
+			new ClassFileReader(newBytes, this.classFileName);
+		if (hasStructuralTypeChanges(newClassFile))
+			return null;
+		if ((getModifiers() & (ClassFileConstants.AccEnum | ClassFileConstants.AccAnnotation)) != 0 || isRecord())
+			return null;
+
+		List<char[]> changedMembers = new ArrayList<>();
+		// fields
+		FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
+		int otherFieldInfosLength = otherFieldInfos == null ? 0 : otherFieldInfos.length;
+		if (this.fieldsCount != 0)
+			Arrays.sort(this.fields);
+		if (otherFieldInfosLength != 0)
+			Arrays.sort(otherFieldInfos);
+		for (int index1 = 0, index2 = 0; index1 < this.fieldsCount || index2 < otherFieldInfosLength;) {
+			FieldInfo currentField = index1 < this.fieldsCount ? this.fields[index1] : null;
+			if (currentField != null && currentField.isSynthetic()) {
+				index1++;
+				continue;
 			}
-			int length = missingTypes.length;
-			if (length != newMissingTypes.length) {
-				return true;
+			FieldInfo otherField = index2 < otherFieldInfosLength ? otherFieldInfos[index2] : null;
+			if (otherField != null && otherField.isSynthetic()) {
+				index2++;
+				continue;
 			}
-			for (int i = 0; i < length; i++) {
-				if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
-					return true;
-				}
+			int compare = currentField == null ? 1 : otherField == null ? -1 : currentField.compareTo(otherField);
+			if (compare < 0) {
+				changedMembers.add(currentField.getName()); // removed
+				index1++;
+			} else if (compare > 0) {
+				changedMembers.add(otherField.getName()); // added
+				index2++;
+			} else {
+				if (hasStructuralFieldChanges(currentField, otherField))
+					changedMembers.add(currentField.getName());
+				index1++;
+				index2++;
 			}
-		} else if (newMissingTypes != null) {
-			return true;
 		}
-		return false;
+
+		// methods
+		MethodInfo[] otherMethodInfos = (MethodInfo[]) newClassFile.getMethods();
+		int otherMethodInfosLength = otherMethodInfos == null ? 0 : otherMethodInfos.length;
+		if (this.methodsCount != 0)
+			Arrays.sort(this.methods);
+		if (otherMethodInfosLength != 0)
+			Arrays.sort(otherMethodInfos);
+		boolean isInterface = (getModifiers() & ClassFileConstants.AccInterface) != 0;
+		for (int index1 = 0, index2 = 0; index1 < this.methodsCount || index2 < otherMethodInfosLength;) {
+			MethodInfo currentMethod = index1 < this.methodsCount ? this.methods[index1] : null;
+			if (currentMethod != null && (currentMethod.isSynthetic() || currentMethod.isClinit())) {
+				index1++;
+				continue;
+			}
+			MethodInfo otherMethod = index2 < otherMethodInfosLength ? otherMethodInfos[index2] : null;
+			if (otherMethod != null && (otherMethod.isSynthetic() || otherMethod.isClinit())) {
+				index2++;
+				continue;
+			}
+			int compare = currentMethod == null ? 1 : otherMethod == null ? -1 : currentMethod.compareTo(otherMethod);
+			MethodInfo changedMethod;
+			if (compare < 0) {
+				changedMethod = currentMethod; // removed
+				index1++;
+			} else if (compare > 0) {
+				changedMethod = otherMethod; // added
+				index2++;
+			} else {
+				index1++;
+				index2++;
+				if (!hasStructuralMethodChanges(currentMethod, otherMethod))
+					continue;
+				if (isInterface && (otherMethod.getModifiers() & ClassFileConstants.AccAbstract) != 0)
+					return null;
+				addMethodKeys(changedMembers, otherMethod); // may have become varargs
+				changedMethod = currentMethod;
+			}
+			// a lambda implements the abstract method of a functional interface without referencing it
+			if (isInterface && (changedMethod.getModifiers() & ClassFileConstants.AccAbstract) != 0)
+				return null;
+			addMethodKeys(changedMembers, changedMethod);
+		}
+		return changedMembers.toArray(new char[changedMembers.size()][]);
 	} catch (ClassFormatException e) {
+		return null;
+	}
+}
+
+private void addMethodKeys(List<char[]> keys, MethodInfo method) {
+	char[] selector = method.getSelector();
+	// the descriptor of the constructor of an inner type has synthetic parameters for the enclosing instances
+	int arity = (method.getModifiers() & ClassFileConstants.AccVarargs) != 0
+			|| (method.isConstructor() && isNestedType() && (getModifiers() & ClassFileConstants.AccStatic) == 0)
+		? CompilationUnitScope.VARIABLE_ARITY
+		: Util.getParameterCount(method.getMethodDescriptor());
+	keys.add(CompilationUnitScope.methodKey(selector, arity));
+	keys.add(CompilationUnitScope.methodKey(selector, CompilationUnitScope.ANY_ARITY));
+}
+
+private boolean hasStructuralTypeChanges(ClassFileReader newClassFile) {
+	// modifiers
+	if (getModifiers() != newClassFile.getModifiers())
+		return true;
+
+	// only consider a portion of the tagbits which indicate a structural change for dependents
+	// e.g. @Override change has no influence outside
+	long OnlyStructuralTagBits = TagBits.AnnotationTargetMASK // different @Target status ?
+		| TagBits.AnnotationDeprecated // different @Deprecated status ?
+		| TagBits.AnnotationRetentionMASK // different @Retention status ?
+		| TagBits.HierarchyHasProblems; // different hierarchy status ?
+
+	// meta-annotations
+	if ((getTagBits() & OnlyStructuralTagBits) != (newClassFile.getTagBits() & OnlyStructuralTagBits))
+		return true;
+	// annotations
+	if (hasStructuralAnnotationChanges(getAnnotations(), newClassFile.getAnnotations()))
 		return true;
+	if (this.version >= ClassFileConstants.JDK1_8
+			&& hasStructuralTypeAnnotationChanges(getTypeAnnotations(), newClassFile.getTypeAnnotations()))
+		return true;
+
+	// generic signature
+	if (!CharOperation.equals(getGenericSignature(), newClassFile.getGenericSignature()))
+		return true;
+	// superclass
+	if (!CharOperation.equals(getSuperclassName(), newClassFile.getSuperclassName()))
+		return true;
+	// interfaces
+	char[][] newInterfacesNames = newClassFile.getInterfaceNames();
+	if (this.interfaceNames != newInterfacesNames) { // TypeConstants.NoSuperInterfaces
+		int newInterfacesLength = newInterfacesNames == null ? 0 : newInterfacesNames.length;
+		if (newInterfacesLength != this.interfacesCount)
+			return true;
+		for (int i = 0, max = this.interfacesCount; i < max; i++)
+			if (!CharOperation.equals(this.interfaceNames[i], newInterfacesNames[i]))
+				return true;
+	}
+
+	// permitted subtypes
+	char[][] newPermittedSubtypesNames = newClassFile.getPermittedSubtypesNames();
+	if (this.permittedSubtypesNames != newPermittedSubtypesNames) {
+		int newPermittedSubtypesLength = newPermittedSubtypesNames == null ? 0 : newPermittedSubtypesNames.length;
+		if (newPermittedSubtypesLength != this.permittedSubtypesCount)
+			return true;
+		for (int i = 0, max = this.permittedSubtypesCount; i < max; i++)
+			if (!CharOperation.equals(this.permittedSubtypesNames[i], newPermittedSubtypesNames[i]))
+				return true;
+	}
+
+	// member types
+	IBinaryNestedType[] currentMemberTypes = getMemberTypes();
+	IBinaryNestedType[] otherMemberTypes = newClassFile.getMemberTypes();
+	if (currentMemberTypes != otherMemberTypes) { // TypeConstants.NoMemberTypes
+		int currentMemberTypeLength = currentMemberTypes == null ? 0 : currentMemberTypes.length;
+		int otherMemberTypeLength = otherMemberTypes == null ? 0 : otherMemberTypes.length;
+		if (currentMemberTypeLength != otherMemberTypeLength)
+			return true;
+		for (int i = 0; i < currentMemberTypeLength; i++)
+			if (!CharOperation.equals(currentMemberTypes[i].getName(), otherMemberTypes[i].getName())
+				|| currentMemberTypes[i].getModifiers() != otherMemberTypes[i].getModifiers())
+					return true;
 	}
+
+	// missing types
+	char[][][] missingTypes = getMissingTypeNames();
+	char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
+	if (missingTypes != null) {
+		if (newMissingTypes == null) {
+			return true;
+		}
+		int length = missingTypes.length;
+		if (length != newMissingTypes.length) {
+			return true;
+		}
+		for (int i = 0; i < length; i++) {
+			if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
+				return true;
+			}
+		}
+	} else if (newMissingTypes != null) {
+		return true;
+	}
+	return false;
 }
 
 private boolean hasStructuralAnnotationChanges(IBinaryAnnotation[] currentAnnotations, IBinaryAnnotation[] otherAnnotations) {
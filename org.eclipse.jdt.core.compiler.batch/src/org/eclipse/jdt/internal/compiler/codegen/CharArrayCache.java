@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.codegen;
 
+import java.util.Arrays;
 import org.eclipse.jdt.core.compiler.CharOperation;
 
 public class CharArrayCache {
@@ -54,6 +55,18 @@ public void clear() {
 	this.keyTable = EMPTY_CHARS;
 	this.valueTable = EMPTY_INTS;
 }
+/**
+ * Clears the hash table, keeping its storage unless it has more than the given number of buckets.
+ */
+public void clear(int retainedCapacity) {
+	if (this.keyTable.length > retainedCapacity) {
+		clear();
+		return;
+	}
+	Arrays.fill(this.keyTable, null);
+	Arrays.fill(this.valueTable, 0);
+	this.elementSize = 0;
+}
 /** Returns true if the collection contains an element for the key.
  *
  * @param key char[] the key that we are looking for
@@ -7245,7 +7245,7 @@ private final void resizeByteArray() {
 		// must be sure to grow enough
 		requiredSize = this.classFileOffset + length;
 	}
-	System.arraycopy(this.bCodeStream, 0, this.bCodeStream = new byte[requiredSize], 0, length);
+	System.arraycopy(this.bCodeStream, 0, this.bCodeStream = this.classFile.newBuffer(requiredSize), 0, length);
 }
 
 public void return_() {
@@ -39,6 +39,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	private static final int METHODS_AND_FIELDS_INITIAL_SIZE = 450;
 	private static final int NAMEANDTYPE_INITIAL_SIZE = 272;
 	private static final int DYNAMIC_INITIAL_SIZE = 10;
+	private static final int RETAINED_CACHE_CAPACITY = 2560; // buckets kept by reset()
 	protected DoubleCache doubleCache;
 	protected FloatCache floatCache;
 	protected IntegerCache intCache;
@@ -1294,7 +1295,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		int toAdd = length;
 		if (toAdd < minimalSize)
 			toAdd = minimalSize;
-		System.arraycopy(this.poolContent, 0, this.poolContent = new byte[length + toAdd], 0, length);
+		System.arraycopy(this.poolContent, 0, this.poolContent = this.classFile.newBuffer(length + toAdd), 0, length);
 	}
 	/**
 	 * Write a unsigned byte into the byte array
@@ -1320,14 +1321,15 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		this.poolContent[this.currentOffset++] = (byte) value;
 	}
 	public void reset() {
+		// keep the storage of the caches for the next class file, unless it grew too big
 		if (this.doubleCache != null) this.doubleCache.clear();
 		if (this.floatCache != null) this.floatCache.clear();
 		if (this.intCache != null) this.intCache.clear();
-		if (this.longCache != null) this.longCache.clear();
-		this.UTF8Cache.clear();
-		this.stringCache.clear();
+		if (this.longCache != null) this.longCache.clear(RETAINED_CACHE_CAPACITY);
+		this.UTF8Cache.clear(RETAINED_CACHE_CAPACITY);
+		this.stringCache.clear(RETAINED_CACHE_CAPACITY);
 		this.methodsAndFieldsCache.clear();
-		this.classCache.clear();
+		this.classCache.clear(RETAINED_CACHE_CAPACITY);
 		this.packageCache.clear();
 		this.moduleCache.clear();
 		this.nameAndTypeCacheForFieldsAndMethods.clear();
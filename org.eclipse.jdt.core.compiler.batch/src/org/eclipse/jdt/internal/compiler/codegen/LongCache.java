@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.codegen;
 
+import java.util.Arrays;
+
 public class LongCache {
 	private static final int[] EMPTY_INTS = new int[0];
 	private static final long[] EMPTY_LONGS = new long[0];
@@ -52,6 +54,18 @@ public void clear() {
 	this.keyTable = EMPTY_LONGS;
 	this.valueTable = EMPTY_INTS;
 }
+/**
+ * Clears the hash table, keeping its storage unless it has more than the given number of buckets.
+ */
+public void clear(int retainedCapacity) {
+	if (this.keyTable.length > retainedCapacity) {
+		clear();
+		return;
+	}
+	Arrays.fill(this.keyTable, 0L);
+	Arrays.fill(this.valueTable, 0);
+	this.elementSize = 0;
+}
 /** Returns true if the collection contains an element for the key.
  *
  * @param key <CODE>long</CODE> the key that we are looking for
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -109,12 +109,24 @@ public class UnconditionalFlowInfo extends FlowInfo {
 
 	public int maxFieldCount; // limit between fields and locals
 
+	// rows of extra shared with other flow infos (bit j stands for extra[j]), to be copied before they are written to
+	private int sharedExtra;
+
 	// Constants
 	public static final int BitCacheSize = 64; // 64 bits in a long.
 	public static final int IN = 6;
 	public static final int INN = 7;
 	public static final int DEFIN = 8;
 	public static final int DEFINN = 9;
+	/**
+	 * Length (in longs) of the extra segments from which copies share them until either side writes to them, instead
+	 * of copying them right away. Methods with that many locals are copied far more often than they are written to.
+	 */
+	public static final int COPY_ON_WRITE_LENGTH = 8;
+	private static final int INITS_EXTRA = 0x3; // extra[0] and extra[1]
+	private static final int NULL_BITS_EXTRA = 0x3C; // extra[2] .. extra[5]
+	private static final int NULL_EXTRA = 0x3FC; // extra[2] .. extra[DEFINN]
+	private static final int ALL_EXTRA = INITS_EXTRA | NULL_EXTRA;
 
 /* fakeInitializedFlowInfo: For Lambda expressions tentative analysis during overload resolution.
    We presume that any and all outer locals touched by the lambda are definitely assigned and
@@ -277,6 +289,7 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 			// shortcut regular copy because array copy is better
 			int otherLength;
 			this.extra = new long[extraLength][];
+			this.sharedExtra = 0;
 			this.extra[0] = new long[otherLength = otherInits.extra[0].length];
 			this.extra[1] = new long[otherLength];
 			if (handleInits) {
@@ -318,6 +331,7 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 		int i;
 		if (handleInits) {
 			// manage definite assignment info
+			ownExtra(INITS_EXTRA);
 			for (i = 0; i < mergeLimit; i++) {
 				this.extra[0][i] |= otherInits.extra[0][i];
 				this.extra[1][i] |= otherInits.extra[1][i];
@@ -339,6 +353,9 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 		  	copyLimit = 0;
 		  	mergeLimit = 0;
 		}
+		if (mergeLimit > 0 || copyLimit > 0) {
+			ownExtra(NULL_EXTRA);
+		}
 		for (i = 0; i < mergeLimit; i++) {
 			a1 = this.extra[1 + 1][i];
 			a2 = this.extra[2 + 1][i];
@@ -431,6 +448,7 @@ public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
 		if (otherInits.extra != null) {
 			// both sides have extra storage
 			int i = 0, length, otherLength;
+			ownExtra(INITS_EXTRA);
 			if ((length = this.extra[0].length) < (otherLength = otherInits.extra[0].length)) {
 				// current storage is shorter -> grow current
 				growSpace(otherLength, 0, length);
@@ -563,6 +581,7 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
 				}
 			}
 		}
+		ownExtra(NULL_EXTRA);
 		// PREMATURE skip operations for fields
 		int i;
 		for (i = 0 ; i < mergeLimit ; i++) {
@@ -663,6 +682,7 @@ public void acceptIncomingNullnessFrom(UnconditionalFlowInfo other) {
 				long acceptNN = extraINN & b1 & nb2 & b3 & nb4;
 				if (acceptNN != 0) {
 					long nAcceptNN = ~acceptNN;
+					ownExtra(NULL_EXTRA);
 					this.extra[1+1][i] |= acceptNN;
 					this.extra[2+1][i] &= nAcceptNN;
 					this.extra[3+1][i] |= acceptNN;
@@ -672,6 +692,7 @@ public void acceptIncomingNullnessFrom(UnconditionalFlowInfo other) {
 				long acceptN = extraIN & b1 & b2 & nb3 & nb4;
 				if (acceptN != 0) {
 					long nAcceptN = ~acceptN;
+					ownExtra(NULL_EXTRA);
 					this.extra[1+1][i] |= acceptN;
 					this.extra[2+1][i] |= acceptN;
 					this.extra[3+1][i] &= nAcceptN;
@@ -792,7 +813,17 @@ public FlowInfo copy() {
 	copy.iDefNNBit = this.iDefNNBit;
 	copy.tagBits = this.tagBits;
 	copy.maxFieldCount = this.maxFieldCount;
-	if (this.extra != null) {
+	if (this.extra != null && this.extra[0].length >= COPY_ON_WRITE_LENGTH) {
+		// share the extra segments until either side writes to them
+		int length = this.extra[0].length;
+		int shared = hasNullInfo ? ALL_EXTRA : ALL_EXTRA & ~NULL_BITS_EXTRA;
+		copy.extra = new long[extraLength][];
+		for (int j = 0; j < extraLength; j++) {
+			copy.extra[j] = (shared & (1 << j)) != 0 ? this.extra[j] : new long[length];
+		}
+		this.sharedExtra |= shared;
+		copy.sharedExtra = shared;
+	} else if (this.extra != null) {
 		int length;
 		copy.extra = new long[extraLength][];
 		System.arraycopy(this.extra[0], 0,
@@ -831,6 +862,7 @@ public UnconditionalFlowInfo discardInitializationInfo() {
 	this.definiteInits =
 		this.potentialInits = 0;
 	if (this.extra != null) {
+		ownExtra(INITS_EXTRA);
 		for (int i = 0, length = this.extra[0].length; i < length; i++) {
 			this.extra[0][i] = this.extra[1][i] = 0;
 		}
@@ -865,6 +897,7 @@ public UnconditionalFlowInfo discardNonFieldInitializations() {
 	if ((vectorIndex = (limit / BitCacheSize) - 1) >= length) {
 		return this; // not enough room yet
 	}
+	ownExtra(ALL_EXTRA);
 	if (vectorIndex >= 0) {
 		// else we only have complete non field array items left
 		long mask = (1L << (limit % BitCacheSize))-1;
@@ -1290,6 +1323,7 @@ public void markAsComparedEqualToNonNull(LocalVariableBinding local) {
 					}
 				}
 			}
+			ownExtra(NULL_EXTRA);
 			// MACRO :'b,'es/nullBit\(.\)/extra[\1 + 1][vectorIndex]/gc
 			if (((mask = 1L << (position % BitCacheSize))
   				& (a1 = this.extra[1 + 1][vectorIndex])
@@ -1384,6 +1418,7 @@ public void markAsComparedEqualToNull(LocalVariableBinding local) {
 					}
 				}
 			}
+			ownExtra(NULL_EXTRA);
 			if ((mask & this.extra[1 + 1][vectorIndex]) != 0) {
   			  	if ((mask
   			  		& (~this.extra[2 + 1][vectorIndex] | this.extra[3 + 1][vectorIndex]
@@ -1434,6 +1469,7 @@ final private void markAsDefinitelyAssigned(int position) {
 					growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
+			ownExtra(INITS_EXTRA);
 			long mask;
 			this.extra[0][vectorIndex] |=
 				(mask = 1L << (position % BitCacheSize));
@@ -1492,6 +1528,7 @@ public void markAsDefinitelyNonNull(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
     			}
     		}
+    		ownExtra(NULL_EXTRA);
     		this.extra[2][vectorIndex]
     		    |= (mask = 1L << (position % BitCacheSize));
     		this.extra[4][vectorIndex] |= mask;
@@ -1548,6 +1585,7 @@ public void markAsDefinitelyNull(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
     			}
     		}
+    		ownExtra(NULL_EXTRA);
     		this.extra[2][vectorIndex]
     		    |= (mask = 1L << (position % BitCacheSize));
     		this.extra[3][vectorIndex] |= mask;
@@ -1612,6 +1650,7 @@ public void markAsDefinitelyUnknown(LocalVariableBinding local) {
 					growSpace(vectorIndex+1, 0, oldLength);
 				}
 			}
+			ownExtra(NULL_EXTRA);
 			this.extra[2][vectorIndex]
 			    |= (mask = 1L << (position % BitCacheSize));
 			this.extra[5][vectorIndex] |= mask;
@@ -1655,6 +1694,7 @@ public void resetNullInfo(LocalVariableBinding local) {
     			// before and for which no null bits exist.
     			return;
     		}
+    		ownExtra(NULL_EXTRA);
     		this.extra[2][vectorIndex]
     		    &= (mask = ~(1L << (position % BitCacheSize)));
     		this.extra[3][vectorIndex] &= mask;
@@ -1700,6 +1740,7 @@ public void markPotentiallyUnknownBit(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
+    		ownExtra(NULL_EXTRA);
     		mask = 1L << (position % BitCacheSize);
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'unknown' mark in unexpected state"); //$NON-NLS-1$
     		this.extra[5][vectorIndex] |= mask;
@@ -1745,6 +1786,7 @@ public void markPotentiallyNullBit(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
+    		ownExtra(NULL_EXTRA);
     		mask = 1L << (position % BitCacheSize);
     		this.extra[3][vectorIndex] |= mask;
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'potentially null' mark in unexpected state"); //$NON-NLS-1$
@@ -1790,6 +1832,7 @@ public void markPotentiallyNonNullBit(LocalVariableBinding local) {
 					growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
+    		ownExtra(NULL_EXTRA);
     		mask = 1L << (position % BitCacheSize);
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'potentially non-null' mark in unexpected state"); //$NON-NLS-1$
     		this.extra[4][vectorIndex] |= mask;
@@ -1969,6 +2012,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 			// no storage here, but other has extra storage.
 			int otherLength = otherInits.extra[0].length;
 			this.extra = new long[extraLength][];
+			this.sharedExtra = 0;
 			for (int j = 0; j < extraLength; j++) {
 				this.extra[j] = new long[otherLength];
 			}
@@ -1985,6 +2029,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 				}
 			}
 		}
+		ownExtra(ALL_EXTRA);
         // MACRO :'b,'es/nullBit\(.\)/extra[\1 + 1][i]/g
 		// manage definite assignment
 		for (i = 0; i < mergeLimit; i++) {
@@ -2149,11 +2194,17 @@ public UnconditionalFlowInfo nullInfoLessUnconditionalCopy() {
 	if (this.extra != null) {
 		int length;
 		copy.extra = new long[extraLength][];
-		System.arraycopy(this.extra[0], 0,
-			(copy.extra[0] =
-				new long[length = this.extra[0].length]), 0, length);
-		System.arraycopy(this.extra[1], 0,
-			(copy.extra[1] = new long[length]), 0, length);
+		if ((length = this.extra[0].length) >= COPY_ON_WRITE_LENGTH) {
+			copy.extra[0] = this.extra[0];
+			copy.extra[1] = this.extra[1];
+			this.sharedExtra |= INITS_EXTRA;
+			copy.sharedExtra = INITS_EXTRA;
+		} else {
+			System.arraycopy(this.extra[0], 0,
+				(copy.extra[0] = new long[length]), 0, length);
+			System.arraycopy(this.extra[1], 0,
+				(copy.extra[1] = new long[length]), 0, length);
+		}
 		for (int j = 2; j < extraLength; j++) {
 			copy.extra[j] = new long[length];
 		}
@@ -2186,6 +2237,7 @@ public FlowInfo setReachMode(int reachMode) {
 			// see InitializationTest#test090 (and others)
 			this.potentialInits = 0;
 			if (this.extra != null) {
+				ownExtra(INITS_EXTRA);
 				for (int i = 0, length = this.extra[0].length;
 						i < length; i++) {
 					this.extra[1][i] = 0;
@@ -2351,6 +2403,7 @@ public UnconditionalFlowInfo mergeDefiniteInitsWith(UnconditionalFlowInfo otherI
 	// intersection of definitely assigned variables,
 	this.definiteInits &= otherInits.definiteInits;
 	if (this.extra != null) {
+		ownExtra(INITS_EXTRA);
 		if (otherInits.extra != null) {
 			// both sides have extra storage
 			int i = 0, length, otherLength;
@@ -2405,6 +2458,7 @@ public void resetAssignmentInfo(int position) {
 			// use extra vector
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null || vectorIndex >= this.extra[0].length) return;	// variable doesnt exist in flow info
+			ownExtra(INITS_EXTRA);
 			long mask;
 			this.extra[0][vectorIndex] &=
 				(mask = ~(1L << (position % BitCacheSize)));
@@ -2415,6 +2469,7 @@ public void resetAssignmentInfo(int position) {
 
 private void createExtraSpace(int length) {
 	this.extra = new long[extraLength][];
+	this.sharedExtra = 0;
 	for (int j = 0; j < extraLength; j++) {
 		this.extra[j] = new long[length];
 	}
@@ -2432,6 +2487,7 @@ public void growSpace(int newLength, int copyStart, int copyLength) {
 			(this.extra[j] = new long[newLength]), copyStart,
 			copyLength);
 	}
+	this.sharedExtra = 0;
 	if ((this.tagBits & UNROOTED) != 0) {
 		Arrays.fill(this.extra[IN], copyStart+copyLength, newLength, -1);
 		Arrays.fill(this.extra[INN], copyStart+copyLength, newLength, -1);
@@ -2440,12 +2496,29 @@ public void growSpace(int newLength, int copyStart, int copyLength) {
 	}
 }
 
+/**
+ * Make sure the given rows of extra (bit j standing for extra[j]) are no longer shared with other flow infos, before
+ * writing to them.
+ */
+private void ownExtra(int rows) {
+	int shared = this.sharedExtra & rows;
+	if (shared != 0) {
+		for (int j = 0; j < extraLength; j++) {
+			if ((shared & (1 << j)) != 0) {
+				this.extra[j] = this.extra[j].clone();
+			}
+		}
+		this.sharedExtra &= ~shared;
+	}
+}
+
 public void acceptAllIncomingNullness() {
 	this.iNBit = -1L;
 	this.iNNBit = -1L;
 	this.iDefNBit = -1L;
 	this.iDefNNBit = -1L;
 	if (this.extra != null) {
+		ownExtra(NULL_EXTRA);
 		Arrays.fill(this.extra[IN], -1L);
 		Arrays.fill(this.extra[INN], -1L);
 		Arrays.fill(this.extra[DEFIN], -1L);
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder events describing a compilation. Only referenced by {@link CompilerStats} once it checked that
+ * JFR is available, so that the compiler still runs where the jdk.jfr module is absent. Events are only allocated
+ * while a recording of them is running.
+ */
+final class CompilerEvents {
+
+	private static final String CATEGORY = "Eclipse Compiler for Java"; //$NON-NLS-1$
+
+	@Name("org.eclipse.jdt.compiler.CompilationUnit")
+	@Label("Compilation Unit")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class UnitEvent extends Event {
+		@Label("File Name")
+		String fileName;
+		@Label("Parse Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long parseTime;
+		@Label("Resolve Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long resolveTime;
+		@Label("Analyze Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long analyzeTime;
+		@Label("Generate Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long generateTime;
+	}
+
+	@Name("org.eclipse.jdt.compiler.AnnotationProcessingRound")
+	@Label("Annotation Processing Round")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class AnnotationProcessingRoundEvent extends Event {
+		@Label("Processing Time")
+		@Timespan(Timespan.MILLISECONDS)
+		long processingTime;
+	}
+
+	@Name("org.eclipse.jdt.compiler.Compilation")
+	@Label("Compilation")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class CompilationEvent extends Event {
+		@Label("Line Count")
+		long lineCount;
+		@Label("Overall Time")
+		@Timespan(Timespan.MILLISECONDS)
+		long overallTime;
+		@Label("Parse Time")
+		@Timespan(Timespan.MILLISECONDS)
+		long parseTime;
+		@Label("Resolve Time")
+		@Timespan(Timespan.MILLISECONDS)
+		long resolveTime;
+		@Label("Analyze Time")
+		@Timespan(Timespan.MILLISECONDS)
+		long analyzeTime;
+		@Label("Generate Time")
+		@Timespan(Timespan.MILLISECONDS)
+		long generateTime;
+	}
+
+	/**
+	 * Looking up an event type initializes the flight recorder, so this is only done once a recording was started.
+	 */
+	private static final class Types {
+		static final EventType UNIT = EventType.getEventType(UnitEvent.class);
+		static final EventType ANNOTATION_PROCESSING_ROUND = EventType.getEventType(AnnotationProcessingRoundEvent.class);
+		static final EventType COMPILATION = EventType.getEventType(CompilationEvent.class);
+	}
+
+	private CompilerEvents() {
+		// not instantiable
+	}
+
+	static void unitProcessed(char[] fileName, long parseTime, long resolveTime, long analyzeTime, long generateTime) {
+		if (!FlightRecorder.isInitialized() || !Types.UNIT.isEnabled())
+			return;
+		UnitEvent event = new UnitEvent();
+		event.fileName = new String(fileName);
+		event.parseTime = parseTime;
+		event.resolveTime = resolveTime;
+		event.analyzeTime = analyzeTime;
+		event.generateTime = generateTime;
+		event.commit();
+	}
+
+	static void annotationProcessingRound(long processingTime) {
+		if (!FlightRecorder.isInitialized() || !Types.ANNOTATION_PROCESSING_ROUND.isEnabled())
+			return;
+		AnnotationProcessingRoundEvent event = new AnnotationProcessingRoundEvent();
+		event.processingTime = processingTime;
+		event.commit();
+	}
+
+	static void compilationFinished(CompilerStats stats) {
+		if (!FlightRecorder.isInitialized() || !Types.COMPILATION.isEnabled())
+			return;
+		CompilationEvent event = new CompilationEvent();
+		event.lineCount = stats.lineCount;
+		event.overallTime = stats.overallTime;
+		event.parseTime = stats.parseTime;
+		event.resolveTime = stats.resolveTime;
+		event.analyzeTime = stats.analyzeTime;
+		event.generateTime = stats.generateTime;
+		event.commit();
+	}
+}
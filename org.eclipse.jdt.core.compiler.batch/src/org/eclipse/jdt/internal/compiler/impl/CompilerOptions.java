@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,7 +44,7 @@ import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
 import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
-public class CompilerOptions {
+public class CompilerOptions implements Cloneable {
 
 	/**
 	 * Option IDs
@@ -1332,6 +1332,22 @@ public class CompilerOptions {
 		return null;
 	}
 
+	/**
+	 * Answer a copy of these options for another compiler running at the same time: the compilers adjust some
+	 * options while they run, like {@link #analyseResourceLeaks} for lambda bodies.
+	 */
+	public CompilerOptions copy() {
+		CompilerOptions copy;
+		try {
+			copy = (CompilerOptions) clone();
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
+		}
+		copy.errorThreshold = new IrritantSet(this.errorThreshold);
+		copy.warningThreshold = new IrritantSet(this.warningThreshold);
+		copy.infoThreshold = new IrritantSet(this.infoThreshold);
+		return copy;
+	}
 
 	public Map<String, String> getMap() {
 		Map<String, String> optionsMap = new HashMap<>(30);
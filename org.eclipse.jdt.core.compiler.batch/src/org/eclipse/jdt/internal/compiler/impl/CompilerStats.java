@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
 @SuppressWarnings("rawtypes")
 public class CompilerStats implements Comparable {
 
@@ -28,6 +34,66 @@ public class CompilerStats implements Comparable {
 	public long analyzeTime;
 	public long generateTime;
 
+	// output, overlapping the compile phases
+	public long writeTime;
+
+	// input, time the compiler waited for sources being read ahead (in ms)
+	public long readStallTime;
+
+	// method lookup, methods shared among the invocations of the same shape in a unit
+	public long methodLookupHits;
+	public long methodLookupMisses;
+
+	// parsed unit cache, initial units answered from the units diet parsed by a previous compilation
+	public long parsedUnitCacheHits;
+	public long parsedUnitCacheMisses;
+
+	// name lookup, filled in by the client owning the name environment
+	public long savedClasspathProbes; // classpath entries not searched because they cannot contain the package
+
+	// details, only recorded when requested by setting recordDetails
+	public boolean recordDetails;
+	public List<UnitStats> units;
+	public List<Long> annotationProcessingRoundTimes; // in ms
+	public Map<String, Integer> binaryTypeCounts; // per classpath entry, filled in by the client owning the name environment
+
+	/** whether JDK Flight Recorder events can be emitted **/
+	private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+/**
+ * Times (in ns) spent on a compilation unit once all units are known: parsing its method bodies, resolving, analyzing
+ * and generating its code.
+ */
+public static class UnitStats {
+	public final String fileName;
+	public final long parseTime;
+	public final long resolveTime;
+	public final long analyzeTime;
+	public final long generateTime;
+
+	public UnitStats(String fileName, long parseTime, long resolveTime, long analyzeTime, long generateTime) {
+		this.fileName = fileName;
+		this.parseTime = parseTime;
+		this.resolveTime = resolveTime;
+		this.analyzeTime = analyzeTime;
+		this.generateTime = generateTime;
+	}
+
+	public long totalTime() {
+		return this.parseTime + this.resolveTime + this.analyzeTime + this.generateTime;
+	}
+}
+
+private static boolean isJfrAvailable() {
+	try {
+		// loading an event links it against jdk.jfr, the package is an optional import of the bundle
+		Class.forName("org.eclipse.jdt.internal.compiler.impl.CompilerEvents$UnitEvent", false, CompilerStats.class.getClassLoader()); //$NON-NLS-1$
+		return true;
+	} catch (ClassNotFoundException | LinkageError e) {
+		return false; // e.g. jdk.jfr module not present or not visible to this class loader
+	}
+}
+
 /**
  * Returns the total elapsed time (between start and end)
  * @return the time spent between start and end
@@ -36,6 +102,81 @@ public long elapsedTime() {
 	return this.overallTime;
 }
 
+/**
+ * Record the times (in ns) spent on the given unit, see {@link UnitStats}.
+ */
+public void unitProcessed(char[] fileName, long unitParseTime, long unitResolveTime, long unitAnalyzeTime, long unitGenerateTime) {
+	if (this.recordDetails) {
+		synchronized (this) {
+			if (this.units == null)
+				this.units = new ArrayList<>();
+			this.units.add(new UnitStats(new String(fileName), unitParseTime, unitResolveTime, unitAnalyzeTime, unitGenerateTime));
+		}
+	}
+	if (JFR_AVAILABLE) {
+		CompilerEvents.unitProcessed(fileName, unitParseTime, unitResolveTime, unitAnalyzeTime, unitGenerateTime);
+	}
+}
+
+/**
+ * Record the time (in ms) spent by the annotation processors in one round.
+ */
+public void annotationProcessingRound(long time) {
+	if (this.recordDetails) {
+		synchronized (this) {
+			if (this.annotationProcessingRoundTimes == null)
+				this.annotationProcessingRoundTimes = new ArrayList<>();
+			this.annotationProcessingRoundTimes.add(Long.valueOf(time));
+		}
+	}
+	if (JFR_AVAILABLE) {
+		CompilerEvents.annotationProcessingRound(time);
+	}
+}
+
+/**
+ * Record the end of a compilation, once the phase times are complete.
+ */
+public void compilationFinished() {
+	if (JFR_AVAILABLE) {
+		CompilerEvents.compilationFinished(this);
+	}
+}
+
+/**
+ * Add the phase times, the counts and the details recorded by another compiler working on the same compilation, see
+ * <code>ProcessGroupManager</code>. The phase times of compilers running at the same time add up, only the overall time
+ * is elapsed time.
+ */
+public synchronized void add(CompilerStats other) {
+	this.lineCount += other.lineCount;
+	this.parseTime += other.parseTime;
+	this.resolveTime += other.resolveTime;
+	this.analyzeTime += other.analyzeTime;
+	this.generateTime += other.generateTime;
+	this.readStallTime += other.readStallTime;
+	this.methodLookupHits += other.methodLookupHits;
+	this.methodLookupMisses += other.methodLookupMisses;
+	this.parsedUnitCacheHits += other.parsedUnitCacheHits;
+	this.parsedUnitCacheMisses += other.parsedUnitCacheMisses;
+	if (other.units != null) {
+		if (this.units == null)
+			this.units = new ArrayList<>();
+		this.units.addAll(other.units);
+	}
+}
+
+/**
+ * Answer at most <code>count</code> recorded units, the slowest first.
+ */
+public synchronized List<UnitStats> slowestUnits(int count) {
+	if (this.units == null)
+		return Collections.emptyList();
+	List<UnitStats> sorted = new ArrayList<>(this.units);
+	sorted.sort(Comparator.comparingLong(UnitStats::totalTime).reversed());
+	return sorted.subList(0, Math.min(count, sorted.size()));
+}
+
 @Override
 public int compareTo(Object o) {
 	CompilerStats otherStats = (CompilerStats) o;
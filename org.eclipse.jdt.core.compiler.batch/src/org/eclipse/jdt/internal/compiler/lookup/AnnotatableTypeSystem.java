@@ -132,8 +132,15 @@ public class AnnotatableTypeSystem extends TypeSystem {
 		parameterizedType = new ParameterizedTypeBinding(genericType, typeArguments, enclosingType, this.environment);
 		parameterizedType.id = nakedType.id;
 		parameterizedType.setTypeAnnotations(annotations, this.isAnnotationBasedNullAnalysisEnabled);
-		this.parameterizedTypes.put(genericType, typeArguments, enclosingType, parameterizedType);
-		return (ParameterizedTypeBinding) cacheDerivedType(genericType, nakedType, parameterizedType);
+		this.parameterizedTypes.beginUpdate();
+		try {
+			ParameterizedTypeBinding internedType = this.parameterizedTypes.put(genericType, typeArguments, enclosingType, parameterizedType);
+			if (internedType != parameterizedType) //$IDENTITY-COMPARISON$
+				return internedType; // added by another thread meanwhile
+			return (ParameterizedTypeBinding) cacheDerivedType(genericType, nakedType, parameterizedType);
+		} finally {
+			this.parameterizedTypes.endUpdate();
+		}
 	}
 
 	@Override
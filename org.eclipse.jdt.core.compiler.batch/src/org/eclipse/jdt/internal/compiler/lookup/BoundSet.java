@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2020 GK Software AG.
+ * Copyright (c) 2013, 2026 GK Software AG.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -325,7 +325,101 @@ class BoundSet {
 	/** 18.1.3 bullet 5: throws α */
 	Set<InferenceVariable> inThrows = new LinkedHashSet<>();
 
+	/**
+	 * Index of one generation of bounds, answering the bounds a given bound can be combined with during
+	 * incorporation, in the order of the generation.
+	 * <p>
+	 * Two bounds can only be combined if they relate the same inference variable (on either side of their relation),
+	 * with two exceptions: an equality with a proper type is substituted into every other bound, and a parameterized
+	 * dependency is combined with every equality (see {@link BoundSet#enableOptimizationForBug543480}).
+	 * All other pairs are known to produce no constraint, so skipping them does not change the outcome.
+	 * </p>
+	 */
+	private static class BoundIndex {
+
+		static final int MIN_BOUNDS = 8; // smaller generations are cheaper to check pair by pair
+
+		private final Map<Integer, int[]> boundsPerVariable = new HashMap<>(); // variable id -> count, indices...
+		private int[] properEqualities = new int[4];
+		private int[] equalities = new int[4];
+		private int[] parameterizedDependencies = new int[4];
+		private final int[] marks;
+		private int mark;
+
+		BoundIndex(TypeBound[] bounds) {
+			this.marks = new int[bounds.length];
+			for (int i = 0; i < bounds.length; i++) {
+				TypeBound bound = bounds[i];
+				add(bound.left, i);
+				if (bound.right instanceof InferenceVariable)
+					add((InferenceVariable) bound.right, i);
+				if (bound.relation == ReductionResult.SAME) {
+					this.equalities = append(this.equalities, i);
+					if (bound.right.isProperType(true))
+						this.properEqualities = append(this.properEqualities, i);
+				}
+				if (isParameterizedDependency(bound))
+					this.parameterizedDependencies = append(this.parameterizedDependencies, i);
+			}
+		}
+
+		private void add(InferenceVariable variable, int index) {
+			Integer key = Integer.valueOf(variable.varId);
+			int[] indices = this.boundsPerVariable.get(key);
+			if (indices == null)
+				this.boundsPerVariable.put(key, indices = new int[4]);
+			int[] appended = append(indices, index);
+			if (appended != indices)
+				this.boundsPerVariable.put(key, appended);
+		}
+
+		private static int[] append(int[] indices, int index) {
+			int count = indices[0];
+			if (count + 1 == indices.length)
+				System.arraycopy(indices, 0, indices = new int[indices.length * 2], 0, count + 1);
+			indices[++count] = index;
+			indices[0] = count;
+			return indices;
+		}
+
+		/**
+		 * Collect into <code>candidates</code> the indices of the bounds the given bound can be combined with,
+		 * in ascending order, and answer their number, or -1 if it can be combined with all bounds.
+		 */
+		int candidates(TypeBound bound, int[] candidates) {
+			if (bound.relation == ReductionResult.SAME && bound.right.isProperType(true))
+				return -1;
+			this.mark++;
+			int count = collect(this.boundsPerVariable.get(Integer.valueOf(bound.left.varId)), candidates, 0);
+			if (bound.right instanceof InferenceVariable)
+				count = collect(this.boundsPerVariable.get(Integer.valueOf(((InferenceVariable) bound.right).varId)), candidates, count);
+			count = collect(this.properEqualities, candidates, count);
+			if (bound.relation == ReductionResult.SAME)
+				count = collect(this.parameterizedDependencies, candidates, count);
+			if (isParameterizedDependency(bound))
+				count = collect(this.equalities, candidates, count);
+			Arrays.sort(candidates, 0, count);
+			return count;
+		}
+
+		private int collect(int[] indices, int[] candidates, int count) {
+			if (indices != null) {
+				for (int i = 1, max = indices[0]; i <= max; i++) {
+					int index = indices[i];
+					if (this.marks[index] != this.mark) {
+						this.marks[index] = this.mark;
+						candidates[count++] = index;
+					}
+				}
+			}
+			return count;
+		}
+	}
+
 	private TypeBound[] incorporatedBounds = Binding.NO_TYPE_BOUNDS;
+	// proper types of the bounds being incorporated, see properTypesByInferenceVariable()
+	private TypeBound[] properTypesFirstBounds, properTypesNextBounds;
+	private Map<InferenceVariable,TypeBound> properTypes;
 	private TypeBound[] unincorporatedBounds = new TypeBound[8];
 	private int unincorporatedBoundsCount = 0;
 	private final TypeBound[] mostRecentBounds = new TypeBound[4]; // for quick & dirty duplicate elimination
@@ -513,6 +607,8 @@ class BoundSet {
 
 			} while (this.unincorporatedBoundsCount > 0);
 		} finally {
+			this.properTypesFirstBounds = this.properTypesNextBounds = null;
+			this.properTypes = null;
 			if (InferenceContext18.DEBUG) {
 				System.out.println("Incorporated:\n"+this); //$NON-NLS-1$
 			}
@@ -530,9 +626,13 @@ class BoundSet {
 	boolean incorporate(InferenceContext18 context, TypeBound [] first, TypeBound [] next) throws InferenceFailureException {
 		boolean analyzeNull = context.environment.globalOptions.isAnnotationBasedNullAnalysisEnabled;
 		ConstraintTypeFormula [] mostRecentFormulas = new ConstraintTypeFormula[4]; // poor man's cache to toss out duplicates, in pathological cases there are a good quarter million of them.
-		// check each pair, in each way.
+		// check each pair that can be combined, in each way.
+		BoundIndex index = next.length >= BoundIndex.MIN_BOUNDS ? new BoundIndex(next) : null;
+		int[] candidates = index != null ? new int[next.length] : null;
 		for (TypeBound bound1 : first) {
-			for (TypeBound bound2 : next) {
+			int candidateCount = index != null ? index.candidates(bound1, candidates) : -1;
+			for (int c = 0, max = candidateCount < 0 ? next.length : candidateCount; c < max; c++) {
+				TypeBound bound2 = next[candidateCount < 0 ? c : candidates[c]];
 				if (bound1 == bound2)
 					continue;
 				int iteration = 1;
@@ -864,7 +964,7 @@ class BoundSet {
 		return null;
 	}
 
-	private boolean isParameterizedDependency(TypeBound typeBound) {
+	static boolean isParameterizedDependency(TypeBound typeBound) {
 		return typeBound.right.kind() == Binding.PARAMETERIZED_TYPE
 				&& !typeBound.right.isProperType(true) /* is a dependency, not a type bound */
 				&& typeBound.right.isParameterizedTypeWithActualArguments();
@@ -893,7 +993,12 @@ class BoundSet {
 	}
 
 	private Map<InferenceVariable,TypeBound> properTypesByInferenceVariable(TypeBound[] firstBounds, TypeBound[] nextBounds) {
-		return getBoundsStream(firstBounds, nextBounds)
+		// the bounds don't change while they are being incorporated, compute the map once per pass
+		if (firstBounds == this.properTypesFirstBounds && nextBounds == this.properTypesNextBounds)
+			return this.properTypes;
+		this.properTypesFirstBounds = firstBounds;
+		this.properTypesNextBounds = nextBounds;
+		return this.properTypes = getBoundsStream(firstBounds, nextBounds)
 				.filter(bound -> bound.relation == ReductionResult.SAME)
 				.filter(bound -> bound.right.isProperType(true))
 				.collect(toMap(bound -> bound.left, identity(),
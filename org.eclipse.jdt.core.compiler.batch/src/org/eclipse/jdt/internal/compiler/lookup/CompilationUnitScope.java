@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -59,10 +59,17 @@ public class CompilationUnitScope extends Scope {
 	private SortedCompoundNameVector qualifiedReferences;
 	private SortedSimpleNameVector simpleNameReferences;
 	private SortedSimpleNameVector rootReferences;
+	// the names of the fields & the keys of the methods looked up, see #methodKey(char[], int)
+	private SortedSimpleNameVector memberReferences;
 	private LinkedHashSet<ReferenceBindingSetWrapper> referencedTypes;
 	private Set<ReferenceBindingSetWrapper> referencedSuperTypesSet;
 	private ObjectVector referencedSuperTypes;
 
+	/** Arity of a method looked up without arguments, e.g. by a method reference or a static import. */
+	public static final int ANY_ARITY = -1;
+	/** Arity of a method with a variable number of arguments, it matches the lookups with any number of arguments. */
+	public static final int VARIABLE_ARITY = -2;
+
 	HashtableOfType constantPoolNameUsage;
 	private int captureID = 1;
 
@@ -78,6 +85,11 @@ public class CompilationUnitScope extends Scope {
 	/** Cache of interned inference variables. Access only via {@link InferenceVariable#get(TypeBinding, int, InvocationSite, Scope, ReferenceBinding, boolean)}. */
 	Map<InferenceVariable.InferenceVarKey, InferenceVariable> uniqueInferenceVariables = new HashMap<>();
 
+	/** Methods found for invocations of the same shape, see {@link #getMethod(Scope, TypeBinding, char[], TypeBinding[], InvocationSite)}. */
+	private Map<MethodLookupKey, MethodBinding> methodLookups;
+	public int methodLookupHits;
+	public int methodLookupMisses;
+
 	private RuntimeException deferredException; // enables deferring a CompletionNodeFound exception, not used during normal compilation
 
 public CompilationUnitScope(CompilationUnitDeclaration unit, LookupEnvironment environment) {
@@ -95,6 +107,7 @@ public CompilationUnitScope(CompilationUnitDeclaration unit, CompilerOptions com
 		this.qualifiedReferences = new SortedCompoundNameVector();
 		this.simpleNameReferences = new SortedSimpleNameVector();
 		this.rootReferences = new SortedSimpleNameVector();
+		this.memberReferences = new SortedSimpleNameVector();
 		this.referencedTypes = new LinkedHashSet<>();
 		this.referencedSuperTypesSet = new HashSet<>();
 		this.referencedSuperTypes = new ObjectVector();
@@ -102,6 +115,7 @@ public CompilationUnitScope(CompilationUnitDeclaration unit, CompilerOptions com
 		this.qualifiedReferences = null; // used to test if dependencies should be recorded
 		this.simpleNameReferences = null;
 		this.rootReferences = null;
+		this.memberReferences = null;
 		this.referencedTypes = null;
 		this.referencedSuperTypesSet = null;
 		this.referencedSuperTypes = null;
@@ -737,6 +751,8 @@ private Binding findSingleStaticImport(char[][] compoundName, int mask) {
 	}
 
 	// look to see if there is a static method with the same selector
+	if ((mask & Binding.METHOD) != 0)
+		recordMethodReference(name, ANY_ARITY);
 	MethodBinding method = (mask & Binding.METHOD) != 0 ? findStaticMethod(type, name) : null;
 	if (method != null) return method;
 
@@ -897,6 +913,47 @@ OR 'a' -> 'a' in the simple name collection
 -> As long as each single char[] is interned, we should not have a space problem
  and can handle collision cases.
 */
+/**
+ * Answers the key under which a lookup of the given method is recorded, the arity is the number of arguments or
+ * {@link #ANY_ARITY} or {@link #VARIABLE_ARITY}.
+ * <p>
+ * A lookup with arguments records the key of its arity & the key of {@link #VARIABLE_ARITY}, a lookup without
+ * arguments records the key of {@link #ANY_ARITY}. So a method whose declaration changes has to be looked for
+ * under the key of its arity, or {@link #VARIABLE_ARITY} for a varargs method, & the key of {@link #ANY_ARITY}.
+ */
+public static char[] methodKey(char[] selector, int arity) {
+	char[] suffix;
+	switch (arity) {
+		case ANY_ARITY :
+			suffix = new char[] {'*'};
+			break;
+		case VARIABLE_ARITY :
+			suffix = new char[] {'.', '.', '.'};
+			break;
+		default :
+			suffix = String.valueOf(arity).toCharArray();
+	}
+	return CharOperation.concat(selector, suffix, '(');
+}
+/**
+ * Answers the key recorded by the units which declare a subtype of the given type, a change of any member of the
+ * type can affect them.
+ */
+public static char[] hierarchyKey(char[] constantPoolName) {
+	return CharOperation.concat(new char[] {':'}, constantPoolName);
+}
+void recordFieldReference(char[] fieldName) {
+	if (this.memberReferences == null) return; // not recording dependencies
+
+	this.memberReferences.add(fieldName);
+}
+public void recordMethodReference(char[] selector, int arity) {
+	if (this.memberReferences == null) return; // not recording dependencies
+
+	this.memberReferences.add(methodKey(selector, arity));
+	if (arity >= 0) // a method with a variable arity could be applicable too
+		this.memberReferences.add(methodKey(selector, VARIABLE_ARITY));
+}
 void recordQualifiedReference(char[][] qualifiedName) {
 	if (this.qualifiedReferences == null) return; // not recording dependencies
 
@@ -1035,6 +1092,42 @@ public void storeDependencyInfo() {
 	for (int i = 0; i < size; i++)
 		rootRefs[i] = this.rootReferences.elementAt(i);
 	this.referenceContext.compilationResult.rootReferences = rootRefs;
+
+	// the declared types depend on every member of their supertypes
+	if (this.topLevelTypes != null)
+		for (SourceTypeBinding type : this.topLevelTypes)
+			recordHierarchy(type, new HashSet<>());
+	for (LocalTypeBinding type : this.referenceContext.localTypes.values())
+		recordHierarchy(type, new HashSet<>());
+
+	size = this.memberReferences.size;
+	char[][] memberRefs = new char[size][];
+	for (int i = 0; i < size; i++)
+		memberRefs[i] = this.memberReferences.elementAt(i);
+	this.referenceContext.compilationResult.memberReferences = memberRefs;
+}
+private void recordHierarchy(ReferenceBinding type, Set<ReferenceBindingSetWrapper> visited) {
+	recordSuperTypesHierarchy(type, visited);
+	for (ReferenceBinding memberType : type.memberTypes())
+		recordHierarchy(memberType, visited);
+}
+private void recordSuperTypesHierarchy(ReferenceBinding type, Set<ReferenceBindingSetWrapper> visited) {
+	ReferenceBinding superclass = type.superclass();
+	if (superclass != null)
+		recordSuperTypeHierarchy(superclass, visited);
+	ReferenceBinding[] interfaces = type.superInterfaces();
+	if (interfaces != null)
+		for (ReferenceBinding binding : interfaces)
+			recordSuperTypeHierarchy(binding, visited);
+}
+private void recordSuperTypeHierarchy(ReferenceBinding superType, Set<ReferenceBindingSetWrapper> visited) {
+	ReferenceBinding actualType = typeToRecord(superType);
+	if (actualType == null || actualType.id == TypeIds.T_JavaLangObject || !visited.add(new ReferenceBindingSetWrapper(actualType)))
+		return;
+	char[] constantPoolName = actualType.constantPoolName();
+	if (constantPoolName != null)
+		this.memberReferences.add(hierarchyKey(constantPoolName));
+	recordSuperTypesHierarchy(actualType, visited);
 }
 @Override
 public String toString() {
@@ -1240,6 +1333,94 @@ public void registerInferredInvocation(Invocation invocation) {
 		this.inferredInvocations = new ArrayList<>();
 	this.inferredInvocations.add(invocation);
 }
+/**
+ * Answer the method invoked with the given receiver type, selector and argument types from the given scope, the same
+ * as {@link Scope#getMethod(TypeBinding, char[], TypeBinding[], InvocationSite)}, sharing the method found among the
+ * invocations of this unit that are looked up from the same type with the same expected type.
+ * <p>
+ * Callers must only use this for invocations whose lookup depends on nothing else: no explicit type arguments, no
+ * poly expression arguments, no super access and not inside a lambda body (whose body is resolved several times).
+ * Only valid methods that did not need to be inferred are shared, and receivers with wildcards (captured per
+ * invocation) are always looked up.
+ * </p>
+ */
+public MethodBinding getMethod(Scope scope, TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
+	if ((receiverType.tagBits & TagBits.HasDirectWildcard) != 0)
+		return scope.getMethod(receiverType, selector, argumentTypes, invocationSite);
+	MethodLookupKey key = new MethodLookupKey(receiverType, selector, argumentTypes,
+			invocationSite.invocationTargetType(), scope.enclosingSourceType(), invocationSite.isTypeAccess());
+	if (this.methodLookups == null) {
+		this.methodLookups = new HashMap<>();
+	} else {
+		MethodBinding method = this.methodLookups.get(key);
+		if (method != null) {
+			this.methodLookupHits++;
+			return method;
+		}
+	}
+	this.methodLookupMisses++;
+	MethodBinding method = scope.getMethod(receiverType, selector, argumentTypes, invocationSite);
+	if (method.isValidBinding() && !(method instanceof ParameterizedGenericMethodBinding))
+		this.methodLookups.put(key, method);
+	return method;
+}
+
+static class MethodLookupKey {
+	final TypeBinding receiverType;
+	final char[] selector;
+	final TypeBinding[] argumentTypes;
+	final TypeBinding expectedType;
+	final ReferenceBinding invocationType;
+	final boolean isTypeAccess;
+	final int hashCode;
+
+	MethodLookupKey(TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, TypeBinding expectedType,
+			ReferenceBinding invocationType, boolean isTypeAccess) {
+		this.receiverType = receiverType;
+		this.selector = selector;
+		this.argumentTypes = argumentTypes;
+		this.expectedType = expectedType;
+		this.invocationType = invocationType;
+		this.isTypeAccess = isTypeAccess;
+		int result = CharOperation.hashCode(selector);
+		result = 31 * result + System.identityHashCode(receiverType);
+		for (TypeBinding argumentType : argumentTypes)
+			result = 31 * result + System.identityHashCode(argumentType);
+		result = 31 * result + System.identityHashCode(expectedType);
+		result = 31 * result + System.identityHashCode(invocationType);
+		this.hashCode = result;
+	}
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof MethodLookupKey))
+			return false;
+		MethodLookupKey other = (MethodLookupKey) obj;
+		if (this.hashCode != other.hashCode
+				|| this.isTypeAccess != other.isTypeAccess
+				|| this.receiverType != other.receiverType // identity, annotated types differ
+				|| this.expectedType != other.expectedType
+				|| this.invocationType != other.invocationType
+				|| this.argumentTypes.length != other.argumentTypes.length
+				|| !CharOperation.equals(this.selector, other.selector))
+			return false;
+		for (int i = 0; i < this.argumentTypes.length; i++) {
+			if (this.argumentTypes[i] != other.argumentTypes[i])
+				return false;
+		}
+		return true;
+	}
+}
+
+public void cleanUpMethodLookups() {
+	this.methodLookups = null;
+}
+
 public void cleanUpInferenceContexts() {
 	if (this.inferredInvocations == null)
 		return;
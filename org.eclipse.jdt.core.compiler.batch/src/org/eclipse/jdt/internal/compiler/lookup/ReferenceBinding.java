@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -89,6 +89,7 @@ abstract public class ReferenceBinding extends TypeBinding {
 	char[] signature;
 
 	private SimpleLookupTable compatibleCache;
+	private int structuralHash; // hashCode() remembered for interning, 0 if not computed yet
 
 	int typeBits; // additional bits characterizing this type
 	protected MethodBinding [] singleAbstractMethod;
@@ -1217,6 +1218,17 @@ final int identityHashCode() {
 	return super.hashCode();
 }
 
+/**
+ * Answer {@link #hashCode()} as computed on first use, for the parameterized types interned by their type arguments
+ * (see TypeSystem.HashedParameterizedTypes), which hash the same type over and over again.
+ */
+final int structuralHash() {
+	int hash = this.structuralHash;
+	if (hash == 0)
+		this.structuralHash = hash = hashCode();
+	return hash;
+}
+
 /**
  * Returns true if the two types have an incompatible common supertype,
  * e.g. {@code List<String>} and {@code List<Integer>}
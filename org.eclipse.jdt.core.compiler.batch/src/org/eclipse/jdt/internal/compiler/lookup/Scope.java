@@ -1348,6 +1348,7 @@ public abstract class Scope {
 	public MethodBinding findExactMethod(ReferenceBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReferences(argumentTypes);
+		unitScope.recordMethodReference(selector, argumentTypes.length);
 		MethodBinding exactMethod = receiverType.getExactMethod(selector, argumentTypes, unitScope);
 		if (exactMethod != null && exactMethod.typeVariables == Binding.NO_TYPE_VARIABLES && !exactMethod.isBridge()) {
 			// in >= 1.5 mode, ensure the exactMatch did not match raw types
@@ -1419,6 +1420,7 @@ public abstract class Scope {
 
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReference(receiverType);
+		unitScope.recordFieldReference(fieldName);
 
 		checkArrayField: {
 			TypeBinding leafType;
@@ -1693,6 +1695,7 @@ public abstract class Scope {
 		ObjectVector found = new ObjectVector(3);
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReferences(argumentTypes);
+		unitScope.recordMethodReference(selector, argumentTypes.length);
 		List<TypeBinding> visitedTypes = new ArrayList<>();
 		if (receiverTypeIsInterface) {
 			unitScope.recordTypeReference(receiverType);
@@ -2403,6 +2406,7 @@ public abstract class Scope {
 	public MethodBinding getExactMethod(TypeBinding receiverType, char[] selector, InvocationSite invocationSite) {
 		if (receiverType == null || !receiverType.isValidBinding() || receiverType.isBaseType())
 			return null;
+		compilationUnitScope().recordMethodReference(selector, CompilationUnitScope.ANY_ARITY);
 		TypeBinding currentType = receiverType;
 		if (currentType.isArrayType()) {
 			if (!currentType.leafComponentType().canBeSeenBy(this))
@@ -2447,6 +2451,7 @@ public abstract class Scope {
 	public MethodBinding getExactConstructor(TypeBinding receiverType, InvocationSite invocationSite) {
 		if (receiverType == null || !receiverType.isValidBinding() || !receiverType.canBeInstantiated() || receiverType.isBaseType())
 			return null;
+		compilationUnitScope().recordMethodReference(TypeConstants.INIT, CompilationUnitScope.ANY_ARITY);
 		if (receiverType.isArrayType()) {
 			TypeBinding leafType = receiverType.leafComponentType();
 			if (!leafType.canBeSeenBy(this) || !leafType.isReifiable())
@@ -2507,6 +2512,7 @@ public abstract class Scope {
 			env.missingClassFileLocation = invocationSite;
 			unitScope.recordTypeReference(receiverType);
 			unitScope.recordTypeReferences(argumentTypes);
+			unitScope.recordMethodReference(TypeConstants.INIT, argumentTypes.length);
 			MethodBinding methodBinding = receiverType.getExactConstructor(argumentTypes);
 			if (methodBinding != null && methodBinding.canBeSeenBy(invocationSite, this)) {
 			    // targeting a non generic constructor with type arguments ?
@@ -2640,6 +2646,8 @@ public abstract class Scope {
 	 *	If no visible method is discovered, an error binding is answered.
 	 */
 	public MethodBinding getImplicitMethod(char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
+		// a method of an enclosing type is hidden by the methods of the same name, whatever their arity
+		compilationUnitScope().recordMethodReference(selector, CompilationUnitScope.ANY_ARITY);
 
 		boolean insideStaticContext = false;
 		boolean insideConstructorCall = false;
@@ -5381,6 +5389,7 @@ public abstract class Scope {
 		boolean isInterface = allocationType.isInterface();
 		ReferenceBinding typeToSearch = isInterface ? getJavaLangObject() : allocationType;
 
+		compilationUnitScope().recordMethodReference(TypeConstants.INIT, argumentTypes.length);
 		MethodBinding[] methods = typeToSearch.getMethods(TypeConstants.INIT, argumentTypes.length);
 		MethodBinding [] staticFactories = new MethodBinding[methods.length];
 		int sfi = 0;
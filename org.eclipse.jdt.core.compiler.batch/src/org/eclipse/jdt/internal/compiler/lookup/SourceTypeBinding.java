@@ -3069,8 +3069,18 @@ private void setImplicitPermittedType(SourceTypeBinding permittedType) {
 		if (sz == 0) {
 			typesPermitted = new ReferenceBinding[] { permittedType };
 		} else {
-			System.arraycopy(typesPermitted, 0, typesPermitted = new ReferenceBinding[sz + 1], 0, sz);
-			typesPermitted[sz] = permittedType;
+			// in source order, whatever the order in which the hierarchies of the types are connected
+			int position = sz;
+			int sourceStart = permittedType.scope.referenceContext.sourceStart;
+			while (position > 0 && typesPermitted[position - 1] instanceof SourceTypeBinding
+					&& ((SourceTypeBinding) typesPermitted[position - 1]).scope != null
+					&& ((SourceTypeBinding) typesPermitted[position - 1]).scope.referenceContext.sourceStart > sourceStart)
+				position--;
+			ReferenceBinding[] newTypesPermitted = new ReferenceBinding[sz + 1];
+			System.arraycopy(typesPermitted, 0, newTypesPermitted, 0, position);
+			newTypesPermitted[position] = permittedType;
+			System.arraycopy(typesPermitted, position, newTypesPermitted, position + 1, sz - position);
+			typesPermitted = newTypesPermitted;
 		}
 		this.setPermittedTypes(typesPermitted);
 	} else if (sz == 0) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2019 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,7 +19,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.lookup;
 
-import java.util.HashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import org.eclipse.jdt.internal.compiler.ast.ASTNode;
@@ -67,48 +67,57 @@ import org.eclipse.jdt.internal.compiler.util.Util;
 */
 public class TypeSystem {
 
-	public final class HashedParameterizedTypes {
+	/**
+	 * Interns the parameterized types by their unannotated generic type, type arguments and enclosing type, all
+	 * variously annotated versions of one parameterized type being kept under the same key.
+	 * <p>
+	 * The keys live in an open addressing table and remember their hash, which is computed from the structure of
+	 * the type (see {@link #hash(TypeBinding)}) so that it survives the resolution of their unresolved parts. Looking
+	 * up a type computes the hash of the requested type on the fly and does not allocate.
+	 * </p>
+	 */
+	public class HashedParameterizedTypes {
 
-		private final class PTBKey extends ReferenceBinding { // extends ReferenceBinding so it can be used as wrapper
+		final class PTBKey extends ReferenceBinding { // extends ReferenceBinding so it can be used as wrapper
 			protected ReferenceBinding type; // must ensure the type is resolved
 			public TypeBinding[] arguments;
 			private ReferenceBinding enclosingType;
+			int hash;
+			ParameterizedTypeBinding[] bindings;
+
 			public PTBKey(ReferenceBinding type, TypeBinding[] arguments, ReferenceBinding enclosingType, LookupEnvironment environment) {
 				this.type = type;
 				this.arguments = arguments;
 				this.enclosingType = enclosingType;
-
-				if(environment != null) {
-					// only add as wrapper when used in put()
-					if (type instanceof UnresolvedReferenceBinding)
-						((UnresolvedReferenceBinding) type).addWrapper(this, environment);
-					if (arguments != null) {
-						for (int i = 0; i < arguments.length; i++) {
-							TypeBinding argument = arguments[i];
-							if (argument instanceof UnresolvedReferenceBinding)
-								((UnresolvedReferenceBinding) argument).addWrapper(this, environment);
-							if (argument.hasNullTypeAnnotations())
-								this.tagBits |= TagBits.HasNullTypeAnnotation;
-							if (argument.getClass() == TypeVariableBinding.class) {
-								final int idx = i;
-								TypeVariableBinding typeVariableBinding = (TypeVariableBinding) argument;
-								Consumer<TypeVariableBinding> previousConsumer = typeVariableBinding.updateWhenSettingTypeAnnotations;
-								typeVariableBinding.updateWhenSettingTypeAnnotations = (newTvb) -> {
-									// update the TVB argument and simulate a re-hash:
-									ParameterizedTypeBinding[] value = HashedParameterizedTypes.this.hashedParameterizedTypes.get(this);
-									arguments[idx] = newTvb;
-									HashedParameterizedTypes.this.hashedParameterizedTypes.put(this, value);
-									// for the unlikely case of multiple PTBKeys referring to this TVB chain to the next consumer:
-									if (previousConsumer != null)
-										previousConsumer.accept(newTvb);
-								};
-							}
+				this.hash = HashedParameterizedTypes.this.hash(type, arguments, enclosingType, false);
+
+				if (type instanceof UnresolvedReferenceBinding)
+					((UnresolvedReferenceBinding) type).addWrapper(this, environment);
+				if (arguments != null) {
+					for (int i = 0; i < arguments.length; i++) {
+						TypeBinding argument = arguments[i];
+						if (argument instanceof UnresolvedReferenceBinding)
+							((UnresolvedReferenceBinding) argument).addWrapper(this, environment);
+						if (argument.hasNullTypeAnnotations())
+							this.tagBits |= TagBits.HasNullTypeAnnotation;
+						if (argument.getClass() == TypeVariableBinding.class) {
+							final int idx = i;
+							TypeVariableBinding typeVariableBinding = (TypeVariableBinding) argument;
+							Consumer<TypeVariableBinding> previousConsumer = typeVariableBinding.updateWhenSettingTypeAnnotations;
+							typeVariableBinding.updateWhenSettingTypeAnnotations = (newTvb) -> {
+								// update the TVB argument, which changes the hash:
+								HashedParameterizedTypes.this.rehash(this, idx, newTvb);
+								// for the unlikely case of multiple PTBKeys referring to this TVB chain to the next consumer:
+								if (previousConsumer != null)
+									previousConsumer.accept(newTvb);
+							};
 						}
 					}
 				}
 			}
 			@Override
 			public void swapUnresolved(UnresolvedReferenceBinding unresolvedType, ReferenceBinding resolvedType, LookupEnvironment env) {
+				// Note: the hash is not affected, see hash(TypeBinding)
 				if (this.type == unresolvedType) { //$IDENTITY-COMPARISON$
 					this.type = resolvedType; // cannot be raw since being parameterized below
 					ReferenceBinding enclosing = resolvedType.enclosingType();
@@ -128,91 +137,275 @@ public class TypeSystem {
 					}
 				}
 			}
+			/*
+			 * Answer whether this key stands for the given generic and enclosing types (both unannotated) and the given
+			 * type arguments once unannotated.
+			 */
+			boolean matches(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosing) {
+				if (this.type != genericType || this.enclosingType != enclosing) //$IDENTITY-COMPARISON$
+					return false;
+				int length = this.arguments == null ? 0 : this.arguments.length;
+				if (length != (typeArguments == null ? 0 : typeArguments.length))
+					return false;
+				for (int i = 0; i < length; i++) {
+					TypeBinding argument = this.arguments[i];
+					if (argument != typeArguments[i] && argument != getUnannotatedType(typeArguments[i])) //$IDENTITY-COMPARISON$
+						return false;
+				}
+				return true;
+			}
 			@Override
-			public boolean equals(Object other) {
-				PTBKey that = (PTBKey) other;  // homogeneous container.
-				return this.type == that.type && this.enclosingType == that.enclosingType && Util.effectivelyEqual(this.arguments, that.arguments); //$IDENTITY-COMPARISON$
+			public int hashCode() {
+				return this.hash;
 			}
-			final int hash(TypeBinding b) {
-				if(b instanceof WildcardBinding || b instanceof TypeVariableBinding || b.getClass() == ParameterizedTypeBinding.class) {
+		}
+
+		private PTBKey[] keys = new PTBKey[256];
+		private int size;
+
+		/*
+		 * Types which can be unresolved hash by their name, see ReferenceBinding#hashCode(), which they remember, all
+		 * others by identity.
+		 */
+		final int hash(TypeBinding b) {
+			if (b instanceof ReferenceBinding) {
+				if (b instanceof WildcardBinding || b instanceof TypeVariableBinding || b.getClass() == ParameterizedTypeBinding.class)
 					return System.identityHashCode(b);
+				return ((ReferenceBinding) b).structuralHash();
+			}
+			return b.hashCode();
+		}
+
+		final int hash(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, boolean unannotateArguments) {
+			final int prime=31;
+			int hashCode = 1 + hash(genericType);
+			if (enclosingType != null && enclosingType.getClass() == ParameterizedTypeBinding.class) {
+				// Note: this works as in swapUnresolved, a null enclosingType is never replaced by a
+				// ParameterizedTypeBinding (just by a non-generic or RawTypeBinding)
+				hashCode = hashCode * prime + System.identityHashCode(enclosingType);
+			}
+			for (int i = 0, length = typeArguments == null ? 0 : typeArguments.length; i < length; i++) {
+				hashCode = hashCode * prime + hash(unannotateArguments ? getUnannotatedType(typeArguments[i]) : typeArguments[i]);
+			}
+			return hashCode ^ (hashCode >>> 16); // names hash alike in their low bits
+		}
+
+		/**
+		 * Answer the parameterized type of the given generic type with the given type arguments, enclosing type and
+		 * annotations, or <code>null</code> if it was not created yet.
+		 */
+		public ParameterizedTypeBinding get(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, AnnotationBinding[] annotations) {
+			ReferenceBinding unannotatedGenericType = (ReferenceBinding) getUnannotatedType(genericType);
+			ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
+			if (TypeSystem.this instanceof AnnotatableTypeSystem)
+				return find(unannotatedGenericType, typeArguments, unannotatedEnclosingType, genericType, enclosingType, false, annotations);
+			return find(unannotatedGenericType, typeArguments, unannotatedEnclosingType, unannotatedGenericType, unannotatedEnclosingType, true, annotations);
+		}
+
+		/**
+		 * Answer the unannotated parameterized type of the given unannotated generic and enclosing types with the
+		 * given type arguments once unannotated, or <code>null</code> if it was not created yet.
+		 */
+		public ParameterizedTypeBinding getUnannotated(ReferenceBinding unannotatedGenericType, TypeBinding[] typeArguments, ReferenceBinding unannotatedEnclosingType) {
+			return find(unannotatedGenericType, typeArguments, unannotatedEnclosingType, unannotatedGenericType, unannotatedEnclosingType, true, Binding.NO_ANNOTATIONS);
+		}
+
+		private ParameterizedTypeBinding find(ReferenceBinding unannotatedGenericType, TypeBinding[] typeArguments, ReferenceBinding unannotatedEnclosingType,
+				ReferenceBinding genericTypeToMatch, ReferenceBinding enclosingTypeToMatch, boolean unannotateArguments, AnnotationBinding[] annotations) {
+			int hash = hash(unannotatedGenericType, typeArguments, unannotatedEnclosingType, true);
+			PTBKey[] table = this.keys;
+			for (int mask = table.length - 1, index = hash & mask; table[index] != null; index = (index + 1) & mask) {
+				PTBKey key = table[index];
+				if (key.hash != hash || !key.matches(unannotatedGenericType, typeArguments, unannotatedEnclosingType))
+					continue;
+				ParameterizedTypeBinding [] parameterizedTypeBindings = key.bindings;
+				for (int i = 0, length = parameterizedTypeBindings.length; i < length; i++) {
+					ParameterizedTypeBinding parameterizedType = parameterizedTypeBindings[i];
+					if (parameterizedType.actualType() != genericTypeToMatch) { //$IDENTITY-COMPARISON$
+						continue;
+					}
+					if (parameterizedType.enclosingType != enclosingTypeToMatch //$IDENTITY-COMPARISON$
+							|| !sameArguments(parameterizedType.typeArguments(), typeArguments, unannotateArguments))
+						continue;
+					if (Util.effectivelyEqual(annotations, parameterizedType.getTypeAnnotations()))
+						return parameterizedType;
 				}
-				return b.hashCode();
 			}
-			@Override
-			public int hashCode() {
-				final int prime=31;
-				int hashCode = 1 + hash(this.type);
-				if (this.enclosingType != null && this.enclosingType.getClass() == ParameterizedTypeBinding.class) {
-					// Note: this works as in swapUnresolved, a null enclosingType is never replaced by a
-					// ParameterizedTypeBinding (just by a non-generic or RawTypeBinding)
-					hashCode = hashCode * prime + System.identityHashCode(this.enclosingType);
+			return null;
+		}
+
+		private boolean sameArguments(TypeBinding[] arguments, TypeBinding[] typeArguments, boolean unannotate) {
+			if (!unannotate)
+				return Util.effectivelyEqual(arguments, typeArguments);
+			int length = arguments == null ? 0 : arguments.length;
+			if (length != (typeArguments == null ? 0 : typeArguments.length))
+				return false;
+			for (int i = 0; i < length; i++) {
+				if (arguments[i] != typeArguments[i] && arguments[i] != getUnannotatedType(typeArguments[i])) //$IDENTITY-COMPARISON$
+					return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Remember the given parameterized type of the given generic type with the given type arguments and enclosing
+		 * type, answer the type interned for these (which is the given type).
+		 */
+		public ParameterizedTypeBinding put(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, ParameterizedTypeBinding parameterizedType)  {
+			ReferenceBinding unannotatedGenericType = (ReferenceBinding) getUnannotatedType(genericType);
+			ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
+			int hash = hash(unannotatedGenericType, typeArguments, unannotatedEnclosingType, true);
+
+			PTBKey key = null;
+			PTBKey[] table = this.keys;
+			for (int mask = table.length - 1, index = hash & mask; table[index] != null; index = (index + 1) & mask) {
+				if (table[index].hash == hash && table[index].matches(unannotatedGenericType, typeArguments, unannotatedEnclosingType)) {
+					key = table[index];
+					break;
 				}
-				for (int i = 0, length = this.arguments == null ? 0 : this.arguments.length; i < length; i++) {
-					hashCode = hashCode * prime + hash(this.arguments[i]);
+			}
+			if (key == null) {
+				int typeArgumentsLength = typeArguments == null ? 0: typeArguments.length;
+				TypeBinding [] unannotatedTypeArguments = typeArguments == null ? null : new TypeBinding[typeArgumentsLength];
+				for (int i = 0; i < typeArgumentsLength; i++) {
+					unannotatedTypeArguments[i] = getUnannotatedType(typeArguments[i]);
 				}
-				return hashCode;
+				key = new PTBKey(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, TypeSystem.this.environment);
+				key.bindings = new ParameterizedTypeBinding[] { parameterizedType };
+				add(key);
+			} else {
+				int slot = key.bindings.length;
+				System.arraycopy(key.bindings, 0, key.bindings = new ParameterizedTypeBinding[slot + 1], 0, slot);
+				key.bindings[slot] = parameterizedType;
 			}
+			return parameterizedType;
 		}
 
-		HashMap<PTBKey, ParameterizedTypeBinding []> hashedParameterizedTypes = new HashMap<>(256);
+		/**
+		 * Start adding a type: until {@link #endUpdate()}, the type added and registered by the current thread is
+		 * not seen by other threads. Nothing to do for a table used by a single thread.
+		 */
+		void beginUpdate() {
+			// single threaded
+		}
 
-		ParameterizedTypeBinding get(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, AnnotationBinding[] annotations) {
+		void endUpdate() {
+			// single threaded
+		}
 
-			ReferenceBinding unannotatedGenericType = (ReferenceBinding) getUnannotatedType(genericType);
-			int typeArgumentsLength = typeArguments == null ? 0: typeArguments.length;
-			TypeBinding [] unannotatedTypeArguments = typeArguments == null ? null : new TypeBinding[typeArgumentsLength];
-			for (int i = 0; i < typeArgumentsLength; i++) {
-				unannotatedTypeArguments[i] = getUnannotatedType(typeArguments[i]);
+		/*
+		 * Replace the type argument of the given key at the given index, moving the key to the slot of its new hash.
+		 */
+		void rehash(PTBKey key, int index, TypeVariableBinding argument) {
+			remove(key);
+			key.arguments[index] = argument;
+			key.hash = hash(key.type, key.arguments, key.enclosingType, false);
+			add(key);
+		}
+
+		private void add(PTBKey key) {
+			if ((this.size + 1) * 4 > this.keys.length * 3) {
+				PTBKey[] oldKeys = this.keys;
+				this.keys = new PTBKey[oldKeys.length * 2];
+				for (PTBKey oldKey : oldKeys) {
+					if (oldKey != null)
+						insert(oldKey);
+				}
 			}
-			ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
+			insert(key);
+			this.size++;
+		}
 
-			PTBKey key = new PTBKey(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, null);
-			ReferenceBinding genericTypeToMatch = unannotatedGenericType, enclosingTypeToMatch = unannotatedEnclosingType;
-			TypeBinding [] typeArgumentsToMatch = unannotatedTypeArguments;
-			if (TypeSystem.this instanceof AnnotatableTypeSystem) {
-				genericTypeToMatch = genericType;
-				enclosingTypeToMatch = enclosingType;
-				typeArgumentsToMatch = typeArguments;
+		private void insert(PTBKey key) {
+			PTBKey[] table = this.keys;
+			int mask = table.length - 1, index = key.hash & mask;
+			while (table[index] != null)
+				index = (index + 1) & mask;
+			table[index] = key;
+		}
+
+		private void remove(PTBKey key) {
+			PTBKey[] table = this.keys;
+			int mask = table.length - 1, index = key.hash & mask;
+			while (table[index] != key) { //$IDENTITY-COMPARISON$
+				if (table[index] == null)
+					return;
+				index = (index + 1) & mask;
 			}
-			ParameterizedTypeBinding [] parameterizedTypeBindings = this.hashedParameterizedTypes.get(key);
-			for (int i = 0, length = parameterizedTypeBindings == null ? 0 : parameterizedTypeBindings.length; i < length; i++) {
-				ParameterizedTypeBinding parameterizedType = parameterizedTypeBindings[i];
-				if (parameterizedType.actualType() != genericTypeToMatch) { //$IDENTITY-COMPARISON$
-					continue;
+			// shift back the keys of the same run that could not take their own slot:
+			for (int next = (index + 1) & mask; table[next] != null; next = (next + 1) & mask) {
+				int home = table[next].hash & mask;
+				if (index <= next ? (home <= index || home > next) : (home <= index && home > next)) {
+					table[index] = table[next];
+					index = next;
 				}
-				if (parameterizedType.enclosingType != enclosingTypeToMatch //$IDENTITY-COMPARISON$
-						|| !Util.effectivelyEqual(parameterizedType.typeArguments(), typeArgumentsToMatch))
-					continue;
-				if (Util.effectivelyEqual(annotations, parameterizedType.getTypeAnnotations()))
-					return parameterizedType;
 			}
+			table[index] = null;
+			this.size--;
+		}
+	}
 
-			return null;
+	/**
+	 * The parameterized types of a type system whose types are looked up by several threads: lookups run in
+	 * parallel, additions run alone and answer the type another thread interned meanwhile, if any. A type is
+	 * registered with the type system before the lock taken by {@link #beginUpdate()} is released, so other threads
+	 * only see complete types.
+	 */
+	public final class ConcurrentHashedParameterizedTypes extends HashedParameterizedTypes {
+
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+		@Override
+		public ParameterizedTypeBinding get(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, AnnotationBinding[] annotations) {
+			this.lock.readLock().lock();
+			try {
+				return super.get(genericType, typeArguments, enclosingType, annotations);
+			} finally {
+				this.lock.readLock().unlock();
+			}
 		}
 
-		void put (ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, ParameterizedTypeBinding parameterizedType)  {
-			ReferenceBinding unannotatedGenericType = (ReferenceBinding) getUnannotatedType(genericType);
-			int typeArgumentsLength = typeArguments == null ? 0: typeArguments.length;
-			TypeBinding [] unannotatedTypeArguments = typeArguments == null ? null : new TypeBinding[typeArgumentsLength];
-			for (int i = 0; i < typeArgumentsLength; i++) {
-				unannotatedTypeArguments[i] = getUnannotatedType(typeArguments[i]);
+		@Override
+		public ParameterizedTypeBinding getUnannotated(ReferenceBinding unannotatedGenericType, TypeBinding[] typeArguments, ReferenceBinding unannotatedEnclosingType) {
+			this.lock.readLock().lock();
+			try {
+				return super.getUnannotated(unannotatedGenericType, typeArguments, unannotatedEnclosingType);
+			} finally {
+				this.lock.readLock().unlock();
 			}
-			ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
+		}
 
-			PTBKey key = new PTBKey(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, TypeSystem.this.environment);
+		@Override
+		public ParameterizedTypeBinding put(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, ParameterizedTypeBinding parameterizedType) {
+			this.lock.writeLock().lock();
+			try {
+				ParameterizedTypeBinding existing = super.get(genericType, typeArguments, enclosingType, parameterizedType.getTypeAnnotations());
+				if (existing != null)
+					return existing;
+				return super.put(genericType, typeArguments, enclosingType, parameterizedType);
+			} finally {
+				this.lock.writeLock().unlock();
+			}
+		}
 
-			ParameterizedTypeBinding [] parameterizedTypeBindings = this.hashedParameterizedTypes.get(key);
-			int slot;
-			if (parameterizedTypeBindings == null) {
-				slot = 0;
-				parameterizedTypeBindings = new ParameterizedTypeBinding[1];
-			} else {
-				slot = parameterizedTypeBindings.length;
-				System.arraycopy(parameterizedTypeBindings, 0, parameterizedTypeBindings = new ParameterizedTypeBinding[slot + 1], 0, slot);
+		@Override
+		void beginUpdate() {
+			this.lock.writeLock().lock();
+		}
+
+		@Override
+		void endUpdate() {
+			this.lock.writeLock().unlock();
+		}
+
+		@Override
+		void rehash(PTBKey key, int index, TypeVariableBinding argument) {
+			this.lock.writeLock().lock();
+			try {
+				super.rehash(key, index, argument);
+			} finally {
+				this.lock.writeLock().unlock();
 			}
-			parameterizedTypeBindings[slot] = parameterizedType;
-			this.hashedParameterizedTypes.put(key, parameterizedTypeBindings);
 		}
 	}
 
@@ -227,7 +420,13 @@ public class TypeSystem {
 		this.annotationTypes = new SimpleLookupTable(16);
 		this.typeid = TypeIds.T_LastWellKnownTypeId;
 		this.types = new TypeBinding[TypeIds.T_LastWellKnownTypeId * 2][];
-		this.parameterizedTypes = new HashedParameterizedTypes();
+		this.parameterizedTypes = newParameterizedTypes();
+	}
+
+	private HashedParameterizedTypes newParameterizedTypes() {
+		return Boolean.getBoolean("jdt.compiler.concurrentTypeSystem") //$NON-NLS-1$
+				? new ConcurrentHashedParameterizedTypes()
+				: new HashedParameterizedTypes();
 	}
 
 	// Given a type, answer its unannotated aka naked prototype. This is also a convenient way to "register" a type with TypeSystem and have it id stamped.
@@ -344,25 +543,32 @@ public class TypeSystem {
 				&& !(unannotatedGenericType instanceof UnresolvedReferenceBinding)) {
 			enclosingType = unannotatedGenericType.enclosingType();
 		}
-		int typeArgumentsLength = typeArguments == null ? 0: typeArguments.length;
-		TypeBinding [] unannotatedTypeArguments = typeArguments == null ? null : new TypeBinding[typeArgumentsLength];
-		for (int i = 0; i < typeArgumentsLength; i++) {
-			unannotatedTypeArguments[i] = getUnannotatedType(typeArguments[i]);
-		}
 		ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
 
-		ParameterizedTypeBinding parameterizedType = this.parameterizedTypes.get(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, Binding.NO_ANNOTATIONS);
+		ParameterizedTypeBinding parameterizedType = this.parameterizedTypes.getUnannotated(unannotatedGenericType, typeArguments, unannotatedEnclosingType);
 		if (parameterizedType != null)
 			return parameterizedType;
 
+		int typeArgumentsLength = typeArguments == null ? 0: typeArguments.length;
+		TypeBinding [] unannotatedTypeArguments = typeArguments == null ? null : new TypeBinding[typeArgumentsLength];
+		for (int i = 0; i < typeArgumentsLength; i++) {
+			unannotatedTypeArguments[i] = getUnannotatedType(typeArguments[i]);
+		}
 		parameterizedType = new ParameterizedTypeBinding(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, this.environment);
-		cacheDerivedType(unannotatedGenericType, parameterizedType);
-		this.parameterizedTypes.put(genericType, typeArguments, enclosingType, parameterizedType);
-		int typesLength = this.types.length;
-		if (this.typeid == typesLength)
-			System.arraycopy(this.types, 0, this.types = new TypeBinding[typesLength * 2][], 0, typesLength);
-		this.types[this.typeid] = new TypeBinding[1];
-		return (ParameterizedTypeBinding) (this.types[parameterizedType.id = this.typeid++][0] = parameterizedType);
+		this.parameterizedTypes.beginUpdate();
+		try {
+			ParameterizedTypeBinding internedType = this.parameterizedTypes.put(genericType, typeArguments, enclosingType, parameterizedType);
+			if (internedType != parameterizedType) //$IDENTITY-COMPARISON$
+				return internedType; // added by another thread meanwhile
+			cacheDerivedType(unannotatedGenericType, parameterizedType);
+			int typesLength = this.types.length;
+			if (this.typeid == typesLength)
+				System.arraycopy(this.types, 0, this.types = new TypeBinding[typesLength * 2][], 0, typesLength);
+			this.types[this.typeid] = new TypeBinding[1];
+			return (ParameterizedTypeBinding) (this.types[parameterizedType.id = this.typeid++][0] = parameterizedType);
+		} finally {
+			this.parameterizedTypes.endUpdate();
+		}
 	}
 
 	public ParameterizedTypeBinding getParameterizedType(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, AnnotationBinding[] annotations) {
@@ -592,7 +798,7 @@ public class TypeSystem {
 		this.annotationTypes = new SimpleLookupTable(16);
 		this.typeid = TypeIds.T_LastWellKnownTypeId;
 		this.types = new TypeBinding[TypeIds.T_LastWellKnownTypeId * 2][];
-		this.parameterizedTypes = new HashedParameterizedTypes();
+		this.parameterizedTypes = newParameterizedTypes();
 	}
 
 	public void updateCaches(UnresolvedReferenceBinding unresolvedType, ReferenceBinding resolvedType) {
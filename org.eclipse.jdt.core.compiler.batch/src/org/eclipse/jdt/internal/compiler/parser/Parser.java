@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.Runtime.Version;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -347,6 +348,21 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		Collections.sort(entries);
 		buildFile(file, entries);
 	}
+	private final static void buildFileForTables(String filename, String prefix, int count) {
+		// concatenate the parser<i>.rsc files, each preceded by its length, see readTables(String)
+		try (java.io.DataOutputStream stream = new java.io.DataOutputStream(new java.io.FileOutputStream(filename))) {
+			for (int i = 1; i <= count; i++) {
+				File table = new File(prefix + i + ".rsc"); //$NON-NLS-1$
+				byte[] bytes = java.nio.file.Files.readAllBytes(table.toPath());
+				stream.writeInt(bytes.length);
+				stream.write(bytes);
+				table.delete();
+			}
+		} catch(IOException e) {
+			// ignore
+		}
+		System.out.println(filename + " creation complete"); //$NON-NLS-1$
+	}
 	private final static void buildFileForTable(String filename, byte[] bytes) {
 		try (java.io.FileOutputStream stream = new java.io.FileOutputStream(filename)) {
 			stream.write(bytes);
@@ -509,7 +525,7 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		}
 	public final static void buildFilesFromLPG(String dataFilename, String dataFilename2) {
 
-		//RUN THIS METHOD TO GENERATE PARSER*.RSC FILES
+		//RUN THIS METHOD TO GENERATE PARSER.RSC AND READABLENAMES.PROPS FILES
 
 		//build from the lpg javadcl.java files that represents the parser tables
 		//lhs check_table asb asr symbol_index
@@ -588,6 +604,7 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 				newLhs,
 				tokens);
 
+		buildFileForTables(prefix + ".rsc", prefix, i); //$NON-NLS-1$
 
 		System.out.println(Messages.parser_moveFiles);
 	}
@@ -625,46 +642,50 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 	}
 	public final static void initTables() throws java.io.IOException {
 
-		final String prefix = FILEPREFIX;
-		int i = 0;
-		lhs = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		char[] chars = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		// all tables are read from a single resource, in the order buildFilesFromLPG(..) numbers them
+		final String filename = FILEPREFIX + ".rsc"; //$NON-NLS-1$
+		ByteBuffer tables = readTables(filename);
+		lhs = nextTable(tables, filename);
+		char[] chars = nextTable(tables, filename);
 		check_table = new short[chars.length];
 		for (int c = chars.length; c-- > 0;) {
 			check_table[c] = (short) (chars[c] - 32768);
 		}
-		asb = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		asr = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		nasb = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		nasr = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		terminal_index = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		non_terminal_index = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		term_action = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		asb = nextTable(tables, filename);
+		asr = nextTable(tables, filename);
+		nasb = nextTable(tables, filename);
+		nasr = nextTable(tables, filename);
+		terminal_index = nextTable(tables, filename);
+		non_terminal_index = nextTable(tables, filename);
+		term_action = nextTable(tables, filename);
 
-		scope_prefix = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_suffix = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_lhs = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_state_set = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_rhs = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_state = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		in_symb = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		scope_prefix = nextTable(tables, filename);
+		scope_suffix = nextTable(tables, filename);
+		scope_lhs = nextTable(tables, filename);
+		scope_state_set = nextTable(tables, filename);
+		scope_rhs = nextTable(tables, filename);
+		scope_state = nextTable(tables, filename);
+		in_symb = nextTable(tables, filename);
 
-		rhs = readByteTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		term_check = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_la = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		rhs = nextByteTable(tables, filename);
+		term_check = nextTable(tables, filename);
+		scope_la = nextTable(tables, filename);
 
-		name = readNameTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		name = toNameTable(nextTable(tables, filename));
 
-		rules_compliance = readLongTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		rules_compliance = nextLongTable(tables, filename);
 
 		readableName = readReadableNameTable(READABLE_NAMES_FILE + ".props"); //$NON-NLS-1$
 
 		reverse_index = computeReverseTable(terminal_index, non_terminal_index, name);
 
-		recovery_templates_index = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		recovery_templates = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		recovery_templates_index = nextTable(tables, filename);
+		recovery_templates = nextTable(tables, filename);
 
-		statements_recovery_filter = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		statements_recovery_filter = nextTable(tables, filename);
+
+		if (tables.hasRemaining())
+			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
 
 		base_action = lhs;
 	}
@@ -731,7 +752,9 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 	}
 
 	protected static String[] readNameTable(String filename) throws java.io.IOException {
-		char[] contents = readTable(filename);
+		return toNameTable(readTable(filename));
+	}
+	private static String[] toNameTable(char[] contents) {
 		char[][] nameAsChar = CharOperation.splitOn('\n', contents);
 
 		String[] result = new String[nameAsChar.length + 1];
@@ -763,6 +786,44 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		}
 		return result;
 	}
+	private static ByteBuffer readTables(String filename) throws java.io.IOException {
+
+		//file is located at Parser.class directory
+
+		try (InputStream stream = Parser.class.getResourceAsStream(filename)) {
+			if (stream == null) {
+				throw new java.io.IOException(Messages.bind(Messages.parser_missingFile, filename));
+			}
+			return ByteBuffer.wrap(stream.readAllBytes()); // big endian, like the tables
+		}
+	}
+	private static int nextTableLength(ByteBuffer tables, String filename, int unit) throws java.io.IOException {
+		if (tables.remaining() < 4)
+			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
+		int length = tables.getInt();
+		if (length < 0 || length > tables.remaining() || length % unit != 0)
+			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
+		return length;
+	}
+	private static char[] nextTable(ByteBuffer tables, String filename) throws java.io.IOException {
+		int length = nextTableLength(tables, filename, 2);
+		char[] chars = new char[length / 2];
+		tables.asCharBuffer().get(chars);
+		tables.position(tables.position() + length);
+		return chars;
+	}
+	private static byte[] nextByteTable(ByteBuffer tables, String filename) throws java.io.IOException {
+		byte[] bytes = new byte[nextTableLength(tables, filename, 1)];
+		tables.get(bytes);
+		return bytes;
+	}
+	private static long[] nextLongTable(ByteBuffer tables, String filename) throws java.io.IOException {
+		int length = nextTableLength(tables, filename, 8);
+		long[] longs = new long[length / 8];
+		tables.asLongBuffer().get(longs);
+		tables.position(tables.position() + length);
+		return longs;
+	}
 	protected static char[] readTable(String filename) throws java.io.IOException {
 
 		//files are located at Parser.class directory
@@ -81,6 +81,10 @@ public class Scanner implements TerminalTokens {
 	public int withoutUnicodePtr; //when == 0 ==> no unicode in the current token
 	public boolean unicodeAsBackSlash = false;
 
+	// sources made of ascii characters only, without unicode escapes, skip white spaces, comments and identifiers in bulk
+	public boolean useAsciiFastPath = true;
+	private boolean asciiOnly = false;
+
 	public boolean scanningFloatLiteral = false;
 
 	//support for /** comments
@@ -1492,7 +1496,7 @@ protected int getNextToken0() throws InvalidInputException {
 
 			// ---------Consume white space and handles startPosition---------
 			whiteStart = this.currentPosition;
-			boolean isWhiteSpace, hasWhiteSpaces = false;
+			boolean isWhiteSpace, hasWhiteSpaces = this.asciiOnly && skipAsciiWhiteSpaces();
 			int offset;
 			int unicodePtr;
 			boolean checkIfUnicode = false;
@@ -1742,6 +1746,9 @@ protected int getNextToken0() throws InvalidInputException {
 								} //jump over the \\
 								boolean isUnicode = false;
 								while (this.currentCharacter != '\r' && this.currentCharacter != '\n') {
+									if (this.asciiOnly) {
+										skipAsciiLineCommentPart();
+									}
 									if (this.currentPosition >= this.eofPosition) {
 										this.lastCommentLinePosition = this.currentPosition;
 										this.currentPosition ++;
@@ -1886,6 +1893,9 @@ protected int getNextToken0() throws InvalidInputException {
 										default:
 											star = false;
 									}
+									if (this.asciiOnly && skipAsciiBlockCommentPart()) {
+										star = false;
+									}
 									//get next char
 									previous = this.currentPosition;
 									if (((this.currentCharacter = this.source[this.currentPosition++]) == '\\')
@@ -2468,6 +2478,9 @@ public final void jumpOverMethodBody() {
 			this.withoutUnicodePtr = 0;
 			// ---------Consume white space and handles startPosition---------
 			boolean isWhiteSpace;
+			if (this.asciiOnly) {
+				skipAsciiWhiteSpaces();
+			}
 			do {
 				this.startPosition = this.currentPosition;
 				if (((this.currentCharacter = this.source[this.currentPosition++]) == '\\')
@@ -2656,6 +2669,9 @@ public final void jumpOverMethodBody() {
 								} //jump over the \\
 								boolean isUnicode = false;
 								while (this.currentCharacter != '\r' && this.currentCharacter != '\n') {
+									if (this.asciiOnly) {
+										skipAsciiLineCommentPart();
+									}
 									if (this.currentPosition >= this.eofPosition) {
 										this.lastCommentLinePosition = this.currentPosition;
 										this.currentPosition ++;
@@ -2795,6 +2811,9 @@ public final void jumpOverMethodBody() {
 										default:
 											star = false;
 									}
+									if (this.asciiOnly && skipAsciiBlockCommentPart()) {
+										star = false;
+									}
 									//get next char
 									previous = this.currentPosition;
 									if (((this.currentCharacter = this.source[this.currentPosition++]) == '\\')
@@ -2966,6 +2985,82 @@ public final void jumpOverMethodBody() {
 	}
 	return;
 }
+/*
+ * The following helpers are only used on ascii sources without unicode escapes, where they consume in bulk the
+ * characters the character by character loops would merely step over.
+ */
+private boolean skipAsciiWhiteSpaces() {
+	char[] src = this.source;
+	int end = Math.min(this.eofPosition, src.length);
+	int start = this.currentPosition;
+	int pos = start;
+	while (pos < end) {
+		char c = src[pos];
+		if (c == ' ' || c == '\t' || c == '\f') {
+			pos++;
+		} else if (c == '\n' || c == '\r') {
+			pos++;
+			if (this.recordLineSeparator) {
+				this.currentCharacter = c;
+				this.currentPosition = pos;
+				pushLineSeparator(); // may consume the \n of \r\n
+				pos = this.currentPosition;
+			}
+		} else {
+			break;
+		}
+	}
+	this.currentPosition = pos;
+	return pos > start;
+}
+private void skipAsciiLineCommentPart() {
+	char[] src = this.source;
+	int end = Math.min(this.eofPosition, src.length);
+	int pos = this.currentPosition;
+	char c;
+	while (pos < end && (c = src[pos]) != '\r' && c != '\n' && c != '\\') {
+		pos++;
+	}
+	if (pos > this.currentPosition) {
+		this.currentCharacter = src[pos - 1];
+		this.currentPosition = pos;
+	}
+}
+private boolean skipAsciiBlockCommentPart() {
+	char[] src = this.source;
+	// the last character before eof is left to the caller, which checks eof after each character
+	int end = Math.min(this.eofPosition, src.length) - 1;
+	int start = this.currentPosition;
+	int pos = start;
+	loop: while (pos < end) {
+		char c = src[pos];
+		switch (c) {
+			case '*' :
+				if (src[pos + 1] == '/')
+					break loop;
+				pos++;
+				break;
+			case '\r' :
+			case '\n' :
+				pos++;
+				if (this.recordLineSeparator) {
+					this.currentCharacter = c;
+					this.currentPosition = pos;
+					pushLineSeparator(); // may consume the \n of \r\n
+					pos = this.currentPosition;
+				}
+				break;
+			case '/' : // may close the comment after a star
+			case '@' :
+			case '\\' :
+				break loop;
+			default :
+				pos++;
+		}
+	}
+	this.currentPosition = pos;
+	return pos > start;
+}
 public final boolean jumpOverUnicodeWhiteSpace() throws InvalidInputException {
 	//BOOLEAN
 	//handle the case of unicode. Jump over the next whiteSpace
@@ -3469,6 +3564,17 @@ public int scanIdentifierOrKeyword() {
 	identLoop: {
 		int pos;
 		int srcLength = this.eofPosition;
+		if (this.asciiOnly && this.withoutUnicodePtr == 0) {
+			// nothing to store, leave the character ending the identifier to the loop below
+			pos = this.currentPosition;
+			char c;
+			while (pos < srcLength && (c = src[pos]) < ScannerHelper.MAX_OBVIOUS
+					&& (ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] &
+						(ScannerHelper.C_UPPER_LETTER | ScannerHelper.C_LOWER_LETTER | ScannerHelper.C_IDENT_PART | ScannerHelper.C_DIGIT)) != 0) {
+				pos++;
+			}
+			this.currentPosition = pos;
+		}
 		while (true) {
 			if ((pos = this.currentPosition) >= srcLength) // handle the obvious case upfront
 				break identLoop;
@@ -4569,11 +4675,22 @@ public final void setSource(char[] sourceString){
 	this.startPosition = -1;
 	this.eofPosition = sourceLength;
 	this.initialPosition = this.currentPosition = 0;
+	this.asciiOnly = this.useAsciiFastPath && isAsciiWithoutUnicodeEscapes(this.source);
 	this.containsAssertKeyword = false;
 	this.linePtr = -1;
 	this.scanContext = null;
 	this.insideModuleInfo = false;
 }
+private static boolean isAsciiWithoutUnicodeEscapes(char[] src) {
+	int bits = 0; // or-ed characters, cheaper than a test per character
+	for (int i = 0, length = src.length; i < length; i++) {
+		char c = src[i];
+		bits |= c;
+		if (c == '\\' && i + 1 < length && src[i + 1] == 'u')
+			return false;
+	}
+	return bits < ScannerHelper.MAX_OBVIOUS;
+}
 /*
  * Should be used if a parse (usually a diet parse) has already been performed on the unit,
  * so as to get the already computed line end positions.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -273,8 +273,9 @@ public void setSourceStart(int sourceStart) {
 @Override
 public String toString() {
 	String s = "Pb(" + (this.id & IProblem.IgnoreCategoriesMask) + ") "; //$NON-NLS-1$ //$NON-NLS-2$
-	if (this.message != null) {
-		s += this.message;
+	String msg = getMessage();
+	if (msg != null) {
+		s += msg;
 	} else {
 		if (this.arguments != null)
 			for (String argument : this.arguments)
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.problem;
+
+import org.eclipse.jdt.internal.compiler.util.HashtableOfInt;
+
+/**
+ * A problem which only renders its localized message when asked for it.
+ * Most warnings of a large build are filtered (e.g. by @SuppressWarnings) or only counted,
+ * so the problem keeps the message templates and arguments instead of the formatted message.
+ */
+public class LazyMessageProblem extends DefaultProblem {
+	private final HashtableOfInt messageTemplates;
+	private final int elaborationId;
+	private final String[] messageArguments; // kept, another thread may be rendering the message with them
+	private String message; // racy, concurrent callers render the same message
+
+public LazyMessageProblem(
+	char[] originatingFileName,
+	HashtableOfInt messageTemplates,
+	int id,
+	String[] stringArguments,
+	int elaborationId,
+	String[] messageArguments,
+	int severity,
+	int startPosition,
+	int endPosition,
+	int line,
+	int column) {
+
+	super(originatingFileName, null, id, stringArguments, severity, startPosition, endPosition, line, column);
+	this.messageTemplates = messageTemplates;
+	this.elaborationId = elaborationId;
+	this.messageArguments = messageArguments;
+}
+
+@Override
+public String getMessage() {
+	String result = this.message;
+	if (result == null) {
+		result = DefaultProblemFactory.getLocalizedMessage(this.messageTemplates, getID(), this.elaborationId, this.messageArguments);
+		this.message = result;
+	}
+	return result;
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 IBM Corporation and others.
+ * Copyright (c) 2021, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.util;
 
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
 
 public class CharDeduplication {
@@ -34,6 +36,20 @@ public class CharDeduplication {
 	/** number of entries to linear search affects performance but decreases collisions - does not affect memory */
 	public static final int SEARCH_SIZE = 8; // a power of 2, has to be smaller then TABLE_SIZE
 
+	/** number of independently locked segments of the global table, a power of 2 **/
+	private static final int SEGMENTS = 64;
+	/**
+	 * Global table shared by all threads, so that the compiler, the indexer and the reconciler end up with the same
+	 * instances. It only references its arrays weakly, the arrays are kept alive by the thread local tables and by
+	 * their users.
+	 */
+	private static final Segment[] GLOBAL = new Segment[SEGMENTS];
+	static {
+		for (int i = 0; i < SEGMENTS; i++) {
+			GLOBAL[i] = new Segment();
+		}
+	}
+
 	private final static ThreadLocal<SoftReference<CharDeduplication>> mutableCache = ThreadLocal
 			.withInitial(() -> new SoftReference<>(new CharDeduplication()));
 
@@ -107,7 +123,7 @@ public class CharDeduplication {
 				return charArray;
 			}
 		}
-		char[] r = Arrays.copyOfRange(source, from, to);
+		char[] r = GLOBAL[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)].intern(source, from, to, hash);
 		// not found -> overwrite existing entries in a circular buffer:
 		if (positionToReplace == -1) {
 			// no empty entry found - normal case:
@@ -118,7 +134,7 @@ public class CharDeduplication {
 		return r;
 	}
 
-	private int hashCode(char[] source, int from, int to) {
+	private static int hashCode(char[] source, int from, int to) {
 		int result = source[from];
 		for (int i = from + 1; i < to; i++) {
 			result = 31 * result + source[i];
@@ -126,7 +142,7 @@ public class CharDeduplication {
 		return result;
 	}
 
-	private boolean equals(char[] source, int from, int to, char[] charArray) {
+	private static boolean equals(char[] source, int from, int to, char[] charArray) {
 		if (charArray.length != to - from) {
 			return false;
 		}
@@ -137,4 +153,74 @@ public class CharDeduplication {
 		}
 		return true;
 	}
+
+	/** a part of the global table, a hash table of weakly referenced arrays with chained entries **/
+	private static final class Segment {
+		private final ReferenceQueue<char[]> queue = new ReferenceQueue<>();
+		private Entry[] table = new Entry[64];
+		private int size;
+
+		synchronized char[] intern(char[] source, int from, int to, int hash) {
+			expungeStaleEntries();
+			int index = hash & (this.table.length - 1);
+			for (Entry entry = this.table[index]; entry != null; entry = entry.next) {
+				if (entry.hash == hash) {
+					char[] charArray = entry.get();
+					if (charArray != null && CharDeduplication.equals(source, from, to, charArray)) {
+						return charArray;
+					}
+				}
+			}
+			char[] r = Arrays.copyOfRange(source, from, to);
+			this.table[index] = new Entry(r, hash, this.table[index], this.queue);
+			if (++this.size > (this.table.length >> 2) * 3) {
+				rehash();
+			}
+			return r;
+		}
+
+		private void expungeStaleEntries() {
+			Object stale;
+			while ((stale = this.queue.poll()) != null) {
+				Entry staleEntry = (Entry) stale;
+				int index = staleEntry.hash & (this.table.length - 1);
+				Entry previous = null;
+				for (Entry entry = this.table[index]; entry != null; previous = entry, entry = entry.next) {
+					if (entry == staleEntry) {
+						if (previous == null)
+							this.table[index] = entry.next;
+						else
+							previous.next = entry.next;
+						this.size--;
+						break;
+					}
+				}
+			}
+		}
+
+		private void rehash() {
+			Entry[] newTable = new Entry[this.table.length << 1];
+			for (Entry entry : this.table) {
+				while (entry != null) {
+					Entry next = entry.next;
+					int index = entry.hash & (newTable.length - 1);
+					entry.next = newTable[index];
+					newTable[index] = entry;
+					entry = next;
+				}
+			}
+			this.table = newTable;
+		}
+	}
+
+	private static final class Entry extends WeakReference<char[]> {
+		final int hash;
+		Entry next;
+
+		Entry(char[] referent, int hash, Entry next, ReferenceQueue<char[]> queue) {
+			super(referent, queue);
+			this.hash = hash;
+			this.next = next;
+		}
+	}
 }
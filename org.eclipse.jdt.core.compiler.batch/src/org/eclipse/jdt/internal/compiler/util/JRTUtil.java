@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2022 IBM Corporation.
+ * Copyright (c) 2015, 2026 IBM Corporation.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,6 +62,8 @@ public class JRTUtil {
 
 	static final SoftClassCache classCache = new SoftClassCache();
 
+	private static volatile boolean shareClassfiles = Boolean.getBoolean("org.eclipse.jdt.share_JRT_classfiles"); //$NON-NLS-1$
+
 	public interface JrtFileVisitor<T> {
 
 		public default FileVisitResult visitPackage(T dir, T mod, BasicFileAttributes attrs) throws IOException {
@@ -197,6 +199,30 @@ public class JRTUtil {
 		return ctSym;
 	}
 
+	/**
+	 * Share the class files read from the images among all compilations (and all lookup environments) from now on,
+	 * or stop sharing them. Shared class files are decoded once per image and release, fully initialized so that
+	 * they are never modified afterwards. The bindings created from them still belong to each lookup environment.
+	 * Shared class files are only softly reachable, so that the VM drops them before it runs out of memory.
+	 * <p>
+	 * Off by default, can be turned on with <code>-Dorg.eclipse.jdt.share_JRT_classfiles=true</code>.
+	 * </p>
+	 */
+	public static void setShareClassfiles(boolean share) {
+		shareClassfiles = share;
+		if (!share) {
+			for (JrtFileSystem system : images.values())
+				system.forgetSharedClassfiles();
+		}
+	}
+
+	/**
+	 * Answer whether the class files read from the images are shared, see {@link #setShareClassfiles(boolean)}.
+	 */
+	public static boolean isSharingClassfiles() {
+		return shareClassfiles;
+	}
+
 	/** TEST ONLY (use when changing the "modules.to.load" property). */
 	public static void reset() {
 		images.clear();
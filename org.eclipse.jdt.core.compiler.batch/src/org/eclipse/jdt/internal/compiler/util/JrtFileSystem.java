@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2024 IBM Corporation.
+ * Copyright (c) 2015, 2026 IBM Corporation.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,8 @@ package org.eclipse.jdt.internal.compiler.util;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystem;
 import java.nio.file.FileVisitResult;
@@ -28,6 +30,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
@@ -39,6 +43,25 @@ public class JrtFileSystem {
 
 	private final Map<String, List<String>> packageToModules = new HashMap<>();
 
+	/**
+	 * A shared class file kept as long as memory allows, which knows its key so that it can be removed once collected.
+	 */
+	private static class SoftClassfile extends SoftReference<ClassFileReader> {
+		final String key;
+
+		SoftClassfile(String key, ClassFileReader reader, ReferenceQueue<ClassFileReader> queue) {
+			super(reader, queue);
+			this.key = key;
+		}
+	}
+
+	/** class files read so far, by module and file name, while they are shared (see JRTUtil#setShareClassfiles) **/
+	private final Map<String, SoftClassfile> sharedClassfiles = new ConcurrentHashMap<>();
+	private final ReferenceQueue<ClassFileReader> collectedClassfiles = new ReferenceQueue<>();
+
+	/** index of the image read from or written to disk, if any (see JrtIndex) **/
+	private JrtIndex index;
+
 	FileSystem fs;
 	final Path modRoot;
 	final Jdk jdk;
@@ -63,7 +86,19 @@ public class JrtFileSystem {
 		this.fs = JRTUtil.getJrtFileSystem(this.jdk.path);
 		this.modRoot = this.fs.getPath(JRTUtil.MODULES_SUBDIR);
 		// Set up the root directory where modules are located
-		walkJrtForModules();
+		Path indexFile = JrtIndex.getIndexFile(this.jdk);
+		if (indexFile != null) {
+			this.index = JrtIndex.load(indexFile, this.jdk, this.modRoot);
+			if (this.index != null) {
+				this.index.forEachPackage(this::cachePackage);
+			} else {
+				List<String[]> packages = new ArrayList<>();
+				walkJrtForModules(packages);
+				this.index = JrtIndex.write(indexFile, this.jdk, this.modRoot, packages);
+			}
+		} else {
+			walkJrtForModules(null);
+		}
 	}
 
 	public List<String> getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
@@ -91,6 +126,13 @@ public class JrtFileSystem {
 		return null;
 	}
 
+	/**
+	 * Answer the names of all packages of all modules, must not be modified.
+	 */
+	public Set<String> getPackages() {
+		return Collections.unmodifiableSet(this.packageToModule.keySet());
+	}
+
 	public String[] getModules(String fileName) {
 		int idx = fileName.lastIndexOf('/');
 		String pack = null;
@@ -190,6 +232,16 @@ public class JrtFileSystem {
 	}
 
 	ClassFileReader getClassfileFromModule(String fileName, String module) throws IOException, ClassFormatException {
+		boolean share = JRTUtil.isSharingClassfiles();
+		String key = null;
+		if (share) {
+			key = module + '/' + fileName;
+			SoftClassfile sharedClassfile = this.sharedClassfiles.get(key);
+			ClassFileReader reader = sharedClassfile == null ? null : sharedClassfile.get();
+			if (reader != null)
+				return reader;
+			removeCollectedClassfiles();
+		}
 		Path path = this.fs.getPath(JRTUtil.MODULES_SUBDIR, module, fileName);
 		byte[] content = null;
 		if(JRTUtil.DISABLE_CACHE) {
@@ -198,13 +250,34 @@ public class JrtFileSystem {
 			content = JRTUtil.classCache.getClassBytes(this.jdk, path);
 		}
 		if (content != null) {
-			ClassFileReader reader = new ClassFileReader(path.toUri(), content, fileName.toCharArray());
+			// a shared reader is fully initialized, so that it is not modified while being used
+			ClassFileReader reader = new ClassFileReader(path.toUri(), content, fileName.toCharArray(), share);
 			reader.moduleName = module.toCharArray();
+			if (share) {
+				SoftClassfile added = new SoftClassfile(key, reader, this.collectedClassfiles);
+				SoftClassfile previous = this.sharedClassfiles.putIfAbsent(key, added);
+				if (previous != null) {
+					ClassFileReader previousReader = previous.get();
+					if (previousReader != null)
+						return previousReader;
+					this.sharedClassfiles.replace(key, previous, added);
+				}
+			}
 			return reader;
 		} else {
 			return null;
 		}
 	}
+
+	private void removeCollectedClassfiles() {
+		SoftClassfile collected;
+		while ((collected = (SoftClassfile) this.collectedClassfiles.poll()) != null)
+			this.sharedClassfiles.remove(collected.key, collected);
+	}
+
+	void forgetSharedClassfiles() {
+		this.sharedClassfiles.clear();
+	}
 	public ClassFileReader getClassfile(String fileName, String module, Predicate<String> moduleNameFilter) throws IOException, ClassFormatException {
 		ClassFileReader reader = null;
 		if (module == null) {
@@ -223,7 +296,10 @@ public class JrtFileSystem {
 		}
 	}
 
-	void walkJrtForModules() throws IOException {
+	/**
+	 * Walks the packages of the image, collecting the package to module pairs into the given list if not null.
+	 */
+	void walkJrtForModules(List<String[]> packages) throws IOException {
 		Iterable<Path> roots = this.fs.getRootDirectories();
 		for (Path path : roots) {
 			try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
@@ -234,7 +310,11 @@ public class JrtFileSystem {
 							public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
 								// e.g. /modules/java.base
 								Path relative = subdir.relativize(file);
-								cachePackage(relative.getParent().toString(), relative.getFileName().toString());
+								String packageName = relative.getParent().toString();
+								String module = relative.getFileName().toString();
+								if (packages != null)
+									packages.add(new String[] {packageName, module});
+								cachePackage(packageName, module);
 								return FileVisitResult.CONTINUE;
 							}
 						});
@@ -247,6 +327,10 @@ public class JrtFileSystem {
 	}
 
 	void walkModuleImage(final JRTUtil.JrtFileVisitor<Path> visitor, final int notify) throws IOException {
+		if (this.index != null) {
+			this.index.walkModuleImage(this.modRoot, visitor, notify, this::cachePackage);
+			return;
+		}
 		Files.walkFileTree(this.modRoot, new SimpleFileVisitor<>() {
 			@Override
 			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * An on-disk index of a JRT image, so that a new VM does not need to walk the image:
+ * it records the package to module pairs found in the <code>/packages</code> directory
+ * and the tree below <code>/modules</code> (modules, packages and class files) in walk order.
+ * <p>
+ * The index is keyed by the JDK home, the hash of its <code>release</code> file and the size and time of its
+ * <code>lib/modules</code> image. It is only used when <code>-Dorg.eclipse.jdt.jrt_index_dir=&lt;directory&gt;</code>
+ * is given, and is memory mapped when read.
+ * </p>
+ */
+final class JrtIndex {
+
+	private static final int MAGIC = 0x4A525449; // JRTI
+	private static final int VERSION = 1;
+	private static final byte FILE = 0;
+	private static final byte DIRECTORY = 1;
+
+	private final ByteBuffer buffer;
+	private final int packagesPosition;
+	private final int modulesPosition;
+	private final BasicFileAttributes directoryAttributes;
+
+	private JrtIndex(ByteBuffer buffer, int packagesPosition, int modulesPosition, BasicFileAttributes directoryAttributes) {
+		this.buffer = buffer;
+		this.packagesPosition = packagesPosition;
+		this.modulesPosition = modulesPosition;
+		this.directoryAttributes = directoryAttributes;
+	}
+
+	/**
+	 * Answers the index file of the given JDK, or null if there is no index directory
+	 * or if the JDK has no <code>release</code> file or <code>lib/modules</code> image.
+	 */
+	static Path getIndexFile(Jdk jdk) {
+		String directory = System.getProperty("org.eclipse.jdt.jrt_index_dir"); //$NON-NLS-1$
+		if (directory == null || directory.isEmpty())
+			return null;
+		try {
+			return Paths.get(directory, "jrt-" + Integer.toHexString(getKey(jdk).hashCode()) + ".index"); //$NON-NLS-1$ //$NON-NLS-2$
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static String getKey(Jdk jdk) throws IOException {
+		CRC32 crc = new CRC32();
+		crc.update(Files.readAllBytes(jdk.path.resolve("release"))); //$NON-NLS-1$
+		BasicFileAttributes image = Files.readAttributes(jdk.path.resolve("lib").resolve("modules"), BasicFileAttributes.class); //$NON-NLS-1$ //$NON-NLS-2$
+		return VERSION + "|" + jdk.path + "|" + Long.toHexString(crc.getValue()) //$NON-NLS-1$ //$NON-NLS-2$
+				+ "|" + image.size() + "|" + image.lastModifiedTime().toMillis(); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Answers the index stored in the given file if it is still valid for the given JDK, null otherwise.
+	 */
+	static JrtIndex load(Path indexFile, Jdk jdk, Path modRoot) {
+		if (!Files.isRegularFile(indexFile))
+			return null;
+		try {
+			ByteBuffer buffer;
+			try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			if (buffer.getInt() != MAGIC || !getKey(jdk).equals(readString(buffer)))
+				return null; // stale, will be overwritten
+			int modulesPosition = buffer.getInt();
+			return new JrtIndex(buffer, buffer.position(), modulesPosition, Files.readAttributes(modRoot, BasicFileAttributes.class));
+		} catch (IOException | RuntimeException e) {
+			return null; // corrupted, will be overwritten
+		}
+	}
+
+	/**
+	 * Walks the module image below the given root and stores its index with the given package to module pairs.
+	 * Failing to write the index is not an error, the image is just walked again by the next VM.
+	 */
+	static JrtIndex write(Path indexFile, Jdk jdk, Path modRoot, List<String[]> packages) {
+		try {
+			ByteArrayOutputStream modules = new ByteArrayOutputStream(1 << 20);
+			writeDirectory(new DataOutputStream(modules), modRoot);
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(modules.size() + (packages.size() << 5));
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(MAGIC);
+			writeString(out, getKey(jdk));
+			int modulesPositionOffset = out.size();
+			out.writeInt(0); // patched below
+			out.writeInt(packages.size());
+			for (String[] pair : packages) {
+				writeString(out, pair[0]);
+				writeString(out, pair[1]);
+			}
+			int modulesPosition = out.size();
+			modules.writeTo(out);
+			out.flush();
+			ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+			buffer.putInt(modulesPositionOffset, modulesPosition);
+
+			Files.createDirectories(indexFile.getParent());
+			Path temp = Files.createTempFile(indexFile.getParent(), "jrt-", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+			try {
+				Files.write(temp, buffer.array());
+				Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+			return load(indexFile, jdk, modRoot);
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static void writeDirectory(DataOutputStream out, Path directory) throws IOException {
+		List<Path> children = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path child : stream)
+				children.add(child);
+		}
+		out.writeInt(children.size());
+		for (Path child : children) {
+			BasicFileAttributes attrs = Files.readAttributes(child, BasicFileAttributes.class);
+			if (attrs.isDirectory()) {
+				out.writeByte(DIRECTORY);
+				writeString(out, JRTUtil.sanitizedFileName(child));
+				ByteArrayOutputStream subtree = new ByteArrayOutputStream();
+				writeDirectory(new DataOutputStream(subtree), child);
+				out.writeInt(subtree.size());
+				subtree.writeTo(out);
+			} else {
+				out.writeByte(FILE);
+				writeString(out, JRTUtil.sanitizedFileName(child));
+				out.writeLong(attrs.size());
+			}
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Answers the package to module pairs in the order they were found in the image.
+	 */
+	void forEachPackage(BiConsumer<String, String> consumer) {
+		ByteBuffer packages = this.buffer.duplicate();
+		packages.position(this.packagesPosition);
+		int count = packages.getInt();
+		for (int i = 0; i < count; i++) {
+			String packageName = readString(packages);
+			consumer.accept(packageName, readString(packages));
+		}
+	}
+
+	/**
+	 * Replays the walk of {@link JrtFileSystem#walkModuleImage(JRTUtil.JrtFileVisitor, int)} from the index.
+	 */
+	void walkModuleImage(Path modRoot, JRTUtil.JrtFileVisitor<Path> visitor, int notify, BiConsumer<String, String> packageCache) throws IOException {
+		ByteBuffer modules = this.buffer.duplicate();
+		modules.position(this.modulesPosition);
+		int count = modules.getInt();
+		for (int i = 0; i < count; i++) {
+			if (modules.get() != DIRECTORY) { // no file is expected at the root
+				readString(modules);
+				modules.getLong();
+				continue;
+			}
+			String name = readString(modules);
+			int end = modules.getInt();
+			end += modules.position();
+			Path dir = modRoot.resolve(name);
+			FileVisitResult result;
+			if (JRTUtil.MODULE_TO_LOAD != null && JRTUtil.MODULE_TO_LOAD.length() > 0 && JRTUtil.MODULE_TO_LOAD.indexOf(name) == -1) {
+				result = FileVisitResult.SKIP_SUBTREE;
+			} else {
+				result = (notify & JRTUtil.NOTIFY_MODULES) == 0 ? FileVisitResult.CONTINUE : visitor.visitModule(dir, name);
+			}
+			if (result == FileVisitResult.CONTINUE) {
+				result = walk(modules, dir, name, visitor, notify, packageCache);
+			}
+			if (result == FileVisitResult.TERMINATE || result == FileVisitResult.SKIP_SIBLINGS)
+				return;
+			modules.position(end);
+		}
+	}
+
+	private FileVisitResult walk(ByteBuffer modules, Path directory, String module, JRTUtil.JrtFileVisitor<Path> visitor, int notify,
+			BiConsumer<String, String> packageCache) throws IOException {
+		int count = modules.getInt();
+		for (int i = 0; i < count; i++) {
+			byte kind = modules.get();
+			Path child = directory.resolve(readString(modules));
+			int nameCount = child.getNameCount();
+			FileVisitResult result;
+			if (kind == FILE) {
+				long size = modules.getLong();
+				if ((notify & JRTUtil.NOTIFY_FILES) == 0) {
+					result = FileVisitResult.CONTINUE;
+				} else {
+					if (nameCount == 3) {
+						packageCache.accept(JRTUtil.DEFAULT_PACKAGE, module);
+					}
+					result = visitor.visitFile(child.subpath(2, nameCount), child.getName(1), new IndexedAttributes(this.directoryAttributes, size));
+				}
+			} else {
+				int end = modules.getInt();
+				end += modules.position();
+				if ((notify & JRTUtil.NOTIFY_PACKAGES) == 0) {
+					result = FileVisitResult.CONTINUE;
+				} else {
+					result = visitor.visitPackage(child.subpath(2, nameCount), child.getName(1), this.directoryAttributes);
+				}
+				if (result == FileVisitResult.CONTINUE) {
+					FileVisitResult subtreeResult = walk(modules, child, module, visitor, notify, packageCache);
+					if (subtreeResult == FileVisitResult.TERMINATE)
+						return subtreeResult;
+				}
+				modules.position(end);
+			}
+			if (result == FileVisitResult.TERMINATE)
+				return result;
+			if (result == FileVisitResult.SKIP_SIBLINGS)
+				break;
+		}
+		return FileVisitResult.CONTINUE;
+	}
+
+	/**
+	 * The attributes of a file of the image, which shares the times of the image.
+	 */
+	private static final class IndexedAttributes implements BasicFileAttributes {
+		private final BasicFileAttributes image;
+		private final long size;
+
+		IndexedAttributes(BasicFileAttributes image, long size) {
+			this.image = image;
+			this.size = size;
+		}
+		@Override
+		public FileTime lastModifiedTime() {
+			return this.image.lastModifiedTime();
+		}
+		@Override
+		public FileTime lastAccessTime() {
+			return this.image.lastAccessTime();
+		}
+		@Override
+		public FileTime creationTime() {
+			return this.image.creationTime();
+		}
+		@Override
+		public boolean isRegularFile() {
+			return true;
+		}
+		@Override
+		public boolean isDirectory() {
+			return false;
+		}
+		@Override
+		public boolean isSymbolicLink() {
+			return false;
+		}
+		@Override
+		public boolean isOther() {
+			return false;
+		}
+		@Override
+		public long size() {
+			return this.size;
+		}
+		@Override
+		public Object fileKey() {
+			return null;
+		}
+	}
+}
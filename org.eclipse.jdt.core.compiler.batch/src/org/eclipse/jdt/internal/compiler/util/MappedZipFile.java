@@ -0,0 +1,317 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Read only access to the entries of a zip file through a memory mapping of the whole file.
+ * <p>
+ * The central directory is indexed once into an open addressing table of entry positions, so that looking up an
+ * entry neither allocates nor reads from the disk. Stored entries are copied out of the mapping in one go, deflated
+ * ones are inflated straight into an array of their uncompressed size.
+ * </p><p>
+ * Only plain zip files are supported: {@link #open(File)} fails with a {@link ZipException} for zip64 archives,
+ * archives larger than 2GB or any other central directory it does not understand, in which case callers are
+ * expected to fall back to {@link java.util.zip.ZipFile}. A mapping cannot be released explicitly, it lives until
+ * the instance is garbage collected.
+ * </p>
+ */
+public class MappedZipFile {
+
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int END_HEADER_SIZE = 22;
+	private static final int CENTRAL_SIGNATURE = 0x02014b50;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int LOCAL_SIGNATURE = 0x04034b50;
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+
+	/**
+	 * Whether jar files should be mapped at all. Windows does not allow to delete or replace a mapped file until
+	 * the mapping is garbage collected, so mapping is off there unless requested with
+	 * <code>-Djdt.compiler.mapJars=true</code>.
+	 */
+	public static final boolean ENABLED;
+	static {
+		String setting = System.getProperty("jdt.compiler.mapJars"); //$NON-NLS-1$
+		ENABLED = setting == null ? File.separatorChar == '/' : Boolean.parseBoolean(setting);
+	}
+
+	private final String name;
+	private ByteBuffer buffer;
+	/** start of the zip data in the file (non zero for archives with a prefix, like jmod or self extracting files) **/
+	private final int base;
+	/** position of the central directory header of each entry, in directory order **/
+	private final int[] entries;
+	/** index of entry + 1, or 0 for empty slots **/
+	private final int[] table;
+
+	private MappedZipFile(String name, ByteBuffer buffer) throws ZipException {
+		this.name = name;
+		this.buffer = buffer;
+		int end = findEnd(buffer);
+		int count = buffer.getShort(end + 10) & 0xFFFF;
+		long directorySize = buffer.getInt(end + 12) & 0xFFFFFFFFL;
+		long directoryOffset = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+		if (count == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL)
+			throw new ZipException("zip64 archive: " + name); //$NON-NLS-1$
+		long directory = end - directorySize;
+		if (directory < 0 || directory < directoryOffset)
+			throw new ZipException("invalid central directory: " + name); //$NON-NLS-1$
+		this.base = (int) (directory - directoryOffset);
+		this.entries = new int[count];
+		int capacity = Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1; // power of 2, at least twice the count
+		this.table = new int[capacity];
+		int position = (int) directory;
+		for (int i = 0; i < count; i++) {
+			if (position + CENTRAL_HEADER_SIZE > end || buffer.getInt(position) != CENTRAL_SIGNATURE)
+				throw new ZipException("invalid central directory: " + name); //$NON-NLS-1$
+			int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+			if ((buffer.getInt(position + 20) == 0xFFFFFFFF) || (buffer.getInt(position + 24) == 0xFFFFFFFF) || (buffer.getInt(position + 42) == 0xFFFFFFFF))
+				throw new ZipException("zip64 entry: " + name); //$NON-NLS-1$
+			this.entries[i] = position;
+			// like ZipFile, answer the last of several entries with the same name
+			int slot = slot(position + CENTRAL_HEADER_SIZE, nameLength, hash(position + CENTRAL_HEADER_SIZE, nameLength));
+			this.table[slot] = i + 1;
+			position += CENTRAL_HEADER_SIZE + nameLength + (buffer.getShort(position + 30) & 0xFFFF) + (buffer.getShort(position + 32) & 0xFFFF);
+		}
+	}
+
+	/**
+	 * Map and index the given zip file.
+	 * @throws ZipException if the file is not a zip file this class can read
+	 */
+	public static MappedZipFile open(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new ZipException("archive too large: " + file); //$NON-NLS-1$
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			return new MappedZipFile(file.getPath(), buffer);
+		}
+	}
+
+	private static int findEnd(ByteBuffer buffer) throws ZipException {
+		int limit = buffer.limit();
+		int lowest = Math.max(0, limit - END_HEADER_SIZE - 0xFFFF); // the comment is at most 64k
+		for (int position = limit - END_HEADER_SIZE; position >= lowest; position--) {
+			if (buffer.getInt(position) == END_SIGNATURE
+					&& position + END_HEADER_SIZE + (buffer.getShort(position + 20) & 0xFFFF) <= limit)
+				return position;
+		}
+		throw new ZipException("zip END header not found"); //$NON-NLS-1$
+	}
+
+	private int hash(int position, int length) {
+		int hash = 0;
+		for (int i = 0; i < length; i++)
+			hash = 31 * hash + (this.buffer.get(position + i) & 0xFF);
+		return hash;
+	}
+
+	/** the slot holding the entry with the given name, or the empty slot where it would go **/
+	private int slot(int namePosition, int nameLength, int hash) {
+		int mask = this.table.length - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		nextSlot: while (true) {
+			int entry = this.table[slot];
+			if (entry == 0)
+				return slot;
+			int position = this.entries[entry - 1];
+			if ((this.buffer.getShort(position + 28) & 0xFFFF) == nameLength) {
+				for (int i = 0, otherPosition = position + CENTRAL_HEADER_SIZE; i < nameLength; i++) {
+					if (this.buffer.get(namePosition + i) != this.buffer.get(otherPosition + i)) {
+						slot = (slot + 1) & mask;
+						continue nextSlot;
+					}
+				}
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/** the central directory header position of the named entry, or -1 **/
+	private int find(String entryName) {
+		int length = entryName.length();
+		int hash = 0;
+		for (int i = 0; i < length; i++) {
+			char c = entryName.charAt(i);
+			if (c >= 0x80)
+				return find(entryName.getBytes(StandardCharsets.UTF_8));
+			hash = 31 * hash + c;
+		}
+		int mask = this.table.length - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		nextSlot: while (true) {
+			int entry = this.table[slot];
+			if (entry == 0)
+				return -1;
+			int position = this.entries[entry - 1];
+			if ((this.buffer.getShort(position + 28) & 0xFFFF) == length) {
+				for (int i = 0, namePosition = position + CENTRAL_HEADER_SIZE; i < length; i++) {
+					if (this.buffer.get(namePosition + i) != entryName.charAt(i)) {
+						slot = (slot + 1) & mask;
+						continue nextSlot;
+					}
+				}
+				return position;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	private int find(byte[] entryName) {
+		int length = entryName.length;
+		int hash = 0;
+		for (int i = 0; i < length; i++)
+			hash = 31 * hash + (entryName[i] & 0xFF);
+		int mask = this.table.length - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		nextSlot: while (true) {
+			int entry = this.table[slot];
+			if (entry == 0)
+				return -1;
+			int position = this.entries[entry - 1];
+			if ((this.buffer.getShort(position + 28) & 0xFFFF) == length) {
+				for (int i = 0, namePosition = position + CENTRAL_HEADER_SIZE; i < length; i++) {
+					if (this.buffer.get(namePosition + i) != entryName[i]) {
+						slot = (slot + 1) & mask;
+						continue nextSlot;
+					}
+				}
+				return position;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Answer the path of the mapped file, as {@link java.util.zip.ZipFile#getName()} would.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	public boolean hasEntry(String entryName) {
+		return find(entryName) != -1;
+	}
+
+	/**
+	 * Answer the uncompressed contents of the named entry, or <code>null</code> if there is no such entry.
+	 */
+	public byte[] getEntryBytes(String entryName) throws IOException {
+		int position = find(entryName);
+		if (position == -1)
+			return null;
+		ByteBuffer mapping = this.buffer;
+		if ((mapping.getShort(position + 8) & 1) != 0)
+			throw new ZipException("encrypted entry: " + entryName); //$NON-NLS-1$
+		int method = mapping.getShort(position + 10) & 0xFFFF;
+		int compressedSize = mapping.getInt(position + 20);
+		int size = mapping.getInt(position + 24);
+		int local = this.base + mapping.getInt(position + 42);
+		if (compressedSize < 0 || size < 0 || local < 0 || local + LOCAL_HEADER_SIZE > mapping.limit()
+				|| mapping.getInt(local) != LOCAL_SIGNATURE)
+			throw new ZipException("invalid LOC header: " + entryName); //$NON-NLS-1$
+		int data = local + LOCAL_HEADER_SIZE + (mapping.getShort(local + 26) & 0xFFFF) + (mapping.getShort(local + 28) & 0xFFFF);
+		if (data + compressedSize > mapping.limit())
+			throw new ZipException("invalid entry size: " + entryName); //$NON-NLS-1$
+		byte[] contents = new byte[size];
+		switch (method) {
+			case STORED :
+				if (compressedSize != size)
+					throw new ZipException("invalid entry size: " + entryName); //$NON-NLS-1$
+				mapping.get(data, contents, 0, size);
+				return contents;
+			case DEFLATED :
+				Inflater inflater = new Inflater(true);
+				try {
+					inflater.setInput(mapping.slice(data, compressedSize));
+					int read = 0;
+					boolean dummyByteGiven = false;
+					while (read < size && !inflater.finished()) {
+						int count = inflater.inflate(contents, read, size - read);
+						read += count;
+						if (count == 0) {
+							if (inflater.needsInput() && !dummyByteGiven) {
+								inflater.setInput(new byte[1]); // see ZipFile.ZipFileInflaterInputStream#fill()
+								dummyByteGiven = true;
+							} else if (inflater.needsInput() || inflater.needsDictionary()) {
+								throw new ZipException("invalid compressed data: " + entryName); //$NON-NLS-1$
+							}
+						}
+					}
+					if (read != size)
+						throw new ZipException("invalid entry size: " + entryName); //$NON-NLS-1$
+					return contents;
+				} catch (DataFormatException e) {
+					throw new ZipException(e.getMessage() == null ? "invalid compressed data: " + entryName : e.getMessage()); //$NON-NLS-1$
+				} finally {
+					inflater.end();
+				}
+			default :
+				throw new ZipException("unsupported compression method " + method + ": " + entryName); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/** number of entries, including duplicates **/
+	public int size() {
+		return this.entries.length;
+	}
+
+	/**
+	 * Answer the names of all entries, in central directory order.
+	 */
+	public Iterable<String> names() {
+		return () -> new Iterator<String>() {
+			private int index;
+			@Override
+			public boolean hasNext() {
+				return this.index < MappedZipFile.this.entries.length;
+			}
+			@Override
+			public String next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				int position = MappedZipFile.this.entries[this.index++];
+				int length = MappedZipFile.this.buffer.getShort(position + 28) & 0xFFFF;
+				byte[] bytes = new byte[length];
+				MappedZipFile.this.buffer.get(position + CENTRAL_HEADER_SIZE, bytes, 0, length);
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+		};
+	}
+
+	/**
+	 * Drop the reference to the mapping, which is released when garbage collected.
+	 */
+	public void close() {
+		this.buffer = null;
+	}
+}
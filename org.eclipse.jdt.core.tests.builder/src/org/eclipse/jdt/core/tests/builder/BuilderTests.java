@@ -539,6 +539,8 @@ public class BuilderTests extends TestCase {
 			FriendDependencyTests.class,
 			ReferenceCollectionTest.class,
 			StateTest.class,
+			CompilationOrderTest.class,
+			ParallelBuildTests.class,
 			CompressedWriterTest.class,
 			TestAttributeBuilderTests.class,
 			Bug530366Test.class,
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.builder;
+
+import java.util.Arrays;
+import junit.framework.Test;
+import org.eclipse.jdt.internal.core.builder.CompilationOrder;
+
+public class CompilationOrderTest extends BuilderTests {
+
+	public CompilationOrderTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildTestSuite(CompilationOrderTest.class);
+	}
+
+	private static void expectingWaves(String expected, int[][] references, int groupCount, int minimumGroupSize) {
+		assertEquals("Unexpected waves", expected, Arrays.deepToString(CompilationOrder.waves(references, groupCount, minimumGroupSize)));
+	}
+
+	public void testSingleCompiler() {
+		int[][] references = { {}, {}, {}, {} };
+		expectingWaves("null", references, 1, 1);
+		expectingWaves("null", references, 2, 3); // not enough units for 2 compilers
+	}
+
+	public void testChain() {
+		// each unit needs the previous one, the waves are compiled by the same compiler
+		expectingWaves("null", new int[][] { {}, {0}, {1}, {2} }, 2, 1);
+	}
+
+	public void testCycle() {
+		// 1 and 2 reference each other, 3 references them
+		expectingWaves("[[[1, 2, 3], [0]]]", new int[][] { {}, {2}, {1}, {1} }, 2, 1);
+		// a cycle through 4 units, 6 references it
+		expectingWaves("[[[0, 1, 2, 3, 6], [4, 5, 7]]]", new int[][] { {1}, {2}, {3}, {0}, {}, {}, {0}, {} }, 2, 1);
+		// a unit referencing itself
+		expectingWaves("[[[0, 2], [1, 3]]]", new int[][] { {0}, {}, {}, {} }, 2, 1);
+	}
+
+	public void testUnknownReferences() {
+		// 2 may reference any unit, it is compiled last with the units of its wave
+		expectingWaves("[[[0, 3], [1, 5]], [[2, 4]]]", new int[][] { {}, {}, null, {}, {0}, {} }, 2, 1);
+		expectingWaves("[[[2], [3]], [[0, 1]]]", new int[][] { null, null, {}, {} }, 2, 1);
+	}
+
+	public void testSmallWaveMerging() {
+		// waves of at least 4 units, the last level only holds 8 which is compiled with the previous level
+		expectingWaves("[[[0, 2], [1, 3]], [[4, 8, 7], [5, 6]]]",
+				new int[][] { {}, {}, {}, {}, {0}, {1}, {2}, {3}, {4} }, 2, 2);
+	}
+
+	public void testGroupBalancing() {
+		// the connected units 0-1-2, 3-4, 5-6 and 7 are spread over 2 groups of 4 units
+		expectingWaves("[[[0, 1, 2, 7], [3, 4, 5, 6]]]",
+				new int[][] { {}, {0}, {1}, {}, {3}, {}, {5}, {} }, 2, 4);
+		expectingWaves("[[[0, 4, 7], [3, 6]], [[1, 2], [5]]]",
+				new int[][] { {}, {0}, {1}, {}, {}, {3}, {}, {} }, 2, 1);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 jkubitz and others.
+ * Copyright (c) 2021, 2026 jkubitz and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -85,6 +85,9 @@ public class CompressedWriterTest extends BuilderTests {
 					r -> Integer.valueOf(r.readIntInRange(range)));
 		}
 
+		assertSame(new Integer[] { 0, 1, 2, 0x7f, 0x80, 0x3fff, 0x4000, 0x1fffff, 0x200000, 0xfffffff, 0x10000000,
+				Integer.MAX_VALUE }, (w, v) -> w.writeVarInt(v.intValue()), r -> Integer.valueOf(r.readVarInt()));
+
 		int[] typical1 = new int[] { 0, 1, -1, 2, -2, Integer.MAX_VALUE, Integer.MIN_VALUE };
 		int[] typical2 = new int[] { 3 };
 		int[] typical3 = new int[] {};
@@ -109,6 +112,9 @@ public class CompressedWriterTest extends BuilderTests {
 		assertSame(chars, CompressedWriter::writeChars, CompressedReader::readChars);
 		assertSame(chars, CompressedWriter::writeCharsUsingLast, CompressedReader::readCharsUsingLast);
 		assertSame(strings, CompressedWriter::writeStringUsingLast, CompressedReader::readStringUsingLast);
+
+		byte[][] bytes = new byte[][] { {}, { 0 }, { 1, -1, Byte.MAX_VALUE, Byte.MIN_VALUE }, new byte[300] };
+		assertSame(bytes, CompressedWriter::writeBytes, CompressedReader::readBytes);
 	}
 
 	@FunctionalInterface
@@ -141,6 +147,8 @@ public class CompressedWriterTest extends BuilderTests {
 	}
 
 	private Object charToStringOrSame(Object v) {
+		if (v instanceof byte[])
+			return Arrays.toString((byte[]) v);
 		return (v instanceof char[]) ? new String((char[]) v) : v;
 	}
 }
\ No newline at end of file
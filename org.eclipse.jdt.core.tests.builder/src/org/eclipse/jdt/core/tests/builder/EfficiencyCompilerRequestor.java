@@ -27,7 +27,8 @@ public class EfficiencyCompilerRequestor implements IDebugRequestor {
 	private final ArrayList<ClassFile> classes = new ArrayList<>();
 
 
-	public void acceptDebugResult(CompilationResult result){
+	// synchronized since the compilers of a parallel build report their results at the same time
+	public synchronized void acceptDebugResult(CompilationResult result){
 		this.compiledFiles.add(new String(result.fileName));
 		ClassFile[] classFiles = result.getClassFiles();
 		Util.sort(classFiles, new Util.Comparer() {
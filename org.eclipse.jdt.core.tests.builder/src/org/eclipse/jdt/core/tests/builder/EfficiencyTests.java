@@ -14,8 +14,14 @@
 package org.eclipse.jdt.core.tests.builder;
 
 import junit.framework.Test;
+import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.BuildContext;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.CompilationParticipant;
+import org.eclipse.jdt.core.tests.builder.participants.TestCompilationParticipant1;
 import org.eclipse.jdt.core.tests.util.Util;
 
 /**
@@ -152,6 +158,575 @@ public class EfficiencyTests extends BuilderTests {
 		expectingCompilingOrder(new String[] { "/Project/src/p1/X.java", "/Project/src/p2/Y.java" });
 	}
 
+	public void testMemberAddition() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public int f;\n" + //$NON-NLS-1$
+			"	public void foo(Object o) {}\n" + //$NON-NLS-1$
+			"	public void bar() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void m(p1.X x) { x.foo(null); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	void m(p1.X x) { x.bar(); x.f++; }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "W", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class W extends p1.X {\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public int f;\n" + //$NON-NLS-1$
+			"	public void foo(Object o) {}\n" + //$NON-NLS-1$
+			"	public void foo(String s) {}\n" + //$NON-NLS-1$
+			"	public void bar() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+		expectingNoProblems();
+
+		// Z neither calls foo nor inherits from X
+		expectingCompiledClasses(new String[]{"p1.X", "p2.W", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	public void testCloseMethodChange() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X implements AutoCloseable {\n"+ //$NON-NLS-1$
+			"	public void close() {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath pathY = env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void m() {\n"+ //$NON-NLS-1$
+			"		try (p1.X x = new p1.X()) {\n"+ //$NON-NLS-1$
+			"		}\n"+ //$NON-NLS-1$
+			"	}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	void m(p1.X x) { x.bar(); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X implements AutoCloseable {\n"+ //$NON-NLS-1$
+			"	public void close() throws java.io.IOException {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+		expectingOnlyProblemsFor(pathY);
+		expectingOnlySpecificProblemFor(pathY, new Problem("Y", "Unhandled exception type IOException thrown by automatic close() invocation on x", pathY, 53, 54, CategorizedProblem.CAT_TYPE, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// the try-with-resources statement of Y calls close() implicitly, Z does not use it
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testImplicitSuperConstructorChange() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public X() {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath pathW = env.addClass(root, "p2", "W", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class W extends p1.X {\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public interface Z {\n"+ //$NON-NLS-1$
+			"	p1.X m();\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public X(int i) {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+		expectingOnlyProblemsFor(pathW);
+		expectingOnlySpecificProblemFor(pathW, new Problem("W", "Implicit super constructor X() is undefined for default constructor. Must define an explicit constructor", pathW, 25, 26, CategorizedProblem.CAT_MEMBER, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// the default constructor of W calls X() implicitly, the interface Z has no constructor
+		expectingCompiledClasses(new String[]{"p1.X", "p2.W"}); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testThrowsClauseChange() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath pathY = env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void m(p1.X x) { x.foo(); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	void m(p1.X x) { x.bar(); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() throws java.io.IOException {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+		expectingOnlyProblemsFor(pathY);
+		expectingOnlySpecificProblemFor(pathY, new Problem("Y", "Unhandled exception type IOException", pathY, 47, 54, CategorizedProblem.CAT_TYPE, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// Z does not call foo
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testConstantChange() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public static final int C = 1;\n"+ //$NON-NLS-1$
+			"	public static final int D = 1;\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath pathY = env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void m(int i) {\n"+ //$NON-NLS-1$
+			"		switch (i) {\n"+ //$NON-NLS-1$
+			"			case p1.X.C :\n"+ //$NON-NLS-1$
+			"			case 2 :\n"+ //$NON-NLS-1$
+			"		}\n"+ //$NON-NLS-1$
+			"	}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	int m() { return p1.X.D; }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public static final int C = 2;\n"+ //$NON-NLS-1$
+			"	public static final int D = 1;\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+		expectingOnlyProblemsFor(pathY);
+		expectingOnlySpecificProblemsFor(pathY, new Problem[] {
+			new Problem("Y", "Duplicate case", pathY, 64, 75, CategorizedProblem.CAT_MEMBER, IMarker.SEVERITY_ERROR), //$NON-NLS-1$ //$NON-NLS-2$
+			new Problem("Y", "Duplicate case", pathY, 81, 87, CategorizedProblem.CAT_MEMBER, IMarker.SEVERITY_ERROR) //$NON-NLS-1$ //$NON-NLS-2$
+		});
+
+		// Z inlines the unchanged constant D
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testVarargsMethodChange() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo(String... s) {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath pathY = env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void m(p1.X x) { x.foo(\"a\", \"b\"); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	void m(p1.X x) { x.bar(); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo(String s) {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+		expectingOnlyProblemsFor(pathY);
+		expectingOnlySpecificProblemFor(pathY, new Problem("Y", "The method foo(String) in the type X is not applicable for the arguments (String, String)", pathY, 49, 52, CategorizedProblem.CAT_MEMBER, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// the call of Y with 2 arguments could use the varargs method foo, Z does not call foo
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testInnerClassConstructorChange() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public class I {\n"+ //$NON-NLS-1$
+			"		public I(int i) {}\n"+ //$NON-NLS-1$
+			"	}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath pathY = env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	Object m(p1.X x) { return x.new I(1); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public interface Z {\n"+ //$NON-NLS-1$
+			"	p1.X m();\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public class I {\n"+ //$NON-NLS-1$
+			"		public I(String s) {}\n"+ //$NON-NLS-1$
+			"	}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+		expectingOnlyProblemsFor(pathY);
+		expectingOnlySpecificProblemFor(pathY, new Problem("Y", "The constructor X.I(int) is undefined", pathY, 56, 66, CategorizedProblem.CAT_MEMBER, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// the constructors of an inner class match any number of arguments, the interface Z calls no constructor
+		expectingCompiledClasses(new String[]{"p1.X", "p1.X$I", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	public void testStaticImportOnDemandChange() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public static void foo(Object o) {}\n"+ //$NON-NLS-1$
+			"	public static void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath pathY = env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"import static p1.X.*;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void m() { foo(\"a\"); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"import static p1.X.*;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	void m() { bar(); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public static void foo(Integer i) {}\n"+ //$NON-NLS-1$
+			"	public static void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+		expectingOnlyProblemsFor(pathY);
+		expectingOnlySpecificProblemFor(pathY, new Problem("Y", "The method foo(Integer) in the type X is not applicable for the arguments (String)", pathY, 63, 66, CategorizedProblem.CAT_MEMBER, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// Z only calls bar through the same static import
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testFunctionalInterfaceChange() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "I", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public interface I {\n"+ //$NON-NLS-1$
+			"	void run();\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath pathY = env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	p1.I i = () -> {};\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	void m(p1.I i) {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "I", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public interface I {\n"+ //$NON-NLS-1$
+			"	void run(int i);\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+		expectingOnlyProblemsFor(pathY);
+		expectingOnlySpecificProblemFor(pathY, new Problem("Y", "Lambda expression's signature does not match the signature of the functional interface method run(int)", pathY, 39, 44, CategorizedProblem.CAT_TYPE, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// a lambda implements run() without referencing it, so every dependent of I is recompiled
+		expectingCompiledClasses(new String[]{"p1.I", "p2.Y", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	public void testRecordedDependencies() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath pathY = env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void m(p1.X x) { x.foo(); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	void m(p1.X x) { x.bar(); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		// Z declares a dependency on X, then the members it uses are not known
+		TestCompilationParticipant1.PARTICIPANT = new CompilationParticipant() {
+			@Override
+			public boolean isActive(IJavaProject project) {
+				return true;
+			}
+			@Override
+			public void buildStarting(BuildContext[] files, boolean isBatch) {
+				for (BuildContext file : files)
+					if (file.getFile().getName().equals("Z.java")) //$NON-NLS-1$
+						file.recordDependencies(new String[] {"p1.X"}); //$NON-NLS-1$
+			}
+		};
+		try {
+			fullBuild(projectPath);
+			expectingNoProblems();
+
+			env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p1;\n"+ //$NON-NLS-1$
+				"public class X {\n"+ //$NON-NLS-1$
+				"	public void foo(int i) {}\n"+ //$NON-NLS-1$
+				"	public void bar() {}\n"+ //$NON-NLS-1$
+				"}\n" //$NON-NLS-1$
+				);
+
+			incrementalBuild(projectPath);
+			expectingOnlyProblemsFor(pathY);
+			expectingOnlySpecificProblemFor(pathY, new Problem("Y", "The method foo(int) in the type X is not applicable for the arguments ()", pathY, 49, 52, CategorizedProblem.CAT_MEMBER, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+
+			// Z does not call foo but its dependency on X was recorded
+			expectingCompiledClasses(new String[]{"p1.X", "p2.Y", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		} finally {
+			TestCompilationParticipant1.PARTICIPANT = null;
+		}
+	}
+
 	public void testLocalTypeAddition() throws JavaModelException {
 
 		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.builder;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import junit.framework.Test;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.core.builder.AbstractImageBuilder;
+
+/**
+ * Builds compiling several groups of source files at the same time must produce the class files and problems of a
+ * build by a single compiler.
+ */
+public class ParallelBuildTests extends BuilderTests {
+
+	public ParallelBuildTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildTestSuite(ParallelBuildTests.class);
+	}
+
+	private int minUnitsPerCompiler;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.minUnitsPerCompiler = AbstractImageBuilder.MIN_UNITS_PER_COMPILER;
+		AbstractImageBuilder.MIN_UNITS_PER_COMPILER = 1;
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		AbstractImageBuilder.MIN_UNITS_PER_COMPILER = this.minUnitsPerCompiler;
+		super.tearDown();
+	}
+
+	private IPath addProject(String compilerThreads) throws Exception {
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+		env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+		setCompilerThreads(projectPath, compilerThreads);
+		return projectPath;
+	}
+
+	private void setCompilerThreads(IPath projectPath, String compilerThreads) {
+		env.getJavaProject(projectPath).setOption(JavaCore.CORE_JAVA_BUILD_COMPILER_THREADS, compilerThreads);
+	}
+
+	/*
+	 * The contents of the class files of the output folder, by path.
+	 */
+	private Map<String, byte[]> getOutput(IPath projectPath) throws CoreException {
+		Map<String, byte[]> output = new TreeMap<>();
+		env.getWorkspace().getRoot().getFolder(projectPath.append("bin")).accept(resource -> { //$NON-NLS-1$
+			if (resource.getType() == IResource.FILE && "class".equals(resource.getFileExtension())) //$NON-NLS-1$
+				output.put(resource.getProjectRelativePath().toString(), ((IFile) resource).readAllBytes());
+			return true;
+		});
+		return output;
+	}
+
+	private void expectingSameOutput(Map<String, byte[]> expected, Map<String, byte[]> actual) {
+		assertEquals("Unexpected class files", expected.keySet(), actual.keySet()); //$NON-NLS-1$
+		for (Map.Entry<String, byte[]> entry : expected.entrySet())
+			assertTrue("Different contents for " + entry.getKey(), Arrays.equals(entry.getValue(), actual.get(entry.getKey()))); //$NON-NLS-1$
+	}
+
+	private int countCompiled(String fileName) {
+		int count = 0;
+		for (String compiled : this.debugRequestor.getCompiledFiles())
+			if (compiled.endsWith(fileName))
+				count++;
+		return count;
+	}
+
+	/*
+	 * A full build forced by a classpath change compiles 3 groups at the same time. U now references a secondary type
+	 * of S, which another compiler does not see, so U is compiled again. So is E, which still cannot find its type: its
+	 * problem must be reported once.
+	 */
+	public void testBatchBuild() throws Exception {
+		IPath projectPath = addProject("3"); //$NON-NLS-1$
+		IPath root = projectPath.append("src"); //$NON-NLS-1$
+		env.addClass(root, "p", "S", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" + //$NON-NLS-1$
+			"public class S {}\n" + //$NON-NLS-1$
+			"class Secondary {}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p", "U", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" + //$NON-NLS-1$
+			"public class U {}\n" //$NON-NLS-1$
+			);
+		IPath pathToE = env.addClass(root, "p", "E", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" + //$NON-NLS-1$
+			"public class E { Missing m; }\n" //$NON-NLS-1$
+			);
+		fullBuild(projectPath);
+		expectingOnlyProblemsFor(pathToE);
+
+		env.addClass(root, "p", "U", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" + //$NON-NLS-1$
+			"public class U { Secondary s; }\n" //$NON-NLS-1$
+			);
+		env.addClassFolder(projectPath, env.addFolder(projectPath, "lib"), false); //$NON-NLS-1$
+		incrementalBuild(projectPath);
+		assertEquals("U.java not compiled again", 2, countCompiled("U.java")); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingProblemsFor(projectPath,
+			"Problem : Missing cannot be resolved to a type [ resource : </Project/src/p/E.java> range : <28,35> category : <40> severity : <2>]" //$NON-NLS-1$
+			);
+		Map<String, byte[]> output = getOutput(projectPath);
+
+		setCompilerThreads(projectPath, "1"); //$NON-NLS-1$
+		fullBuild(projectPath);
+		expectingProblemsFor(projectPath,
+			"Problem : Missing cannot be resolved to a type [ resource : </Project/src/p/E.java> range : <28,35> category : <40> severity : <2>]" //$NON-NLS-1$
+			);
+		expectingSameOutput(getOutput(projectPath), output);
+	}
+
+	/*
+	 * The dependents of a changed method are compiled by 2 compilers, C1 and C2 reference each other and must be
+	 * compiled by the same one.
+	 */
+	public void testIncrementalBuild() throws Exception {
+		IPath projectPath = addProject("2"); //$NON-NLS-1$
+		IPath root = projectPath.append("src"); //$NON-NLS-1$
+		env.addClass(root, "p", "Base", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" + //$NON-NLS-1$
+			"public class Base { public int m() { return 0; } }\n" //$NON-NLS-1$
+			);
+		for (int i = 1; i <= 4; i++)
+			env.addClass(root, "p", "A" + i, //$NON-NLS-1$ //$NON-NLS-2$
+				"package p;\n" + //$NON-NLS-1$
+				"public class A" + i + " { void foo() { new Base().m(); } }\n" //$NON-NLS-1$ //$NON-NLS-2$
+				);
+		env.addClass(root, "p", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" + //$NON-NLS-1$
+			"public class B extends A1 {}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p", "C1", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" + //$NON-NLS-1$
+			"public class C1 { C2 c; void foo() { new Base().m(); } }\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p", "C2", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" + //$NON-NLS-1$
+			"public class C2 { C1 c; void foo() { new Base().m(); } }\n" //$NON-NLS-1$
+			);
+		IPath pathToE = env.addClass(root, "p", "E", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" + //$NON-NLS-1$
+			"public class E { void foo() { new Base().m(); new Base().missing(); } }\n" //$NON-NLS-1$
+			);
+		fullBuild(projectPath);
+		expectingOnlyProblemsFor(pathToE);
+
+		env.addClass(root, "p", "Base", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" + //$NON-NLS-1$
+			"public class Base { public long m() { return 0; } }\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[] { "p.A1", "p.A2", "p.A3", "p.A4", "p.Base", "p.C1", "p.C2", "p.E" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+		expectingProblemsFor(projectPath,
+			"Problem : The method missing() is undefined for the type Base [ resource : </Project/src/p/E.java> range : <68,75> category : <50> severity : <2>]" //$NON-NLS-1$
+			);
+		Map<String, byte[]> output = getOutput(projectPath);
+
+		setCompilerThreads(projectPath, "1"); //$NON-NLS-1$
+		fullBuild(projectPath);
+		expectingProblemsFor(projectPath,
+			"Problem : The method missing() is undefined for the type Base [ resource : </Project/src/p/E.java> range : <68,75> category : <50> severity : <2>]" //$NON-NLS-1$
+			);
+		expectingSameOutput(getOutput(projectPath), output);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Sebastian Zarnekow and others.
+ * Copyright (c) 2019, 2026 Sebastian Zarnekow and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,6 @@ package org.eclipse.jdt.core.tests.builder;
 
 import static org.junit.Assert.assertArrayEquals;
 
-import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collections;
 import junit.framework.Test;
@@ -33,46 +32,10 @@ public class ReferenceCollectionTest extends BuilderTests {
 	}
 
 	private static class TestableReferenceCollection extends ReferenceCollection {
-		/*
-		    Make the package visible fields reflectively available for testing
-			char[][][] qualifiedNameReferences;
-			char[][] simpleNameReferences;
-			char[][] rootReferences;
-		 */
 		protected TestableReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences,
 				char[][] rootReferences) {
 			super(qualifiedNameReferences, simpleNameReferences, rootReferences);
 		}
-
-		char[][][] getQualifiedNameReferences() {
-			try {
-				Field fld = ReferenceCollection.class.getDeclaredField("qualifiedNameReferences");
-				fld.setAccessible(true);
-				return (char[][][]) fld.get(this);
-			} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-				throw new RuntimeException(e);
-			}
-		}
-
-		char[][] getSimpleNameReferences() {
-			try {
-				Field fld = ReferenceCollection.class.getDeclaredField("simpleNameReferences");
-				fld.setAccessible(true);
-				return (char[][]) fld.get(this);
-			} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-				throw new RuntimeException(e);
-			}
-		}
-
-		char[][] getRootReferences() {
-			try {
-				Field fld = ReferenceCollection.class.getDeclaredField("rootReferences");
-				fld.setAccessible(true);
-				return (char[][]) fld.get(this);
-			} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-				throw new RuntimeException(e);
-			}
-		}
 	}
 
 	public void testInternQualifiedNamesSorts_01() {
@@ -215,6 +178,18 @@ public class ReferenceCollectionTest extends BuilderTests {
 		}
 	}
 
+	public void testIncludesQueryWithManyNames() {
+		char[][] simpleNames = new char[100][];
+		for (int i = 0; i < simpleNames.length; i++) {
+			simpleNames[i] = ("Name" + i).toCharArray();
+		}
+		ReferenceCollection collection = new TestableReferenceCollection(null, new char[][] { simpleNames[50] }, null);
+		ReferenceCollection other = new TestableReferenceCollection(null, new char[][] { "Other".toCharArray() }, null);
+		ReferenceCollection.Query query = ReferenceCollection.query(null, simpleNames, null);
+		assertTrue(collection.includes(query));
+		assertFalse(other.includes(query));
+	}
+
 	public void testIncludes01() {
 		TestableReferenceCollection refColl = new TestableReferenceCollection(null, null, null);
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Sebastian Zarnekow and others.
+ * Copyright (c) 2019, 2026 Sebastian Zarnekow and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,7 +20,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +42,7 @@ import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.JavaModelManager.PerProjectInfo;
 import org.eclipse.jdt.internal.core.builder.ClasspathLocation;
+import org.eclipse.jdt.internal.core.builder.DependencyIndex;
 import org.eclipse.jdt.internal.core.builder.JavaBuilder;
 import org.eclipse.jdt.internal.core.builder.ReferenceCollection;
 import org.eclipse.jdt.internal.core.builder.State;
@@ -253,6 +253,10 @@ public class StateTest extends BuilderTests {
 		JavaBuilder.writeState(savedState, new DataOutputStream(outputStream));
 		byte[] bytes = outputStream.toByteArray();
 		State readState = JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(bytes)));
+		// the sections which were not decoded are written as they were read
+		ByteArrayOutputStream rewrittenStream = new ByteArrayOutputStream();
+		JavaBuilder.writeState(readState, new DataOutputStream(rewrittenStream));
+		assertTrue("rewritten state differs", Arrays.equals(bytes, rewrittenStream.toByteArray()));
 		assertArrayEquals(savedState.binaryLocations, readState.binaryLocations);
 		// beyond this point we know that both arrays have the same length
 		for (int i=0; i < savedState.binaryLocations.length; i++) {
@@ -274,7 +278,9 @@ public class StateTest extends BuilderTests {
 		State readState = JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(bytes)));
 		Map<String, ReferenceCollection> readReferences = readState.getReferences();
 		assertEqualLookupTables(savedState.getReferences(), readReferences);
-		assertEqualTypeLocators(savedState.typeLocators, readState.typeLocators);
+		assertEqualTypeLocators(savedState.getTypeLocators(), readState.getTypeLocators());
+		assertEquals(new DependencyIndex(savedState.getReferences()), savedState.getDependencyIndex());
+		assertEquals(savedState.getDependencyIndex(), readState.getDependencyIndex());
 
 		assertEquals(readState, savedState);
 	}
@@ -298,18 +304,18 @@ public class StateTest extends BuilderTests {
 	private void assertEqualReferenceCollections(ReferenceCollection expectedReferenceCollection,
 			ReferenceCollection actualReferenceCollection) {
 		{
-			char[][] expected = getSimpleNameReferences(expectedReferenceCollection);
-			char[][] actual = getSimpleNameReferences(actualReferenceCollection);
+			char[][] expected = expectedReferenceCollection.getSimpleNameReferences();
+			char[][] actual = actualReferenceCollection.getSimpleNameReferences();
 			assertArrayEquals(toStringArray(expected), toStringArray(actual));
 		}
 		{
-			char[][] expected = getRootReferences(expectedReferenceCollection);
-			char[][] actual = getRootReferences(actualReferenceCollection);
+			char[][] expected = expectedReferenceCollection.getRootReferences();
+			char[][] actual = actualReferenceCollection.getRootReferences();
 			assertArrayEquals(toStringArray(expected), toStringArray(actual));
 		}
 		{
-			char[][][] expected = getQualifiedNameReferences(expectedReferenceCollection);
-			char[][][] actual = getQualifiedNameReferences(actualReferenceCollection);
+			char[][][] expected = expectedReferenceCollection.getQualifiedNameReferences();
+			char[][][] actual = actualReferenceCollection.getQualifiedNameReferences();
 			assertArrayEquals(toStringArray(expected), toStringArray(actual));
 		}
 	}
@@ -322,34 +328,4 @@ public class StateTest extends BuilderTests {
 		return Arrays.stream(qualifiedNameReferences).map(CharOperation::charToString).toArray(String[]::new);
 	}
 
-	char[][][] getQualifiedNameReferences(ReferenceCollection collection) {
-		try {
-			Field fld = ReferenceCollection.class.getDeclaredField("qualifiedNameReferences");
-			fld.setAccessible(true);
-			return (char[][][]) fld.get(collection);
-		} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-			throw new RuntimeException(e);
-		}
-	}
-
-	char[][] getSimpleNameReferences(ReferenceCollection collection) {
-		try {
-			Field fld = ReferenceCollection.class.getDeclaredField("simpleNameReferences");
-			fld.setAccessible(true);
-			return (char[][]) fld.get(collection);
-		} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-			throw new RuntimeException(e);
-		}
-	}
-
-	char[][] getRootReferences(ReferenceCollection collection) {
-		try {
-			Field fld = ReferenceCollection.class.getDeclaredField("rootReferences");
-			fld.setAccessible(true);
-			return (char[][]) fld.get(collection);
-		} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-			throw new RuntimeException(e);
-		}
-	}
-
 }
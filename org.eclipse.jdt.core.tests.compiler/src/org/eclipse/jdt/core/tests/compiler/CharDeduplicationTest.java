@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 jkubitz and others.
+ * Copyright (c) 2021, 2026 jkubitz and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -173,6 +173,33 @@ public class CharDeduplicationTest extends TestCase {
 		executor.shutdownNow();
 	}
 
+	public void testDeduplicationAcrossThreads() throws Exception {
+		// more names than fit into a thread local table:
+		String[] names = IntStream.range(0, CharDeduplication.TABLE_SIZE * 2).mapToObj(i -> "name" + i)
+				.toArray(String[]::new);
+		char[][] expecteds = new char[names.length][];
+		for (int i = 0; i < names.length; i++) {
+			expecteds[i] = CharDeduplication.intern(names[i].toCharArray());
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			FutureTask<char[][]> task = new FutureTask<>(() -> {
+				char[][] actuals = new char[names.length][];
+				for (int i = 0; i < names.length; i++) {
+					actuals[i] = CharDeduplication.intern(names[i].toCharArray());
+				}
+				return actuals;
+			});
+			executor.submit(task);
+			char[][] actuals = task.get();
+			for (int i = 0; i < names.length; i++) {
+				assertSame(names[i], expecteds[i], actuals[i]);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	private void assertDeduplication(String string) {
 		assertDedup(string, true, 0, string.length());
 	}
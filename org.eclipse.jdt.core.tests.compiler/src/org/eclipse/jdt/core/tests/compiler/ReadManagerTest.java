@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.compiler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.tests.junit.extension.TestCase;
+import org.eclipse.jdt.internal.compiler.ReadManager;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+
+public class ReadManagerTest extends TestCase {
+
+	public ReadManagerTest(String testName) {
+		super(testName);
+	}
+
+	public static Test suite() {
+		TestSuite suite = new TestSuite(ReadManagerTest.class.getPackageName());
+		suite.addTest(new TestSuite(ReadManagerTest.class));
+		return suite;
+	}
+
+	/**
+	 * A unit whose contents are created when read, counting the units read but not yet consumed.
+	 */
+	static class Unit implements ICompilationUnit {
+		private final int index;
+		private final int length;
+		private final long delay; // in ms
+		private final AtomicInteger ahead;
+		private final AtomicInteger maxAhead;
+
+		Unit(int index, int length, long delay, AtomicInteger ahead, AtomicInteger maxAhead) {
+			this.index = index;
+			this.length = length;
+			this.delay = delay;
+			this.ahead = ahead;
+			this.maxAhead = maxAhead;
+		}
+
+		@Override
+		public char[] getContents() {
+			this.maxAhead.accumulateAndGet(this.ahead.incrementAndGet(), Math::max);
+			sleep(this.delay);
+			return new char[this.length];
+		}
+
+		@Override
+		public char[] getFileName() {
+			return ("U" + this.index + ".java").toCharArray(); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		@Override
+		public char[] getMainTypeName() {
+			return ("U" + this.index).toCharArray(); //$NON-NLS-1$
+		}
+
+		@Override
+		public char[][] getPackageName() {
+			return CharOperation.NO_CHAR_CHAR;
+		}
+	}
+
+	static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static Unit[] units(int count, int length, long delay, AtomicInteger ahead, AtomicInteger maxAhead) {
+		Unit[] units = new Unit[count];
+		for (int i = 0; i < count; i++)
+			units[i] = new Unit(i, length, delay, ahead, maxAhead);
+		return units;
+	}
+
+	/*
+	 * Large units are read ahead until the budget is used, exceeding it by one unit at most.
+	 */
+	public void testReadAheadBudget() {
+		AtomicInteger ahead = new AtomicInteger();
+		AtomicInteger maxAhead = new AtomicInteger();
+		int length = 1 << 20; // 2MB each
+		long budget = 5 << 20;
+		Unit[] units = units(12, length, 0, ahead, maxAhead);
+		ReadManager readManager = new ReadManager(units, units.length, null, budget);
+		try {
+			for (Unit unit : units) {
+				sleep(50); // let the readers go ahead
+				assertEquals(length, readManager.getContents(unit).length);
+				ahead.decrementAndGet();
+			}
+		} finally {
+			readManager.shutdown();
+		}
+		// one unit beyond the budget, plus the unit just handed to the compiler
+		assertTrue("budget exceeded: " + maxAhead.get() + " units ahead", maxAhead.get() <= budget / (2 * length) + 2);
+	}
+
+	/*
+	 * Tiny units are not read ahead without limit.
+	 */
+	public void testReadAheadUnitCount() {
+		AtomicInteger ahead = new AtomicInteger();
+		AtomicInteger maxAhead = new AtomicInteger();
+		Unit[] units = units(1500, 1, 0, ahead, maxAhead);
+		ReadManager readManager = new ReadManager(units, units.length, null, Long.MAX_VALUE / 4);
+		try {
+			sleep(500);
+			for (Unit unit : units) {
+				readManager.getContents(unit);
+				ahead.decrementAndGet();
+			}
+		} finally {
+			readManager.shutdown();
+		}
+		// at most 1000 units ahead, plus the unit just handed to the compiler
+		assertTrue("too many units ahead: " + maxAhead.get(), maxAhead.get() <= 1000 + 1);
+		if (ReadManager.getReaderCount() > 0)
+			assertTrue("not read ahead", maxAhead.get() > 1);
+	}
+
+	/*
+	 * Readers are added while the compiler waits for them, the time waited is recorded and the added readers are
+	 * given back at the end.
+	 */
+	public void testReaderGrowth() {
+		int initialReaders = ReadManager.getInitialReaderCount();
+		if (initialReaders == 0)
+			return; // no read ahead on this machine
+		AtomicInteger ahead = new AtomicInteger();
+		AtomicInteger maxAhead = new AtomicInteger();
+		Unit[] units = units(20, 10, 20, ahead, maxAhead);
+		CompilerStats stats = new CompilerStats();
+		ReadManager readManager = new ReadManager(units, units.length, stats);
+		int grownReaders;
+		try {
+			for (Unit unit : units) {
+				readManager.getContents(unit);
+				ahead.decrementAndGet();
+			}
+			grownReaders = ReadManager.getReaderCount();
+		} finally {
+			readManager.shutdown();
+		}
+		int maxReaders = Math.min(15, Runtime.getRuntime().availableProcessors() - 2);
+		assertTrue("no reader added", grownReaders > initialReaders || initialReaders == maxReaders);
+		assertEquals("readers not given back", initialReaders, ReadManager.getReaderCount());
+		assertTrue("no read stall recorded", stats.readStallTime > 0);
+	}
+}
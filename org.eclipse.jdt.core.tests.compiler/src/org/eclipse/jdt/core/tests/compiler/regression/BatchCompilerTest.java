@@ -44,17 +44,24 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.text.MessageFormat;
+import java.time.LocalDateTime;
 import java.util.Iterator;
 import java.util.List;
+import java.util.zip.ZipFile;
 import javax.lang.model.SourceVersion;
 import junit.framework.Test;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.tests.util.AbstractCompilerTest;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.ParsedUnitCache;
+import org.eclipse.jdt.internal.compiler.ProcessGroupManager;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathDirectory;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathJar;
+import org.eclipse.jdt.internal.compiler.batch.ClasspathJarCache;
+import org.eclipse.jdt.internal.compiler.batch.CompileServer;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
 import org.eclipse.jdt.internal.compiler.batch.Main;
@@ -62,6 +69,7 @@ import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.util.JRTUtil;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
 
 @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -638,6 +646,8 @@ public void test012(){
         "                       created); this option can be overridden per source\n" +
         "                       directory\n" +
         "    -d none            generate no .class files\n" +
+        "    -archive <file>    write .class files into the given jar or zip archive\n" +
+        "                       instead of a destination directory\n" +
         "    -encoding <enc>    specify default encoding for all source files. Each\n" +
         "                       file/directory can override it when suffixed with\n" +
         "                       ''[''<enc>'']'' (e.g. X.java[utf8]).\n" +
@@ -757,9 +767,15 @@ public void test012(){
         "    -referenceInfo     compute reference info\n" +
         "    -progress          show progress (only in -log mode)\n" +
         "    -time              display speed information \n" +
+        "    -stats:json <file> write per unit and per phase timings to <file> as JSON\n" +
         "    -noExit            do not call System.exit(n) at end of compilation (n==0\n" +
         "                       if no error)\n" +
         "    -repeat <n>        repeat compilation process <n> times for perf analysis\n" +
+        "    -parallel <n>      compile source files on <n> worker threads (1 by default)\n" +
+        "    -writers <n>       write class files on <n> background threads\n" +
+        "    -incremental <file>\n" +
+        "                       only recompile the changed source files and their\n" +
+        "                       dependents, keeping the build state in <file>\n" +
         "    -enableJavadoc     consider references in javadoc\n" +
         "    -parameters        generate method parameters attribute (for target >= 1.8)\n" +
         "    -genericsignature  generate generic signature for lambda expressions\n" +
@@ -13161,4 +13177,438 @@ public void testGH2434(){
         "",
         true);
 }
+// -parallel parses the units on worker threads, problems must still be reported in unit order
+public void testParallel() {
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	Y y;\n" +
+			"	void foo() { Zork z; }\n" +
+			"}",
+			"Y.java",
+			"public class Y {\n" +
+			"	X x;\n" +
+			"	void bar() { int i = \"\" }\n" +
+			"}",
+			"Z.java",
+			"public class Z {\n" +
+			"	X x; Y y;\n" +
+			"}",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "Y.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "Z.java\""
+		+ " -1.8 -parallel 2 -proc:none -d \"" + OUTPUT_DIR + "\"",
+		"",
+		"----------\n" +
+		"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 3)\n" +
+		"	void foo() { Zork z; }\n" +
+		"	             ^^^^\n" +
+		"Zork cannot be resolved to a type\n" +
+		"----------\n" +
+		"----------\n" +
+		"2. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/Y.java (at line 3)\n" +
+		"	void bar() { int i = \"\" }\n" +
+		"	                     ^^\n" +
+		"Syntax error, insert \";\" to complete BlockStatements\n" +
+		"----------\n" +
+		"2 problems (2 errors)\n",
+		true);
+}
+// -parallel compiles the packages p and q on 2 compilers, which see the types of each other
+public void testParallelGroups() {
+	int minUnitsPerGroup = ProcessGroupManager.MIN_UNITS_PER_GROUP;
+	ProcessGroupManager.MIN_UNITS_PER_GROUP = 1;
+	try {
+		this.runNegativeTest(
+			new String[] {
+				"p/X.java",
+				"package p;\n" +
+				"public class X {\n" +
+				"	q.Y y;\n" +
+				"	Helper h;\n" +
+				"	void foo() { Zork z; }\n" +
+				"}\n" +
+				"class Helper {}",
+				"q/Y.java",
+				"package q;\n" +
+				"public class Y {\n" +
+				"	public p.X x;\n" +
+				"	void bar() { x.foo(); }\n" +
+				"}",
+				"p/Z.java",
+				"package p;\n" +
+				"public class Z extends X {\n" +
+				"	Helper h2;\n" +
+				"}",
+				"q/W.java",
+				"package q;\n" +
+				"public class W extends Y {\n" +
+				"	void baz() { bar(); undefined(); }\n" +
+				"}",
+			},
+			"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+			+ " \"" + OUTPUT_DIR +  File.separator + "q" + File.separator + "Y.java\""
+			+ " \"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "Z.java\""
+			+ " \"" + OUTPUT_DIR +  File.separator + "q" + File.separator + "W.java\""
+			+ " -11 -parallel 2 -proc:none -proceedOnError -d \"" + OUTPUT_DIR + File.separator + "bin\"",
+			"",
+			"----------\n" +
+			"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/p/X.java (at line 5)\n" +
+			"	void foo() { Zork z; }\n" +
+			"	             ^^^^\n" +
+			"Zork cannot be resolved to a type\n" +
+			"----------\n" +
+			"----------\n" +
+			"2. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/q/Y.java (at line 4)\n" +
+			"	void bar() { x.foo(); }\n" +
+			"	               ^^^\n" +
+			"The method foo() from the type X is not visible\n" +
+			"----------\n" +
+			"----------\n" +
+			"3. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/q/W.java (at line 3)\n" +
+			"	void baz() { bar(); undefined(); }\n" +
+			"	                    ^^^^^^^^^\n" +
+			"The method undefined() is undefined for the type W\n" +
+			"----------\n" +
+			"3 problems (3 errors)\n",
+			true);
+	} finally {
+		ProcessGroupManager.MIN_UNITS_PER_GROUP = minUnitsPerGroup;
+	}
+	String[] classFiles = { "p" + File.separator + "X.class", "p" + File.separator + "Helper.class", "p" + File.separator + "Z.class",
+			"q" + File.separator + "Y.class", "q" + File.separator + "W.class" };
+	for (String classFile : classFiles) {
+		String fileName = OUTPUT_DIR + File.separator + "bin" + File.separator + classFile;
+		assertTrue("missing file: " + fileName, (new File(fileName)).exists());
+	}
+}
+// -writers writes the class files on background threads
+public void testWriters() {
+	this.runConformTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	class M {}\n" +
+			"}",
+			"q/Y.java",
+			"package q;\n" +
+			"public class Y extends p.X {}",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "q" + File.separator + "Y.java\""
+		+ " -1.8 -writers 2 -proc:none -d \"" + OUTPUT_DIR + File.separator + "bin\"",
+		"",
+		"",
+		true);
+	String[] classFiles = { "p" + File.separator + "X.class", "p" + File.separator + "X$M.class", "q" + File.separator + "Y.class" };
+	for (String classFile : classFiles) {
+		String fileName = OUTPUT_DIR + File.separator + "bin" + File.separator + classFile;
+		assertTrue("missing file: " + fileName, (new File(fileName)).exists());
+	}
+}
+// -archive writes the class files into that archive, sorted by name and with a constant time
+public void testJarDestination() throws IOException {
+	String jarName = OUTPUT_DIR + File.separator + "out" + File.separator + "classes.jar";
+	this.runConformTest(
+		new String[] {
+			"q/Y.java",
+			"package q;\n" +
+			"public class Y extends p.X {}",
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	class M {}\n" +
+			"}",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "q" + File.separator + "Y.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " -1.8 -proc:none -writers 2 -archive \"" + jarName + "\"",
+		"",
+		"",
+		true);
+	assertTrue("missing archive: " + jarName, new File(jarName).isFile());
+	try (ZipFile zipFile = new ZipFile(jarName)) {
+		StringBuilder entries = new StringBuilder();
+		zipFile.stream().forEach(entry -> {
+			entries.append(entry.getName()).append('\n');
+			assertEquals("unexpected time of " + entry.getName(), LocalDateTime.of(1980, 1, 1, 0, 0), entry.getTimeLocal());
+		});
+		assertEquals("unexpected entries",
+			"p/X$M.class\n" +
+			"p/X.class\n" +
+			"q/Y.class\n",
+			entries.toString());
+	}
+}
+// -d with a jar name still designates a destination directory
+public void testJarNamedDestinationDirectory() {
+	String directoryName = OUTPUT_DIR + File.separator + "classes.jar";
+	this.runConformTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {}",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " -1.8 -proc:none -d \"" + directoryName + "\"",
+		"",
+		"",
+		true);
+	String fileName = directoryName + File.separator + "p" + File.separator + "X.class";
+	assertTrue("missing file: " + fileName, new File(fileName).isFile());
+}
+// -stats:json writes the per unit timings as a JSON report
+public void testStatsJson() throws IOException {
+	String reportName = OUTPUT_DIR + File.separator + "stats.json";
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"public class X {}",
+			"Y.java",
+			"public class Y extends X {}",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "Y.java\""
+		+ " -1.8 -proc:none -stats:json \"" + reportName + "\" -d \"" + OUTPUT_DIR + "\"",
+		"",
+		"",
+		true);
+	String report = Util.fileContent(reportName);
+	assertTrue("missing overall time", report.contains("\"overallTime\": "));
+	assertTrue("missing unit X", report.contains("X.java\", \"parseTime\": "));
+	assertTrue("missing unit Y", report.contains("Y.java\", \"parseTime\": "));
+	assertTrue("missing slowest units", report.contains("\"slowestUnits\": ["));
+	assertTrue("missing read stall time", report.contains("\"readStallTime\": "));
+}
+// invocations of the same shape share the method found within their unit, invisible methods are looked up every time
+public void testStatsJson_methodLookups() throws IOException {
+	String reportName = OUTPUT_DIR + File.separator + "stats.json";
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	private void foo(String s) {}\n" +
+			"	String s(StringBuilder b) {\n" +
+			"		return b.append(\"a\").append(\"b\").toString() + b.append(\"c\");\n" +
+			"	}\n" +
+			"	class M {\n" +
+			"		void bar(X x) { x.foo(\"\"); x.foo(\"\"); }\n" +
+			"	}\n" +
+			"}\n" +
+			"class Y {\n" +
+			"	void bar(X x) { x.foo(\"\"); x.foo(\"\"); }\n" +
+			"}",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.8 -proc:none -stats:json \"" + reportName + "\" -d \"" + OUTPUT_DIR + "\"",
+		"",
+		"----------\n" +
+		"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 11)\n" +
+		"	void bar(X x) { x.foo(\"\"); x.foo(\"\"); }\n" +
+		"	                  ^^^\n" +
+		"The method foo(String) from the type X is not visible\n" +
+		"----------\n" +
+		"2. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 11)\n" +
+		"	void bar(X x) { x.foo(\"\"); x.foo(\"\"); }\n" +
+		"	                             ^^^\n" +
+		"The method foo(String) from the type X is not visible\n" +
+		"----------\n" +
+		"2 problems (2 errors)\n",
+		true);
+	String report = Util.fileContent(reportName);
+	assertTrue("unexpected hits: " + report, report.contains("\"methodLookupHits\": 3,"));
+	assertTrue("unexpected misses: " + report, report.contains("\"methodLookupMisses\": 5,"));
+}
+public void testCompileServer() throws IOException {
+	String libPath = OUTPUT_DIR + File.separator + "lib.jar";
+	Util.createJar(
+		new String[] {
+			"p/A.java",
+			"package p;\n" +
+			"public class A {\n" +
+			"}",
+		},
+		libPath,
+		JavaCore.VERSION_1_8);
+	Util.createFile(OUTPUT_DIR + File.separator + "X.java",
+		"public class X {\n" +
+		"	void foo(p.A a) { a.bar(); }\n" +
+		"}");
+	String commandLine = "\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.8 -proc:none -nowarn -cp \"" + libPath + "\" -d \"" + OUTPUT_DIR + "\"";
+	try (CompileServer server = new CompileServer()) {
+		String first = server.compile(Main.tokenize(commandLine));
+		assertTrue("unexpected answer: " + first, first.endsWith(CompileServer.EXIT + "-1" + System.lineSeparator()));
+		assertTrue("missing problem: " + first, first.contains("The method bar() is undefined for the type A"));
+		assertEquals("jar not kept open", 1, ClasspathJarCache.getShared().size());
+		assertEquals("different answer with a warm compiler", first, server.compile(Main.tokenize(commandLine)));
+
+		// a changed jar must be read again
+		Util.createJar(
+			new String[] {
+				"p/A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"	public void bar() {}\n" +
+				"}",
+			},
+			libPath,
+			JavaCore.VERSION_1_8);
+		String third = server.compile(Main.tokenize(commandLine));
+		assertEquals("stale jar contents", CompileServer.EXIT + "0" + System.lineSeparator(), third);
+		assertTrue("missing class file", new File(OUTPUT_DIR + File.separator + "X.class").exists());
+	}
+	assertNull("jar still open", ClasspathJarCache.getShared());
+}
+// a compile server answers unchanged units from the parsed unit cache, and parses changed units again
+public void testCompileServer_parsedUnitCache() throws IOException, InterruptedException {
+	Util.createFile(OUTPUT_DIR + File.separator + "X.java",
+		"public class X {\n" +
+		"	void foo() { bar(); }\n" +
+		"}");
+	String commandLine = "\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.8 -proc:none -nowarn -d \"" + OUTPUT_DIR + "\"";
+	try (CompileServer server = new CompileServer()) {
+		ParsedUnitCache cache = ParsedUnitCache.getShared();
+		String first = server.compile(Main.tokenize(commandLine));
+		assertTrue("missing problem: " + first, first.contains("The method bar() is undefined for the type X"));
+		cache.waitForRefill();
+		assertEquals("different answer with a parsed unit", first, server.compile(Main.tokenize(commandLine)));
+		assertEquals("unit not answered from the cache", 1, cache.getHits());
+
+		Util.createFile(OUTPUT_DIR + File.separator + "X.java",
+			"public class X {\n" +
+			"	void foo() { bar(); }\n" +
+			"	void bar() {}\n" +
+			"}");
+		cache.waitForRefill();
+		String third = server.compile(Main.tokenize(commandLine));
+		assertEquals("stale parsed unit", CompileServer.EXIT + "0" + System.lineSeparator(), third);
+		assertEquals("changed unit answered from the cache", 1, cache.getHits());
+		assertEquals("unexpected misses", 2, cache.getMisses());
+
+		cache.waitForRefill();
+		String fourth = server.compile(Main.tokenize(commandLine + " -time"));
+		assertTrue("missing cache statistics: " + fourth, fourth.contains("[parse: 1 of 1 units (100%) reused from a previous compilation]"));
+	}
+	assertNull("parsed units still kept", ParsedUnitCache.getShared());
+}
+// closing a compile server restores whether the class files of the JDK are shared
+public void testCompileServer_sharedClassfiles() {
+	boolean sharing = JRTUtil.isSharingClassfiles();
+	try {
+		JRTUtil.setShareClassfiles(true);
+		try (CompileServer server = new CompileServer()) {
+			assertTrue("class files not shared", JRTUtil.isSharingClassfiles());
+		}
+		assertTrue("class files no longer shared", JRTUtil.isSharingClassfiles());
+
+		JRTUtil.setShareClassfiles(false);
+		try (CompileServer server = new CompileServer()) {
+			assertTrue("class files not shared", JRTUtil.isSharingClassfiles());
+		}
+		assertFalse("class files still shared", JRTUtil.isSharingClassfiles());
+	} finally {
+		JRTUtil.setShareClassfiles(sharing);
+	}
+}
+// -incremental only recompiles the changed units and the units depending on structurally changed types
+public void testIncremental() throws IOException {
+	String xFile = OUTPUT_DIR + File.separator + "p" + File.separator + "X.java";
+	Util.createFile(xFile,
+		"package p;\n" +
+		"public class X {\n" +
+		"	public int foo() { return 1; }\n" +
+		"}");
+	Util.createFile(OUTPUT_DIR + File.separator + "p" + File.separator + "Y.java",
+		"package p;\n" +
+		"public class Y {\n" +
+		"	int bar() { return new X().foo(); }\n" +
+		"}");
+	Util.createFile(OUTPUT_DIR + File.separator + "p" + File.separator + "Z.java",
+		"package p;\n" +
+		"public class Z {}");
+	String commandLine = "\"" + OUTPUT_DIR + File.separator + "p\""
+		+ " -1.8 -proc:none -verbose -d \"" + OUTPUT_DIR + File.separator + "bin\""
+		+ " -incremental \"" + OUTPUT_DIR + File.separator + "state.bin\"";
+	String first = compileIncrementally(commandLine);
+	assertTrue("X not compiled: " + first, wrote(first, "X"));
+	assertTrue("Y not compiled: " + first, wrote(first, "Y"));
+	assertTrue("Z not compiled: " + first, wrote(first, "Z"));
+	String unchanged = compileIncrementally(commandLine);
+	assertFalse("unexpected compilation: " + unchanged, unchanged.contains("[writing"));
+
+	// a change of a method body does not affect the dependents of X
+	Util.createFile(xFile,
+		"package p;\n" +
+		"public class X {\n" +
+		"	public int foo() { return 12; }\n" +
+		"}");
+	String second = compileIncrementally(commandLine);
+	assertTrue("X not compiled: " + second, wrote(second, "X"));
+	assertFalse("Y compiled: " + second, wrote(second, "Y"));
+	assertFalse("Z compiled: " + second, wrote(second, "Z"));
+
+	// a changed signature does
+	Util.createFile(xFile,
+		"package p;\n" +
+		"public class X {\n" +
+		"	public int foo(int i) { return i; }\n" +
+		"}");
+	String third = compileIncrementally(commandLine);
+	assertTrue("X not compiled: " + third, wrote(third, "X"));
+	assertTrue("Y not compiled: " + third, third.contains("The method foo(int) in the type X is not applicable for the arguments ()"));
+	assertFalse("Z compiled: " + third, wrote(third, "Z"));
+
+	// a deleted class file is written again
+	new File(OUTPUT_DIR + File.separator + "bin" + File.separator + "p" + File.separator + "Z.class").delete();
+	String fourth = compileIncrementally(commandLine);
+	assertTrue("Z not compiled: " + fourth, wrote(fourth, "Z"));
+	assertFalse("X compiled: " + fourth, wrote(fourth, "X"));
+}
+private static boolean wrote(String verboseOutput, String typeName) {
+	return verboseOutput.contains(File.separator + typeName + ".class - #");
+}
+private String compileIncrementally(String commandLine) {
+	StringWriter out = new StringWriter();
+	StringWriter err = new StringWriter();
+	try (PrintWriter outWriter = new PrintWriter(out); PrintWriter errWriter = new PrintWriter(err)) {
+		new Main(outWriter, errWriter, false/*systemExit*/, null/*options*/, null/*progress*/).compile(Main.tokenize(commandLine));
+	}
+	return out.toString() + err.toString();
+}
+public void testPackageFilters() throws IOException {
+	String lib1Path = OUTPUT_DIR + File.separator + "lib1.jar";
+	String lib2Path = OUTPUT_DIR + File.separator + "lib2.jar";
+	Util.createJar(
+		new String[] {
+			"p/A.java",
+			"package p;\n" +
+			"public class A {}",
+		},
+		lib1Path,
+		JavaCore.VERSION_1_8);
+	Util.createJar(
+		new String[] {
+			"q/B.java",
+			"package q;\n" +
+			"public class B {}",
+		},
+		lib2Path,
+		JavaCore.VERSION_1_8);
+	FileSystem environment = new FileSystem(new String[] { lib1Path, lib2Path }, null, null);
+	try {
+		assertNotNull("q.B not found", environment.findType(new char[][] { "q".toCharArray(), "B".toCharArray() }));
+		assertEquals("lib1.jar should not be searched for package q", 1, environment.getSavedProbeCount());
+		assertNull("r.C found", environment.findType(new char[][] { "r".toCharArray(), "C".toCharArray() }));
+		assertEquals("no jar should be searched for package r", 3, environment.getSavedProbeCount());
+		assertNotNull("p.A not found", environment.findType(new char[][] { "p".toCharArray(), "A".toCharArray() }));
+		assertEquals("lib2.jar should not be searched for package p", 4, environment.getSavedProbeCount());
+	} finally {
+		environment.cleanup();
+	}
+}
 }
\ No newline at end of file
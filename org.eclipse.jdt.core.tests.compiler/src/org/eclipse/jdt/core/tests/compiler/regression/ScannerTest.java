@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.compiler.regression;
 
+import java.lang.reflect.Field;
+import java.util.Arrays;
 import junit.framework.Test;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.ToolFactory;
@@ -1867,4 +1869,121 @@ public class ScannerTest extends AbstractRegressionTest {
 		assertTrue(TerminalTokens.getRestrictedKeyword("When".toCharArray()) == TerminalTokens.TokenNameNotAToken);
 		assertTrue(TerminalTokens.getRestrictedKeyword("blah".toCharArray()) == TerminalTokens.TokenNameNotAToken);
 	}
+
+	/*
+	 * Scans the whole source with or without the ascii fast path and describes the tokens, the comments, the task
+	 * tags and the line ends found.
+	 */
+	private String scanAll(String source, boolean useAsciiFastPath, boolean tokenize) throws InvalidInputException {
+		Scanner scanner = new Scanner(tokenize, tokenize, false, ClassFileConstants.JDK17,
+				new char[][] { "TODO".toCharArray() }, new char[][] { "NORMAL".toCharArray() }, true);
+		scanner.useAsciiFastPath = useAsciiFastPath;
+		scanner.recordLineSeparator = true;
+		scanner.setSource(source.toCharArray());
+		StringBuilder description = new StringBuilder();
+		int token;
+		while ((token = scanner.getNextToken()) != TerminalTokens.TokenNameEOF) {
+			description.append(token).append(' ')
+				.append(scanner.getCurrentTokenStartPosition()).append('-').append(scanner.getCurrentTokenEndPosition())
+				.append(' ').append(scanner.getCurrentTokenSource()).append('\n');
+		}
+		for (int i = 0; i <= scanner.commentPtr; i++)
+			description.append("comment ").append(scanner.commentStarts[i]).append('-').append(scanner.commentStops[i]).append('\n');
+		for (int i = 0; i < scanner.foundTaskCount; i++)
+			description.append("task ").append(scanner.foundTaskMessages[i]).append(' ')
+				.append(scanner.foundTaskPositions[i][0]).append('-').append(scanner.foundTaskPositions[i][1]).append('\n');
+		return description.append("lines ").append(Arrays.toString(scanner.getLineEnds())).toString();
+	}
+
+	/*
+	 * The ascii fast path must be taken (or not) and find what the character by character scanning finds.
+	 */
+	private void checkAsciiFastPath(String source, boolean expectingFastPath) throws Exception {
+		Scanner scanner = new Scanner();
+		scanner.setSource(source.toCharArray());
+		Field asciiOnly = Scanner.class.getDeclaredField("asciiOnly");
+		asciiOnly.setAccessible(true);
+		assertEquals("Unexpected path", expectingFastPath, asciiOnly.getBoolean(scanner));
+		assertEquals("Different tokens", scanAll(source, false, true), scanAll(source, true, true));
+		assertEquals("Different tokens without comments", scanAll(source, false, false), scanAll(source, true, false));
+	}
+
+	public void testAsciiFastPath_comments() throws Exception {
+		checkAsciiFastPath(
+			"/** javadoc\n" +
+			" * @param x */\n" +
+			"class X { // line comment TODO first\n" +
+			"	/* block ** comment * / still */ int i; /**/ /***/\r\n" +
+			"	/* TODO second\r" +
+			"	 */ int j; //\n" +
+			"	// unterminated at the end",
+			true);
+	}
+
+	public void testAsciiFastPath_identifiers() throws Exception {
+		checkAsciiFastPath(
+			"class X$1 extends _Y implements a.b.C, D123 {\n" +
+			"	int i, $, _1, abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789;\n" +
+			"	void foo() { return;while(i)i++; }\n" +
+			"	var record = yield;\n" +
+			"}",
+			true);
+	}
+
+	public void testAsciiFastPath_strings() throws Exception {
+		checkAsciiFastPath(
+			"class X {\n" +
+			"	String s = \"// not a comment /* neither */\";\n" +
+			"	String t = \"escapes \\\" \\\\ \\n \\t \\101\" + 'c' + '\\'' + \"\";\n" +
+			"	String u = \"\"\"\n" +
+			"		text block with \"quotes\" and /* no comment */\n" +
+			"		\"\"\";\n" +
+			"}",
+			true);
+	}
+
+	public void testAsciiFastPath_unicodeEscapes() throws Exception {
+		// the escapes may form any character, even line ends and comment delimiters
+		checkAsciiFastPath(
+			"class X {\n" +
+			"	int \\u0061bc = 1;\n" +
+			"	// comment ending with an escape \\u000a int i;\n" +
+			"	\\u002f* block comment *\\u002f int j;\n" +
+			"	String s = \"\\u0041\";\n" +
+			"}",
+			false);
+	}
+
+	public void testAsciiFastPath_nonAscii() throws Exception {
+		checkAsciiFastPath(
+			"class X {\n" +
+			"	int \u00e9t\u00e9 = 1; // comment \u00e0 la fin\n" +
+			"	/* bloc \u2028 */ String s = \"\u00fc\";\n" +
+			"}",
+			false);
+		// a backslash not starting a unicode escape keeps the fast path
+		checkAsciiFastPath("class X { char c = '\\\\'; String s = \"a\\\\b\\t\"; }", true);
+	}
+
+	public void testAsciiFastPath_jumpOverMethodBody() throws Exception {
+		String source =
+			"void foo() {\n" +
+			"	/* } */ // }\n" +
+			"	String s = \"}\"; char c = '}';\n" +
+			"	if (true) { bar(); }\n" +
+			"} int after;";
+		int[] endPositions = new int[2];
+		for (int i = 0; i < 2; i++) {
+			Scanner scanner = new Scanner();
+			scanner.useAsciiFastPath = i == 1;
+			scanner.setSource(source.toCharArray());
+			while (scanner.getNextToken() != TerminalTokens.TokenNameLBRACE) {
+				// skip the method header
+			}
+			scanner.jumpOverMethodBody();
+			endPositions[i] = scanner.currentPosition;
+		}
+		assertEquals("Unexpected end of the body", source.indexOf("} int after"), endPositions[0] - 1);
+		assertEquals("Different end of the body", endPositions[0], endPositions[1]);
+	}
 }
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.compiler.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.eclipse.jdt.core.tests.junit.extension.TestCase;
+import org.eclipse.jdt.internal.compiler.util.MappedZipFile;
+import org.junit.Test;
+
+public class MappedZipFileTest extends TestCase {
+
+	private File zip;
+
+	public MappedZipFileTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.zip = File.createTempFile("mapped", ".jar"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		this.zip.delete();
+		super.tearDown();
+	}
+
+	private void writeZip(byte[] prefix) throws IOException {
+		try (OutputStream out = new FileOutputStream(this.zip)) {
+			out.write(prefix);
+			ZipOutputStream zipOut = new ZipOutputStream(out);
+			zipOut.putNextEntry(new ZipEntry("p/"));
+			zipOut.closeEntry();
+			for (int i = 0; i < 200; i++) {
+				ZipEntry entry = new ZipEntry("p/q" + (i % 7) + "/C" + i + ".class");
+				byte[] contents = ("contents of class " + i + " ").repeat(i + 1).getBytes(StandardCharsets.UTF_8);
+				if (i % 2 == 0) {
+					CRC32 crc = new CRC32();
+					crc.update(contents);
+					entry.setMethod(ZipEntry.STORED);
+					entry.setSize(contents.length);
+					entry.setCrc(crc.getValue());
+				}
+				zipOut.putNextEntry(entry);
+				zipOut.write(contents);
+				zipOut.closeEntry();
+			}
+			zipOut.putNextEntry(new ZipEntry("p/\u00e9t\u00e9.txt"));
+			zipOut.write(new byte[0]);
+			zipOut.closeEntry();
+			zipOut.finish();
+		}
+	}
+
+	private void assertSameAsZipFile() throws IOException {
+		MappedZipFile mapped = MappedZipFile.open(this.zip);
+		List<String> names = new ArrayList<>();
+		mapped.names().forEach(names::add);
+		try (ZipFile zipFile = new ZipFile(this.zip)) {
+			assertEquals(zipFile.size(), mapped.size());
+			int i = 0;
+			for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements(); i++) {
+				ZipEntry entry = e.nextElement();
+				assertEquals(entry.getName(), names.get(i));
+				assertTrue(entry.getName(), mapped.hasEntry(entry.getName()));
+				byte[] expected;
+				try (InputStream stream = zipFile.getInputStream(entry)) {
+					expected = stream.readAllBytes();
+				}
+				assertTrue(entry.getName(), Arrays.equals(expected, mapped.getEntryBytes(entry.getName())));
+			}
+		}
+		assertFalse(mapped.hasEntry("p/q1/C0.class"));
+		assertNull(mapped.getEntryBytes("p/Missing.class"));
+		assertEquals(this.zip.getPath(), mapped.getName());
+	}
+
+	@Test
+	public void testEntries() throws IOException {
+		writeZip(new byte[0]);
+		assertSameAsZipFile();
+	}
+
+	@Test
+	public void testPrefixedArchive() throws IOException {
+		writeZip("JM\u0001\u0000".getBytes(StandardCharsets.ISO_8859_1));
+		assertSameAsZipFile();
+	}
+
+	@Test
+	public void testNotAZipFile() throws IOException {
+		try (OutputStream out = new FileOutputStream(this.zip)) {
+			out.write("not a zip file".getBytes(StandardCharsets.US_ASCII));
+		}
+		try {
+			MappedZipFile.open(this.zip);
+			fail("Should not read " + this.zip);
+		} catch (ZipException e) {
+			// expected
+		}
+	}
+}
@@ -22,6 +22,7 @@ import junit.framework.TestSuite;
 import org.eclipse.jdt.core.tests.compiler.CharDeduplicationTest;
 import org.eclipse.jdt.core.tests.compiler.DeduplicationUtilTest;
 import org.eclipse.jdt.core.tests.compiler.IrritantSetTest;
+import org.eclipse.jdt.core.tests.compiler.ReadManagerTest;
 import org.eclipse.jdt.core.tests.compiler.map.CharArrayMapperTest;
 import org.eclipse.jdt.core.tests.junit.extension.TestCase;
 import org.eclipse.jdt.core.tests.util.CleanupAfterSuiteTests;
@@ -255,6 +256,8 @@ private static Class[] getAllTestClasses() {
 
 		IrritantSetTest.class,
 
+		ReadManagerTest.class,
+
 		// should always be the last one, to cleanup environment after messy tests
 		CleanupAfterSuiteTests.class
 	};
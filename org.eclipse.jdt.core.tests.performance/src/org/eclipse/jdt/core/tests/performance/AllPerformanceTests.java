@@ -57,7 +57,14 @@ public class AllPerformanceTests extends junit.framework.TestCase {
 	 */
 	public static Class[] getAdditionalTestClasses() {
 		return new Class[] {
-			SecondaryTypesPerformanceTest.class
+			SecondaryTypesPerformanceTest.class,
+			ClassFileAllocationPerformanceTest.class,
+			ScannerPerformanceTest.class,
+			InferencePerformanceTest.class,
+			FlowAnalysisPerformanceTest.class,
+			SharedJdkClassfilesPerformanceTest.class,
+			ProblemReportingPerformanceTest.class,
+			JrtIndexPerformanceTest.class
 		};
 	}
 
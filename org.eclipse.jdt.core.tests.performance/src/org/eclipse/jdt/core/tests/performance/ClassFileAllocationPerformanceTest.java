@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+/**
+ * Measures the bytes allocated per generated class file when compiling generated code, where every unit declares
+ * many nested types (like protocol buffer messages and their builders), so that the class file pool has to recycle
+ * far more class files than a hand written unit needs.
+ */
+public class ClassFileAllocationPerformanceTest extends PerformanceTestCase {
+
+	private static final String testScratchArea = Util.getOutputDirectory() + File.separator + "classFileAllocationScratchArea";
+	private static final int UNITS = 40;
+	private static final int MESSAGES_PER_UNIT = 60;
+	private static final int CLASSES = UNITS * (1 + 2 * MESSAGES_PER_UNIT);
+
+	public static Test suite() {
+		TestSuite suite = new TestSuite(ClassFileAllocationPerformanceTest.class.getName());
+		suite.addTestSuite(ClassFileAllocationPerformanceTest.class);
+		return suite;
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		File packageFile = new File(testScratchArea, "src" + File.separator + "gen");
+		packageFile.mkdirs();
+		for (int i = 0; i < UNITS; i++) {
+			StringBuilder source = new StringBuilder();
+			source.append("package gen;\n")
+				.append("public final class Proto").append(i).append(" {\n");
+			for (int j = 0; j < MESSAGES_PER_UNIT; j++) {
+				source.append("\tpublic static final class Message").append(j).append(" {\n");
+				for (int k = 0; k < 8; k++) {
+					source.append("\t\tprivate String field").append(k).append(" = \"\";\n")
+						.append("\t\tpublic String getField").append(k).append("() { return this.field").append(k).append("; }\n");
+				}
+				source.append("\t\tpublic static final class Builder {\n")
+					.append("\t\t\tprivate String name = \"message").append(j).append("\";\n")
+					.append("\t\t\tpublic Builder setName(String value) {\n")
+					.append("\t\t\t\tif (value == null) throw new NullPointerException(\"name\");\n")
+					.append("\t\t\t\tthis.name = value;\n")
+					.append("\t\t\t\treturn this;\n")
+					.append("\t\t\t}\n")
+					.append("\t\t\tpublic Message").append(j).append(" build() { return new Message").append(j).append("(); }\n")
+					.append("\t\t}\n")
+					.append("\t}\n");
+			}
+			source.append("}\n");
+			writeFile(new File(packageFile, "Proto" + i + ".java"), source.toString());
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		Util.delete(new File(testScratchArea));
+	}
+
+	public void testAllocationPerClassFile() {
+		String commandLine = "\"" + testScratchArea + File.separator + "src\" -1.8 -proc:none -nowarn -d \""
+				+ testScratchArea + File.separator + "bin\"";
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		// keep code generation on this thread, so that its allocations are accounted to it
+		String useSingleThread = System.setProperty("jdt.compiler.useSingleThread", "true"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			long allocated = 0;
+			int measured = 0;
+			for (int i = 0; i < 10; i++) {
+				long before = threadBean.getThreadAllocatedBytes(threadId);
+				startMeasuring();
+				boolean succeeded = new Main(new PrintWriter(System.out), new PrintWriter(System.err), false, null, null)
+						.compile(Main.tokenize(commandLine));
+				stopMeasuring();
+				assertTrue("compilation failed", succeeded);
+				if (i >= 3) { // warm up first
+					allocated += threadBean.getThreadAllocatedBytes(threadId) - before;
+					measured++;
+				}
+			}
+			System.out.println("Bytes allocated per generated class file: " + allocated / measured / CLASSES); //$NON-NLS-1$
+		} finally {
+			if (useSingleThread == null)
+				System.clearProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
+			else
+				System.setProperty("jdt.compiler.useSingleThread", useSingleThread); //$NON-NLS-1$
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void writeFile(File aFile, String aSource) throws IOException {
+		try (FileWriter fileWriter = new FileWriter(aFile)) {
+			fileWriter.write(aSource);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+/**
+ * Measures the time needed to compile a single method declaring thousands of locals, like generated parsers and
+ * state machines do, where the flow infos copied at every branch carry the state of all these locals.
+ */
+public class FlowAnalysisPerformanceTest extends PerformanceTestCase {
+
+	private static final String testScratchArea = Util.getOutputDirectory() + File.separator + "flowAnalysisScratchArea";
+	private static final int BRANCHES = 1000;
+
+	public static Test suite() {
+		TestSuite suite = new TestSuite(FlowAnalysisPerformanceTest.class.getName());
+		suite.addTestSuite(FlowAnalysisPerformanceTest.class);
+		return suite;
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		Util.delete(new File(testScratchArea));
+	}
+
+	public void testMethodWith2000Locals() throws IOException {
+		compileMethodWithLocals(2000);
+	}
+
+	public void testMethodWith5000Locals() throws IOException {
+		compileMethodWithLocals(5000);
+	}
+
+	public void testMethodWith10000Locals() throws IOException {
+		compileMethodWithLocals(10000);
+	}
+
+	public void testMethodWith20000Locals() throws IOException {
+		compileMethodWithLocals(20000);
+	}
+
+	private void compileMethodWithLocals(int locals) throws IOException {
+		File sourceFolder = new File(testScratchArea, "src" + locals);
+		sourceFolder.mkdirs();
+		String className = "Flow" + locals;
+		try (FileWriter fileWriter = new FileWriter(new File(sourceFolder, className + ".java"))) {
+			fileWriter.write(source(className, locals));
+		}
+		String commandLine = "\"" + sourceFolder.getPath() + "\" -17 -proc:none -nowarn -d none";
+		for (int i = 0; i < 10; i++) {
+			StringWriter errors = new StringWriter();
+			if (i >= 3) // warm up first
+				startMeasuring();
+			boolean succeeded = new Main(new PrintWriter(new StringWriter()), new PrintWriter(errors), false, null, null)
+					.compile(Main.tokenize(commandLine));
+			if (i >= 3)
+				stopMeasuring();
+			assertTrue("compilation failed: " + errors, succeeded);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/*
+	 * One method with the given number of locals, a tenth of them objects, in a loop of branches assigning them and
+	 * checking them against null.
+	 */
+	private static String source(String className, int locals) {
+		int ints = locals - locals / 10;
+		int objects = locals / 10;
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("public class ").append(className).append(" {\n");
+		buffer.append("	int run(boolean[] c, Object[] in) {\n");
+		for (int i = 0; i < ints; i++) {
+			buffer.append(i % 50 == 0 ? "		int " : ", ").append('x').append(i);
+			if (i % 50 == 49 || i == ints - 1)
+				buffer.append(";\n");
+		}
+		for (int i = 0; i < objects; i++) {
+			buffer.append(i % 50 == 0 ? "		Object " : ", ").append('o').append(i).append(" = null");
+			if (i % 50 == 49 || i == objects - 1)
+				buffer.append(";\n");
+		}
+		buffer.append("		x").append(ints - 1).append(" = 0;\n");
+		buffer.append("		int s = 0;\n");
+		buffer.append("		for (int it = 0; it < c.length; it++) {\n");
+		for (int j = 0; j < BRANCHES; j++) {
+			int x = (j * 7919) % ints, y = (j * 104729) % ints, o = (j * 31) % objects;
+			switch (j % 3) {
+				case 0:
+					buffer.append("			if (c[").append(j & 7).append("]) x").append(x).append(" = ").append(j)
+						.append("; else x").append(y).append(" = -").append(j).append(";\n");
+					break;
+				case 1:
+					buffer.append("			o").append(o).append(" = c[").append(j & 7).append("] ? in[").append(j & 3)
+						.append("] : null;\n");
+					break;
+				default:
+					buffer.append("			if (o").append(o).append(" != null && c[").append(j & 7).append("]) s += o")
+						.append(o).append(".hashCode();\n");
+			}
+		}
+		buffer.append("		}\n");
+		buffer.append("		return s + x").append(ints - 1).append(";\n");
+		buffer.append("	}\n");
+		buffer.append("}\n");
+		return buffer.toString();
+	}
+}
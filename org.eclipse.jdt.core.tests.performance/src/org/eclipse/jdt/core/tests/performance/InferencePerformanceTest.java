@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+/**
+ * Measures the time needed to compile stream pipelines with nested collectors, curried functions and long
+ * argument lists of generic methods, where type inference (and with it bound incorporation) dominates the
+ * compilation.
+ */
+public class InferencePerformanceTest extends PerformanceTestCase {
+
+	private static final String testScratchArea = Util.getOutputDirectory() + File.separator + "inferenceScratchArea";
+	private static final int COPIES = 10;
+
+	private static final String GROUPINGS = """
+		import java.util.*;
+		import java.util.stream.*;
+
+		public class $NAME$ {
+			record Person(String name, String city, String country, int age, double salary, List<String> tags) {}
+
+			Map<String, Map<String, Map<Integer, List<String>>>> nested(List<Person> people) {
+				return people.stream()
+					.collect(Collectors.groupingBy(Person::country,
+						Collectors.groupingBy(Person::city,
+							Collectors.groupingBy(Person::age,
+								Collectors.mapping(Person::name, Collectors.toList())))));
+			}
+
+			Map<String, Optional<Person>> oldest(List<Person> people) {
+				return people.stream()
+					.collect(Collectors.groupingBy(Person::city,
+						Collectors.maxBy(Comparator.comparingInt(Person::age).thenComparing(Person::name).thenComparingDouble(Person::salary))));
+			}
+
+			Map<String, Map<Boolean, DoubleSummaryStatistics>> stats(List<Person> people) {
+				return people.stream()
+					.collect(Collectors.groupingBy(Person::country, TreeMap::new,
+						Collectors.partitioningBy(p -> p.age() > 40,
+							Collectors.summarizingDouble(Person::salary))));
+			}
+
+			Map<String, Set<String>> tags(List<Person> people) {
+				return people.stream()
+					.flatMap(p -> p.tags().stream().map(t -> Map.entry(t, p.name())))
+					.collect(Collectors.groupingBy(Map.Entry::getKey,
+						Collectors.collectingAndThen(
+							Collectors.mapping(Map.Entry::getValue, Collectors.toCollection(TreeSet::new)),
+							Collections::unmodifiableSet)));
+			}
+
+			Map<String, Map<String, Long>> counts(List<Person> people) {
+				return people.stream()
+					.collect(Collectors.groupingBy(Person::country,
+						Collectors.collectingAndThen(
+							Collectors.groupingBy(Person::city, Collectors.counting()),
+							m -> m.entrySet().stream()
+								.sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+								.limit(3)
+								.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new)))));
+			}
+
+			Map<String, List<Person>> teeing(List<Person> people) {
+				return people.stream()
+					.collect(Collectors.teeing(
+						Collectors.groupingBy(Person::city),
+						Collectors.groupingBy(Person::country),
+						(byCity, byCountry) -> Stream.concat(byCity.entrySet().stream(), byCountry.entrySet().stream())
+							.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+								(a, b) -> Stream.concat(a.stream(), b.stream()).collect(Collectors.toList())))));
+			}
+		}
+		""";
+
+	private static final String FUNCTIONS = """
+		import java.util.*;
+		import java.util.function.*;
+		import java.util.stream.*;
+		import static java.util.Map.entry;
+
+		public class $NAME$ {
+			static <A, B, C> Function<A, C> compose(Function<A, B> f, Function<B, C> g) { return f.andThen(g); }
+			static <T> Predicate<T> all(List<Predicate<T>> ps) { return ps.stream().reduce(x -> true, Predicate::and); }
+
+			Map<Boolean, Map<Integer, List<String>>> words(Stream<String> lines) {
+				return lines.flatMap(l -> Arrays.stream(l.split(" ")))
+					.map(String::toLowerCase)
+					.filter(all(List.of(s -> !s.isEmpty(), s -> Character.isLetter(s.charAt(0)))))
+					.distinct()
+					.collect(Collectors.partitioningBy(w -> w.length() > 5,
+						Collectors.groupingBy(String::length, TreeMap::new, Collectors.toList())));
+			}
+
+			<T, K, V> Map<K, Map<V, Long>> crossCount(Collection<T> items, Function<? super T, ? extends K> k, Function<? super T, ? extends V> v) {
+				return items.stream().collect(Collectors.groupingBy(k, Collectors.groupingBy(v, Collectors.counting())));
+			}
+
+			Map<String, Map<Integer, Long>> use(List<String> s) {
+				return crossCount(s, x -> x.substring(0, 1), String::length);
+			}
+
+			Map<String, List<Integer>> entries() {
+				return Map.ofEntries(entry("a", List.of(1)), entry("b", List.of(2, 3)), entry("c", List.of(4)), entry("d", List.of(5, 6)),
+					entry("e", List.of(7)), entry("f", List.of(8, 9)), entry("g", List.of(10)), entry("h", List.of(11, 12)));
+			}
+
+			Optional<Map<Integer, Map<Boolean, Long>>> wrapped(Stream<String> s) {
+				return Optional.of(s.collect(
+					Collectors.collectingAndThen(
+						Collectors.collectingAndThen(
+							Collectors.groupingBy(String::length,
+								Collectors.collectingAndThen(
+									Collectors.partitioningBy(x -> x.isEmpty(),
+										Collectors.collectingAndThen(Collectors.counting(), Function.identity())),
+									Collections::unmodifiableMap)),
+							Collections::unmodifiableMap),
+						Function.identity())));
+			}
+
+			Function<Integer, Function<Integer, Function<Integer, Function<Integer, Integer>>>> curried() {
+				return a -> b -> c -> d -> Stream.of(a, b, c, d).map(Function.<Integer>identity()).reduce(0, Integer::sum);
+			}
+
+			java.util.concurrent.CompletableFuture<Map<String, List<Integer>>> future(List<String> in) {
+				return java.util.concurrent.CompletableFuture.supplyAsync(() -> in)
+					.thenApply(l -> l.stream().map(String::length).collect(Collectors.toList()))
+					.thenCombine(java.util.concurrent.CompletableFuture.completedFuture(in),
+						(lengths, names) -> IntStream.range(0, names.size()).boxed()
+							.collect(Collectors.groupingBy(names::get, Collectors.mapping(lengths::get, Collectors.toList()))))
+					.exceptionally(t -> Collections.emptyMap());
+			}
+		}
+		""";
+
+	public static Test suite() {
+		TestSuite suite = new TestSuite(InferencePerformanceTest.class.getName());
+		suite.addTestSuite(InferencePerformanceTest.class);
+		return suite;
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		File sourceFolder = new File(testScratchArea, "src");
+		sourceFolder.mkdirs();
+		for (int i = 0; i < COPIES; i++) {
+			writeFile(new File(sourceFolder, "Groupings" + i + ".java"), GROUPINGS.replace("$NAME$", "Groupings" + i));
+			writeFile(new File(sourceFolder, "Functions" + i + ".java"), FUNCTIONS.replace("$NAME$", "Functions" + i));
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		Util.delete(new File(testScratchArea));
+	}
+
+	public void testInferenceHeavyUnits() {
+		String commandLine = "\"" + testScratchArea + File.separator + "src\" -17 -proc:none -nowarn -d none";
+		for (int i = 0; i < 10; i++) {
+			StringWriter errors = new StringWriter();
+			if (i >= 3) // warm up first
+				startMeasuring();
+			boolean succeeded = new Main(new PrintWriter(new StringWriter()), new PrintWriter(errors), false, null, null)
+					.compile(Main.tokenize(commandLine));
+			if (i >= 3)
+				stopMeasuring();
+			assertTrue("compilation failed: " + errors, succeeded);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void writeFile(File aFile, String aSource) throws IOException {
+		try (FileWriter fileWriter = new FileWriter(aFile)) {
+			fileWriter.write(aSource);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.File;
+import java.util.Set;
+import java.util.TreeSet;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.batch.ClasspathJrt;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+import org.eclipse.jdt.internal.compiler.util.JrtFileSystem;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+/**
+ * Measures the time to the first lookup of <code>java.lang.Object</code> in the JRT image of the running JDK,
+ * when the image has to be walked (cold) and when its index was stored by an earlier VM (warm).
+ */
+public class JrtIndexPerformanceTest extends PerformanceTestCase {
+
+	private static final String INDEX_DIR = "org.eclipse.jdt.jrt_index_dir"; //$NON-NLS-1$
+	private static final String testScratchArea = Util.getOutputDirectory() + File.separator + "jrtIndexScratchArea";
+	private final File jrt = new File(System.getProperty("java.home"), "lib" + File.separator + JRTUtil.JRT_FS_JAR);
+
+	public static Test suite() {
+		TestSuite suite = new TestSuite(JrtIndexPerformanceTest.class.getName());
+		suite.addTestSuite(JrtIndexPerformanceTest.class);
+		return suite;
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		new File(testScratchArea).mkdirs();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		System.clearProperty(INDEX_DIR);
+		JRTUtil.reset();
+		Util.delete(new File(testScratchArea));
+	}
+
+	public void testFirstFindType() throws Exception {
+		JRTUtil.reset();
+		Set<String> walked = packages(JRTUtil.getJrtSystem(this.jrt, null));
+		long cold = 0, warm = 0;
+		for (int i = 0; i < 10; i++) {
+			System.setProperty(INDEX_DIR, testScratchArea + File.separator + "index" + i);
+			JRTUtil.reset();
+			long start = System.nanoTime();
+			findObject(); // walks the image and stores its index
+			cold += System.nanoTime() - start;
+
+			JRTUtil.reset();
+			startMeasuring();
+			start = System.nanoTime();
+			findObject(); // reads the index
+			warm += System.nanoTime() - start;
+			stopMeasuring();
+			assertEquals("Unexpected packages", walked, packages(JRTUtil.getJrtSystem(this.jrt, null)));
+		}
+		System.out.println("First findType of java.lang.Object: " + cold / 10000000 + "ms cold, " + warm / 10000000 + "ms warm"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void findObject() {
+		ClasspathJrt classpath = new ClasspathJrt(this.jrt, true, null, null);
+		NameEnvironmentAnswer answer = classpath.findClass("Object".toCharArray(), "java/lang", "java.base", "java/lang/Object.class");
+		assertNotNull("java.lang.Object not found", answer);
+	}
+
+	private Set<String> packages(JrtFileSystem system) {
+		Set<String> packages = new TreeSet<>();
+		for (String packageName : system.getPackages())
+			packages.add(packageName + JRTUtil.getModulesDeclaringPackage(system, packageName, null));
+		return packages;
+	}
+}
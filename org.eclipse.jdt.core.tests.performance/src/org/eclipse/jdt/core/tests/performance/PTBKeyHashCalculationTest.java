@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Dominik Wiedner and others.
+ * Copyright (c) 2022, 2026 Dominik Wiedner and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,22 +9,43 @@
  *
  * Contributors:
  *     Dominik Wiedner - performance test for PTBKey hash calculation
+ *     IBM Corporation - throughput of parameterized type interning
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.performance;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import junit.framework.Test;
 import junit.framework.TestSuite;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.tests.builder.TestingEnvironment;
 import org.eclipse.jdt.core.tests.junit.extension.TestCase;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.lookup.ParameterizedTypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.test.performance.Dimension;
 
 public class PTBKeyHashCalculationTest extends TestCase {
 
+	private static final String[] GENERIC_TYPES = { "java.util.List", "java.util.Set", "java.util.Optional", "java.util.Map", "java.util.function.Function" };
+	private static final String[] ARGUMENT_TYPES = { "java.lang.String", "java.lang.Integer", "java.lang.Long", "java.lang.Double",
+			"java.lang.Object", "java.lang.Number", "java.lang.CharSequence", "java.lang.Boolean", "java.lang.Character",
+			"java.lang.Byte", "java.lang.Short", "java.lang.Float" };
+	private static final int LOOKUPS = 2000000;
+	private static final int THREADS = 4;
+
 	private TestingEnvironment env;
 
 	public PTBKeyHashCalculationTest(String name) {
@@ -35,10 +56,7 @@ public class PTBKeyHashCalculationTest extends TestCase {
 		return new TestSuite(PTBKeyHashCalculationTest.class);
 	}
 
-	@Override
-	protected void setUp() throws Exception {
-		super.setUp();
-
+	private void setUpProject() throws Exception {
 		if (this.env == null) {
 			this.env = new TestingEnvironment();
 			this.env.openEmptyWorkspace();
@@ -113,11 +131,14 @@ public class PTBKeyHashCalculationTest extends TestCase {
 	protected void tearDown() throws Exception {
 		super.tearDown();
 
-		this.env.resetWorkspace();
-		JavaCore.setOptions(JavaCore.getDefaultOptions());
+		if (this.env != null) {
+			this.env.resetWorkspace();
+			JavaCore.setOptions(JavaCore.getDefaultOptions());
+		}
 	}
 
 	public void testHashCalculation() throws Exception {
+		setUpProject();
 		// should finish in under 2 minutes with the fix of #551
 		tagAsSummary("PTBKey hash calculation", Dimension.CPU_TIME);
 		for (int idx = 0; idx < 2; idx++) {
@@ -129,4 +150,172 @@ public class PTBKeyHashCalculationTest extends TestCase {
 		commitMeasurements();
 		assertPerformance();
 	}
+
+	/*
+	 * Looks up parameterized types which all exist already, as most lookups during a build do.
+	 */
+	public void testInterningThroughput() throws Exception {
+		LookupEnvironment environment = newEnvironment();
+		TypeBinding[][] shapes = createShapes(environment);
+		tagAsSummary("Parameterized type interning throughput", Dimension.CPU_TIME);
+		for (int i = 0; i < 10; i++) {
+			if (i >= 3) // warm up first
+				startMeasuring();
+			long start = System.nanoTime();
+			lookUp(environment, shapes, LOOKUPS);
+			long nanos = System.nanoTime() - start;
+			if (i >= 3) {
+				stopMeasuring();
+				System.out.println("Interning: " + LOOKUPS * 1000L / Math.max(nanos / 1000, 1) + " lookups/ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/*
+	 * Looks up parameterized types which all exist already from several threads at once, through the variant of the
+	 * table meant for resolution running on several threads.
+	 */
+	public void testConcurrentInterningThroughput() throws Exception {
+		LookupEnvironment environment;
+		System.setProperty("jdt.compiler.concurrentTypeSystem", "true"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			environment = newEnvironment();
+		} finally {
+			System.clearProperty("jdt.compiler.concurrentTypeSystem"); //$NON-NLS-1$
+		}
+		TypeBinding[][] shapes = createShapes(environment);
+		tagAsSummary("Concurrent parameterized type interning throughput", Dimension.ELAPSED_PROCESS);
+		for (int i = 0; i < 10; i++) {
+			AtomicReference<Throwable> failure = new AtomicReference<>();
+			List<Thread> threads = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				threads.add(new Thread(() -> {
+					try {
+						lookUp(environment, shapes, LOOKUPS / THREADS);
+					} catch (Throwable e) {
+						failure.compareAndSet(null, e);
+					}
+				}));
+			}
+			if (i >= 3) // warm up first
+				startMeasuring();
+			long start = System.nanoTime();
+			for (Thread thread : threads)
+				thread.start();
+			for (Thread thread : threads)
+				thread.join();
+			long nanos = System.nanoTime() - start;
+			if (i >= 3) {
+				stopMeasuring();
+				System.out.println("Concurrent interning (" + THREADS + " threads): " //$NON-NLS-1$ //$NON-NLS-2$
+						+ LOOKUPS * 1000L / Math.max(nanos / 1000, 1) + " lookups/ms"); //$NON-NLS-1$
+			}
+			if (failure.get() != null)
+				throw new AssertionError(failure.get());
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/*
+	 * Creates the same parameterized types from several threads at once, all threads must get the same bindings.
+	 */
+	public void testConcurrentInterning() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			LookupEnvironment environment;
+			System.setProperty("jdt.compiler.concurrentTypeSystem", "true"); //$NON-NLS-1$ //$NON-NLS-2$
+			try {
+				environment = newEnvironment();
+			} finally {
+				System.clearProperty("jdt.compiler.concurrentTypeSystem"); //$NON-NLS-1$
+			}
+			TypeBinding[][] shapes = newShapes(environment);
+			ParameterizedTypeBinding[][] created = new ParameterizedTypeBinding[THREADS][shapes.length];
+			AtomicReference<Throwable> failure = new AtomicReference<>();
+			List<Thread> threads = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				ParameterizedTypeBinding[] types = created[t];
+				threads.add(new Thread(() -> {
+					try {
+						for (int shape = 0; shape < shapes.length; shape++) {
+							TypeBinding[] arguments = new TypeBinding[shapes[shape].length - 1];
+							System.arraycopy(shapes[shape], 1, arguments, 0, arguments.length);
+							types[shape] = environment.createParameterizedType((ReferenceBinding) shapes[shape][0], arguments, null);
+						}
+					} catch (Throwable e) {
+						failure.compareAndSet(null, e);
+					}
+				}));
+			}
+			for (Thread thread : threads)
+				thread.start();
+			for (Thread thread : threads)
+				thread.join();
+			if (failure.get() != null)
+				throw new AssertionError(failure.get());
+			for (int shape = 0; shape < shapes.length; shape++) {
+				for (int t = 1; t < THREADS; t++)
+					assertSame("different bindings for the same type", created[0][shape], created[t][shape]); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private LookupEnvironment newEnvironment() {
+		FileSystem nameEnvironment = new FileSystem(Util.getJavaClassLibs(), null, null);
+		Compiler compiler = new Compiler(nameEnvironment, DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+				new CompilerOptions(), result -> { /* nothing to compile */ }, new DefaultProblemFactory());
+		return compiler.lookupEnvironment;
+	}
+
+	/*
+	 * Answer the generic type followed by the type arguments of List<String>, Map<String, List<Integer>> and the like,
+	 * after creating these types.
+	 */
+	private TypeBinding[][] createShapes(LookupEnvironment environment) {
+		TypeBinding[][] result = newShapes(environment);
+		lookUp(environment, result, result.length);
+		return result;
+	}
+
+	/*
+	 * Answer the generic type followed by the type arguments of the shapes, only creating the parameterized types
+	 * used as arguments.
+	 */
+	private TypeBinding[][] newShapes(LookupEnvironment environment) {
+		ReferenceBinding[] arguments = new ReferenceBinding[ARGUMENT_TYPES.length];
+		for (int i = 0; i < arguments.length; i++)
+			arguments[i] = environment.getType(CharOperation.splitOn('.', ARGUMENT_TYPES[i].toCharArray()));
+		List<TypeBinding[]> shapes = new ArrayList<>();
+		for (String name : GENERIC_TYPES) {
+			ReferenceBinding genericType = environment.getType(CharOperation.splitOn('.', name.toCharArray()));
+			assertNotNull(name, genericType);
+			for (ReferenceBinding first : arguments) {
+				if (genericType.typeVariables().length == 1) {
+					shapes.add(new TypeBinding[] { genericType, first });
+					continue;
+				}
+				for (ReferenceBinding second : arguments) {
+					shapes.add(new TypeBinding[] { genericType, first, second });
+					// a parameterized type as argument hashes by identity:
+					ParameterizedTypeBinding list = environment.createParameterizedType((ReferenceBinding) shapes.get(0)[0], new TypeBinding[] { second }, null);
+					shapes.add(new TypeBinding[] { genericType, first, list });
+				}
+			}
+		}
+		return shapes.toArray(new TypeBinding[shapes.size()][]);
+	}
+
+	private void lookUp(LookupEnvironment environment, TypeBinding[][] shapes, int lookups) {
+		TypeBinding[][] arguments = new TypeBinding[shapes.length][];
+		for (int i = 0; i < shapes.length; i++) {
+			arguments[i] = new TypeBinding[shapes[i].length - 1];
+			System.arraycopy(shapes[i], 1, arguments[i], 0, arguments[i].length);
+		}
+		for (int i = 0, shape = 0; i < lookups; i++, shape = (shape + 7919) % shapes.length) {
+			if (environment.createParameterizedType((ReferenceBinding) shapes[shape][0], arguments[shape], null) == null)
+				throw new AssertionError("no parameterized type created"); //$NON-NLS-1$
+		}
+	}
 }
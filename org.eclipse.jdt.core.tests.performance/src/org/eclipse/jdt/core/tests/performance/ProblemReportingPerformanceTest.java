@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+/**
+ * Measures compiling legacy code which reports a lot of warnings (raw types, unchecked calls, unused imports),
+ * most of which are suppressed or exceed the maximum number of problems displayed per unit.
+ */
+public class ProblemReportingPerformanceTest extends PerformanceTestCase {
+
+	private static final String testScratchArea = Util.getOutputDirectory() + File.separator + "problemReportingScratchArea";
+	private static final int UNITS = 40;
+	private static final int METHODS_PER_UNIT = 250;
+
+	public static Test suite() {
+		TestSuite suite = new TestSuite(ProblemReportingPerformanceTest.class.getName());
+		suite.addTestSuite(ProblemReportingPerformanceTest.class);
+		return suite;
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		File packageFile = new File(testScratchArea, "src" + File.separator + "legacy");
+		packageFile.mkdirs();
+		for (int i = 0; i < UNITS; i++) {
+			StringBuilder source = new StringBuilder();
+			source.append("package legacy;\n")
+				.append("import java.util.*;\n")
+				.append("import java.io.Serializable;\n")
+				.append("import java.util.concurrent.Callable;\n");
+			if (i % 2 == 0)
+				source.append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+			source.append("public class Legacy").append(i).append(" {\n");
+			for (int j = 0; j < METHODS_PER_UNIT; j++) {
+				source.append("\tpublic List values").append(j).append("(Map map) {\n")
+					.append("\t\tList list = new ArrayList();\n")
+					.append("\t\tlist.add(map.get(\"key").append(j).append("\"));\n")
+					.append("\t\tlist.addAll(map.keySet());\n")
+					.append("\t\treturn list;\n")
+					.append("\t}\n");
+			}
+			source.append("}\n");
+			writeFile(new File(packageFile, "Legacy" + i + ".java"), source.toString());
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		Util.delete(new File(testScratchArea));
+	}
+
+	public void testCompileWithManyWarnings() {
+		String commandLine = "\"" + testScratchArea + File.separator + "src\" -17 -proc:none -warn:+raw,unchecked,unusedImport -d none";
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		// keep problem reporting on this thread, so that its allocations are accounted to it
+		String useSingleThread = System.setProperty("jdt.compiler.useSingleThread", "true"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			long allocated = 0;
+			int measured = 0;
+			for (int i = 0; i < 10; i++) {
+				long before = threadBean.getThreadAllocatedBytes(threadId);
+				startMeasuring();
+				boolean succeeded = new Main(new PrintWriter(new StringWriter()), new PrintWriter(new StringWriter()), false, null, null)
+						.compile(Main.tokenize(commandLine));
+				stopMeasuring();
+				assertTrue("compilation failed", succeeded);
+				if (i >= 3) { // warm up first
+					allocated += threadBean.getThreadAllocatedBytes(threadId) - before;
+					measured++;
+				}
+			}
+			System.out.println("Bytes allocated per compilation: " + allocated / measured); //$NON-NLS-1$
+		} finally {
+			if (useSingleThread == null)
+				System.clearProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
+			else
+				System.setProperty("jdt.compiler.useSingleThread", useSingleThread); //$NON-NLS-1$
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void writeFile(File aFile, String aSource) throws IOException {
+		try (FileWriter fileWriter = new FileWriter(aFile)) {
+			fileWriter.write(aSource);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.parser.TerminalTokens;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+/**
+ * Measures the scanning throughput over the sources of the running JDK (<code>lib/src.zip</code>), with and without
+ * the fast path the scanner takes on ascii sources without unicode escapes.
+ */
+public class ScannerPerformanceTest extends PerformanceTestCase {
+
+	private List<char[]> sources;
+	private long sourceLength;
+
+	public static Test suite() {
+		TestSuite suite = new TestSuite(ScannerPerformanceTest.class.getName());
+		suite.addTestSuite(ScannerPerformanceTest.class);
+		return suite;
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.sources = new ArrayList<>();
+		File srcZip = new File(System.getProperty("java.home"), "lib" + File.separator + "src.zip");
+		if (!srcZip.isFile())
+			return;
+		try (ZipFile zipFile = new ZipFile(srcZip)) {
+			for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
+				ZipEntry entry = entries.nextElement();
+				if (!entry.getName().endsWith(".java"))
+					continue;
+				try (InputStream stream = zipFile.getInputStream(entry)) {
+					char[] contents = new String(stream.readAllBytes(), StandardCharsets.UTF_8).toCharArray();
+					this.sources.add(contents);
+					this.sourceLength += contents.length;
+				}
+			}
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		this.sources = null;
+		super.tearDown();
+	}
+
+	public void testScanAsciiFastPath() {
+		if (this.sources.isEmpty()) {
+			System.out.println("No JDK sources found, skipping " + getName()); //$NON-NLS-1$
+			return;
+		}
+		for (int i = 0; i < 3; i++) { // warm up
+			scan(false);
+			scan(true);
+		}
+		long currentPath = 0, fastPath = 0;
+		for (int i = 0; i < 10; i++) {
+			currentPath += scan(false);
+			startMeasuring();
+			fastPath += scan(true);
+			stopMeasuring();
+		}
+		System.out.println("Scanning JDK sources without ascii fast path: " + throughput(currentPath / 10) + " MB/s"); //$NON-NLS-1$ //$NON-NLS-2$
+		System.out.println("Scanning JDK sources with ascii fast path: " + throughput(fastPath / 10) + " MB/s"); //$NON-NLS-1$ //$NON-NLS-2$
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private long scan(boolean useAsciiFastPath) {
+		Scanner scanner = new Scanner(false, false, false, ClassFileConstants.JDK17, ClassFileConstants.JDK17, null, null, true, false);
+		scanner.recordLineSeparator = true;
+		scanner.useAsciiFastPath = useAsciiFastPath;
+		long start = System.nanoTime();
+		for (char[] source : this.sources) {
+			scanner.setSource(source);
+			scanner.resetTo(0, source.length - 1);
+			try {
+				while (scanner.getNextToken() != TerminalTokens.TokenNameEOF) {
+					// scan only
+				}
+			} catch (InvalidInputException e) {
+				// some JDK sources are not valid at level 17, ignore the rest of the unit
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private long throughput(long nanos) {
+		// sources are mostly ascii, count one byte per character
+		return this.sourceLength * 1000 / Math.max(nanos, 1);
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+/**
+ * Measures compiling many small projects against the same JDK in one VM, like a build server does, with and without
+ * sharing the decoded class files of the JDK between the compilations.
+ */
+public class SharedJdkClassfilesPerformanceTest extends PerformanceTestCase {
+
+	private static final String testScratchArea = Util.getOutputDirectory() + File.separator + "sharedJdkClassfilesScratchArea";
+	private static final int PROJECTS = 50;
+	private static final int UNITS_PER_PROJECT = 8;
+
+	public static Test suite() {
+		TestSuite suite = new TestSuite(SharedJdkClassfilesPerformanceTest.class.getName());
+		suite.addTestSuite(SharedJdkClassfilesPerformanceTest.class);
+		return suite;
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		for (int p = 0; p < PROJECTS; p++) {
+			File packageFile = new File(testScratchArea, "p" + p + File.separator + "src" + File.separator + "p" + p);
+			packageFile.mkdirs();
+			for (int i = 0; i < UNITS_PER_PROJECT; i++) {
+				StringBuilder source = new StringBuilder();
+				source.append("package p").append(p).append(";\n")
+					.append("import java.util.*;\n")
+					.append("import java.util.function.*;\n")
+					.append("import java.util.stream.*;\n")
+					.append("public class Unit").append(i).append(" {\n")
+					.append("\tprivate final Map<String, List<Integer>> values = new HashMap<>();\n")
+					.append("\tpublic void add(String key, int value) {\n")
+					.append("\t\tthis.values.computeIfAbsent(key, k -> new ArrayList<>()).add(value);\n")
+					.append("\t}\n")
+					.append("\tpublic Optional<String> largest() {\n")
+					.append("\t\treturn this.values.entrySet().stream()\n")
+					.append("\t\t\t.max(Comparator.comparingInt(e -> e.getValue().size()))\n")
+					.append("\t\t\t.map(Map.Entry::getKey);\n")
+					.append("\t}\n")
+					.append("\tpublic String describe(Function<Integer, String> format) {\n")
+					.append("\t\treturn this.values.values().stream().flatMap(List::stream).map(format).collect(Collectors.joining(\", \"));\n")
+					.append("\t}\n")
+					.append("}\n");
+				writeFile(new File(packageFile, "Unit" + i + ".java"), source.toString());
+			}
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		JRTUtil.setShareClassfiles(false);
+		Util.delete(new File(testScratchArea));
+	}
+
+	public void testCompileManyProjects() {
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		// keep compilation on this thread, so that its allocations are accounted to it
+		String useSingleThread = System.setProperty("jdt.compiler.useSingleThread", "true"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			JRTUtil.setShareClassfiles(false);
+			compileAll(); // warm up
+			long before = threadBean.getThreadAllocatedBytes(threadId);
+			long start = System.currentTimeMillis();
+			compileAll();
+			System.out.println("Not shared: " + (System.currentTimeMillis() - start) + "ms, " //$NON-NLS-1$ //$NON-NLS-2$
+					+ (threadBean.getThreadAllocatedBytes(threadId) - before) / PROJECTS + " bytes allocated per project"); //$NON-NLS-1$
+
+			JRTUtil.setShareClassfiles(true);
+			compileAll(); // warm up, fills the shared class files
+			before = threadBean.getThreadAllocatedBytes(threadId);
+			start = System.currentTimeMillis();
+			for (int i = 0; i < 5; i++) {
+				startMeasuring();
+				compileAll();
+				stopMeasuring();
+			}
+			System.out.println("Shared: " + (System.currentTimeMillis() - start) / 5 + "ms, " //$NON-NLS-1$ //$NON-NLS-2$
+					+ (threadBean.getThreadAllocatedBytes(threadId) - before) / 5 / PROJECTS + " bytes allocated per project"); //$NON-NLS-1$
+		} finally {
+			if (useSingleThread == null)
+				System.clearProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
+			else
+				System.setProperty("jdt.compiler.useSingleThread", useSingleThread); //$NON-NLS-1$
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void compileAll() {
+		for (int p = 0; p < PROJECTS; p++) {
+			String commandLine = "\"" + testScratchArea + File.separator + "p" + p + File.separator + "src\" -17 -proc:none -nowarn -d none";
+			boolean succeeded = new Main(new PrintWriter(System.out), new PrintWriter(System.err), false, null, null)
+					.compile(Main.tokenize(commandLine));
+			assertTrue("compilation failed", succeeded);
+		}
+	}
+
+	private void writeFile(File aFile, String aSource) throws IOException {
+		try (FileWriter fileWriter = new FileWriter(aFile)) {
+			fileWriter.write(aSource);
+		}
+	}
+}
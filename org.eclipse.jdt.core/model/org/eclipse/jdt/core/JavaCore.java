@@ -2580,6 +2580,20 @@ public final class JavaCore extends Plugin {
 	 * @category CoreOptionID
 	 */
 	public static final String CORE_JAVA_BUILD_RECREATE_MODIFIED_CLASS_FILES_IN_OUTPUT_FOLDER = PLUGIN_ID + ".builder.recreateModifiedClassFileInOutputFolder"; //$NON-NLS-1$
+	/**
+	 * Core option ID: Number of Compiler Threads.
+	 * <p>Indicate how many compilers the JavaBuilder may run at the same time. When greater than one, the source files
+	 *    to compile are ordered by their dependencies recorded during the previous build, and groups of source files
+	 *    which do not depend on each other are compiled concurrently.</p>
+	 * <dl>
+	 * <dt>Option id:</dt><dd><code>"org.eclipse.jdt.core.builder.compilerThreads"</code></dd>
+	 * <dt>Possible values:</dt><dd><code>"&lt;n&gt;"</code> where <code>&lt;n&gt;</code> is a positive integer</dd>
+	 * <dt>Default:</dt><dd><code>"1"</code></dd>
+	 * </dl>
+	 * @since 3.41
+	 * @category CoreOptionID
+	 */
+	public static final String CORE_JAVA_BUILD_COMPILER_THREADS = PLUGIN_ID + ".builder.compilerThreads"; //$NON-NLS-1$
 	/**
 	 * Core option ID: Reporting Incomplete Classpath.
 	 * <p>Indicate the severity of the problem reported when an entry on the classpath does not exist,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,10 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.eclipse.core.filesystem.URIUtil;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -36,6 +40,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.IJavaModelStatusConstants;
@@ -60,6 +65,7 @@ import org.eclipse.jdt.internal.compiler.ICompilerFactory;
 import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.AnnotationBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
@@ -92,6 +98,7 @@ protected Compiler compiler;
 protected WorkQueue workQueue;
 protected LinkedHashSet<SourceFile> problemSourceFiles;
 protected boolean compiledAllAtOnce;
+protected int compilerThreads; // see JavaCore.CORE_JAVA_BUILD_COMPILER_THREADS
 
 private boolean inCompiler;
 
@@ -100,6 +107,8 @@ protected Map<SourceFile, AnnotationBinding[]> filesWithAnnotations = null;
 
 //2000 is best compromise between space used and speed
 public static int MAX_AT_ONCE = Integer.getInteger(JavaModelManager.MAX_COMPILED_UNITS_AT_ONCE, 2000).intValue();
+// fewer units are not worth a compiler of their own when compiling with several threads
+public static int MIN_UNITS_PER_COMPILER = 100;
 public final static String[] JAVA_PROBLEM_MARKER_ATTRIBUTE_NAMES = {
 		IMarker.MESSAGE,
 		IMarker.SEVERITY,
@@ -132,6 +141,7 @@ protected AbstractImageBuilder(JavaBuilder javaBuilder, boolean buildStarting, S
 	if (buildStarting) {
 		this.newState = newState == null ? new State(javaBuilder) : newState;
 		this.compiler = newCompiler();
+		this.compilerThreads = compilerThreads(javaBuilder.javaProject.getOption(JavaCore.CORE_JAVA_BUILD_COMPILER_THREADS, true));
 		this.workQueue = new WorkQueue();
 		this.problemSourceFiles = new LinkedHashSet(3);
 
@@ -427,6 +437,176 @@ protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean
 		for (int i = 0; i < toAdd; i++)
 			additionalUnits[length + i] = iterator.next();
 	}
+	this.nameEnvironment.setNames(initialTypeNames(units), additionalUnits);
+	this.notifier.checkCancel();
+	List<List<SourceFile[]>> waves = canCompileInParallel()
+			? CompilationOrder.waves(units, this.newState, this.javaBuilder.lastState, this.compilerThreads, MIN_UNITS_PER_COMPILER)
+			: null;
+	if (waves != null) {
+		compileInParallel(waves, additionalUnits);
+	} else {
+		try {
+			this.inCompiler = true;
+			this.compiler.compile(units);
+		} catch (AbortCompilation ignored) {
+			// ignore the AbortCompilcation coming from BuildNotifier.checkCancelWithinCompiler()
+			// the Compiler failed after the user has chose to cancel... likely due to an OutOfMemory error
+		} finally {
+			this.inCompiler = false;
+		}
+	}
+	// Check for cancel immediately after a compile, because the compiler may
+	// have been cancelled but without propagating the correct exception
+	this.notifier.checkCancel();
+}
+
+private boolean canCompileInParallel() {
+	return this.compilerThreads > 1
+		&& this.javaBuilder.participants == null // participants expect the units of a single compiler
+		&& this.compiler.getClass() == Compiler.class // a custom compiler may not support it
+		&& this.compiler.annotationProcessorManager == null
+		&& this.nameEnvironment.modulePathEntries == null; // the modules are updated by the compiler
+}
+
+/*
+ * Compile the waves one after the other, the groups of a wave at the same time by compilers of their own. The
+ * compilers share the classpath locations, which are only read while they run: the results are accepted, and so the
+ * class files written, once all the compilers of the wave are done.
+ */
+private void compileInParallel(List<List<SourceFile[]>> waves, SourceFile[] additionalUnits) {
+	// a unit may have read the previous class file of a unit compiled by another compiler, so the units compiled together
+	// cannot be skipped when looking for the dependents of a structural change
+	this.compiledAllAtOnce = false;
+	List<CompilationResult> resultsToRetry = new ArrayList<>();
+	ExecutorService executor = Executors.newFixedThreadPool(this.compilerThreads, r -> {
+		Thread t = new Thread(r, "Java Builder Compiler"); //$NON-NLS-1$
+		t.setDaemon(true);
+		return t;
+	});
+	try {
+		for (int wave = 0, waveCount = waves.size(); wave < waveCount; wave++) {
+			if (wave > 0)
+				this.nameEnvironment.setNames(null, null); // the locations must see the class files of the previous wave
+			// the units which are not compiled yet are answered from source, the others from their class files
+			LinkedHashSet<SourceFile> waiting = new LinkedHashSet<>();
+			for (int next = wave; next < waveCount; next++)
+				for (SourceFile[] group : waves.get(next))
+					waiting.addAll(Arrays.asList(group));
+			if (additionalUnits != null)
+				for (SourceFile unit : additionalUnits)
+					if (unit != null)
+						waiting.add(unit);
+
+			List<SourceFile[]> groups = waves.get(wave);
+			List<List<CompilationResult>> results = new ArrayList<>(groups.size());
+			List<Future<?>> compiling = new ArrayList<>(groups.size());
+			for (SourceFile[] group : groups) {
+				LinkedHashSet<SourceFile> others = new LinkedHashSet<>(waiting);
+				others.removeAll(Arrays.asList(group));
+				NameEnvironment environment = new NameEnvironment(this.nameEnvironment, initialTypeNames(group),
+						others.toArray(new SourceFile[others.size()]));
+				List<CompilationResult> groupResults = new ArrayList<>(group.length);
+				results.add(groupResults);
+				Compiler groupCompiler = newCompiler(environment, groupResults::add);
+				if (JavaBuilder.DEBUG)
+					trace("About to compile " + group.length + " units in wave " + wave); //$NON-NLS-1$ //$NON-NLS-2$
+				compiling.add(executor.submit(() -> {
+					try {
+						groupCompiler.compile(group);
+					} catch (AbortCompilation ignored) {
+						// cancelled, checked once all compilers are done
+					}
+				}));
+			}
+			RuntimeException failure = null;
+			for (Future<?> future : compiling) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof Error)
+						throw (Error) cause;
+					if (failure == null)
+						failure = cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new OperationCanceledException();
+				}
+			}
+			if (failure != null)
+				throw failure;
+			this.notifier.checkCancel();
+
+			startBatch();
+			try {
+				for (List<CompilationResult> groupResults : results) {
+					for (CompilationResult result : groupResults) {
+						ICompilationUnit unit = result.getCompilationUnit();
+						if (unit instanceof SourceFile && !this.workQueue.isCompiled((SourceFile) unit) && hasMissingTypeErrors(result))
+							resultsToRetry.add(result);
+						acceptResult(result);
+					}
+				}
+			} finally {
+				endBatch();
+			}
+		}
+	} finally {
+		executor.shutdownNow();
+	}
+
+	if (!resultsToRetry.isEmpty()) {
+		// a type compiled by another compiler may not have been found, like a secondary type, compile these units once
+		// more now that all class files are written
+		SourceFile[] toCompile = new SourceFile[resultsToRetry.size()];
+		for (int i = 0, l = toCompile.length; i < l; i++) {
+			CompilationResult result = resultsToRetry.get(i);
+			toCompile[i] = (SourceFile) result.getCompilationUnit();
+			compileAgain(toCompile[i], result);
+		}
+		this.nameEnvironment.setNames(initialTypeNames(toCompile), additionalUnits);
+		try {
+			this.inCompiler = true;
+			this.compiler.compile(toCompile);
+		} catch (AbortCompilation ignored) {
+			// see compile(SourceFile[], SourceFile[], boolean)
+		} finally {
+			this.inCompiler = false;
+		}
+	}
+}
+
+/*
+ * Answer whether the result has an error which a type of another group can cause, when the compiler of the result
+ * did not find it.
+ */
+private static boolean hasMissingTypeErrors(CompilationResult result) {
+	if (!result.hasErrors()) return false;
+	for (CategorizedProblem error : result.getErrors()) {
+		switch (error.getID()) {
+			case IProblem.UndefinedType :
+			case IProblem.UndefinedName :
+			case IProblem.ImportNotFound :
+			case IProblem.IsClassPathCorrect :
+			case IProblem.HierarchyHasProblems :
+			case IProblem.MissingTypeInMethod :
+			case IProblem.MissingTypeInConstructor :
+			case IProblem.MissingTypeInLambda :
+				return true;
+		}
+	}
+	return false;
+}
+
+/**
+ * Prepares the given unit, whose result was already accepted, to be compiled once more during this build. Its new
+ * result replaces the previous one when accepted.
+ */
+protected void compileAgain(SourceFile unit, CompilationResult previousResult) {
+	this.workQueue.compileAgain(unit);
+}
+
+private static String[] initialTypeNames(SourceFile[] units) {
 	String[] initialTypeNames = new String[units.length];
 	for (int i = 0, l = units.length; i < l; i++) {
 		char[] moduleName = units[i].getModuleName();
@@ -434,20 +614,15 @@ protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean
 				? units[i].initialTypeName
 				: new StringBuilder(60).append(moduleName).append(':').append(units[i].initialTypeName).toString();
 	}
-	this.nameEnvironment.setNames(initialTypeNames, additionalUnits);
-	this.notifier.checkCancel();
+	return initialTypeNames;
+}
+
+static int compilerThreads(String option) {
 	try {
-		this.inCompiler = true;
-		this.compiler.compile(units);
-	} catch (AbortCompilation ignored) {
-		// ignore the AbortCompilcation coming from BuildNotifier.checkCancelWithinCompiler()
-		// the Compiler failed after the user has chose to cancel... likely due to an OutOfMemory error
-	} finally {
-		this.inCompiler = false;
+		return option == null ? 1 : Math.max(1, Integer.parseInt(option.trim()));
+	} catch (NumberFormatException e) {
+		return 1;
 	}
-	// Check for cancel immediately after a compile, because the compiler may
-	// have been cancelled but without propagating the correct exception
-	this.notifier.checkCancel();
 }
 
 protected void copyResource(IResource source, IResource destination) throws CoreException {
@@ -520,7 +695,7 @@ protected SourceFile findSourceFile(IFile file, boolean mustExist) {
 
 protected void finishedWith(String sourceLocator, CompilationResult result, char[] mainTypeName, ArrayList definedTypeNames, ArrayList duplicateTypeNames) {
 	if (duplicateTypeNames == null) {
-		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, mainTypeName, definedTypeNames);
+		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, result.memberReferences, mainTypeName, definedTypeNames);
 		return;
 	}
 
@@ -536,7 +711,7 @@ protected void finishedWith(String sourceLocator, CompilationResult result, char
 		System.arraycopy(simpleRefs, 0, simpleRefs = new char[sLength + 1][], 0, sLength);
 		simpleRefs[sLength] = typeName;
 	}
-	this.newState.record(sourceLocator, result.qualifiedReferences, simpleRefs, result.rootReferences, mainTypeName, definedTypeNames);
+	this.newState.record(sourceLocator, result.qualifiedReferences, simpleRefs, result.rootReferences, result.memberReferences, mainTypeName, definedTypeNames);
 }
 
 protected IContainer createFolder(IPath packagePath, IContainer outputFolder) throws CoreException {
@@ -584,6 +759,10 @@ protected boolean isExcludedFromProject(IPath childPath) throws JavaModelExcepti
 }
 
 protected Compiler newCompiler() {
+	return newCompiler(this.nameEnvironment, this);
+}
+
+private Compiler newCompiler(INameEnvironment environment, ICompilerRequestor requestor) {
 	// disable entire javadoc support if not interested in diagnostics
 	Map projectOptions = this.javaBuilder.javaProject.getOptions(true);
 	String option = (String) projectOptions.get(JavaCore.COMPILER_PB_INVALID_JAVADOC);
@@ -623,10 +802,10 @@ protected Compiler newCompiler() {
 	}
 
 	Compiler newCompiler = compilerFactory.newCompiler(
-			this.nameEnvironment,
+			environment,
 			DefaultErrorHandlingPolicies.proceedWithAllProblems(),
 			prepareCompilerConfiguration(compilerOptions),
-			this,
+			requestor,
 			ProblemFactory.getProblemFactory(Locale.getDefault()));
 
 	CompilerOptions options = newCompiler.options;
@@ -818,11 +997,8 @@ protected void recordParticipantResult(CompilationParticipantResult result) {
 	}
 
 	String[] dependencies = result.dependencies;
-	if (dependencies != null) {
-		ReferenceCollection refs = this.newState.references.get(result.sourceFile.typeLocator());
-		if (refs != null)
-			refs.addDependencies(dependencies);
-	}
+	if (dependencies != null)
+		this.newState.recordDependencies(result.sourceFile.typeLocator(), dependencies);
 }
 
 /**
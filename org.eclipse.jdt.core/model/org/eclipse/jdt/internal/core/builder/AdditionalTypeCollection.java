@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,8 +18,17 @@ public class AdditionalTypeCollection extends ReferenceCollection {
 char[][] definedTypeNames;
 
 protected AdditionalTypeCollection(char[][] definedTypeNames, char[][][] qualifiedReferences, char[][] simpleNameReferences, char[][] rootReferences) {
-	super(qualifiedReferences, simpleNameReferences, rootReferences);
+	this(definedTypeNames, qualifiedReferences, simpleNameReferences, rootReferences, null);
+}
+
+protected AdditionalTypeCollection(char[][] definedTypeNames, char[][][] qualifiedReferences, char[][] simpleNameReferences, char[][] rootReferences, char[][] memberReferences) {
+	super(qualifiedReferences, simpleNameReferences, rootReferences, memberReferences);
 	this.definedTypeNames = definedTypeNames; // do not bother interning member type names (i.e. 'A$M')
 }
+
+AdditionalTypeCollection(char[][] definedTypeNames, int[] qualifiedReferences, int[] simpleNameReferences, int[] rootReferences, int[] memberReferences) {
+	super(qualifiedReferences, simpleNameReferences, rootReferences, memberReferences);
+	this.definedTypeNames = definedTypeNames;
+}
 }
 
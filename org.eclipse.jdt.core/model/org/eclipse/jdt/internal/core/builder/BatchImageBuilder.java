@@ -41,6 +41,7 @@ import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.CompilationParticipant;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.core.CompilationGroup;
 import org.eclipse.jdt.internal.core.util.Messages;
@@ -388,6 +389,16 @@ public String toString() {
 	return "batch image builder for:\n\tnew state: " + this.newState; //$NON-NLS-1$
 }
 
+@Override
+protected void compileAgain(SourceFile unit, CompilationResult previousResult) {
+	// the problems & tasks of a batch build are only added, so forget the previous ones before they are reported again
+	CategorizedProblem[] problems = previousResult.getProblems();
+	if (problems != null)
+		this.notifier.removeProblemCounts(problems);
+	JavaBuilder.removeProblemsAndTasksFor(unit.resource);
+	super.compileAgain(unit, previousResult);
+}
+
 @Override
 public void startBatch() {
 	this.batchMode = true;
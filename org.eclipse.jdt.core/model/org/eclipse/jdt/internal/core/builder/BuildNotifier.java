@@ -256,6 +256,15 @@ protected void updateProblemCounts(CategorizedProblem[] newProblems) {
 		if (newProblem.isError()) this.newErrorCount++; else this.newWarningCount++;
 }
 
+/**
+ * Forget the problems counted by {@link #updateProblemCounts(CategorizedProblem[])}, when they are about to be
+ * reported again.
+ */
+protected void removeProblemCounts(CategorizedProblem[] oldProblems) {
+	for (CategorizedProblem oldProblem : oldProblems)
+		if (oldProblem.isError()) this.newErrorCount--; else this.newWarningCount--;
+}
+
 /**
  * Update the problem counts from one compilation result given the old and new problems,
  * either of which may be null.
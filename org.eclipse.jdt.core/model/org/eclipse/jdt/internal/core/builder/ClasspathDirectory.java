@@ -100,8 +100,11 @@ IModule initializeModule() {
 	}
 	return null;
 }
-/** Lists all java-like files and also sub-directories (for recursive tests). */
-String[] directoryList(String qualifiedPackageName) {
+/**
+ * Lists all java-like files and also sub-directories (for recursive tests).
+ * Synchronized since the location can be shared by the compilers of a parallel build.
+ */
+synchronized String[] directoryList(String qualifiedPackageName) {
 	String[] dirList = (String[]) this.directoryCache.get(qualifiedPackageName);
 	if (dirList == this.missingPackageHolder) return null; // package exists in another classpath directory or jar
 	if (dirList != null) return dirList;
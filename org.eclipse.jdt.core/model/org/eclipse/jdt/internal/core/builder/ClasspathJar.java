@@ -350,7 +350,8 @@ public boolean hasCompilationUnit(String pkgName, String moduleName) {
 }
 
 /** Scan the contained packages. */
-private boolean readKnownPackageNames() {
+// synchronized since the jar can be shared by the compilers of a parallel build, which must not open it twice
+private synchronized boolean readKnownPackageNames() {
 	try {
 		if (this.zipFile == null) {
 			if (JavaModelManager.ZIP_ACCESS_VERBOSE) {
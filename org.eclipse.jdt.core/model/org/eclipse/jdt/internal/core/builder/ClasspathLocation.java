@@ -227,13 +227,18 @@ protected IBinaryType decorateWithExternalAnnotations(IBinaryType reader, String
 	return reader; // default: don't decorate. Subclasses to override.
 }
 
+// synchronized since the location can be shared by the compilers of a parallel build
+private synchronized ZipFile getAnnotationZipFile() throws IOException {
+	if (this.annotationZipFile == null) {
+		this.annotationZipFile = ExternalAnnotationDecorator.getAnnotationZipFile(this.externalAnnotationPath, null);
+	}
+	return this.annotationZipFile;
+}
+
 protected NameEnvironmentAnswer createAnswer(String fileNameWithoutExtension, IBinaryType reader, char[] moduleName) {
 	if (this.externalAnnotationPath != null) {
 		try {
-			if (this.annotationZipFile == null) {
-				this.annotationZipFile = ExternalAnnotationDecorator.getAnnotationZipFile(this.externalAnnotationPath, null);
-			}
-			reader = ExternalAnnotationDecorator.create(reader, this.externalAnnotationPath, fileNameWithoutExtension, this.annotationZipFile);
+			reader = ExternalAnnotationDecorator.create(reader, this.externalAnnotationPath, fileNameWithoutExtension, getAnnotationZipFile());
 			if (reader.getExternalAnnotationStatus() == ExternalAnnotationStatus.NOT_EEA_CONFIGURED) {
 				// ensure a reader that answers NO_EEA_FILE
 				reader = new ExternalAnnotationDecorator(reader, null);
@@ -75,7 +75,7 @@ protected boolean isExcluded(IResource resource) {
 	return false;
 }
 @Override
-String[] directoryList(String qualifiedPackageName) {
+synchronized String[] directoryList(String qualifiedPackageName) {
 	String[] dirList = (String[]) this.directoryCache.get(qualifiedPackageName);
 	if (dirList != null) return dirList;
 
@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * Orders the source files of a compilation for compilers running at the same time.
+ * <p>
+ * The source files reference each other through the simple names recorded in the {@link State}. The strongly
+ * connected components of these references are compiled in waves, each component after the components it references,
+ * so the source files of a wave only need the class files written by the previous waves. The components of a wave
+ * which do not reference each other are split in groups, one per compiler.
+ * <p>
+ * The references are the ones of the previous compilation, a source file may reference more now. Such a reference is
+ * still answered by the source file since every file which is not compiled yet is given to the compilers as an
+ * additional unit, the order only avoids compiling it twice.
+ */
+public final class CompilationOrder {
+
+private final int unitCount;
+private final int[][] edges; // indexes of the units referenced by each unit, the last node stands for unknown references
+private final int nodeCount;
+
+// computed by computeComponents()
+private int[] componentOf;
+private int[] componentLevels;
+private int componentCount;
+
+private CompilationOrder(int[][] references) {
+	this.unitCount = references.length;
+	boolean hasUnknownReferences = false;
+	for (int[] referenced : references)
+		if (referenced == null)
+			hasUnknownReferences = true;
+
+	// units without known references may reference any unit: they reference a node which references every unit
+	int unknown = hasUnknownReferences ? this.unitCount : -1;
+	this.nodeCount = hasUnknownReferences ? this.unitCount + 1 : this.unitCount;
+	this.edges = new int[this.nodeCount][];
+	for (int i = 0; i < this.unitCount; i++)
+		this.edges[i] = references[i] == null ? new int[] { unknown } : references[i];
+	if (hasUnknownReferences) {
+		int[] all = new int[this.unitCount];
+		for (int i = 0; i < this.unitCount; i++)
+			all[i] = i;
+		this.edges[unknown] = all;
+	}
+}
+
+/*
+ * Answer the indexes of the units referenced by each unit, null for a unit whose references are not known.
+ */
+private static int[][] referencesBetween(SourceFile[] units, State state, State previousState) {
+	int unitCount = units.length;
+	// which units define a simple name, keyed by the id of the name
+	Map<Integer, List<Integer>> definingUnits = new HashMap<>();
+	ReferenceCollection[] references = new ReferenceCollection[unitCount];
+	for (int i = 0; i < unitCount; i++) {
+		String typeLocator = units[i].typeLocator();
+		references[i] = referencesOf(typeLocator, state, previousState);
+		addDefiningUnit(definingUnits, units[i].getMainTypeName(), i);
+		char[][] definedTypeNames = definedTypeNamesOf(typeLocator, state, previousState);
+		if (definedTypeNames != null)
+			for (char[] definedTypeName : definedTypeNames)
+				addDefiningUnit(definingUnits, definedTypeName, i);
+	}
+
+	int[][] referencedUnits = new int[unitCount][];
+	boolean[] added = new boolean[unitCount];
+	int[] referenced = new int[unitCount];
+	for (int i = 0; i < unitCount; i++) {
+		if (references[i] == null)
+			continue;
+		int count = 0;
+		for (int simpleName : references[i].simpleNameReferences) {
+			List<Integer> definers = definingUnits.get(Integer.valueOf(simpleName));
+			if (definers == null) continue;
+			for (Integer definer : definers) {
+				int j = definer.intValue();
+				if (j != i && !added[j]) {
+					added[j] = true;
+					referenced[count++] = j;
+				}
+			}
+		}
+		referencedUnits[i] = Arrays.copyOf(referenced, count);
+		for (int k = 0; k < count; k++)
+			added[referenced[k]] = false;
+	}
+	return referencedUnits;
+}
+
+private static ReferenceCollection referencesOf(String typeLocator, State state, State previousState) {
+	ReferenceCollection references = state.getReferences().get(typeLocator);
+	if (references == null && previousState != null)
+		references = previousState.getReferences().get(typeLocator);
+	return references;
+}
+
+private static char[][] definedTypeNamesOf(String typeLocator, State state, State previousState) {
+	if (state.getReferences().containsKey(typeLocator) || previousState == null)
+		return state.getDefinedTypeNamesFor(typeLocator);
+	return previousState.getDefinedTypeNamesFor(typeLocator);
+}
+
+private static void addDefiningUnit(Map<Integer, List<Integer>> definingUnits, char[] typeName, int unit) {
+	// a member type is referenced by its own simple name as well as by the names of its enclosing types
+	for (char[] simpleName : CharOperation.splitOn('$', typeName)) {
+		int id = NameTable.findSimpleNameId(simpleName);
+		if (id == NameTable.NOT_FOUND) continue; // no collection references it
+		List<Integer> definers = definingUnits.computeIfAbsent(Integer.valueOf(id), k -> new ArrayList<>(1));
+		if (definers.isEmpty() || definers.get(definers.size() - 1).intValue() != unit)
+			definers.add(Integer.valueOf(unit));
+	}
+}
+
+/**
+ * Answers the waves in which the given source files can be compiled by at most <code>groupCount</code> compilers
+ * at the same time, each wave is made of the groups of source files given to the compilers. A wave holds at least
+ * <code>groupCount * minimumGroupSize</code> source files, except when there are not enough left.
+ *
+ * @param state the state being built, which knows the references of the source files compiled before
+ * @param previousState the state of the previous build or <code>null</code>, asked for the source files which
+ *        are unknown to the state being built
+ * @return the waves or <code>null</code> if the source files should be compiled together by a single compiler
+ */
+static List<List<SourceFile[]>> waves(SourceFile[] units, State state, State previousState, int groupCount, int minimumGroupSize) {
+	if (groupCount < 2 || units.length < 2 * minimumGroupSize)
+		return null;
+	int[][][] waves = waves(referencesBetween(units, state, previousState), groupCount, minimumGroupSize);
+	if (waves == null)
+		return null;
+	List<List<SourceFile[]>> result = new ArrayList<>(waves.length);
+	for (int[][] groupsOfWave : waves) {
+		List<SourceFile[]> groups = new ArrayList<>(groupsOfWave.length);
+		for (int[] group : groupsOfWave) {
+			SourceFile[] files = new SourceFile[group.length];
+			for (int k = 0, l = group.length; k < l; k++)
+				files[k] = units[group[k]];
+			groups.add(files);
+		}
+		result.add(groups);
+	}
+	return result;
+}
+
+/**
+ * Answers the waves in which units referencing each other can be compiled, like
+ * {@link #waves(SourceFile[], State, State, int, int)} does, as the indexes of the units.
+ *
+ * @param references the indexes of the units referenced by each unit, <code>null</code> for a unit whose
+ *        references are not known
+ * @return the waves of groups of indexes, or <code>null</code> if the units should be compiled together by a single
+ *         compiler
+ */
+public static int[][][] waves(int[][] references, int groupCount, int minimumGroupSize) {
+	if (groupCount < 2 || references.length < 2 * minimumGroupSize)
+		return null;
+	CompilationOrder order = new CompilationOrder(references);
+	order.computeComponents();
+	int[][][] waves = order.computeWaves(groupCount, Math.max(1, groupCount * minimumGroupSize));
+	if (waves.length == 1 && waves[0].length == 1)
+		return null; // nothing to compile at the same time
+	return waves;
+}
+
+/*
+ * Tarjan's algorithm, without recursion since the references can form long chains. The components are found in the
+ * order of their references: a component is found after all the components it references, so its level can be
+ * computed when it is found.
+ */
+private void computeComponents() {
+	int n = this.nodeCount;
+	this.componentOf = new int[n];
+	Arrays.fill(this.componentOf, -1);
+	this.componentLevels = new int[n];
+	int[] index = new int[n];
+	Arrays.fill(index, -1);
+	int[] lowLink = new int[n];
+	int[] stack = new int[n];
+	boolean[] onStack = new boolean[n];
+	int stackSize = 0;
+	int[] path = new int[n]; // the nodes being visited
+	int[] nextEdge = new int[n];
+	int nextIndex = 0;
+
+	for (int root = 0; root < n; root++) {
+		if (index[root] != -1) continue;
+		int pathSize = 0;
+		path[pathSize++] = root;
+		index[root] = lowLink[root] = nextIndex++;
+		stack[stackSize++] = root;
+		onStack[root] = true;
+		while (pathSize > 0) {
+			int node = path[pathSize - 1];
+			int[] referenced = this.edges[node];
+			if (nextEdge[node] < referenced.length) {
+				int next = referenced[nextEdge[node]++];
+				if (index[next] == -1) {
+					index[next] = lowLink[next] = nextIndex++;
+					stack[stackSize++] = next;
+					onStack[next] = true;
+					path[pathSize++] = next;
+				} else if (onStack[next] && index[next] < lowLink[node]) {
+					lowLink[node] = index[next];
+				}
+				continue;
+			}
+			pathSize--;
+			if (pathSize > 0) {
+				int parent = path[pathSize - 1];
+				if (lowLink[node] < lowLink[parent])
+					lowLink[parent] = lowLink[node];
+			}
+			if (lowLink[node] != index[node]) continue;
+
+			int component = this.componentCount++;
+			int start = stackSize;
+			do {
+				onStack[stack[--start]] = false;
+				this.componentOf[stack[start]] = component;
+			} while (stack[start] != node);
+			int level = 0;
+			for (int i = start; i < stackSize; i++)
+				for (int next : this.edges[stack[i]])
+					if (this.componentOf[next] != component && this.componentLevels[this.componentOf[next]] >= level)
+						level = this.componentLevels[this.componentOf[next]] + 1;
+			this.componentLevels[component] = level;
+			stackSize = start;
+		}
+	}
+}
+
+private int[][][] computeWaves(int groupCount, int waveSize) {
+	int unitCount = this.unitCount;
+	// count the units of each level, then close a wave once it is large enough
+	int maxLevel = 0;
+	for (int c = 0; c < this.componentCount; c++)
+		maxLevel = Math.max(maxLevel, this.componentLevels[c]);
+	int[] unitsPerLevel = new int[maxLevel + 1];
+	for (int i = 0; i < unitCount; i++)
+		unitsPerLevel[this.componentLevels[this.componentOf[i]]]++;
+	int[] waveOfLevel = new int[maxLevel + 1];
+	int waveCount = 0;
+	int size = 0;
+	for (int level = 0; level <= maxLevel; level++) {
+		waveOfLevel[level] = waveCount;
+		size += unitsPerLevel[level];
+		if (size >= waveSize) {
+			waveCount++;
+			size = 0;
+		}
+	}
+	if (size > 0) {
+		if (waveCount > 0) {
+			// too small to be a wave of its own
+			for (int level = maxLevel; level >= 0 && waveOfLevel[level] == waveCount; level--)
+				waveOfLevel[level] = waveCount - 1;
+		} else {
+			waveCount = 1;
+		}
+	}
+	int[] waveOf = new int[this.nodeCount];
+	for (int node = 0; node < this.nodeCount; node++)
+		waveOf[node] = waveOfLevel[this.componentLevels[this.componentOf[node]]];
+
+	// the units of a wave which reference each other must be compiled by the same compiler
+	int[] parent = new int[this.nodeCount];
+	for (int node = 0; node < this.nodeCount; node++)
+		parent[node] = node;
+	for (int node = 0; node < this.nodeCount; node++)
+		for (int next : this.edges[node])
+			if (waveOf[next] == waveOf[node])
+				union(parent, node, next);
+
+	// the connected units of each wave, in the order in which the units were given
+	List<Map<Integer, List<Integer>>> connected = new ArrayList<>(waveCount);
+	for (int wave = 0; wave < waveCount; wave++)
+		connected.add(new HashMap<>());
+	for (int i = 0; i < unitCount; i++)
+		connected.get(waveOf[i]).computeIfAbsent(Integer.valueOf(find(parent, i)), k -> new ArrayList<>()).add(Integer.valueOf(i));
+
+	List<List<List<Integer>>> waves = new ArrayList<>(waveCount);
+	for (int wave = 0; wave < waveCount; wave++) {
+		// the largest first, each in the smallest group so far
+		List<List<Integer>> sets = new ArrayList<>(connected.get(wave).values());
+		sets.sort((a, b) -> b.size() - a.size());
+		int groups = Math.min(groupCount, sets.size());
+		int[] groupSizes = new int[groups];
+		int[] groupOf = new int[sets.size()];
+		for (int k = 0, l = sets.size(); k < l; k++) {
+			int smallest = 0;
+			for (int g = 1; g < groups; g++)
+				if (groupSizes[g] < groupSizes[smallest])
+					smallest = g;
+			groupOf[k] = smallest;
+			groupSizes[smallest] += sets.get(k).size();
+		}
+		int last = waves.size() - 1;
+		List<List<Integer>> groupsOfWave;
+		if (groups == 1 && last >= 0 && waves.get(last).size() == 1) {
+			groupsOfWave = waves.get(last); // following waves of a single group are compiled by the same compiler
+		} else {
+			groupsOfWave = new ArrayList<>(groups);
+			for (int g = 0; g < groups; g++)
+				groupsOfWave.add(new ArrayList<>(groupSizes[g]));
+			waves.add(groupsOfWave);
+		}
+		for (int k = 0, l = sets.size(); k < l; k++)
+			for (Integer i : sets.get(k))
+				groupsOfWave.get(groupOf[k]).add(i);
+	}
+	int[][][] result = new int[waves.size()][][];
+	for (int wave = 0, l = result.length; wave < l; wave++) {
+		List<List<Integer>> groupsOfWave = waves.get(wave);
+		result[wave] = new int[groupsOfWave.size()][];
+		for (int g = 0, groups = groupsOfWave.size(); g < groups; g++)
+			result[wave][g] = groupsOfWave.get(g).stream().mapToInt(Integer::intValue).toArray();
+	}
+	return result;
+}
+
+private static int find(int[] parent, int node) {
+	while (parent[node] != node)
+		node = parent[node] = parent[parent[node]];
+	return node;
+}
+
+private static void union(int[] parent, int a, int b) {
+	int rootA = find(parent, a);
+	int rootB = find(parent, b);
+	if (rootA != rootB)
+		parent[rootA] = rootB;
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 jkubitz and others.
+ * Copyright (c) 2021, 2026 jkubitz and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -115,6 +115,33 @@ public class CompressedReader {
 		}
 	}
 
+	/**
+	 * Reads a non negative integer number 7 bits per byte.
+	 *
+	 * @see CompressedWriter#writeVarInt(int)
+	 **/
+	public int readVarInt() throws IOException {
+		int v = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = this.in.readByte();
+			v |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return v;
+			}
+		}
+	}
+
+	/**
+	 * Reads bytes preceded by their count.
+	 *
+	 * @see CompressedWriter#writeBytes(byte[])
+	 **/
+	public byte[] readBytes() throws IOException {
+		byte[] bytes = new byte[readVarInt()];
+		this.in.readFully(bytes);
+		return bytes;
+	}
+
 	/**
 	 * Reads an array of chars by using this first common chars of the last result. The number of common chars is
 	 * decoded from a single byte. The remaining chars are read using the dictionary.
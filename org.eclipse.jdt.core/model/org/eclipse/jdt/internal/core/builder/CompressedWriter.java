@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 jkubitz and others.
+ * Copyright (c) 2021, 2026 jkubitz and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -125,6 +125,39 @@ public class CompressedWriter {
 		}
 	}
 
+	/**
+	 * Write a number v which must be {@code 0 <= v}. Otherwise IllegalArgumentException is thrown. Encodes 7 bits per
+	 * byte, the high bit of a byte tells whether more bytes follow.
+	 *
+	 * @param v
+	 *            the number to write.
+	 * @see CompressedReader#readVarInt()
+	 **/
+	public void writeVarInt(int v) throws IOException {
+		// => typically(v<128) only one byte per int
+		if (v < 0) {
+			throw new IllegalArgumentException(String.valueOf(v));
+		}
+		while (v > 0x7F) {
+			this.out.writeByte(v & 0x7F | 0x80);
+			v >>>= 7;
+		}
+		this.out.writeByte(v);
+	}
+
+	/**
+	 * Writes the given bytes as they are, preceded by their count. The bytes do not share the context of this writer,
+	 * so they can be read without reading what was written before them.
+	 *
+	 * @param bytes
+	 *            the bytes to write.
+	 * @see CompressedReader#readBytes()
+	 **/
+	public void writeBytes(byte[] bytes) throws IOException {
+		writeVarInt(bytes.length);
+		this.out.write(bytes);
+	}
+
 	/**
 	 * Writes the given String. If the String was already written before its index in the dictionary is encoded as
 	 * index+1. Otherwise a 0 index is encoded and then the String is encoded as UTF8 and stored into dictionary.
@@ -0,0 +1,410 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Inverted index of the {@link ReferenceCollection}s of a {@link State}: answers the type locators whose collection
+ * references one of a set of names, so that the dependents of a change can be found without asking every collection.
+ * <p>
+ * The names are the ids of the {@link NameTable}, like in the collections.
+ */
+public class DependencyIndex {
+
+// keyed by the name id, value is the set of type locators which reference it
+Dependents simpleNames;
+Dependents qualifiedNames;
+Dependents rootNames;
+// locator sets which are not shared with the index this one was copied from, they can be changed in place
+private Set<Locators> ownedLocators;
+
+DependencyIndex() {
+	this.simpleNames = new Dependents(0);
+	this.qualifiedNames = new Dependents(0);
+	this.rootNames = new Dependents(0);
+	this.ownedLocators = Collections.newSetFromMap(new IdentityHashMap<>());
+}
+
+public DependencyIndex(Map<String, ReferenceCollection> references) {
+	this();
+	for (Entry<String, ReferenceCollection> entry : references.entrySet())
+		add(entry.getKey(), entry.getValue());
+}
+
+/**
+ * Answers a copy of this index which can be changed independently. The locator sets are shared and only copied
+ * once they change, in either index.
+ */
+DependencyIndex copy() {
+	DependencyIndex copy = new DependencyIndex();
+	copy.simpleNames = this.simpleNames.copy();
+	copy.qualifiedNames = this.qualifiedNames.copy();
+	copy.rootNames = this.rootNames.copy();
+	this.ownedLocators.clear(); // now shared with the copy
+	return copy;
+}
+
+void add(String typeLocator, ReferenceCollection collection) {
+	for (int qualifiedName : collection.qualifiedNameReferences)
+		add(this.qualifiedNames, qualifiedName, typeLocator);
+	for (int simpleName : collection.simpleNameReferences)
+		add(this.simpleNames, simpleName, typeLocator);
+	for (int rootName : collection.rootReferences)
+		add(this.rootNames, rootName, typeLocator);
+}
+
+void remove(String typeLocator, ReferenceCollection collection) {
+	for (int qualifiedName : collection.qualifiedNameReferences)
+		remove(this.qualifiedNames, qualifiedName, typeLocator);
+	for (int simpleName : collection.simpleNameReferences)
+		remove(this.simpleNames, simpleName, typeLocator);
+	for (int rootName : collection.rootReferences)
+		remove(this.rootNames, rootName, typeLocator);
+}
+
+private void add(Dependents dependents, int name, String typeLocator) {
+	Locators locators = dependents.get(name);
+	if (locators == null) {
+		locators = new Locators(1);
+		this.ownedLocators.add(locators);
+		dependents.put(name, locators);
+	} else if (!this.ownedLocators.contains(locators)) {
+		locators = locators.copy();
+		this.ownedLocators.add(locators);
+		dependents.put(name, locators);
+	}
+	locators.add(typeLocator);
+}
+
+private void remove(Dependents dependents, int name, String typeLocator) {
+	Locators locators = dependents.get(name);
+	if (locators == null || !locators.includes(typeLocator)) return;
+	if (locators.elementSize == 1) {
+		dependents.remove(name);
+		this.ownedLocators.remove(locators);
+		return;
+	}
+	if (!this.ownedLocators.contains(locators)) {
+		locators = locators.copy();
+		this.ownedLocators.add(locators);
+		dependents.put(name, locators);
+	}
+	locators.remove(typeLocator);
+}
+
+/**
+ * Answers the type locators whose collection may include the given names, a superset of the ones for which
+ * {@link ReferenceCollection#includes(ReferenceCollection.Query)} answers true.
+ *
+ * @return the candidate type locators or <code>null</code> if every collection has to be asked
+ */
+Set<String> getDependents(ReferenceCollection.Query query) {
+	Set<String> dependents = new LinkedHashSet<>();
+	// see ReferenceCollection#includes() for the meaning of null
+	if (query.simpleNames != null) {
+		// the simple names must match whenever they are given
+		for (int simpleName : query.simpleNames.ids)
+			addAll(dependents, this.simpleNames.get(simpleName));
+	} else if (query.qualifiedNames != null) {
+		for (int qualifiedName : query.qualifiedNames.ids)
+			addAll(dependents, this.qualifiedNames.get(qualifiedName));
+		// qualified names with a single segment are kept as simple names
+		for (int simpleName : query.singleQualifiedNames.ids)
+			addAll(dependents, this.simpleNames.get(simpleName));
+	} else if (query.rootNames != null) {
+		for (int rootName : query.rootNames.ids)
+			addAll(dependents, this.rootNames.get(rootName));
+	} else {
+		return null;
+	}
+	return dependents;
+}
+
+private static void addAll(Set<String> dependents, Locators locators) {
+	if (locators == null) return;
+	for (String typeLocator : locators.values)
+		if (typeLocator != null)
+			dependents.add(typeLocator);
+}
+
+@Override
+public int hashCode() {
+	return Objects.hash(Integer.valueOf(this.simpleNames.elementSize), Integer.valueOf(this.qualifiedNames.elementSize),
+			Integer.valueOf(this.rootNames.elementSize));
+}
+
+@Override
+public boolean equals(Object obj) {
+	if (this == obj) {
+		return true;
+	}
+	if (!(obj instanceof DependencyIndex)) {
+		return false;
+	}
+	DependencyIndex other = (DependencyIndex) obj;
+	return this.simpleNames.equals(other.simpleNames)
+			&& this.qualifiedNames.equals(other.qualifiedNames)
+			&& this.rootNames.equals(other.rootNames);
+}
+
+/**
+ * Open addressing map from name ids to the locators which reference the name, supports removal by shifting the
+ * following entries back.
+ */
+static final class Dependents {
+
+// to avoid using Enumerations, walk the individual values skipping nulls
+int[] keys; // name id + 1, 0 is free
+Locators[] values;
+int elementSize; // number of elements in the table
+
+Dependents(int size) {
+	int length = 16;
+	while (length < size * 2)
+		length <<= 1;
+	this.keys = new int[length];
+	this.values = new Locators[length];
+}
+
+Dependents copy() {
+	Dependents copy = new Dependents(0);
+	copy.keys = this.keys.clone();
+	copy.values = this.values.clone();
+	copy.elementSize = this.elementSize;
+	return copy;
+}
+
+private int indexOf(int key) {
+	// ids of a package are close, take the high bits of a multiplicative hash against clustering
+	return (key * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(this.keys.length - 1);
+}
+
+Locators get(int id) {
+	int key = id + 1;
+	int mask = this.keys.length - 1;
+	int index = indexOf(key);
+	int current;
+	while ((current = this.keys[index]) != 0) {
+		if (current == key) return this.values[index];
+		index = (index + 1) & mask;
+	}
+	return null;
+}
+
+void put(int id, Locators locators) {
+	int key = id + 1;
+	int mask = this.keys.length - 1;
+	int index = indexOf(key);
+	int current;
+	while ((current = this.keys[index]) != 0) {
+		if (current == key) {
+			this.values[index] = locators;
+			return;
+		}
+		index = (index + 1) & mask;
+	}
+	this.keys[index] = key;
+	this.values[index] = locators;
+	if (++this.elementSize * 2 > this.keys.length) rehash();
+}
+
+void remove(int id) {
+	int key = id + 1;
+	int mask = this.keys.length - 1;
+	int index = indexOf(key);
+	int current;
+	while ((current = this.keys[index]) != 0) {
+		if (current == key) {
+			this.keys[index] = 0;
+			this.values[index] = null;
+			this.elementSize--;
+			// move back the following entries which would no longer be found
+			int free = index;
+			while ((current = this.keys[index = (index + 1) & mask]) != 0) {
+				int wanted = indexOf(current);
+				if (free <= index ? (wanted <= free || wanted > index) : (wanted <= free && wanted > index)) {
+					this.keys[free] = current;
+					this.values[free] = this.values[index];
+					this.keys[index] = 0;
+					this.values[index] = null;
+					free = index;
+				}
+			}
+			return;
+		}
+		index = (index + 1) & mask;
+	}
+}
+
+private void rehash() {
+	int[] oldKeys = this.keys;
+	Locators[] oldValues = this.values;
+	this.keys = new int[oldKeys.length * 2];
+	this.values = new Locators[oldKeys.length * 2];
+	this.elementSize = 0;
+	for (int i = 0, l = oldKeys.length; i < l; i++)
+		if (oldKeys[i] != 0)
+			put(oldKeys[i] - 1, oldValues[i]);
+}
+
+@Override
+public int hashCode() {
+	return this.elementSize;
+}
+
+@Override
+public boolean equals(Object obj) {
+	if (this == obj) {
+		return true;
+	}
+	if (!(obj instanceof Dependents)) {
+		return false;
+	}
+	Dependents other = (Dependents) obj;
+	if (this.elementSize != other.elementSize) {
+		return false;
+	}
+	for (int i = 0, l = this.keys.length; i < l; i++)
+		if (this.keys[i] != 0 && !this.values[i].equals(other.get(this.keys[i] - 1)))
+			return false;
+	return true;
+}
+}
+
+/**
+ * Open addressing set of type locators, supports removal by shifting the following entries back.
+ */
+static final class Locators {
+
+// to avoid using Enumerations, walk the individual values skipping nulls
+String[] values;
+int elementSize; // number of elements in the table
+
+Locators(int size) {
+	int length = 4;
+	while (length < size * 2)
+		length <<= 1;
+	this.values = new String[length];
+}
+
+Locators copy() {
+	Locators copy = new Locators(0);
+	copy.values = this.values.clone();
+	copy.elementSize = this.elementSize;
+	return copy;
+}
+
+private int indexOf(String value) {
+	// type locators of a folder have close hash codes, take the high bits of a multiplicative hash against clustering
+	return (value.hashCode() * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(this.values.length - 1);
+}
+
+boolean add(String value) {
+	int mask = this.values.length - 1;
+	int index = indexOf(value);
+	String current;
+	while ((current = this.values[index]) != null) {
+		if (value.equals(current)) return false;
+		index = (index + 1) & mask;
+	}
+	this.values[index] = value;
+	if (++this.elementSize * 2 > this.values.length) rehash();
+	return true;
+}
+
+boolean includes(String value) {
+	int mask = this.values.length - 1;
+	int index = indexOf(value);
+	String current;
+	while ((current = this.values[index]) != null) {
+		if (value.equals(current)) return true;
+		index = (index + 1) & mask;
+	}
+	return false;
+}
+
+boolean remove(String value) {
+	int mask = this.values.length - 1;
+	int index = indexOf(value);
+	String current;
+	while ((current = this.values[index]) != null) {
+		if (value.equals(current)) {
+			this.values[index] = null;
+			this.elementSize--;
+			// move back the following entries which would no longer be found
+			int free = index;
+			while ((current = this.values[index = (index + 1) & mask]) != null) {
+				int wanted = indexOf(current);
+				if (free <= index ? (wanted <= free || wanted > index) : (wanted <= free && wanted > index)) {
+					this.values[free] = current;
+					this.values[index] = null;
+					free = index;
+				}
+			}
+			return true;
+		}
+		index = (index + 1) & mask;
+	}
+	return false;
+}
+
+private void rehash() {
+	String[] oldValues = this.values;
+	this.values = new String[oldValues.length * 2];
+	this.elementSize = 0;
+	for (String value : oldValues)
+		if (value != null)
+			add(value);
+}
+
+@Override
+public int hashCode() {
+	return this.elementSize;
+}
+
+@Override
+public boolean equals(Object obj) {
+	if (this == obj) {
+		return true;
+	}
+	if (!(obj instanceof Locators)) {
+		return false;
+	}
+	Locators other = (Locators) obj;
+	if (this.elementSize != other.elementSize) {
+		return false;
+	}
+	for (String value : this.values)
+		if (value != null && !other.includes(value))
+			return false;
+	return true;
+}
+
+@Override
+public String toString() {
+	StringBuilder s = new StringBuilder();
+	for (String value : this.values)
+		if (value != null)
+			s.append(value).append('\n');
+	return s.toString();
+}
+}
+}
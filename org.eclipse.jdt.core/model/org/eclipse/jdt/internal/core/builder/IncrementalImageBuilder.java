@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,8 +17,10 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import org.eclipse.core.resources.IContainer;
@@ -42,6 +44,7 @@ import org.eclipse.jdt.internal.compiler.ClassFile;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.lookup.CompilationUnitScope;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
@@ -62,6 +65,8 @@ protected LinkedHashSet<SourceFile> previousSourceFiles;
 protected Set<String> qualifiedStrings;
 protected Set<String> simpleStrings;
 protected Set<String> rootStrings;
+// the keys of the changed members by type, for the types whose changes only affect the references to their members
+protected Map<String, char[][]> changedMembers;
 protected SimpleLookupTable secondaryTypesToRemove;
 protected boolean hasStructuralChanges;
 protected boolean makeOutputFolderConsistent;
@@ -240,14 +245,29 @@ protected void buildAfterBatchBuild() {
 }
 
 protected void addAffectedSourceFiles() {
-	if (this.qualifiedStrings.size() == 0 && this.simpleStrings.size() == 0) return;
+	if (this.qualifiedStrings.size() == 0 && this.simpleStrings.size() == 0 && this.changedMembers.isEmpty()) return;
 	if(this.testImageBuilder != null) {
 		this.testImageBuilder.addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+		this.testImageBuilder.addAffectedSourceFiles(this.changedMembers);
 	}
 	addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+	addAffectedSourceFiles(this.changedMembers);
 }
 
 protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simpleSet, Set<String> rootSet, Set<String> affectedTypes) {
+	addAffectedSourceFiles(qualifiedSet, simpleSet, rootSet, affectedTypes, null);
+}
+
+protected void addAffectedSourceFiles(Map<String, char[][]> changedMembersByType) {
+	// the dependents of each type which also reference one of its changed members
+	for (Entry<String, char[][]> entry : changedMembersByType.entrySet()) {
+		Set<String> qualifiedNames = new HashSet<>(3), simpleNames = new HashSet<>(3), rootNames = new HashSet<>(3);
+		addDependentsOf(new Path(entry.getKey()), false, qualifiedNames, simpleNames, rootNames);
+		addAffectedSourceFiles(qualifiedNames, simpleNames, rootNames, null, ReferenceCollection.members(entry.getValue()));
+	}
+}
+
+private void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simpleSet, Set<String> rootSet, Set<String> affectedTypes, ReferenceCollection.IdSet members) {
 	// the qualifiedStrings are of the form 'p1/p2' & the simpleStrings are just 'X'
 	char[][][] internedQualifiedNames = ReferenceCollection.internQualifiedNames(qualifiedSet);
 	// if a well known qualified name was found then we can skip over these
@@ -258,12 +278,17 @@ protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simp
 	if (internedSimpleNames.length < simpleSet.size())
 		internedSimpleNames = null;
 	char[][] internedRootNames = ReferenceCollection.internSimpleNames(rootSet, false);
+	// map the names to ids once for all the collections
+	ReferenceCollection.Query query = ReferenceCollection.query(internedQualifiedNames, internedSimpleNames, internedRootNames);
 
-	next: for (Entry<String, ReferenceCollection> entry : this.newState.references.entrySet()) {
-		String typeLocator = entry.getKey();
+	// only the type locators answered by the dependency index can include the names
+	Set<String> dependents = this.newState.getDependents(query);
+	Map<String, ReferenceCollection> references = this.newState.getReferences();
+	next: for (String typeLocator : dependents != null ? dependents : references.keySet()) {
 		if (affectedTypes != null && !affectedTypes.contains(typeLocator)) continue next;
-		ReferenceCollection refs = entry.getValue();
-		if (refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames)) {
+		ReferenceCollection refs = references.get(typeLocator);
+		if (refs == null) continue next;
+		if (refs.includes(query) && (members == null || refs.includesMembers(members))) {
 			IFile file = this.javaBuilder.currentProject.getFile(typeLocator);
 			SourceFile sourceFile = findSourceFile(file, true);
 			if (sourceFile == null) continue next;
@@ -317,6 +342,26 @@ protected void addDependentsOf(IPath path, boolean isStructuralChange, Set<Strin
 			+ typeName + " in " + packageName); //$NON-NLS-1$
 }
 
+/**
+ * Adds the dependents of the given type which reference one of the changed members or declare a subtype, see
+ * {@link ClassFileReader#getStructurallyChangedMembers(byte[])}.
+ */
+protected void addMemberDependentsOf(String qualifiedTypeName, char[][] members) {
+	if (!this.hasStructuralChanges) {
+		this.newState.tagAsStructurallyChanged();
+		this.hasStructuralChanges = true;
+	}
+	char[][] previous = this.changedMembers.get(qualifiedTypeName);
+	if (previous != null)
+		members = CharOperation.arrayConcat(previous, members);
+	else // the subtypes are affected by any change of their supertype's members
+		members = CharOperation.arrayConcat(members, CompilationUnitScope.hierarchyKey(qualifiedTypeName.toCharArray()));
+	this.changedMembers.put(qualifiedTypeName, members);
+	if (JavaBuilder.DEBUG)
+		System.out.println("  will look for dependents of the members " //$NON-NLS-1$
+			+ Arrays.toString(CharOperation.toStrings(members)) + " of " + qualifiedTypeName); //$NON-NLS-1$
+}
+
 protected boolean checkForClassFileChanges(IResourceDelta binaryDelta, ClasspathMultiDirectory md, int segmentCount) throws CoreException {
 	IResource resource = binaryDelta.getResource();
 	// remember that if inclusion & exclusion patterns change then a full build is done
@@ -356,6 +401,7 @@ protected void cleanUp() {
 	this.qualifiedStrings = null;
 	this.simpleStrings = null;
 	this.rootStrings = null;
+	this.changedMembers = null;
 	this.secondaryTypesToRemove = null;
 	this.hasStructuralChanges = false;
 }
@@ -842,6 +888,7 @@ protected void resetCollections() {
 		this.qualifiedStrings = new HashSet<>(3);
 		this.simpleStrings = new HashSet<>(3);
 		this.rootStrings = new HashSet<>(3);
+		this.changedMembers = new HashMap<>(3);
 		this.hasStructuralChanges = false;
 	} else {
 		this.previousSourceFiles = this.sourceFiles.isEmpty() ? null : (LinkedHashSet) this.sourceFiles.clone();
@@ -850,6 +897,7 @@ protected void resetCollections() {
 		this.qualifiedStrings.clear();
 		this.simpleStrings.clear();
 		this.rootStrings.clear();
+		this.changedMembers.clear();
 		this.workQueue.clear();
 	}
 }
@@ -961,11 +1009,19 @@ protected boolean classFileChanged(IFile file, String fileName, byte[] newBytes)
 		String filePath = location.getSchemeSpecificPart();
 		ClassFileReader reader = new ClassFileReader(oldBytes, filePath.toCharArray());
 		// ignore local types since they're only visible inside a single method
-		if (!(reader.isLocal() || reader.isAnonymous()) && reader.hasStructuralChanges(newBytes)) {
-			if (JavaBuilder.DEBUG)
-				System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
-			addDependentsOf(new Path(fileName), true);
-			this.newState.wasStructurallyChanged(fileName);
+		if (!(reader.isLocal() || reader.isAnonymous())) {
+			char[][] members = reader.getStructurallyChangedMembers(newBytes);
+			if (members == null) {
+				if (JavaBuilder.DEBUG)
+					System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
+				addDependentsOf(new Path(fileName), true);
+				this.newState.wasStructurallyChanged(fileName);
+			} else if (members.length > 0) {
+				if (JavaBuilder.DEBUG)
+					System.out.println("Type has structural changes to its members " + fileName); //$NON-NLS-1$
+				addMemberDependentsOf(fileName, members);
+				this.newState.wasStructurallyChanged(fileName);
+			}
 		}
 	} catch (JavaModelException jme) {
 		Throwable e = jme.getCause();
@@ -103,6 +103,22 @@ public NameEnvironment(IJavaProject javaProject, CompilationGroup compilationGro
 	setNames(null, null);
 }
 
+/**
+ * Answers an environment which shares the classpath locations of the given one but knows other names being compiled,
+ * so that several compilers can use the locations at the same time. The locations are not reset and must not be
+ * changed while they are shared, what they open or cache lazily (jars, directory lists...) is synchronized.
+ */
+NameEnvironment(NameEnvironment environment, String[] typeNames, SourceFile[] additionalFiles) {
+	this.compilationGroup = environment.compilationGroup;
+	this.isIncrementalBuild = environment.isIncrementalBuild;
+	this.notifier = environment.notifier;
+	this.sourceLocations = environment.sourceLocations;
+	this.binaryLocations = environment.binaryLocations;
+	this.modulePathEntries = environment.modulePathEntries;
+	this.moduleUpdater = environment.moduleUpdater;
+	initializeNames(typeNames, additionalFiles);
+}
+
 /* Some examples of resolved class path entries.
 * Remember to search class path in the order that it was defined.
 *
@@ -771,6 +787,15 @@ public char[][] listPackages(char[] moduleName) {
 	}
 }
 void setNames(String[] typeNames, SourceFile[] additionalFiles) {
+	initializeNames(typeNames, additionalFiles);
+
+	for (ClasspathMultiDirectory sourceLocation : this.sourceLocations)
+		sourceLocation.reset();
+	for (ClasspathLocation binaryLocation : this.binaryLocations)
+		binaryLocation.reset();
+}
+
+private void initializeNames(String[] typeNames, SourceFile[] additionalFiles) {
 	// convert the initial typeNames to a set
 	if (typeNames == null) {
 		this.initialTypeNames = null;
@@ -789,11 +814,6 @@ void setNames(String[] typeNames, SourceFile[] additionalFiles) {
 				this.additionalUnits.put(additionalUnit.initialTypeName, additionalUnit);
 		}
 	}
-
-	for (ClasspathMultiDirectory sourceLocation : this.sourceLocations)
-		sourceLocation.reset();
-	for (ClasspathLocation binaryLocation : this.binaryLocations)
-		binaryLocation.reset();
 }
 
 @Override
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.util.CharDeduplication;
+
+/**
+ * Numbers the names referenced by the {@link ReferenceCollection}s, so that a collection only keeps sorted arrays of
+ * ids. Simple names (also used for the root names) and qualified names are numbered separately, a qualified name is
+ * kept as the ids of its simple names.
+ * <p>
+ * The ids are shared by all states of the workspace since the collections are shared between the states too. Like
+ * the interned names before, the table only grows: an id is never reused. Looking up names and ids takes no lock, so
+ * that the compilers of parallel builds do not wait for each other; only adding a name does.
+ */
+final class NameTable {
+
+static final int NOT_FOUND = -1;
+
+/**
+ * Open addressing table of names. Readers work on the current generation without locking: a name is stored before
+ * its slot is set, and a table which grows is copied into a new generation, published once it is complete.
+ */
+private static final class Table<N> {
+
+	private static final class Generation {
+		final Object[] names;
+		// holds id + 1 so that 0 is free
+		final AtomicIntegerArray slots;
+
+		Generation(Object[] names, int slotCount) {
+			this.names = names;
+			this.slots = new AtomicIntegerArray(slotCount);
+		}
+	}
+
+	private final ToIntFunction<N> hashFunction;
+	private final BiPredicate<N, N> equality;
+	private volatile Generation generation = new Generation(new Object[1024], 2048);
+	private int count; // guarded by this
+
+	Table(ToIntFunction<N> hashFunction, BiPredicate<N, N> equality) {
+		this.hashFunction = hashFunction;
+		this.equality = equality;
+	}
+
+	@SuppressWarnings("unchecked")
+	int find(N name) {
+		Generation current = this.generation;
+		AtomicIntegerArray slots = current.slots;
+		int mask = slots.length() - 1;
+		int index = slotOf(this.hashFunction.applyAsInt(name), mask);
+		int slot;
+		while ((slot = slots.get(index)) != 0) {
+			if (this.equality.test(name, (N) current.names[slot - 1])) return slot - 1;
+			index = (index + 1) & mask;
+		}
+		return NOT_FOUND;
+	}
+
+	synchronized int add(N name) {
+		int id = find(name);
+		if (id != NOT_FOUND) return id;
+		id = this.count;
+		Generation current = this.generation;
+		if (id == current.names.length || (id + 1) * 2 > current.slots.length())
+			this.generation = current = grow(current);
+		current.names[id] = name;
+		current.slots.set(freeSlot(current, name), id + 1);
+		this.count = id + 1;
+		return id;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Generation grow(Generation current) {
+		Object[] names = Arrays.copyOf(current.names, this.count == current.names.length ? this.count * 2 : current.names.length);
+		Generation grown = new Generation(names, current.slots.length() * 2);
+		for (int i = 0; i < this.count; i++)
+			grown.slots.set(freeSlot(grown, (N) names[i]), i + 1);
+		return grown;
+	}
+
+	private int freeSlot(Generation current, N name) {
+		int mask = current.slots.length() - 1;
+		int index = slotOf(this.hashFunction.applyAsInt(name), mask);
+		while (current.slots.get(index) != 0)
+			index = (index + 1) & mask;
+		return index;
+	}
+
+	@SuppressWarnings("unchecked")
+	N get(int id) {
+		return (N) this.generation.names[id];
+	}
+}
+
+private static final Table<char[]> simpleNames = new Table<>(CharOperation::hashCode, CharOperation::equals);
+private static final Table<int[]> qualifiedNames = new Table<>(Arrays::hashCode, Arrays::equals);
+
+private NameTable() {
+	// not instantiable
+}
+
+/**
+ * Answers the id of the given simple name, the name is added if it is not yet known.
+ */
+static int simpleNameId(char[] name) {
+	int id = simpleNames.find(name);
+	return id != NOT_FOUND ? id : simpleNames.add(CharDeduplication.intern(name));
+}
+
+/**
+ * Answers the id of the given simple name or {@link #NOT_FOUND} if no collection can reference it.
+ */
+static int findSimpleNameId(char[] name) {
+	return simpleNames.find(name);
+}
+
+static char[] simpleName(int id) {
+	return simpleNames.get(id);
+}
+
+/**
+ * Answers the id of the qualified name made of the given simple name ids, the name is added if it is not yet known.
+ * The array is kept by the table and must not be changed.
+ */
+static int qualifiedNameId(int[] segments) {
+	int id = qualifiedNames.find(segments);
+	return id != NOT_FOUND ? id : qualifiedNames.add(segments);
+}
+
+/**
+ * Answers the id of the given qualified name, the name and its segments are added if they are not yet known.
+ */
+static int qualifiedNameId(char[][] name) {
+	int[] segments = new int[name.length];
+	for (int i = 0, l = name.length; i < l; i++)
+		segments[i] = simpleNameId(name[i]);
+	return qualifiedNameId(segments);
+}
+
+/**
+ * Answers the id of the given qualified name or {@link #NOT_FOUND} if no collection can reference it.
+ */
+static int findQualifiedNameId(char[][] name) {
+	int[] segments = new int[name.length];
+	for (int i = 0, l = name.length; i < l; i++)
+		if ((segments[i] = findSimpleNameId(name[i])) == NOT_FOUND)
+			return NOT_FOUND;
+	return qualifiedNames.find(segments);
+}
+
+/**
+ * Answers the simple name ids of the given qualified name, the array must not be changed.
+ */
+static int[] qualifiedNameSegments(int id) {
+	return qualifiedNames.get(id);
+}
+
+static char[][] qualifiedName(int id) {
+	int[] segments = qualifiedNameSegments(id);
+	char[][] name = new char[segments.length][];
+	for (int i = 0, l = segments.length; i < l; i++)
+		name[i] = simpleName(segments[i]);
+	return name;
+}
+
+private static int slotOf(int hashCode, int mask) {
+	// names of a package have close hash codes, take the high bits of a multiplicative hash against clustering
+	return (hashCode * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+}
+}
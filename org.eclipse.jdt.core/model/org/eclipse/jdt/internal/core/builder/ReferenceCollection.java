@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,26 +17,48 @@
 package org.eclipse.jdt.internal.core.builder;
 
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.lookup.CompilationUnitScope;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.util.CharDeduplication;
 import org.eclipse.jdt.internal.compiler.util.SortedCharArrays;
 
 public class ReferenceCollection {
 
+// the names are kept as sorted ids of the NameTable
 // contains no simple names as in just 'a' which is kept in simpleNameReferences instead
 // TODO after #addDependencies, it will contain simple names, though. See ReferenceCollectionTest
-char[][][] qualifiedNameReferences;
-char[][] simpleNameReferences;
-char[][] rootReferences;
+int[] qualifiedNameReferences;
+int[] simpleNameReferences;
+int[] rootReferences;
+// the fields and methods looked up and the supertypes of the declared types, see CompilationUnitScope#methodKey()
+// null when not known, then a change to any member of a referenced type is a change for this collection
+int[] memberReferences;
+
+static final int[] NO_IDS = new int[0];
+// a query with at least that many ids of a kind also keeps them as a bitmap
+static final int BITMAP_THRESHOLD = 32;
 
 protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences) {
-	this.qualifiedNameReferences = internQualifiedNames(qualifiedNameReferences, false);
-	this.simpleNameReferences = internSimpleNames(simpleNameReferences, true);
-	this.rootReferences = internSimpleNames(rootReferences, false);
+	this(qualifiedNameReferences, simpleNameReferences, rootReferences, null);
+}
+
+protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences, char[][] memberReferences) {
+	this(qualifiedNameIds(qualifiedNameReferences), simpleNameIds(simpleNameReferences, true), simpleNameIds(rootReferences, false),
+			memberReferences == null ? null : simpleNameIds(memberReferences, false));
+}
+
+ReferenceCollection(int[] qualifiedNameReferences, int[] simpleNameReferences, int[] rootReferences) {
+	this(qualifiedNameReferences, simpleNameReferences, rootReferences, null);
+}
+
+ReferenceCollection(int[] qualifiedNameReferences, int[] simpleNameReferences, int[] rootReferences, int[] memberReferences) {
+	this.qualifiedNameReferences = qualifiedNameReferences;
+	this.simpleNameReferences = simpleNameReferences;
+	this.rootReferences = rootReferences;
+	this.memberReferences = memberReferences;
 }
 
 /**
@@ -47,47 +69,51 @@ protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpl
  * @see CompilationUnitScope#recordQualifiedReference
  */
 public void addDependencies(String[] typeNameDependencies) {
+	// the members used from the added types are not known
+	this.memberReferences = null;
 	// if each qualified type name is already known then all of its subNames can be skipped
 	// and its expected that very few qualified names in typeNameDependencies need to be added
 	// but could always take 'p1.p2.p3.X' and make all qualified names 'p1' 'p1.p2' 'p1.p2.p3' 'p1.p2.p3.X', then intern
 	next: for(String typeNameDependency: typeNameDependencies) {
 		char[][] qualifiedTypeName = CharOperation.splitOn('.', typeNameDependency.toCharArray());
-		if (!isWellKnownQualifiedName(qualifiedTypeName)) {
-			int qLength = qualifiedTypeName.length;
-			QualifiedNameSet internedNames = InternedQualifiedNames[qLength <= MaxQualifiedNames ? qLength - 1 : 0];
-			qualifiedTypeName = internSimpleNames(qualifiedTypeName, false, false);
-			qualifiedTypeName = internedNames.add(qualifiedTypeName);
-			int idx;
-			while ((idx = Arrays.binarySearch(this.qualifiedNameReferences, qualifiedTypeName, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR)) < 0) {
-				this.simpleNameReferences = ensureContainedInSortedOrder(this.simpleNameReferences, qualifiedTypeName[qualifiedTypeName.length - 1]);
-				this.rootReferences = ensureContainedInSortedOrder(this.rootReferences, qualifiedTypeName[0]);
-
-				int length = this.qualifiedNameReferences.length;
-				idx = -(idx+1);
-				this.qualifiedNameReferences = SortedCharArrays.insertIntoArray(this.qualifiedNameReferences, new char[length + 1][][], qualifiedTypeName, idx, this.qualifiedNameReferences.length);
-
-				qualifiedTypeName = CharOperation.subarray(qualifiedTypeName, 0, qualifiedTypeName.length - 1);
-				char[][][] temp = internQualifiedNames(new char[][][] {qualifiedTypeName}, false);
-				if (temp == EmptyQualifiedNames)
-					continue next; // qualifiedTypeName is a well known name
-				qualifiedTypeName = temp[0];
-			}
+		if (isWellKnownQualifiedName(qualifiedTypeName))
+			continue next;
+		int qLength = qualifiedTypeName.length;
+		int[] segments = new int[qLength];
+		for (int i = 0; i < qLength; i++)
+			segments[i] = NameTable.simpleNameId(qualifiedTypeName[i]);
+		for (int length = qLength; length > 0; length--) {
+			if (length < qLength && isWellKnownQualifiedName(CharOperation.subarray(qualifiedTypeName, 0, length)))
+				continue next;
+			int id = NameTable.qualifiedNameId(length == qLength ? segments : Arrays.copyOf(segments, length));
+			int idx = Arrays.binarySearch(this.qualifiedNameReferences, id);
+			if (idx >= 0)
+				continue next; // all of its prefixes are known too
+			this.qualifiedNameReferences = insertIntoArray(this.qualifiedNameReferences, id, -(idx + 1));
+			this.simpleNameReferences = ensureContainedInSortedOrder(this.simpleNameReferences, segments[length - 1]);
+			this.rootReferences = ensureContainedInSortedOrder(this.rootReferences, segments[0]);
 		}
 	}
 }
 
 public boolean includes(char[] simpleName) {
-	boolean result = sortedArrayContains(this.simpleNameReferences, simpleName, SortedCharArrays.CHAR_ARR_COMPARATOR);
+	int id = NameTable.findSimpleNameId(simpleName);
+	boolean result = id != NameTable.NOT_FOUND && Arrays.binarySearch(this.simpleNameReferences, id) >= 0;
 	if (REFERENCE_COLLECTION_DEBUG) {
-		assertIncludes(result, simpleName);
+		if (result != debugIncludes(this.simpleNameReferences, id))
+			throw new IllegalStateException("Mismatch: " + String.valueOf(simpleName) + (result ? " should not " : " should ") + " be included in "  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ Arrays.asList(CharOperation.toStrings(getSimpleNameReferences())));
 	}
 	return result;
 }
 
 public boolean includes(char[][] qualifiedName) {
-	boolean result = sortedArrayContains(this.qualifiedNameReferences, qualifiedName, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR);
+	int id = NameTable.findQualifiedNameId(qualifiedName);
+	boolean result = id != NameTable.NOT_FOUND && Arrays.binarySearch(this.qualifiedNameReferences, id) >= 0;
 	if (REFERENCE_COLLECTION_DEBUG) {
-		assertIncludes(result, qualifiedName);
+		if (result != debugIncludes(this.qualifiedNameReferences, id))
+			throw new IllegalStateException("Mismatch: " + CharOperation.toString(qualifiedName) + (result ? " should not " : " should ") + " be included in "  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ qualifiedNamesToString(getQualifiedNameReferences()));
 	}
 	return result;
 }
@@ -105,117 +131,108 @@ public boolean includes(char[][][] qualifiedNames, char[][] simpleNames) {
 	return includes(qualifiedNames, simpleNames, null);
 }
 
+/**
+ * Maps the names to ids first, use {@link #query(char[][][], char[][], char[][])} and {@link #includes(Query)}
+ * to ask many collections for the same names.
+ */
 public boolean includes(char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
-	boolean result = doIncludes(qualifiedNames, simpleNames, rootNames);
+	return includes(query(qualifiedNames, simpleNames, rootNames));
+}
+
+public boolean includes(Query query) {
+	boolean result = doIncludes(query);
 	if (REFERENCE_COLLECTION_DEBUG) {
-		assertIncludes(result, qualifiedNames, simpleNames, rootNames);
+		if (result != debugIncludes(query)) {
+			String message = String.format("Mismatched includes(..): ReferenceCollection([%s], %s, %s).includes(%s)", //$NON-NLS-1$
+					qualifiedNamesToString(getQualifiedNameReferences()),
+					Arrays.toString(CharOperation.toStrings(getSimpleNameReferences())),
+					Arrays.toString(CharOperation.toStrings(getRootReferences())),
+					query);
+			throw new IllegalStateException(message);
+		}
 	}
 	return result;
 }
 
-private boolean doIncludes(char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
-	if (rootNames != null) {
-		if (!includesRootName(rootNames))
+private boolean doIncludes(Query query) {
+	if (query.rootNames != null) {
+		if (!query.rootNames.intersects(this.rootReferences))
 			return false;
 	}
 	// if either collection of names is null, it means it contained a well known name so we know it already has a match
-	if (simpleNames == null || qualifiedNames == null) {
-		if (simpleNames == null && qualifiedNames == null) {
+	if (query.simpleNames == null || query.qualifiedNames == null) {
+		if (query.simpleNames == null && query.qualifiedNames == null) {
 			if (JavaBuilder.DEBUG)
 				System.out.println("Found well known match"); //$NON-NLS-1$
 			return true;
-		} else if (qualifiedNames == null) {
-			return includesSimpleName(simpleNames);
+		} else if (query.qualifiedNames == null) {
+			return query.simpleNames.intersects(this.simpleNameReferences);
 		}
-		return includesQualifiedName(qualifiedNames);
+		return includesQualifiedName(query);
 	}
 
-	if (simpleNames.length <= qualifiedNames.length) {
-		return includesSimpleName(simpleNames) && includesQualifiedName(qualifiedNames);
+	if (query.simpleNames.ids.length <= query.qualifiedNames.ids.length) {
+		return query.simpleNames.intersects(this.simpleNameReferences) && includesQualifiedName(query);
 	} else {
-		return includesQualifiedName(qualifiedNames) && includesSimpleName(simpleNames);
+		return includesQualifiedName(query) && query.simpleNames.intersects(this.simpleNameReferences);
 	}
 }
 
+/**
+ * Answers whether one of the given members is referenced, see {@link #members(char[][])}. Always true when the
+ * referenced members are not known.
+ */
+boolean includesMembers(IdSet members) {
+	return this.memberReferences == null || members.intersects(this.memberReferences);
+}
+
 public boolean insideRoot(char[] rootName) {
-	boolean result = sortedArrayContains(this.rootReferences, rootName, SortedCharArrays.CHAR_ARR_COMPARATOR);
+	int id = NameTable.findSimpleNameId(rootName);
+	boolean result = id != NameTable.NOT_FOUND && Arrays.binarySearch(this.rootReferences, id) >= 0;
 	if (REFERENCE_COLLECTION_DEBUG) {
-		if (result != debugIncludes(rootName)) {
+		if (result != debugIncludes(this.rootReferences, id)) {
 			String message = "Mismatch: " + String.valueOf(rootName) + (result ? " should not " : " should ") + " be included in "  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-					+ Arrays.asList(CharOperation.toStrings(this.rootReferences));
+					+ Arrays.asList(CharOperation.toStrings(getRootReferences()));
 			throw new IllegalStateException(message);
 		}
 	}
 	return result;
 }
 
-private static <T> boolean sortedArrayContains(T[] array, T element, Comparator<? super T> comparator) {
-	int l = array.length;
-	if (l < SortedCharArrays.BINARY_SEARCH_THRESHOLD) {
-		for (int i = 0; i < l; i++)
-			if (element == array[i]) return true;
-		return false;
-	}
-	return Arrays.binarySearch(array, element, comparator) >= 0;
-}
-
-private boolean includesSimpleName(char[][] simpleNames) {
-	return intersects(simpleNames, this.simpleNameReferences, SortedCharArrays.CHAR_ARR_COMPARATOR);
-}
-
-private boolean includesQualifiedName(char[][][] qualifiedNames) {
-	if (intersects(qualifiedNames, this.qualifiedNameReferences, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR)) {
-		return true;
-	}
-	char[][] maybeSimpleName;
-	for(int i = qualifiedNames.length - 1; i >= 0 && (maybeSimpleName = qualifiedNames[i]).length == 1; i--) {
-		if (includes(maybeSimpleName[0])) {
-			return true;
-		}
-	}
-	return false;
-}
-
-private boolean includesRootName(char[][] rootNames) {
-	return intersects(rootNames, this.rootReferences, SortedCharArrays.CHAR_ARR_COMPARATOR);
+private boolean includesQualifiedName(Query query) {
+	// qualified names with a single segment are kept as simple names
+	return query.qualifiedNames.intersects(this.qualifiedNameReferences)
+			|| query.singleQualifiedNames.intersects(this.simpleNameReferences);
 }
 
-private static <T> boolean intersects(T[] firstSortedArr, T[] secondSortedArr, Comparator<? super T> comparator) {
+static boolean intersects(int[] firstSortedArr, int[] secondSortedArr) {
+	int l = firstSortedArr.length, k = secondSortedArr.length;
+	if (l == 0 || k == 0 || firstSortedArr[l - 1] < secondSortedArr[0] || secondSortedArr[k - 1] < firstSortedArr[0])
+		return false;
 	/*
 	 * Both arrays are sorted, so we can walk them in pairs.
 	 * Using binary search for the remaining array elements to figure the next
 	 * interesting index can greatly reduce the runtime cost for arrays that do
 	 * have more than a few elements.
 	 */
-	for(int i = 0, l = firstSortedArr.length, j = 0, k = secondSortedArr.length; i < l && j < k;) {
-		T firstElement = firstSortedArr[i];
-		T secondElement = secondSortedArr[j];
-		int compare = comparator.compare(firstElement, secondElement);
-		if (compare == 0) {
+	for (int i = 0, j = 0; i < l && j < k;) {
+		int firstElement = firstSortedArr[i];
+		int secondElement = secondSortedArr[j];
+		if (firstElement == secondElement) {
 			return true;
-		} else if (compare < 0) {
-			/*
-			 * left side is smaller than the right side, but not exactly the right side.
-			 * Take the next element from the left and proceed.
-			 *
-			 * If the number of remaining elements in the first array is sufficiently big,
-			 * attempt a binary search for the second element to possibly skip a few elements.
-			 */
+		} else if (firstElement < secondElement) {
 			i++;
 			if (l - i > SortedCharArrays.BINARY_SEARCH_THRESHOLD) {
-				i = Arrays.binarySearch(firstSortedArr, i, l, secondElement, comparator);
+				i = Arrays.binarySearch(firstSortedArr, i, l, secondElement);
 				if (i >= 0) {
 					return true;
 				}
 				i = -(i + 1);
 			}
 		} else {
-			/*
-			 * the inverse logic is applied here
-			 */
 			j++;
 			if (k - j > SortedCharArrays.BINARY_SEARCH_THRESHOLD) {
-				j = Arrays.binarySearch(secondSortedArr, j, k, firstElement, comparator);
+				j = Arrays.binarySearch(secondSortedArr, j, k, firstElement);
 				if (j >= 0) {
 					return true;
 				}
@@ -226,16 +243,213 @@ private static <T> boolean intersects(T[] firstSortedArr, T[] secondSortedArr, C
 	return false;
 }
 
-private static char[][] ensureContainedInSortedOrder(char[][] sortedArray, char[] entry) {
-	int idx = Arrays.binarySearch(sortedArray, entry, SortedCharArrays.CHAR_ARR_COMPARATOR);
-	if (idx < 0) {
-		idx = -(idx + 1);
-		char[][] result = SortedCharArrays.insertIntoArray(sortedArray, new char[sortedArray.length + 1][], entry, idx, sortedArray.length);
-		return result;
-	}
+private static int[] ensureContainedInSortedOrder(int[] sortedArray, int id) {
+	int idx = Arrays.binarySearch(sortedArray, id);
+	if (idx < 0)
+		return insertIntoArray(sortedArray, id, -(idx + 1));
 	return sortedArray;
 }
 
+private static int[] insertIntoArray(int[] sortedArray, int id, int idx) {
+	int length = sortedArray.length;
+	int[] result = new int[length + 1];
+	System.arraycopy(sortedArray, 0, result, 0, idx);
+	result[idx] = id;
+	System.arraycopy(sortedArray, idx, result, idx + 1, length - idx);
+	return result;
+}
+
+/**
+ * Answers the referenced qualified names, sorted like {@link #internQualifiedNames(char[][][])} does.
+ */
+public char[][][] getQualifiedNameReferences() {
+	char[][][] names = new char[this.qualifiedNameReferences.length][][];
+	for (int i = 0, l = names.length; i < l; i++)
+		names[i] = NameTable.qualifiedName(this.qualifiedNameReferences[i]);
+	Arrays.sort(names, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR);
+	return names;
+}
+
+/**
+ * Answers the referenced simple names, sorted like {@link #internSimpleNames(char[][], boolean)} does.
+ */
+public char[][] getSimpleNameReferences() {
+	return simpleNames(this.simpleNameReferences);
+}
+
+/**
+ * Answers the referenced root names, sorted like {@link #internSimpleNames(char[][], boolean)} does.
+ */
+public char[][] getRootReferences() {
+	return simpleNames(this.rootReferences);
+}
+
+private static char[][] simpleNames(int[] ids) {
+	char[][] names = new char[ids.length][];
+	for (int i = 0, l = names.length; i < l; i++)
+		names[i] = NameTable.simpleName(ids[i]);
+	Arrays.sort(names, SortedCharArrays.CHAR_ARR_COMPARATOR);
+	return names;
+}
+
+/**
+ * Answers the referenced members, sorted like {@link #internSimpleNames(char[][], boolean)} does, or
+ * <code>null</code> if they are not known.
+ */
+public char[][] getMemberReferences() {
+	return this.memberReferences == null ? null : simpleNames(this.memberReferences);
+}
+
+/**
+ * Answers the keys of the given members mapped to ids, to ask any number of collections whether they
+ * {@link #includesMembers(IdSet) include} them.
+ */
+static IdSet members(char[][] memberNames) {
+	return new IdSet(findSimpleNameIds(memberNames));
+}
+
+/**
+ * Answers the given names mapped to ids, to ask any number of collections whether they {@link #includes(Query)
+ * include} them. A <code>null</code> array means that the changes contained a well known name, see
+ * {@link #includes(char[][][], char[][], char[][])}.
+ */
+public static Query query(char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
+	IdSet qualifiedIds = null, singleQualifiedIds = null, simpleIds = null, rootIds = null;
+	if (qualifiedNames != null) {
+		int length = qualifiedNames.length;
+		int[] ids = new int[length], singleIds = new int[length];
+		int qIndex = 0, sIndex = 0, id;
+		for (char[][] qualifiedName : qualifiedNames) {
+			if ((id = NameTable.findQualifiedNameId(qualifiedName)) != NameTable.NOT_FOUND)
+				ids[qIndex++] = id;
+			if (qualifiedName.length == 1 && (id = NameTable.findSimpleNameId(qualifiedName[0])) != NameTable.NOT_FOUND)
+				singleIds[sIndex++] = id;
+		}
+		qualifiedIds = new IdSet(sortedIds(ids, qIndex));
+		singleQualifiedIds = new IdSet(sortedIds(singleIds, sIndex));
+	}
+	if (simpleNames != null)
+		simpleIds = new IdSet(findSimpleNameIds(simpleNames));
+	if (rootNames != null)
+		rootIds = new IdSet(findSimpleNameIds(rootNames));
+	return new Query(qualifiedIds, singleQualifiedIds, simpleIds, rootIds);
+}
+
+private static int[] findSimpleNameIds(char[][] simpleNames) {
+	int[] ids = new int[simpleNames.length];
+	int index = 0, id;
+	for (char[] simpleName : simpleNames)
+		if ((id = NameTable.findSimpleNameId(simpleName)) != NameTable.NOT_FOUND)
+			ids[index++] = id;
+	return sortedIds(ids, index);
+}
+
+private static int[] qualifiedNameIds(char[][][] qualifiedNames) {
+	if (qualifiedNames == null) return NO_IDS;
+	int[] ids = new int[qualifiedNames.length];
+	int index = 0;
+	for (char[][] qualifiedName : qualifiedNames)
+		if (!isWellKnownQualifiedName(qualifiedName))
+			ids[index++] = NameTable.qualifiedNameId(qualifiedName);
+	return sortedIds(ids, index);
+}
+
+private static int[] simpleNameIds(char[][] simpleNames, boolean removeWellKnown) {
+	if (simpleNames == null) return NO_IDS;
+	int[] ids = new int[simpleNames.length];
+	int index = 0;
+	for (char[] simpleName : simpleNames)
+		if (!removeWellKnown || !isWellKnownSimpleName(simpleName))
+			ids[index++] = NameTable.simpleNameId(simpleName);
+	return sortedIds(ids, index);
+}
+
+/**
+ * Sorts the first <code>length</code> ids and drops the duplicates, the given array may be changed.
+ */
+static int[] sortedIds(int[] ids, int length) {
+	if (length == 0) return NO_IDS;
+	Arrays.sort(ids, 0, length);
+	int unique = 1;
+	for (int i = 1; i < length; i++)
+		if (ids[i] != ids[unique - 1])
+			ids[unique++] = ids[i];
+	return unique == ids.length ? ids : Arrays.copyOf(ids, unique);
+}
+
+/**
+ * Names of a change mapped to ids, see {@link ReferenceCollection#query(char[][][], char[][], char[][])}.
+ */
+public static final class Query {
+
+// null if a well known name was given
+final IdSet qualifiedNames;
+final IdSet singleQualifiedNames; // simple name ids of the qualified names made of a single segment
+final IdSet simpleNames;
+final IdSet rootNames;
+
+Query(IdSet qualifiedNames, IdSet singleQualifiedNames, IdSet simpleNames, IdSet rootNames) {
+	this.qualifiedNames = qualifiedNames;
+	this.singleQualifiedNames = singleQualifiedNames;
+	this.simpleNames = simpleNames;
+	this.rootNames = rootNames;
+}
+
+@Override
+public String toString() {
+	StringBuilder s = new StringBuilder();
+	if (this.qualifiedNames == null) {
+		s.append("null"); //$NON-NLS-1$
+	} else {
+		s.append('[');
+		for (int i = 0, l = this.qualifiedNames.ids.length; i < l; i++) {
+			if (i > 0) s.append(',');
+			s.append(CharOperation.toString(NameTable.qualifiedName(this.qualifiedNames.ids[i])));
+		}
+		s.append(']');
+	}
+	return s.append(", ").append(this.simpleNames).append(", ").append(this.rootNames).toString(); //$NON-NLS-1$ //$NON-NLS-2$
+}
+}
+
+/**
+ * Sorted ids, with a bitmap over them once there are enough ids to make it worthwhile.
+ */
+static final class IdSet {
+
+final int[] ids;
+private final long[] bits;
+
+IdSet(int[] ids) {
+	this.ids = ids;
+	if (ids.length >= BITMAP_THRESHOLD) {
+		this.bits = new long[(ids[ids.length - 1] >>> 6) + 1];
+		for (int id : ids)
+			this.bits[id >>> 6] |= 1L << id;
+	} else {
+		this.bits = null;
+	}
+}
+
+boolean intersects(int[] sortedIds) {
+	if (this.bits == null)
+		return ReferenceCollection.intersects(this.ids, sortedIds);
+	for (int id : sortedIds) {
+		int word = id >>> 6;
+		if (word >= this.bits.length)
+			return false; // all remaining ids are larger
+		if ((this.bits[word] & (1L << id)) != 0)
+			return true;
+	}
+	return false;
+}
+
+@Override
+public String toString() {
+	return Arrays.asList(CharOperation.toStrings(simpleNames(this.ids))).toString();
+}
+}
+
 private static boolean isWellKnownQualifiedName(char[][] qualifiedName) {
 	for (int i = 0, m = WellKnownQualifiedNames.length, qLength = qualifiedName.length; i < m; i++) {
 		char[][] wellKnownName = WellKnownQualifiedNames[i];
@@ -248,6 +462,17 @@ private static boolean isWellKnownQualifiedName(char[][] qualifiedName) {
 	return false;
 }
 
+private static boolean isWellKnownSimpleName(char[] simpleName) {
+	for (char[] wellKnownName : WellKnownSimpleNames) {
+		if (simpleName.length > wellKnownName.length)
+			break; // all remaining well known names are shorter
+		if (CharOperation.equals(simpleName, wellKnownName)) {
+			return true;
+		}
+	}
+	return false;
+}
+
 // When any type is compiled, its methods are verified for certain problems
 // the MethodVerifier requests 3 well known types which end up in the reference collection
 // having WellKnownQualifiedNames & WellKnownSimpleNames, saves every type 40 bytes
@@ -276,14 +501,10 @@ static final char[][] EmptySimpleNames = CharOperation.NO_CHAR_CHAR;
 // each array contains qualified char[][], one for size 2, 3, 4, 5, 6, 7 & the rest
 static final int MaxQualifiedNames = 7;
 static QualifiedNameSet[] InternedQualifiedNames = new QualifiedNameSet[MaxQualifiedNames];
-// each array contains simple char[], one for size 1 to 29 & the rest
-static final int MaxSimpleNames = 30;
-static NameSet[] InternedSimpleNames = new NameSet[MaxSimpleNames];
+// simple names are interned by CharDeduplication, shared with the compiler and weakly referenced
 static {
 	for (int i = 0; i < MaxQualifiedNames; i++)
 		InternedQualifiedNames[i] = new QualifiedNameSet(37);
-	for (int i = 0; i < MaxSimpleNames; i++)
-		InternedSimpleNames[i] = new NameSet(37);
 }
 
 //TODO: remove once ReferenceCollection.internQualifiedNames(StringSet) is adapted to use java.util.Set, so that git history is preserved
@@ -467,11 +688,7 @@ static char[][] internSimpleNames(char[][] simpleNames, boolean removeWellKnown,
 			}
 		}
 
-		// InternedSimpleNames[0] is for the rest (> 29)
-		// InternedSimpleNames[1] is for size 1...
-		// InternedSimpleNames[29] is for size 29
-		NameSet internedNames = InternedSimpleNames[sLength < MaxSimpleNames ? sLength : 0];
-		keepers[index++] = internedNames.add(name);
+		keepers[index++] = CharDeduplication.intern(name);
 		// This code is duplicated to encourage the JIT to inline more stuff
 		if (doSort && isSorted) {
 			if (prev != null && SortedCharArrays.compareCharArray(prev, name) > 0) {
@@ -493,121 +710,39 @@ static char[][] internSimpleNames(char[][] simpleNames, boolean removeWellKnown,
 // DEBUG code below
 public static boolean REFERENCE_COLLECTION_DEBUG = false;
 
-private void assertIncludes(boolean expectation, char[] simpleName) {
-	if (expectation != debugIncludes(simpleName)) {
-		String message = "Mismatch: " + String.valueOf(simpleName) + (expectation ? " should not " : " should ") + " be included in "  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-				+ Arrays.asList(CharOperation.toStrings(this.simpleNameReferences));
-		throw new IllegalStateException(message);
-	}
-}
-
-private void assertIncludes(boolean expectation, char[][] qualifiedName) {
-	if (expectation != debugIncludes(qualifiedName)) {
-		String message = "Mismatch: " + CharOperation.toString(qualifiedName) + (expectation ? " should not " : " should ") + " be included in "  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-				+ qualifiedNamesToString(this.qualifiedNameReferences);
-		throw new IllegalStateException(message);
-	}
-}
-
-private void assertIncludes(boolean expectation, char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
-	if (expectation != debugIncludes(qualifiedNames, simpleNames, rootNames)) {
-		String message = String.format("Mismatched includes(..): ReferenceCollection([%s], %s, %s).includes([%s], %s, %s)", //$NON-NLS-1$
-				qualifiedNamesToString(this.qualifiedNameReferences),
-				Arrays.toString(CharOperation.toStrings(this.simpleNameReferences)),
-				Arrays.toString(CharOperation.toStrings(this.rootReferences)),
-				qualifiedNamesToString(qualifiedNames),
-				Arrays.toString(CharOperation.toStrings(simpleNames)),
-				Arrays.toString(CharOperation.toStrings(rootNames))
-		);
-		throw new IllegalStateException(message);
-	}
-}
-
-private boolean debugIncludes(char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
+private boolean debugIncludes(Query query) {
 	// if either collection of names is null, it means it contained a well known name so we know it already has a match
-	if (rootNames != null) {
+	if (query.rootNames != null) {
 		boolean foundRoot = false;
-		for (int i = 0, l = rootNames.length; !foundRoot && i < l; i++)
-			foundRoot = debugInsideRoot(rootNames[i]);
+		for (int i = 0, l = query.rootNames.ids.length; !foundRoot && i < l; i++)
+			foundRoot = debugIncludes(this.rootReferences, query.rootNames.ids[i]);
 		if (!foundRoot)
 			return false;
 	}
-	if (simpleNames == null || qualifiedNames == null) {
-		if (simpleNames == null && qualifiedNames == null) {
-			if (JavaBuilder.DEBUG)
-				System.out.println("Found well known match"); //$NON-NLS-1$
-			return true;
-		} else if (qualifiedNames == null) {
-			for (char[] simpleName : simpleNames) {
-				if (debugIncludes(simpleName)) {
-					if (JavaBuilder.DEBUG)
-						System.out.println("Found match in well known package to " + new String(simpleName)); //$NON-NLS-1$
-					return true;
-				}
-			}
-		} else {
-			for (char[][] qualifiedName : qualifiedNames) {
-				if (qualifiedName.length == 1 ? debugIncludes(qualifiedName[0]) : debugIncludes(qualifiedName)) {
-					if (JavaBuilder.DEBUG)
-						System.out.println("Found well known match in " + CharOperation.toString(qualifiedName)); //$NON-NLS-1$
-					return true;
-				}
-			}
-		}
-		return false;
-	}
-
-	int sLength = simpleNames.length;
-	int qLength = qualifiedNames.length;
-	if (sLength <= qLength) {
-		for (int i = 0; i < sLength; i++) {
-			if (debugIncludes(simpleNames[i])) {
-				for (int j = 0; j < qLength; j++) {
-					char[][] qualifiedName = qualifiedNames[j];
-					if (qualifiedName.length == 1 ? debugIncludes(qualifiedName[0]) : debugIncludes(qualifiedName)) {
-						if (JavaBuilder.DEBUG)
-							System.out.println("Found match in " + CharOperation.toString(qualifiedName) //$NON-NLS-1$
-								+ " to " + new String(simpleNames[i])); //$NON-NLS-1$
-						return true;
-					}
-				}
-				return false;
-			}
-		}
-	} else {
-		for (int i = 0; i < qLength; i++) {
-			char[][] qualifiedName = qualifiedNames[i];
-			if (qualifiedName.length == 1 ? debugIncludes(qualifiedName[0]) : debugIncludes(qualifiedName)) {
-				for (int j = 0; j < sLength; j++) {
-					if (debugIncludes(simpleNames[j])) {
-						if (JavaBuilder.DEBUG)
-							System.out.println("Found match in " + CharOperation.toString(qualifiedName) //$NON-NLS-1$
-								+ " to " + new String(simpleNames[j])); //$NON-NLS-1$
-						return true;
-					}
-				}
-				return false;
-			}
-		}
+	if (query.simpleNames == null && query.qualifiedNames == null) {
+		if (JavaBuilder.DEBUG)
+			System.out.println("Found well known match"); //$NON-NLS-1$
+		return true;
 	}
+	boolean foundSimple = query.simpleNames == null;
+	for (int i = 0, l = foundSimple ? 0 : query.simpleNames.ids.length; !foundSimple && i < l; i++)
+		foundSimple = debugIncludes(this.simpleNameReferences, query.simpleNames.ids[i]);
+	if (!foundSimple)
+		return false;
+	if (query.qualifiedNames == null)
+		return true;
+	for (int id : query.qualifiedNames.ids)
+		if (debugIncludes(this.qualifiedNameReferences, id))
+			return true;
+	for (int id : query.singleQualifiedNames.ids)
+		if (debugIncludes(this.simpleNameReferences, id))
+			return true;
 	return false;
 }
 
-private boolean debugInsideRoot(char[] rootName) {
-	for (char[] name : this.rootReferences)
-		if (rootName == name) return true;
-	return false;
-}
-
-private boolean debugIncludes(char[] simpleName) {
-	for (char[] name : this.simpleNameReferences)
-		if (simpleName == name) return true;
-	return false;
-}
-
-private boolean debugIncludes(char[][] qualifiedName) {
-	for (char[][] name : this.qualifiedNameReferences)
-		if (qualifiedName == name) return true;
+private static boolean debugIncludes(int[] ids, int id) {
+	for (int i : ids)
+		if (i == id) return true;
 	return false;
 }
 
@@ -625,9 +760,10 @@ public boolean equals(Object obj) {
 		return false;
 	}
 	ReferenceCollection other = (ReferenceCollection) obj;
-	return Arrays.deepEquals(this.qualifiedNameReferences, other.qualifiedNameReferences)
-			&& Arrays.deepEquals(this.rootReferences, other.rootReferences)
-			&& Arrays.deepEquals(this.simpleNameReferences, other.simpleNameReferences);
+	return Arrays.equals(this.qualifiedNameReferences, other.qualifiedNameReferences)
+			&& Arrays.equals(this.rootReferences, other.rootReferences)
+			&& Arrays.equals(this.simpleNameReferences, other.simpleNameReferences)
+			&& Arrays.equals(this.memberReferences, other.memberReferences);
 }
 
 }
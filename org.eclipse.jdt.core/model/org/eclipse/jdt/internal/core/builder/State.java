@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,11 +20,14 @@ package org.eclipse.jdt.internal.core.builder;
 
 import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -42,7 +45,10 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.IProblem;
@@ -67,9 +73,20 @@ public ClasspathMultiDirectory[] testSourceLocations;
 public ClasspathLocation[] binaryLocations;
 public ClasspathLocation[] testBinaryLocations;
 // keyed by the project relative path of the type (i.e. "src1/p1/p2/A.java"), value is a ReferenceCollection or an AdditionalTypeCollection
-Map<String, ReferenceCollection> references;
+private volatile Map<String, ReferenceCollection> references;
+// inverted index of the references, keyed by the interned names, value is the set of type locators which reference them
+private DependencyIndex dependencyIndex;
 // keyed by qualified type name "p1/p2/A", value is the project relative path which defines this type "src1/p1/p2/A.java"
-public Map<String, String> typeLocators;
+private volatile Map<String, String> typeLocators;
+
+/*
+ * A read state keeps the type locators and the references as sections of the state file until they are used, they are
+ * null until then. A build without changes does not need them, and the sections can be written back as they are
+ * until the references are decoded, which every change of the state does first.
+ */
+private volatile byte[] typeLocatorsSection;
+private volatile byte[] referencesSection;
+private String[] internedTypeLocators; // of the type locators section, the references section refers to them
 
 int buildNumber;
 long lastStructuralBuildTime;
@@ -81,7 +98,7 @@ private long previousStructuralBuildTime;
 private StringSet structurallyChangedTypes;
 public static int MaxStructurallyChangedTypes = 100; // keep track of ? structurally changed types, otherwise consider all to be changed
 
-public static final byte VERSION = 0x0026;
+public static final byte VERSION = 0x002A;
 
 static final byte SOURCE_FOLDER = 1;
 static final byte BINARY_FOLDER = 2;
@@ -107,6 +124,7 @@ protected State(JavaBuilder javaBuilder) {
 	this.testSourceLocations = javaBuilder.testNameEnvironment.sourceLocations;
 	this.testBinaryLocations = javaBuilder.testNameEnvironment.binaryLocations;
 	this.references = new LinkedHashMap<>(7);
+	this.dependencyIndex = new DependencyIndex();
 	this.typeLocators = new LinkedHashMap<>(7);
 
 	this.buildNumber = 0; // indicates a full build
@@ -129,8 +147,9 @@ void copyFrom(State lastState) {
 	this.lastStructuralBuildTime = lastState.lastStructuralBuildTime;
 	this.structuralBuildTimes = lastState.structuralBuildTimes;
 
-	this.references = new LinkedHashMap<>(lastState.references);
-	this.typeLocators = new LinkedHashMap<>(lastState.typeLocators);
+	this.references = new LinkedHashMap<>(lastState.getReferences());
+	this.dependencyIndex = lastState.getDependencyIndex().copy();
+	this.typeLocators = new LinkedHashMap<>(lastState.getTypeLocators());
 }
 
 /**
@@ -152,8 +171,8 @@ public boolean equals(Object obj) {
 			&& Arrays.equals(this.binaryLocations, other.binaryLocations)
 			&& Arrays.equals(this.testSourceLocations, other.testSourceLocations)
 			&& Arrays.equals(this.testBinaryLocations, other.testBinaryLocations)
-			&& Objects.equals(this.typeLocators, other.typeLocators)
-			&& Objects.equals(this.references, other.references);
+			&& Objects.equals(getTypeLocators(), other.getTypeLocators())
+			&& Objects.equals(getReferences(), other.getReferences());
 // Below fields aren't persisted
 //			&& this.previousStructuralBuildTime == other.previousStructuralBuildTime
 //			&& Arrays.equals(this.knownPackageNames, other.knownPackageNames)
@@ -167,14 +186,35 @@ public int hashCode() {
 }
 
 public char[][] getDefinedTypeNamesFor(String typeLocator) {
-	Object c = this.references.get(typeLocator);
+	Object c = getReferences().get(typeLocator);
 	if (c instanceof AdditionalTypeCollection)
 		return ((AdditionalTypeCollection) c).definedTypeNames;
 	return null; // means only one type is defined with the same name as the file... saves space
 }
 
 public Map<String, ReferenceCollection> getReferences() {
-	return this.references;
+	Map<String, ReferenceCollection> result = this.references;
+	return result != null ? result : decodeReferences();
+}
+
+public DependencyIndex getDependencyIndex() {
+	getReferences(); // decoded together
+	return this.dependencyIndex;
+}
+
+public Map<String, String> getTypeLocators() {
+	Map<String, String> result = this.typeLocators;
+	return result != null ? result : decodeTypeLocators();
+}
+
+/**
+ * Answers the type locators whose references may include the given names.
+ *
+ * @return the candidate type locators or <code>null</code> if all references have to be checked
+ * @see DependencyIndex#getDependents(ReferenceCollection.Query)
+ */
+Set<String> getDependents(ReferenceCollection.Query query) {
+	return getDependencyIndex().getDependents(query);
 }
 
 StringSet getStructurallyChangedTypes(State prereqState) {
@@ -188,14 +228,15 @@ StringSet getStructurallyChangedTypes(State prereqState) {
 }
 
 public boolean isDuplicateLocator(String qualifiedTypeName, String typeLocator) {
-	String existing = this.typeLocators.get(qualifiedTypeName);
+	String existing = getTypeLocators().get(qualifiedTypeName);
 	return existing != null && !existing.equals(typeLocator);
 }
 
 public boolean isKnownPackage(String qualifiedPackageName) {
 	if (this.knownPackageNames == null) {
-		LinkedHashSet<String> names = new LinkedHashSet<>(this.typeLocators.size());
-		Set<Entry<String, String>> keyTable = this.typeLocators.entrySet();
+		Map<String, String> locators = getTypeLocators();
+		LinkedHashSet<String> names = new LinkedHashSet<>(locators.size());
+		Set<Entry<String, String>> keyTable = locators.entrySet();
 		for (Entry<String, String> entry : keyTable) {
 			String packageName = entry.getKey(); // is a type name of the form p1/p2/A
 			int last = packageName.lastIndexOf('/');
@@ -215,12 +256,12 @@ public boolean isKnownPackage(String qualifiedPackageName) {
 }
 
 public boolean isKnownType(String qualifiedTypeName) {
-	return this.typeLocators.containsKey(qualifiedTypeName);
+	return getTypeLocators().containsKey(qualifiedTypeName);
 }
 
 boolean isSourceFolderEmpty(IContainer sourceFolder) {
 	String sourceFolderName = sourceFolder.getProjectRelativePath().addTrailingSeparator().toString();
-	for (String value : this.typeLocators.values()) {
+	for (String value : getTypeLocators().values()) {
 		if (value.startsWith(sourceFolderName)) {
 			return false;
 		}
@@ -228,23 +269,42 @@ boolean isSourceFolderEmpty(IContainer sourceFolder) {
 	return true;
 }
 
-void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[] mainTypeName, ArrayList typeNames) {
+void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[][] memberRefs, char[] mainTypeName, ArrayList typeNames) {
+	ReferenceCollection collection;
 	if (typeNames.size() == 1 && CharOperation.equals(mainTypeName, (char[]) typeNames.get(0))) {
-		this.references.put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs));
+		collection = new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs, memberRefs);
 	} else {
 		char[][] definedTypeNames = new char[typeNames.size()][]; // can be empty when no types are defined
 		typeNames.toArray(definedTypeNames);
-		this.references.put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs));
+		collection = new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs, memberRefs);
+	}
+	ReferenceCollection previous = getReferences().put(typeLocator, collection);
+	if (previous != null)
+		this.dependencyIndex.remove(typeLocator, previous);
+	this.dependencyIndex.add(typeLocator, collection);
+}
+
+void recordDependencies(String typeLocator, String[] typeNameDependencies) {
+	ReferenceCollection collection = getReferences().get(typeLocator);
+	if (collection != null) {
+		this.dependencyIndex.remove(typeLocator, collection);
+		collection.addDependencies(typeNameDependencies);
+		this.dependencyIndex.add(typeLocator, collection);
 	}
 }
 
 void recordLocatorForType(String qualifiedTypeName, String typeLocator) {
 	this.knownPackageNames = null;
+	getReferences(); // the sections can no longer be written as they are
+	this.typeLocators.put(sharedTypeName(qualifiedTypeName, typeLocator), typeLocator);
+}
+
+private static String sharedTypeName(String qualifiedTypeName, String typeLocator) {
 	// in the common case, the qualifiedTypeName is a substring of the typeLocator so share the char[] by using String.substring()
 	int start = typeLocator.indexOf(qualifiedTypeName, 0);
 	if (start > 0)
-		qualifiedTypeName = typeLocator.substring(start, start + qualifiedTypeName.length());
-	this.typeLocators.put(qualifiedTypeName, typeLocator);
+		return typeLocator.substring(start, start + qualifiedTypeName.length());
+	return qualifiedTypeName;
 }
 
 void recordStructuralDependency(IProject prereqProject, State prereqState) {
@@ -255,7 +315,9 @@ void recordStructuralDependency(IProject prereqProject, State prereqState) {
 
 void removeLocator(String typeLocatorToRemove) {
 	this.knownPackageNames = null;
-	this.references.remove(typeLocatorToRemove);
+	ReferenceCollection collection = getReferences().remove(typeLocatorToRemove);
+	if (collection != null)
+		this.dependencyIndex.remove(typeLocatorToRemove, collection);
 	this.typeLocators.values().removeIf(v -> typeLocatorToRemove.equals(v));
 }
 
@@ -276,6 +338,7 @@ void removePackage(IResourceDelta sourceDelta) {
 
 void removeQualifiedTypeName(String qualifiedTypeNameToRemove) {
 	this.knownPackageNames = null;
+	getReferences(); // the sections can no longer be written as they are
 	this.typeLocators.remove(qualifiedTypeNameToRemove);
 }
 
@@ -318,67 +381,132 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 	for (int i = 0; i < length; i++)
 		newState.structuralBuildTimes.put(in.readStringUsingDictionary(), Long.valueOf(in.readLong()));
 
-	String[] internedTypeLocators = new String[length = in.readInt()];
-	for (int i = 0; i < length; i++)
-		internedTypeLocators[i] = in.readStringUsingLast();
+	// only read as bytes, decoded on first use, see #getReferences() and #getTypeLocators()
+	newState.typeLocatorsSection = in.readBytes();
+	newState.referencesSection = in.readBytes();
+	if (JavaBuilder.DEBUG) {
+		trace("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
+	}
+	return newState;
+}
 
-	length = in.readInt();
-	newState.typeLocators = new LinkedHashMap<>((int) (length / 0.75 + 1));
-	for (int i = 0; i < length; i++)
-		newState.recordLocatorForType(in.readStringUsingLast(), internedTypeLocators[in.readIntInRange(internedTypeLocators.length)]);
+private synchronized Map<String, String> decodeTypeLocators() {
+	if (this.typeLocators == null) {
+		try {
+			CompressedReader in = sectionReader(this.typeLocatorsSection);
+			String[] interned = new String[in.readInt()];
+			for (int i = 0, l = interned.length; i < l; i++)
+				interned[i] = in.readStringUsingLast();
 
-	/*
-	 * Here we read global arrays of names for the entire project - do not mess up the ordering while interning
-	 */
-	char[][] internedRootNames = ReferenceCollection.internSimpleNames(readNames(in), false /* keep well known */, false /* do not sort */);
-	char[][] internedSimpleNames = ReferenceCollection.internSimpleNames(readNames(in), false /* keep well known */, false /* do not sort */);
-	char[][][] internedQualifiedNames = new char[length = in.readInt()][][];
-	for (int i = 0; i < length; i++) {
-		int qLength = in.readInt();
-		char[][] qName = new char[qLength][];
-		for (int j = 0; j < qLength; j++)
-			qName[j] = internedSimpleNames[in.readIntInRange(internedSimpleNames.length)];
-		internedQualifiedNames[i] = qName;
+			int length = in.readInt();
+			Map<String, String> locators = new LinkedHashMap<>((int) (length / 0.75 + 1));
+			for (int i = 0; i < length; i++) {
+				String qualifiedTypeName = in.readStringUsingLast();
+				String typeLocator = interned[in.readIntInRange(interned.length)];
+				locators.put(sharedTypeName(qualifiedTypeName, typeLocator), typeLocator);
+			}
+			this.internedTypeLocators = interned;
+			this.typeLocators = locators;
+		} catch (IOException e) {
+			throw corruptedSection(e);
+		}
 	}
-	internedQualifiedNames = ReferenceCollection.internQualifiedNames(internedQualifiedNames, false /* drop well known */, false /* do not sort */);
+	return this.typeLocators;
+}
 
-	length = in.readInt();
-	newState.references = new LinkedHashMap((int) (length / 0.75 + 1));
-	for (int i = 0; i < length; i++) {
-		String typeLocator = internedTypeLocators[in.readInt()];
-		ReferenceCollection collection = null;
-		switch (in.readByte()) {
-			case 1 :
-				char[][] additionalTypeNames = readNames(in);
-				char[][][] qualifiedNames = new char[in.readInt()][][];
-				for (int j = 0, m = qualifiedNames.length; j < m; j++)
-					qualifiedNames[j] = internedQualifiedNames[in.readIntInRange(internedQualifiedNames.length)];
-				char[][] simpleNames = new char[in.readInt()][];
-				for (int j = 0, m = simpleNames.length; j < m; j++)
-					simpleNames[j] = internedSimpleNames[in.readIntInRange(internedSimpleNames.length)];
-				char[][] rootNames = new char[in.readInt()][];
-				for (int j = 0, m = rootNames.length; j < m; j++)
-					rootNames[j] = internedRootNames[in.readIntInRange(internedRootNames.length)];
-				collection = new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames);
-				break;
-			case 2 :
-				char[][][] qNames = new char[in.readInt()][][];
-				for (int j = 0, m = qNames.length; j < m; j++)
-					qNames[j] = internedQualifiedNames[in.readIntInRange(internedQualifiedNames.length)];
-				char[][] sNames = new char[in.readInt()][];
-				for (int j = 0, m = sNames.length; j < m; j++)
-					sNames[j] = internedSimpleNames[in.readIntInRange(internedSimpleNames.length)];
-				char[][] rNames = new char[in.readInt()][];
-				for (int j = 0, m = rNames.length; j < m; j++)
-					rNames[j] = internedRootNames[in.readIntInRange(internedRootNames.length)];
-				collection = new ReferenceCollection(qNames, sNames, rNames);
+private synchronized Map<String, ReferenceCollection> decodeReferences() {
+	if (this.references == null) {
+		getTypeLocators(); // the references section uses the interned type locators of the type locators section
+		String[] interned = this.internedTypeLocators;
+		try {
+			CompressedReader in = sectionReader(this.referencesSection);
+			/*
+			 * Here we read global arrays of names for the entire project, the local ids are mapped to the ids of the NameTable
+			 */
+			int length;
+			int[] simpleNameIds = new int[length = in.readVarInt()];
+			for (int i = 0; i < length; i++)
+				simpleNameIds[i] = NameTable.simpleNameId(in.readChars());
+			int[] qualifiedNameIds = new int[length = in.readVarInt()];
+			for (int i = 0; i < length; i++) {
+				int[] segments = new int[in.readVarInt()];
+				for (int j = 0, m = segments.length; j < m; j++)
+					segments[j] = simpleNameIds[in.readVarInt()];
+				qualifiedNameIds[i] = NameTable.qualifiedNameId(segments);
+			}
+
+			length = in.readInt();
+			Map<String, ReferenceCollection> collections = new LinkedHashMap<>((int) (length / 0.75 + 1));
+			for (int i = 0; i < length; i++) {
+				String typeLocator = interned[in.readVarInt()];
+				ReferenceCollection collection = null;
+				switch (in.readByte()) {
+					case 1 :
+						char[][] additionalTypeNames = readNames(in);
+						int[] qualifiedNames = readIds(in, qualifiedNameIds);
+						int[] simpleNames = readIds(in, simpleNameIds);
+						int[] rootNames = readIds(in, simpleNameIds);
+						int[] memberNames = in.readBoolean() ? readIds(in, simpleNameIds) : null;
+						collection = new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames, memberNames);
+						break;
+					case 2 :
+						int[] qNames = readIds(in, qualifiedNameIds);
+						int[] sNames = readIds(in, simpleNameIds);
+						int[] rNames = readIds(in, simpleNameIds);
+						int[] mNames = in.readBoolean() ? readIds(in, simpleNameIds) : null;
+						collection = new ReferenceCollection(qNames, sNames, rNames, mNames);
+				}
+				collections.put(typeLocator, collection);
+			}
+
+			DependencyIndex index = new DependencyIndex();
+			readDependents(in, index.qualifiedNames, qualifiedNameIds, interned);
+			readDependents(in, index.simpleNames, simpleNameIds, interned);
+			readDependents(in, index.rootNames, simpleNameIds, interned);
+			this.dependencyIndex = index;
+			this.references = collections;
+		} catch (IOException e) {
+			throw corruptedSection(e);
+		}
+		// from now on the sections have to be written from the decoded tables
+		this.typeLocatorsSection = null;
+		this.referencesSection = null;
+		this.internedTypeLocators = null;
+		if (JavaBuilder.DEBUG) {
+			trace("Decoded references of state for " + this.javaProjectName); //$NON-NLS-1$
 		}
-		newState.references.put(typeLocator, collection);
 	}
-	if (JavaBuilder.DEBUG) {
-		trace("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
+	return this.references;
+}
+
+private static CompressedReader sectionReader(byte[] section) {
+	return new CompressedReader(new DataInputStream(new ByteArrayInputStream(section)));
+}
+
+private ImageBuilderInternalException corruptedSection(IOException e) {
+	return new ImageBuilderInternalException(new CoreException(new Status(IStatus.ERROR, JavaCore.PLUGIN_ID,
+			Platform.PLUGIN_ERROR, "Error reading last build state for project " + this.javaProjectName, e))); //$NON-NLS-1$
+}
+
+private static int[] readIds(CompressedReader in, int[] nameIds) throws IOException {
+	int[] ids = new int[in.readVarInt()];
+	for (int i = 0, id = -1, l = ids.length; i < l; i++)
+		ids[i] = nameIds[id += in.readVarInt() + 1];
+	// the ids of the NameTable can be in another order than the written ones
+	Arrays.sort(ids);
+	return ids;
+}
+
+private static void readDependents(CompressedReader in, DependencyIndex.Dependents dependents, int[] nameIds, String[] internedTypeLocators) throws IOException {
+	int length = in.readVarInt();
+	for (int i = 0, id = -1; i < length; i++) {
+		int name = nameIds[id += in.readVarInt() + 1];
+		int lLength = in.readVarInt();
+		DependencyIndex.Locators locators = new DependencyIndex.Locators(lLength);
+		for (int j = 0, locator = -1; j < lLength; j++)
+			locators.add(internedTypeLocators[locator += in.readVarInt() + 1]);
+		dependents.put(name, locators);
 	}
-	return newState;
 }
 
 private static ClasspathMultiDirectory[] readSourceLocations(IProject project, CompressedReader in, List<ClasspathLocation> allLocationsForEEA) throws IOException {
@@ -590,11 +718,33 @@ void write(DataOutputStream output) throws IOException {
 		}
 	}
 
+/*
+ * byte[]		Type locators section
+ * byte[]		References section, refers to the interned type locators of the type locators section
+ */
+	byte[] typeLocatorsBytes = this.typeLocatorsSection;
+	byte[] referencesBytes = this.referencesSection;
+	if (typeLocatorsBytes == null || referencesBytes == null) {
+		getReferences();
+		SimpleLookupTable internedTypeLocators = new SimpleLookupTable(this.references.size());
+		ByteArrayOutputStream section = new ByteArrayOutputStream();
+		writeTypeLocators(new CompressedWriter(new DataOutputStream(section)), internedTypeLocators);
+		typeLocatorsBytes = section.toByteArray();
+		section.reset();
+		writeReferences(new CompressedWriter(new DataOutputStream(section)), internedTypeLocators);
+		referencesBytes = section.toByteArray();
+	}
+	out.writeBytes(typeLocatorsBytes);
+	out.writeBytes(referencesBytes);
+}
+
+private void writeTypeLocators(CompressedWriter out, SimpleLookupTable internedTypeLocators) throws IOException {
+	int length;
+
 /*
  * String[]	Interned type locators
  */
 	out.writeInt(length = this.references.size());
-	SimpleLookupTable internedTypeLocators = new SimpleLookupTable(length);
 	if (length > 0) {
 		Set<String> keys = this.references.keySet();
 		for (String key : keys) {
@@ -631,83 +781,50 @@ void write(DataOutputStream output) throws IOException {
 			trace("typeLocators table is inconsistent"); //$NON-NLS-1$
 		}
 	}
+}
+
+private void writeReferences(CompressedWriter out, SimpleLookupTable internedTypeLocators) throws IOException {
+	int length;
 
 /*
- * char[][]	Interned root names
- * char[][][]	Interned qualified names
- * char[][]	Interned simple names
+ * char[][]	Interned simple names, also the root names and the member names
+ * int[][]		Interned qualified names, as ids of their simple names
  */
-	SimpleLookupTable internedRootNames = new SimpleLookupTable(3);
-	SimpleLookupTable internedQualifiedNames = new SimpleLookupTable(31);
-	SimpleLookupTable internedSimpleNames = new SimpleLookupTable(31);
+	// the local ids follow the ids of the NameTable, so the sorted ids of a collection stay sorted and can be delta encoded
+	BitSet usedSimpleNames = new BitSet();
+	BitSet usedQualifiedNames = new BitSet();
 	for (ReferenceCollection collection : this.references.values()) {
-		char[][] rNames = collection.rootReferences;
-		for (char[] rName : rNames) {
-			if (!internedRootNames.containsKey(rName)) // remember the names have been interned
-				internedRootNames.put(rName, Integer.valueOf(internedRootNames.elementSize));
-		}
-		char[][][] qNames = collection.qualifiedNameReferences;
-		for (char[][] qName : qNames) {
-			if (!internedQualifiedNames.containsKey(qName)) { // remember the names have been interned
-				internedQualifiedNames.put(qName, Integer.valueOf(internedQualifiedNames.elementSize));
-				for (char[] sName : qName) {
-					if (!internedSimpleNames.containsKey(sName)) // remember the names have been interned
-						internedSimpleNames.put(sName, Integer.valueOf(internedSimpleNames.elementSize));
-				}
-			}
-		}
-		char[][] sNames = collection.simpleNameReferences;
-		for (char[] sName : sNames) {
-			if (!internedSimpleNames.containsKey(sName)) // remember the names have been interned
-				internedSimpleNames.put(sName, Integer.valueOf(internedSimpleNames.elementSize));
-		}
+		for (int id : collection.qualifiedNameReferences)
+			usedQualifiedNames.set(id);
+		for (int id : collection.simpleNameReferences)
+			usedSimpleNames.set(id);
+		for (int id : collection.rootReferences)
+			usedSimpleNames.set(id);
+		if (collection.memberReferences != null)
+			for (int id : collection.memberReferences)
+				usedSimpleNames.set(id);
 	}
-	char[][] internedArray = new char[internedRootNames.elementSize][];
-	Object[] rootNames = internedRootNames.keyTable;
-	Object[] positions = internedRootNames.valueTable;
-	for (int i = positions.length; --i >= 0; ) {
-		if (positions[i] != null) {
-			int index = ((Integer) positions[i]).intValue();
-			internedArray[index] = (char[]) rootNames[i];
-		}
-	}
-	writeNames(internedArray, out);
-	// now write the interned simple names
-	internedArray = new char[internedSimpleNames.elementSize][];
-	Object[] simpleNames = internedSimpleNames.keyTable;
-	positions = internedSimpleNames.valueTable;
-	for (int i = positions.length; --i >= 0; ) {
-		if (positions[i] != null) {
-			int index = ((Integer) positions[i]).intValue();
-			internedArray[index] = (char[]) simpleNames[i];
-		}
-	}
-	writeNames(internedArray, out);
-	// now write the interned qualified names as arrays of interned simple names
-	char[][][] internedQArray = new char[internedQualifiedNames.elementSize][][];
-	Object[] qualifiedNames = internedQualifiedNames.keyTable;
-	positions = internedQualifiedNames.valueTable;
-	for (int i = positions.length; --i >= 0; ) {
-		if (positions[i] != null) {
-			int index = ((Integer) positions[i]).intValue();
-			internedQArray[index] = (char[][]) qualifiedNames[i];
-		}
-	}
-	out.writeInt(length = internedQArray.length);
-	for (int i = 0; i < length; i++) {
-		char[][] qName = internedQArray[i];
-		int qLength = qName.length;
-		out.writeInt(qLength);
-		for (int j = 0; j < qLength; j++) {
-			Integer index = (Integer) internedSimpleNames.get(qName[j]);
-			out.writeIntInRange(index.intValue(), internedSimpleNames.elementSize);
-		}
+	for (int id = usedQualifiedNames.nextSetBit(0); id >= 0; id = usedQualifiedNames.nextSetBit(id + 1))
+		for (int segment : NameTable.qualifiedNameSegments(id))
+			usedSimpleNames.set(segment);
+	int[] internedSimpleNames = localIds(usedSimpleNames);
+	int[] internedQualifiedNames = localIds(usedQualifiedNames);
+	out.writeVarInt(usedSimpleNames.cardinality());
+	for (int id = usedSimpleNames.nextSetBit(0); id >= 0; id = usedSimpleNames.nextSetBit(id + 1))
+		out.writeChars(NameTable.simpleName(id));
+	out.writeVarInt(usedQualifiedNames.cardinality());
+	for (int id = usedQualifiedNames.nextSetBit(0); id >= 0; id = usedQualifiedNames.nextSetBit(id + 1)) {
+		int[] segments = NameTable.qualifiedNameSegments(id);
+		out.writeVarInt(segments.length);
+		for (int segment : segments)
+			out.writeVarInt(internedSimpleNames[segment]);
 	}
 
 /*
  * References table
  * int		interned locator id
- * ReferenceCollection
+ * ReferenceCollection, each kind of names as count and delta encoded interned name ids, the member names after a
+ * 			boolean which is false when they are not known
 */
 	out.writeInt(length = this.references.size());
 	if (length > 0) {
@@ -715,7 +832,7 @@ void write(DataOutputStream output) throws IOException {
 			String key = entry.getKey();
 			length--;
 			Integer index = (Integer) internedTypeLocators.get(key);
-			out.writeInt(index.intValue());
+			out.writeVarInt(index.intValue());
 			ReferenceCollection collection = entry.getValue();
 			if (collection instanceof AdditionalTypeCollection) {
 				out.writeByte(1);
@@ -724,32 +841,80 @@ void write(DataOutputStream output) throws IOException {
 			} else {
 				out.writeByte(2);
 			}
-			char[][][] qNames = collection.qualifiedNameReferences;
-			int qLength = qNames.length;
-			out.writeInt(qLength);
-			for (int j = 0; j < qLength; j++) {
-				index = (Integer) internedQualifiedNames.get(qNames[j]);
-				out.writeIntInRange(index.intValue(), internedQualifiedNames.elementSize);
-			}
-			char[][] sNames = collection.simpleNameReferences;
-			int sLength = sNames.length;
-			out.writeInt(sLength);
-			for (int j = 0; j < sLength; j++) {
-				index = (Integer) internedSimpleNames.get(sNames[j]);
-				out.writeIntInRange(index.intValue(), internedSimpleNames.elementSize);
-			}
-			char[][] rNames = collection.rootReferences;
-			int rLength = rNames.length;
-			out.writeInt(rLength);
-			for (int j = 0; j < rLength; j++) {
-				index = (Integer) internedRootNames.get(rNames[j]);
-				out.writeIntInRange(index.intValue(), internedRootNames.elementSize);
-			}
+			writeIds(out, collection.qualifiedNameReferences, internedQualifiedNames);
+			writeIds(out, collection.simpleNameReferences, internedSimpleNames);
+			writeIds(out, collection.rootReferences, internedSimpleNames);
+			out.writeBoolean(collection.memberReferences != null);
+			if (collection.memberReferences != null)
+				writeIds(out, collection.memberReferences, internedSimpleNames);
 		}
 		if (JavaBuilder.DEBUG && length != 0) {
 			trace("references table is inconsistent"); //$NON-NLS-1$
 		}
 	}
+
+/*
+ * Dependency index, one table each for qualified, simple and root names
+ * int		delta encoded interned name id
+ * int[]		delta encoded interned locator ids
+ */
+	writeDependents(out, this.dependencyIndex.qualifiedNames, usedQualifiedNames, internedTypeLocators);
+	writeDependents(out, this.dependencyIndex.simpleNames, usedSimpleNames, internedTypeLocators);
+	writeDependents(out, this.dependencyIndex.rootNames, usedSimpleNames, internedTypeLocators);
+}
+
+// answers the local id of each used NameTable id, in the order of the NameTable ids
+private static int[] localIds(BitSet usedNames) {
+	int[] localIds = new int[usedNames.length()];
+	int localId = 0;
+	for (int id = usedNames.nextSetBit(0); id >= 0; id = usedNames.nextSetBit(id + 1))
+		localIds[id] = localId++;
+	return localIds;
+}
+
+private static void writeIds(CompressedWriter out, int[] sortedIds, int[] localIds) throws IOException {
+	out.writeVarInt(sortedIds.length);
+	int last = -1;
+	for (int id : sortedIds) {
+		int localId = localIds[id];
+		out.writeVarInt(localId - last - 1);
+		last = localId;
+	}
+}
+
+private void writeDependents(CompressedWriter out, DependencyIndex.Dependents dependents, BitSet usedNames, SimpleLookupTable internedTypeLocators) throws IOException {
+	// the index may answer more locators than the references, skip the names and locators which are no longer written
+	ArrayList<Integer> nameIds = new ArrayList<>(dependents.elementSize);
+	ArrayList<int[]> locatorIds = new ArrayList<>(dependents.elementSize);
+	int localId = 0;
+	for (int id = usedNames.nextSetBit(0); id >= 0; id = usedNames.nextSetBit(id + 1), localId++) {
+		DependencyIndex.Locators locators = dependents.get(id);
+		if (locators == null) continue;
+		int[] ids = new int[locators.elementSize];
+		int length = 0;
+		for (String typeLocator : locators.values) {
+			if (typeLocator != null) {
+				Integer locatorId = (Integer) internedTypeLocators.get(typeLocator);
+				if (locatorId != null)
+					ids[length++] = locatorId.intValue();
+			}
+		}
+		if (length == 0) continue;
+		nameIds.add(Integer.valueOf(localId));
+		locatorIds.add(ReferenceCollection.sortedIds(ids, length));
+	}
+	out.writeVarInt(nameIds.size());
+	for (int i = 0, l = nameIds.size(), last = -1; i < l; i++) {
+		int nameId = nameIds.get(i).intValue();
+		out.writeVarInt(nameId - last - 1);
+		last = nameId;
+		int[] ids = locatorIds.get(i);
+		out.writeVarInt(ids.length);
+		for (int j = 0, lastId = -1; j < ids.length; j++) {
+			out.writeVarInt(ids[j] - lastId - 1);
+			lastId = ids[j];
+		}
+	}
 }
 
 private void writeSourceLocations(CompressedWriter out, ClasspathMultiDirectory[] srcLocations) throws IOException {
@@ -45,6 +45,14 @@ public void finished(SourceFile element) {
 	this.compiledList.add(element);
 }
 
+/**
+ * Marks the element as waiting again although it was compiled, so that the result of its next compilation is accepted.
+ */
+public void compileAgain(SourceFile element) {
+	this.compiledList.remove(element);
+	this.needsCompileList.add(element);
+}
+
 public boolean isCompiled(SourceFile element) {
 	return this.compiledList.contains(element);
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -137,9 +137,10 @@ private static int canSeeFocus(IJavaElement focus, JavaProject javaProject, char
 					State projectState = (State) JavaModelManager.getJavaModelManager().getLastBuiltState(javaProject.getProject(), null);
 					if (projectState != null) {
 						Collection<ReferenceCollection> values = projectState.getReferences().values();
+						ReferenceCollection.Query query = ReferenceCollection.query(focusQualifiedNames, null, null);
 						for (ReferenceCollection references : values) {
 							if (references == null) continue;
-							if (references.includes(focusQualifiedNames, null, null)) {
+							if (references.includes(query)) {
 								return PROJECT_CAN_SEE_FOCUS;
 							}
 						}